@@ -0,0 +1,170 @@
+/*
+ * ContactBenchmark.java
+ *
+ * Measures the cost of routing a contact to its handler.  dispatch sends every
+ * ordered pair of contact types through a ContactDispatcher set up like the
+ * one in GameplayController, so it covers both hits and pairs with no handler.
+ * groundContact sends the most common real contact, the player's feet landing
+ * on a platform and leaving it, through GameplayController itself.
+ */
+package edu.cornell.gdiac.amaris.benchmarks;
+
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.*;
+import edu.cornell.gdiac.amaris.GameCanvas;
+import edu.cornell.gdiac.amaris.GameplayController;
+import edu.cornell.gdiac.amaris.LevelLoader;
+import edu.cornell.gdiac.amaris.contact.ContactAdapter;
+import edu.cornell.gdiac.amaris.contact.ContactDispatcher;
+import edu.cornell.gdiac.amaris.contact.ContactType;
+import edu.cornell.gdiac.amaris.headless.HeadlessBackend;
+import edu.cornell.gdiac.amaris.obstacle.Obstacle;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for beginContact dispatch.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+public class ContactBenchmark {
+	/** The number of contact types */
+	private static final int NUM_TYPES = ContactType.values().length;
+
+	/**
+	 * A handler that only counts its calls
+	 */
+	static class CountingHandler extends ContactAdapter {
+		long calls;
+
+		public void begin(Contact contact, Fixture first, Fixture second) {
+			calls++;
+		}
+	}
+
+	/**
+	 * A dispatcher with the same pairs registered as GameplayController, and a
+	 * contact for every ordered pair of types
+	 */
+	@State(Scope.Benchmark)
+	public static class Dispatch {
+		World world;
+		ContactDispatcher dispatcher;
+		CountingHandler handler;
+		FakeContact[] contacts;
+		int next;
+
+		@Setup(Level.Trial)
+		public void setUp() {
+			HeadlessBackend.start();
+			world = new World(new Vector2(0, 0), false);
+			ContactType[] types = ContactType.values();
+			Fixture[] fixtures = new Fixture[types.length];
+			PolygonShape shape = new PolygonShape();
+			shape.setAsBox(0.5f, 0.5f);
+			for (int i = 0; i < types.length; i++) {
+				BodyDef def = new BodyDef();
+				def.position.set(i * 2, 0);
+				fixtures[i] = world.createBody(def).createFixture(shape, 1);
+				fixtures[i].setUserData(types[i]);
+			}
+			shape.dispose();
+
+			handler = new CountingHandler();
+			dispatcher = new ContactDispatcher();
+			for (int i = 0; i < types.length; i++) {
+				dispatcher.register(ContactType.PLAYER, types[i], handler);
+				if (types[i] != ContactType.PLAYER_SENSOR) {
+					dispatcher.register(ContactType.PLAYER_SENSOR, types[i], handler);
+				}
+			}
+			dispatcher.register(ContactType.ROCK, ContactType.PLATFORM, handler);
+			dispatcher.register(ContactType.ROCK, ContactType.CLOUD, handler);
+			dispatcher.register(ContactType.ROCK, ContactType.SPIKE, handler);
+
+			contacts = new FakeContact[NUM_TYPES * NUM_TYPES];
+			for (int i = 0; i < types.length; i++) {
+				for (int j = 0; j < types.length; j++) {
+					contacts[i * NUM_TYPES + j] = new FakeContact(world, fixtures[i], fixtures[j]);
+				}
+			}
+		}
+
+		@TearDown(Level.Trial)
+		public void tearDown() {
+			world.dispose();
+		}
+	}
+
+	/**
+	 * A laid out level, with the player's feet and a platform to stand on
+	 */
+	@State(Scope.Benchmark)
+	public static class Gameplay {
+		AssetManager manager;
+		GameCanvas canvas;
+		GameplayController playing;
+		FakeContact landing;
+
+		@Setup(Level.Trial)
+		public void setUp() {
+			HeadlessBackend.start();
+			manager = HeadlessBackend.createAssetManager();
+			canvas = new GameCanvas();
+			LevelLoader levelLoader = new LevelLoader();
+			playing = HeadlessBackend.loadLevel(manager, canvas, levelLoader,
+												HeadlessBackend.levelForPath("jsons/level1.json"));
+
+			Body player = playing.getPlayer().getBody();
+			Fixture feet = findFixture(player, ContactType.PLAYER_SENSOR);
+			Fixture ground = null;
+			for (Obstacle platform : levelLoader.getPlatforms()) {
+				if (ground == null && platform.getBody() != null) {
+					ground = findFixture(platform.getBody(), ContactType.PLATFORM);
+				}
+			}
+			if (feet == null || ground == null) {
+				throw new IllegalStateException("level1 has no player sensor or platform fixture");
+			}
+			landing = new FakeContact(player.getWorld(), feet, ground);
+		}
+
+		@TearDown(Level.Trial)
+		public void tearDown() {
+			playing.dispose();
+			canvas.dispose();
+			manager.clear();
+			manager.dispose();
+		}
+
+		private static Fixture findFixture(Body body, ContactType type) {
+			for (Fixture fixture : body.getFixtureList()) {
+				if (fixture.getUserData() == type) {
+					return fixture;
+				}
+			}
+			return null;
+		}
+	}
+
+	@Benchmark
+	public long dispatch(Dispatch state) {
+		// Cycle through the pairs so that no single branch gets predicted
+		FakeContact contact = state.contacts[state.next];
+		state.next = state.next + 1 == state.contacts.length ? 0 : state.next + 1;
+		state.dispatcher.beginContact(contact);
+		return state.handler.calls;
+	}
+
+	@Benchmark
+	public boolean groundContact(Gameplay state) {
+		state.playing.beginContact(state.landing);
+		state.playing.endContact(state.landing);
+		return state.playing.getPlayer().isGrounded();
+	}
+}
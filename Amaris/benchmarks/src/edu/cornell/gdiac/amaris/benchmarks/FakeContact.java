@@ -0,0 +1,39 @@
+/*
+ * FakeContact.java
+ *
+ * Box2D only creates contacts inside world.step, so a benchmark cannot hand a
+ * particular pair of fixtures to a contact listener.  The listeners in this
+ * game only ask a contact for its fixtures in beginContact and endContact, so
+ * this contact answers those and nothing else.
+ */
+package edu.cornell.gdiac.amaris.benchmarks;
+
+import com.badlogic.gdx.physics.box2d.Contact;
+import com.badlogic.gdx.physics.box2d.Fixture;
+import com.badlogic.gdx.physics.box2d.World;
+
+/**
+ * A contact between two given fixtures, with no native contact behind it.
+ *
+ * Only getFixtureA and getFixtureB may be called.
+ */
+public class FakeContact extends Contact {
+	private Fixture fixtureA;
+	private Fixture fixtureB;
+
+	public FakeContact(World world, Fixture fixtureA, Fixture fixtureB) {
+		super(world, 0);
+		this.fixtureA = fixtureA;
+		this.fixtureB = fixtureB;
+	}
+
+	@Override
+	public Fixture getFixtureA() {
+		return fixtureA;
+	}
+
+	@Override
+	public Fixture getFixtureB() {
+		return fixtureB;
+	}
+}
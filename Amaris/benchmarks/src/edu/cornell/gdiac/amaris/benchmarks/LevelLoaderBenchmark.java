@@ -0,0 +1,88 @@
+/*
+ * LevelLoaderBenchmark.java
+ *
+ * Measures how long it takes to read the asset list and to lay out each
+ * shipped level.  populateLevel uses the parsed level cache, as a restart
+ * does; populateLevelCold clears the cache first, as the first load of a
+ * level does.
+ */
+package edu.cornell.gdiac.amaris.benchmarks;
+
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+import edu.cornell.gdiac.amaris.Level;
+import edu.cornell.gdiac.amaris.LevelLoader;
+import edu.cornell.gdiac.amaris.LevelTemplate;
+import edu.cornell.gdiac.amaris.headless.HeadlessBackend;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for LevelLoader.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+public class LevelLoaderBenchmark {
+	/** Width of the Box2D world, as in GameMode */
+	private static final float WORLD_WIDTH = 32.0f;
+	/** Height of the Box2D world, as in GameMode */
+	private static final float WORLD_HEIGHT = 18.0f;
+
+	/**
+	 * A level loader with every texture loaded, ready to lay out one level
+	 */
+	@State(Scope.Benchmark)
+	public static class LoadedLevel {
+		@Param({"jsons/level1.json", "jsons/level2.json", "jsons/level3.json", "jsons/level4.json",
+				"jsons/level5.json", "jsons/level6.json", "jsons/level7.json", "jsons/level8.json",
+				"jsons/level9.json", "jsons/level10.json", "jsons/level11.json", "jsons/level12.json",
+				"jsons/level13.json", "jsons/level14.json"})
+		public String path;
+
+		AssetManager manager;
+		LevelLoader levelLoader;
+		Vector2 scale;
+
+		@Setup(org.openjdk.jmh.annotations.Level.Trial)
+		public void setUp() {
+			HeadlessBackend.start();
+			manager = HeadlessBackend.createAssetManager();
+			levelLoader = new LevelLoader();
+			levelLoader.preLoadContent(manager, new Array<String>());
+			manager.finishLoading();
+			levelLoader.loadContent(manager);
+			levelLoader.level = HeadlessBackend.levelForPath(path);
+			scale = new Vector2(HeadlessBackend.WINDOW_WIDTH / WORLD_WIDTH,
+								HeadlessBackend.WINDOW_HEIGHT / WORLD_HEIGHT);
+		}
+
+		@TearDown(org.openjdk.jmh.annotations.Level.Trial)
+		public void tearDown() {
+			manager.clear();
+			manager.dispose();
+		}
+	}
+
+	@Benchmark
+	public Level populateLevel(LoadedLevel state) {
+		state.levelLoader.populateLevel(state.path, state.scale);
+		return state.levelLoader.level;
+	}
+
+	@Benchmark
+	public Level populateLevelCold(LoadedLevel state) {
+		LevelTemplate.clearCache();
+		state.levelLoader.populateLevel(state.path, state.scale);
+		return state.levelLoader.level;
+	}
+
+	@Benchmark
+	public void populateAssets() {
+		LevelLoader.populateAssets("jsons/assets.json");
+	}
+}
@@ -0,0 +1,149 @@
+/*
+ * PooledListBenchmark.java
+ *
+ * Compares PooledList, the list GameMode keeps its objects in, with ArrayList
+ * and the libGDX Array.  iterate walks a full list, as the draw and update
+ * loops do.  churn fills a list, walks it removing every other element in
+ * place, as the garbage collection loop in GameMode.postUpdate does, and then
+ * empties it, as a level reset does.
+ */
+package edu.cornell.gdiac.amaris.benchmarks;
+
+import com.badlogic.gdx.utils.Array;
+import edu.cornell.gdiac.amaris.util.PooledList;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for PooledList against ArrayList and Array.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+public class PooledListBenchmark {
+
+	@Param({"100", "1000", "10000"})
+	public int size;
+
+	/** The values to store, boxed once so boxing is not measured */
+	private Integer[] values;
+
+	private PooledList<Integer> pooled;
+	private ArrayList<Integer> arrayList;
+	private Array<Integer> array;
+
+	/** Lists that stay full, for the iterate benchmarks */
+	private PooledList<Integer> fullPooled;
+	private ArrayList<Integer> fullArrayList;
+	private Array<Integer> fullArray;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		values = new Integer[size];
+		for (int i = 0; i < size; i++) {
+			values[i] = i;
+		}
+		pooled = new PooledList<Integer>();
+		arrayList = new ArrayList<Integer>();
+		array = new Array<Integer>();
+
+		fullPooled = new PooledList<Integer>();
+		fullArrayList = new ArrayList<Integer>();
+		fullArray = new Array<Integer>();
+		for (int i = 0; i < size; i++) {
+			fullPooled.add(values[i]);
+			fullArrayList.add(values[i]);
+			fullArray.add(values[i]);
+		}
+	}
+
+	@Benchmark
+	public long iteratePooledList() {
+		long sum = 0;
+		for (Integer value : fullPooled) {
+			sum += value;
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public long iterateArrayList() {
+		long sum = 0;
+		for (int i = 0; i < fullArrayList.size(); i++) {
+			sum += fullArrayList.get(i);
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public long iterateArray() {
+		long sum = 0;
+		for (int i = 0; i < fullArray.size; i++) {
+			sum += fullArray.get(i);
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public long churnPooledList() {
+		for (int i = 0; i < size; i++) {
+			pooled.add(values[i]);
+		}
+		long sum = 0;
+		Iterator<PooledList<Integer>.Entry> iterator = pooled.entryIterator();
+		while (iterator.hasNext()) {
+			PooledList<Integer>.Entry entry = iterator.next();
+			int value = entry.getValue();
+			if ((value & 1) == 0) {
+				entry.remove();
+			} else {
+				sum += value;
+			}
+		}
+		pooled.clear();
+		return sum;
+	}
+
+	@Benchmark
+	public long churnArrayList() {
+		for (int i = 0; i < size; i++) {
+			arrayList.add(values[i]);
+		}
+		long sum = 0;
+		Iterator<Integer> iterator = arrayList.iterator();
+		while (iterator.hasNext()) {
+			int value = iterator.next();
+			if ((value & 1) == 0) {
+				iterator.remove();
+			} else {
+				sum += value;
+			}
+		}
+		arrayList.clear();
+		return sum;
+	}
+
+	@Benchmark
+	public long churnArray() {
+		for (int i = 0; i < size; i++) {
+			array.add(values[i]);
+		}
+		long sum = 0;
+		for (int i = array.size - 1; i >= 0; i--) {
+			int value = array.get(i);
+			if ((value & 1) == 0) {
+				array.removeIndex(i);
+			} else {
+				sum += value;
+			}
+		}
+		array.clear();
+		return sum;
+	}
+}
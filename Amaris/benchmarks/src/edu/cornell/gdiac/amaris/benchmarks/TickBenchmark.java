@@ -0,0 +1,73 @@
+/*
+ * TickBenchmark.java
+ *
+ * Measures one full game tick on each shipped level: input, the gameplay
+ * update, the fixed physics step and the object update loop, exactly as
+ * GameMode.render runs them minus the draw.  The player stands still, so the
+ * numbers show the cost of the level itself.  A level that ends is restarted
+ * in place.
+ */
+package edu.cornell.gdiac.amaris.benchmarks;
+
+import com.badlogic.gdx.assets.AssetManager;
+import edu.cornell.gdiac.amaris.GameCanvas;
+import edu.cornell.gdiac.amaris.GameplayController;
+import edu.cornell.gdiac.amaris.LevelLoader;
+import edu.cornell.gdiac.amaris.headless.HeadlessBackend;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for a world.step plus GameplayController.update tick.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+public class TickBenchmark {
+
+	@Param({"jsons/level1.json", "jsons/level2.json", "jsons/level3.json", "jsons/level4.json",
+			"jsons/level5.json", "jsons/level6.json", "jsons/level7.json", "jsons/level8.json",
+			"jsons/level9.json", "jsons/level10.json", "jsons/level11.json", "jsons/level12.json",
+			"jsons/level13.json", "jsons/level14.json"})
+	public String path;
+
+	private AssetManager manager;
+	private GameCanvas canvas;
+	private GameplayController playing;
+	private float tickTime;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		HeadlessBackend.start();
+		manager = HeadlessBackend.createAssetManager();
+		canvas = new GameCanvas();
+		playing = HeadlessBackend.loadLevel(manager, canvas, new LevelLoader(),
+											HeadlessBackend.levelForPath(path));
+		tickTime = 1.0f / playing.getStepRate();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		playing.dispose();
+		canvas.dispose();
+		manager.clear();
+		manager.dispose();
+	}
+
+	@Benchmark
+	public float tick() {
+		if (playing.preUpdate(tickTime)) {
+			playing.update(tickTime);
+			playing.postUpdate(tickTime);
+		}
+		HeadlessBackend.executeRunnables();
+		if (playing.isComplete() || playing.isFailure()) {
+			playing.reset();
+		}
+		return playing.currentSerenity();
+	}
+}
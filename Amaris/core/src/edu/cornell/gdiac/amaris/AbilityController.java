@@ -1,28 +1,54 @@
 package edu.cornell.gdiac.amaris;
 
 
-import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.math.Vector2;
 import edu.cornell.gdiac.amaris.platform.FountainModel;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import edu.cornell.gdiac.amaris.event.GameEvents;
 import edu.cornell.gdiac.amaris.platform.PlayerModel;
-import edu.cornell.gdiac.amaris.util.SoundController;
+import edu.cornell.gdiac.amaris.util.Scheduler;
 
 import java.util.LinkedList;
-import java.util.Timer;
-import java.util.TimerTask;
 
 public class AbilityController {
 
     private static AbilityController instance = null;
 
+    /**
+     * Returns the ability controller shared by the game, which runs on the shared scheduler.
+     *
+     * Simulations that run side by side each create their own instead.
+     */
     public static AbilityController getInstance(){
         if (instance == null){
-            instance = new AbilityController();
+            instance = new AbilityController(Scheduler.getInstance());
         }
         return instance;
     }
 
+    /** Runs the ability and dash timers */
+    private final Scheduler scheduler;
+
+    /**
+     * Creates an ability controller whose timers run on [scheduler]
+     */
+    public AbilityController(Scheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /** Returns the scheduler that runs the ability and dash timers */
+    public Scheduler getScheduler() {
+        return scheduler;
+    }
+
+    /** Where ability events are posted, or null */
+    private GameEvents events;
+
+    /** Posts the start, countdown and end of every ability to [events] */
+    public void setEvents(GameEvents events) {
+        this.events = events;
+    }
+
     // ABILITY QUEUE METHODS AND VARIABLES ------------------------------------------------------------------
 
     private AbilityQueue abilityQueue = new AbilityQueue(new LinkedList<FountainModel>());
@@ -47,14 +73,17 @@ public class AbilityController {
     }
 
     public void reset() {
-        if (timeLeftTimer != null) timeLeftTimer.cancel();
-        if (currentTimer != null) currentTimer.cancel();
-        timeLeftTimer = null;
+        if (isUsingAbility && events != null) {
+            events.abilityEnded(lastAbilityUsed);
+        }
+        endAbilityTask.cancel();
+        timeLeftTask.cancel();
+        resetDash();
         abilityQueue.clear();
         lastAbilityUsed = null;
         isUsingAbility = false;
-        currentTimer = null;
         timeLeft = 0;
+        ticksLeft = 0;
     }
 
     /** Sets [dashTexture] as the dash texture for the queue */
@@ -81,62 +110,81 @@ public class AbilityController {
 
     // ABILITY TIMING METHODS AND VARIABLES -----------------------------------------------------------------
 
-    public static boolean isUsingAbility = false;
-    private static FountainModel lastAbilityUsed = null;
-    private static Timer currentTimer = null;
-    private static Timer timeLeftTimer = null;
-    private static float timeLeft = 0f;
+    public boolean isUsingAbility = false;
+    private FountainModel lastAbilityUsed = null;
+    private float timeLeft = 0f;
+    /** Countdown ticks left for the current ability */
+    private int ticksLeft = 0;
     public boolean startedAbility = false;
+    /** Seconds between updates of the time left for the current ability */
+    static final float TIME_LEFT_TICK = 0.1f;
+
+    /** Ends the current ability */
+    private final Scheduler.Task endAbilityTask = new Scheduler.Task() {
+        @Override
+        public void run() {
+            endAbility();
+        }
+    };
+
+    /** Counts down the time left for the current ability */
+    private final Scheduler.Task timeLeftTask = new Scheduler.Task() {
+        @Override
+        public void run() {
+            timeLeft = Math.max(timeLeft - TIME_LEFT_TICK, 0f);
+            ticksLeft = Math.max(ticksLeft - 1, 0);
+            if (events != null) {
+                events.abilityTick(lastAbilityUsed, timeLeft);
+            }
+        }
+    };
 
     /** Uses an ability by updating the ability queue and setting the ability as active for [activeForMilliseconds] */
     public void useAbility(long activeForMilliseconds){
         if(abilityQueue.abilities.size() > 0){
-            lastAbilityUsed = getNextAbility();
-            if (lastAbilityUsed.getFountainType() == FountainModel.FountainType.TRANSPARENCY){
-                Sound s = SoundController.etherialitySound();
-                SoundController.playSound(s, 0.45f);
+            // End the current ability first, so its end is posted for the right fountain
+            if(endAbilityTask.isScheduled()){
+                endAbility();
             }
+            lastAbilityUsed = getNextAbility();
             if (lastAbilityUsed.getFountainType() == FountainModel.FountainType.FLIGHT){
                 startCountdown(activeForMilliseconds - 2000);
             } else {
                 startCountdown(activeForMilliseconds);
             }
             isUsingAbility = true;
+            if (events != null) {
+                events.abilityStarted(lastAbilityUsed);
+            }
         }
 //        else {
-//            getCountdownTask().run();
+//            endAbility();
 //        }
     }
 
-    /** Starts a new timer for another ability, executing and overriding any other timers previously made
-     * by use of previous abilities. */
+    /** Starts a new countdown for another ability, ending any ability previously started. */
     private void startCountdown(long milliseconds){
         startedAbility = true;
-        if(currentTimer != null){
-            getCountdownTask().run();
-            currentTimer = null;
-        }
-        if(timeLeftTimer != null){
-            timeLeft = 0f;
-            timeLeftTimer.cancel();
-            timeLeftTimer = null;
+        if(endAbilityTask.isScheduled()){
+            endAbility();
         }
         timeLeft = (float) (milliseconds / 1000);
-        startTimers();
-    }
-
-    /** Returns the timertask to be called after the ability ends */
-    private TimerTask getCountdownTask(){
-        return new TimerTask() {
-            @Override
-            public void run() {
-                isUsingAbility = false;
-                cancelTimers();
-                currentTimer = null;
-                timeLeftTimer = null;
-                timeLeft = 0f;
-            }
-        };
+        ticksLeft = Math.round(timeLeft / TIME_LEFT_TICK);
+        scheduler.schedule(endAbilityTask, timeLeft);
+        scheduler.schedule(timeLeftTask, TIME_LEFT_TICK, TIME_LEFT_TICK);
+    }
+
+    /** Ends the current ability and stops its countdown */
+    private void endAbility(){
+        boolean ended = isUsingAbility;
+        isUsingAbility = false;
+        endAbilityTask.cancel();
+        timeLeftTask.cancel();
+        timeLeft = 0f;
+        ticksLeft = 0;
+        if (ended && events != null) {
+            events.abilityEnded(lastAbilityUsed);
+        }
     }
 
     /** Returns whether an ability is currently active */
@@ -160,69 +208,52 @@ public class AbilityController {
         return timeLeft;
     }
 
-    public void setTimer(int val) {
-        timeLeft = val;
+    /** Returns the number of countdown ticks left for the current ability */
+    public int getTicksLeftForAbility(){
+        return ticksLeft;
     }
 
-    /** Cancels the timers (if running) needed for timing abilites. */
-    public boolean cancelTimers() {
-        if (currentTimer != null) {
-            currentTimer.cancel();
-        }
-        if (timeLeftTimer != null) {
-            timeLeftTimer.cancel();
-            return true;
-        }
-        return false;
-    }
-
-    /** Starts the timers needed for timing abilites. */
-    public void startTimers() {
-        currentTimer = new Timer();
-        currentTimer.schedule(getCountdownTask(), (long) timeLeft *  1000);
-        timeLeftTimer = new Timer();
-        timeLeftTimer.scheduleAtFixedRate(new TimerTask() {
-            @Override
-            public void run() {
-                timeLeft = Math.max(timeLeft - 0.1f, 0f);
-            }
-        }, 100, 100);
+    public void setTimer(int val) {
+        timeLeft = val;
+        ticksLeft = Math.round(timeLeft / TIME_LEFT_TICK);
     }
 
     // END --------------------------------------------------------------------------------------------------
 
     // DASH PHYSICS HANDLING HERE ---------------------------------------------------------------------------
 
-    public static Timer dashTimer = new Timer();
-    public static Timer dashTimerTimer = new Timer();
+    /** Seconds between dash impulses */
+    private static final float DASH_IMPULSE_INTERVAL = 0.015f;
+
     public boolean isApplyingDash = false;
+    /** The player currently dashing */
+    private PlayerModel dashingPlayer;
+
+    /** Pushes the dashing player, every DASH_IMPULSE_INTERVAL during a dash */
+    private final Scheduler.Task dashImpulseTask = new Scheduler.Task() {
+        @Override
+        public void run() {
+            dashingPlayer.applyDashForce();
+        }
+    };
+
+    /** Stops the dash impulses once the dash is over */
+    private final Scheduler.Task dashEndTask = new Scheduler.Task() {
+        @Override
+        public void run() {
+            resetDash();
+        }
+    };
 
-    public void doDash(final PlayerModel playerModel, final long milliseconds){
-        final PlayerModel player = playerModel;
+    public void doDash(PlayerModel player, long milliseconds){
         isApplyingDash = true;
+        dashingPlayer = player;
         player.giveFreeMovement(milliseconds);
-        if (dashTimer == null){
-            dashTimer = new Timer();
-        }
         if(!player.isGrounded()){
             player.setVY(0);
         }
-        dashTimer.scheduleAtFixedRate(new TimerTask() {
-            @Override
-            public void run() {
-                player.applyDashForce();
-            }
-        },0, 15);
-        dashTimerTimer.schedule(new TimerTask() {
-            @Override
-            public void run() {
-                dashTimer.cancel();
-                dashTimerTimer.cancel();
-                dashTimer = new Timer();
-                dashTimerTimer = new Timer();
-                isApplyingDash = false;
-            }
-        }, milliseconds);
+        scheduler.schedule(dashImpulseTask, 0, DASH_IMPULSE_INTERVAL);
+        scheduler.schedule(dashEndTask, milliseconds / 1000f);
     }
 
     public void doSkip(PlayerModel player){
@@ -232,10 +263,9 @@ public class AbilityController {
     }
 
     public void resetDash(){
-        dashTimer.cancel();
-        dashTimerTimer.cancel();
-        dashTimer = new Timer();
-        dashTimerTimer = new Timer();
+        dashImpulseTask.cancel();
+        dashEndTask.cancel();
+        dashingPlayer = null;
         isApplyingDash = false;
     }
 
@@ -38,6 +38,7 @@ import com.badlogic.gdx.graphics.Texture.TextureFilter;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector3;
 import edu.cornell.gdiac.amaris.util.ScreenListener;
+import edu.cornell.gdiac.amaris.util.TextureCache;
 import edu.cornell.gdiac.amaris.util.SoundController;
 
 /**
@@ -106,15 +107,15 @@ public class EndingStory implements Screen, InputProcessor, ControllerListener {
         resize(canvas.getWidth(),canvas.getHeight());
 
         BACKGROUND_FILE1 = levelLoader.getImagePath("ending_slide1");
-        background1 = new Texture(BACKGROUND_FILE1);
+        background1 = TextureCache.getInstance().acquire(BACKGROUND_FILE1);
         BACKGROUND_FILE2 = levelLoader.getImagePath("ending_slide2");
-        background2= new Texture(BACKGROUND_FILE2);
+        background2= TextureCache.getInstance().acquire(BACKGROUND_FILE2);
         BACKGROUND_FILE3 = levelLoader.getImagePath("ending_slide3");
-        background3= new Texture(BACKGROUND_FILE3);
+        background3= TextureCache.getInstance().acquire(BACKGROUND_FILE3);
         BACKGROUND_FILE4 = levelLoader.getImagePath("ending_slide4");
-        background4= new Texture(BACKGROUND_FILE4);
+        background4= TextureCache.getInstance().acquire(BACKGROUND_FILE4);
         BACKGROUND_FILE5 = levelLoader.getImagePath("ending_slide5");
-        background5= new Texture(BACKGROUND_FILE5);
+        background5= TextureCache.getInstance().acquire(BACKGROUND_FILE5);
 //        BUTTON = levelLoader.getImagePath("skip_button");
 //        button = new Texture(BUTTON);
 //        BUTTON_CLICKED = levelLoader.getImagePath("skip_button_clicked");
@@ -138,10 +139,16 @@ public class EndingStory implements Screen, InputProcessor, ControllerListener {
      * Called when this screen should release all resources.
      */
     public void dispose() {
-        background1.dispose();
-        background2.dispose();
+        TextureCache.getInstance().release(background1);
+        TextureCache.getInstance().release(background2);
+        TextureCache.getInstance().release(background3);
+        TextureCache.getInstance().release(background4);
+        TextureCache.getInstance().release(background5);
         background1 = null;
         background2 = null;
+        background3 = null;
+        background4 = null;
+        background5 = null;
     }
 
     private boolean isReady() {
@@ -77,6 +77,7 @@ public class GDXRoot extends Game implements ScreenListener {
 
 		// Level Select
 		levelLoader.populateAssets("jsons/assets.json");
+		LevelLoader.preLoadAudio(manager, "menu");
 		intro_story = new IntroStory(canvas, levelLoader);
 		intro_story.setScreenListener(this);
 		setScreen(intro_story);
@@ -108,11 +109,27 @@ public class GDXRoot extends Game implements ScreenListener {
 		manager.clear();
 		manager.dispose();
 
-		SoundController.disposeAllSounds();
+		SoundController.clear();
+		TextureCache.getInstance().dispose();
+
+		// Make sure the last save reaches the disk before we exit
+		SaveGameStore.getInstance().flush();
 
 		super.dispose();
 	}
 	
+	/**
+	 * Called every frame to draw the active screen.
+	 *
+	 * Before drawing, this lets the asset manager carry on decoding queued
+	 * audio, which it does on its own thread, whatever screen is showing.
+	 */
+	public void render() {
+		manager.update();
+		SoundController.update(manager);
+		super.render();
+	}
+
 	/**
 	 * Called when the Application is resized. 
 	 *
@@ -154,7 +171,7 @@ public class GDXRoot extends Game implements ScreenListener {
 			setScreen(menu);
 
 			//Start the music
-			SoundController.disposeAllMusic();
+			SoundController.stopMusic();
 			Music m = SoundController.menuMusic();
 			SoundController.playMusic(m, 0.16f, true);
 
@@ -179,18 +196,20 @@ public class GDXRoot extends Game implements ScreenListener {
 			levelLoader.level = savedGameLoader.getLevel(level);
 			playing = new GameplayController(levelLoader, savedGameLoader.getLevel(level), mute);
 			playing.preLoadContent(manager);
+			LevelLoader.preLoadAudio(manager, levelLoader.level.background);
 
 
 			level_select.dispose();
 			level_select = null;
 		}else if (screen == loading) {
+			SoundController.update(manager);
 			playing.loadContent(manager);
 			playing.setScreenListener(this);
 			playing.setCanvas(canvas);
 			playing.reset();
 			//Start the music
 			String s = levelLoader.level.background;
-			SoundController.disposeAllMusic();
+			SoundController.stopMusic();
 			Music m = null;
 			if(s.equalsIgnoreCase("ground")) {
 				m = SoundController.level1Music();
@@ -216,7 +235,7 @@ public class GDXRoot extends Game implements ScreenListener {
 				setScreen(intro_screen);
 
 				//Start the music
-				SoundController.disposeAllMusic();
+				SoundController.stopMusic();
 				Music m = SoundController.titleMusic();
 				SoundController.playMusic(m, 0.16f, true);
 			} else if (level == -1) {
@@ -225,7 +244,7 @@ public class GDXRoot extends Game implements ScreenListener {
 				setScreen(level_select);
 
 				//Start the music
-				SoundController.disposeAllMusic();
+				SoundController.stopMusic();
 				Music m = SoundController.menuMusic();
 				SoundController.playMusic(m, 0.16f, true);
 			} else {
@@ -238,6 +257,7 @@ public class GDXRoot extends Game implements ScreenListener {
 					levelLoader.level = savedGameLoader.getLevel(level);
 					playing = new GameplayController(levelLoader, savedGameLoader.getLevel(level), mute);
 					playing.preLoadContent(manager);
+					LevelLoader.preLoadAudio(manager, levelLoader.level.background);
 
 				} else {
 //					level_select = new LevelSelect(canvas, manager, savedGameLoader, levelLoader, 1);
@@ -256,13 +276,13 @@ public class GDXRoot extends Game implements ScreenListener {
 			ending_story.dispose();
 			ending_story = null;
 			//Start the music
-			SoundController.disposeAllMusic();
+			SoundController.stopMusic();
 			Music m = SoundController.titleMusic();
 			SoundController.playMusic(m, 0.16f, true);
 		}
 		else if (exitCode == GameMode.EXIT_QUIT) {
 			// We quit the main application
-			if (playing != null) playing.editSaveJson(false);
+			if (playing != null) playing.editSaveJson();
 			Gdx.app.exit();
 		}
 	}
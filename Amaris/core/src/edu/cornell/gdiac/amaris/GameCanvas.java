@@ -5,6 +5,7 @@ import static com.badlogic.gdx.Gdx.gl20;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Graphics;
 import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.*;
 import com.badlogic.gdx.graphics.*;
 import com.badlogic.gdx.graphics.g2d.*;
@@ -88,6 +89,8 @@ public class GameCanvas {
 	// For managing the camera and perspective
 	/** Orthographic camera for the SpriteBatch layer */
 	private OrthographicCamera spriteCam;
+	/** The part of the world the current SpriteBatch pass can see, in pixels */
+	private Rectangle viewBounds = new Rectangle();
 
 	/** Affine cache for current sprite to draw */
 	private Affine2 local;
@@ -385,6 +388,7 @@ public class GameCanvas {
 		spriteBatch.begin();
 
 		spriteBatch.setProjectionMatrix(spriteCam.combined);
+		updateViewBounds();
 		// spriteCam.setToOrtho(false, width, height);
 		spriteCam.update();
 
@@ -415,6 +419,7 @@ public class GameCanvas {
 
 		spriteBatch.begin();
 		spriteBatch.setProjectionMatrix(spriteCam.combined);
+		updateViewBounds();
 		//spriteCam.setToOrtho(false, 30, 20);
 		//spriteCam.update();
 		// spriteCam.setToOrtho(false, width, height);
@@ -440,6 +445,33 @@ public class GameCanvas {
 		drawBackground();
 	}
 
+	/**
+	 * Returns the part of the world visible in the current drawing pass.
+	 *
+	 * The rectangle is in pixels (world coordinates times the drawing scale) and
+	 * comes from the projection the SpriteBatch is actually using, which can lag
+	 * the camera.  It is updated by begin() and must not be modified.
+	 *
+	 * @return the part of the world visible in the current drawing pass
+	 */
+	public Rectangle getViewBounds() {
+		return viewBounds;
+	}
+
+	/**
+	 * Recomputes the view bounds from the SpriteBatch projection.
+	 *
+	 * The projection is orthographic, so each axis maps linearly to [-1,1].
+	 */
+	private void updateViewBounds() {
+		float[] m = spriteBatch.getProjectionMatrix().val;
+		float x0 = (-1 - m[Matrix4.M03]) / m[Matrix4.M00];
+		float x1 = ( 1 - m[Matrix4.M03]) / m[Matrix4.M00];
+		float y0 = (-1 - m[Matrix4.M13]) / m[Matrix4.M11];
+		float y1 = ( 1 - m[Matrix4.M13]) / m[Matrix4.M11];
+		viewBounds.set(Math.min(x0, x1), Math.min(y0, y1), Math.abs(x1 - x0), Math.abs(y1 - y0));
+	}
+
 	public void beginConstantBatch() {
 		active = DrawPass.STANDARD;
 		constantBatch.begin();
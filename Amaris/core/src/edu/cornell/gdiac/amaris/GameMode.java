@@ -1,7 +1,6 @@
 package edu.cornell.gdiac.amaris;
 
 import java.util.*;
-import java.util.Timer;
 
 import com.badlogic.gdx.*;
 import com.badlogic.gdx.audio.Music;
@@ -11,6 +10,7 @@ import com.badlogic.gdx.controllers.PovDirection;
 import com.badlogic.gdx.math.*;
 import com.badlogic.gdx.utils.*;
 import com.badlogic.gdx.assets.*;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.*;
 import com.badlogic.gdx.graphics.g2d.*;
 import com.badlogic.gdx.physics.box2d.*;
@@ -19,6 +19,7 @@ import edu.cornell.gdiac.amaris.objects.MoonShard;
 import edu.cornell.gdiac.amaris.objects.RegularPlatform;
 import edu.cornell.gdiac.amaris.objects.SignPost;
 import edu.cornell.gdiac.amaris.util.*;
+import edu.cornell.gdiac.amaris.event.GameEvents;
 import edu.cornell.gdiac.amaris.obstacle.*;
 import edu.cornell.gdiac.amaris.platform.*;
 
@@ -69,8 +70,10 @@ public abstract class GameMode implements Screen, InputProcessor {
 
 	/** Track asset loading from all instances and subclasses */
 	protected AssetState worldAssetState = AssetState.EMPTY;
-	/** Whether or not to limit player motion **/
-	public AbilityController abilityController = AbilityController.getInstance();
+	/** The abilities of the player **/
+	public AbilityController abilityController;
+	/** The input that drives the player **/
+	public InputController inputController;
 	public GameplayController gameplayController;
 	/** Track all loaded assets (for unloading purposes) */
 	protected Array<String> assets;
@@ -107,7 +110,7 @@ public abstract class GameMode implements Screen, InputProcessor {
 	private int abilityqueue_y = 520;
 	private static String ABILITY_TIMER;
 	private Texture abilityTimer;
-	private float timeLeftScale = abilityController.getTimeLeftForAbility();
+	private float timeLeftScale;
 	private float serenityScale = 0;
 	private float offset = 0;
 	protected float serenityOffset = 0f;
@@ -618,6 +621,7 @@ public abstract class GameMode implements Screen, InputProcessor {
 
 		if(manager.isLoaded(SMOKE_FILE)) {
 			smoke = manager.get(SMOKE_FILE,Texture.class);
+			AnimationRegistry.prepare(smoke, FRAME_COLS, FRAME_ROWS, SMOKE_FRAME_DURATION);
 		}
 
 		if(manager.isLoaded(ABILITY_QUEUE)) {
@@ -707,7 +711,8 @@ public abstract class GameMode implements Screen, InputProcessor {
 	 * Returns a newly loaded texture region for the given file.
 	 *
 	 * This helper methods is used to set texture settings (such as scaling, and
-	 * whether or not the texture should repeat) after loading.
+	 * whether or not the texture should repeat) after loading.  Images packed
+	 * into an atlas come from the atlas, unless they must repeat.
 	 *
 	 * @param manager 	Reference to global asset manager.
 	 * @param file		The texture (region) file
@@ -716,6 +721,13 @@ public abstract class GameMode implements Screen, InputProcessor {
 	 * @return a newly loaded texture region for the given file.
 	 */
 	protected TextureRegion createTexture(AssetManager manager, String file, boolean repeat) {
+		// Atlas regions share a page with other images, so they cannot repeat
+		if (!repeat) {
+			TextureRegion packed = AtlasCatalog.getInstance().findRegion(manager, file);
+			if (packed != null) {
+				return packed;
+			}
+		}
 		if (manager.isLoaded(file)) {
 			TextureRegion region = new TextureRegion(manager.get(file, Texture.class));
 			region.getTexture().setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
@@ -764,6 +776,7 @@ public abstract class GameMode implements Screen, InputProcessor {
 				manager.unload(s);
 			}
 		}
+		AnimationRegistry.clear();
 	}
 
 	/** Exit code for quitting the game */
@@ -781,6 +794,10 @@ public abstract class GameMode implements Screen, InputProcessor {
 	public static final int WORLD_VELOC = 6;
 	/** Number of position iterations for the constrain solvers */
 	public static final int WORLD_POSIT = 2;
+	/** The maximum number of physics steps to take in a single animation frame */
+	public static final int MAX_SUBSTEPS = 5;
+	/** The longest frame (in seconds) we will try to catch up on; anything longer is dropped */
+	public static final float MAX_FRAME_TIME = 0.25f;
 
 	/** Width of the game world in Box2d units */
 	protected static final float DEFAULT_WIDTH  = 32.0f;
@@ -815,10 +832,28 @@ public abstract class GameMode implements Screen, InputProcessor {
 	private int countdown;
 	/** Whether or not debug mode is active */
 	private boolean debug;
+	/** The amount of time (in seconds) for a single fixed physics step */
+	private float stepTime = WORLD_STEP;
+	/** The maximum number of physics steps per animation frame */
+	private int maxSubsteps = MAX_SUBSTEPS;
+	/** Simulation time (in seconds) that has not yet been stepped */
+	private float accumulator;
+	/** How far (0 to 1) the renderer is between the last two physics states */
+	protected float stepAlpha = 1.0f;
 	/** If zooming in */
 	private boolean zoomIn;
-	/** If ability timer was paused */
-	private boolean abilityPaused;
+	/** Runs timed game logic, advanced once per physics step */
+	protected Scheduler scheduler;
+	/** Plays the sound effects of this mode, advanced once per physics step */
+	protected VoiceManager voices = new VoiceManager();
+	/** Tells the visuals of this mode when the game state they show changes */
+	protected GameEvents events = new GameEvents();
+	/** Times the phases of each frame, when turned on with F3 */
+	private FrameProfiler profiler = FrameProfiler.getInstance();
+	/** Finds the objects near the camera, so that only those are drawn */
+	private VisibilityCuller culler = new VisibilityCuller();
+	/** The objects that may be visible this frame, in draw order */
+	private Array<Obstacle> visibleObjects;
 	private boolean isSmoke;
 
 
@@ -913,6 +948,51 @@ public abstract class GameMode implements Screen, InputProcessor {
 		debug = value;
 	}
 
+	/**
+	 * Returns the number of physics steps simulated per second.
+	 *
+	 * @return the number of physics steps simulated per second.
+	 */
+	public float getStepRate() {
+		return 1.0f / stepTime;
+	}
+
+	/**
+	 * Sets the number of physics steps simulated per second.
+	 *
+	 * The simulation advances in steps of exactly 1/hz seconds no matter how
+	 * fast we render, so changing this changes the cost of simulation, not its speed.
+	 * Sound cooldowns are kept the same length in seconds.
+	 *
+	 * @param hz the number of physics steps simulated per second.
+	 */
+	public void setStepRate(float hz) {
+		stepTime = 1.0f / hz;
+		accumulator = 0;
+		voices.setStepRate(hz);
+	}
+
+	/**
+	 * Returns the maximum number of physics steps taken in a single frame.
+	 *
+	 * @return the maximum number of physics steps taken in a single frame.
+	 */
+	public int getMaxSubsteps() {
+		return maxSubsteps;
+	}
+
+	/**
+	 * Sets the maximum number of physics steps taken in a single frame.
+	 *
+	 * If a frame needs more steps than this, the left over time is dropped and
+	 * the game slows down instead of falling further and further behind.
+	 *
+	 * @param value the maximum number of physics steps taken in a single frame.
+	 */
+	public void setMaxSubsteps(int value) {
+		maxSubsteps = Math.max(1, value);
+	}
+
 	/**
 	 * Returns the canvas associated with this controller
 	 *
@@ -953,6 +1033,25 @@ public abstract class GameMode implements Screen, InputProcessor {
 		this(new Rectangle(0,0,width,height), new Vector2(0,gravity), levelLoader, level, mute);
 	}
 
+	/**
+	 * Creates a new game world that runs on its own controllers
+	 *
+	 * Simulations that run side by side each need their own input, abilities
+	 * and timers, rather than the ones shared by the game.
+	 *
+	 * @param width  	The width in Box2d coordinates
+	 * @param height	The height in Box2d coordinates
+	 * @param gravity	The downward gravity
+	 * @param input     The input that drives the player
+	 * @param abilities The abilities of the player, which must use the same scheduler
+	 * @param scheduler The scheduler for the timed game logic
+	 */
+	protected GameMode(float width, float height, float gravity, LevelLoader levelLoader, Level level, boolean mute,
+					   InputController input, AbilityController abilities, Scheduler scheduler) {
+		this(new Rectangle(0,0,width,height), new Vector2(0,gravity), levelLoader, level, mute,
+			 input, abilities, scheduler);
+	}
+
 	/**
 	 * Creates a new game world
 	 *
@@ -964,8 +1063,32 @@ public abstract class GameMode implements Screen, InputProcessor {
 	 * @param gravity	The gravitational force on this Box2d world
 	 */
 	protected GameMode(Rectangle bounds, Vector2 gravity, LevelLoader levelLoader, Level level, boolean mute) {
+		this(bounds, gravity, levelLoader, level, mute,
+			 InputController.getInstance(), AbilityController.getInstance(), Scheduler.getInstance());
+	}
+
+	/**
+	 * Creates a new game world
+	 *
+	 * The game world is scaled so that the screen coordinates do not agree
+	 * with the Box2d coordinates.  The bounds are in terms of the Box2d
+	 * world, not the screen.
+	 *
+	 * @param bounds	The game bounds in Box2d coordinates
+	 * @param gravity	The gravitational force on this Box2d world
+	 * @param input     The input that drives the player
+	 * @param abilities The abilities of the player, which must use the same scheduler
+	 * @param scheduler The scheduler for the timed game logic
+	 */
+	protected GameMode(Rectangle bounds, Vector2 gravity, LevelLoader levelLoader, Level level, boolean mute,
+					   InputController input, AbilityController abilities, Scheduler scheduler) {
+		inputController = input;
+		abilityController = abilities;
+		this.scheduler = scheduler;
+		timeLeftScale = abilities.getTimeLeftForAbility();
 		assets = new Array<String>();
 		world = new World(gravity,false);
+		world.setAutoClearForces(false);
 		this.bounds = new Rectangle(bounds);
 		this.scale = new Vector2(1,1);
 		complete = false;
@@ -993,6 +1116,13 @@ public abstract class GameMode implements Screen, InputProcessor {
 		addQueue.clear();
 		removeMS.clear();
 		removeRocks.clear();
+		scheduler.clear();
+		saveRecording();
+		if (profiler.isEnabled()) {
+			// The next level starts its own histogram
+			profiler.writeHistogram(getProfileFile());
+			profiler.clearHistogram();
+		}
 		world.dispose();
 		objects = null;
 		addQueue = null;
@@ -1066,8 +1196,8 @@ public abstract class GameMode implements Screen, InputProcessor {
 	 * @return whether to process the update loop
 	 */
 	public boolean preUpdate(float dt) {
-		InputController input = InputController.getInstance();
-		input.readInput();
+		InputController input = inputController;
+		input.readInput(dt);
 		if (listener == null) {
 			return true;
 		}
@@ -1077,6 +1207,31 @@ public abstract class GameMode implements Screen, InputProcessor {
 			debug = !debug;
 		}
 
+		// Toggle the profiler, saving the histogram when it is turned off
+		if (input.didProfile()) {
+			if (profiler.isEnabled()) {
+				profiler.stop();
+				profiler.writeHistogram(getProfileFile());
+			} else {
+				profiler.start();
+			}
+		}
+
+		// Toggle replay recording, which restarts the level so the replay starts from the beginning
+		if (input.didRecord()) {
+			if (input.isRecording()) {
+				saveRecording();
+			} else {
+				restartForRecording();
+				// A replay starts with no partial step, so the recording must too
+				accumulator = 0;
+				stepAlpha = 1.0f;
+				input.startRecording(level.path);
+				// The first tick recorded is the next one
+				return false;
+			}
+		}
+
 		// Now it is time to maybe switch screens.
 		if (input.didExit()) {
 			listener.exitScreen(this, EXIT_QUIT, 0);
@@ -1119,19 +1274,19 @@ public abstract class GameMode implements Screen, InputProcessor {
 					pressState = 0;
 					buttonOption = 0;
 					gameState = GameState.MAP;
-					abilityPaused = abilityController.cancelTimers();
+					scheduler.pause();
 					canvas.savePosition();
 				} else if (pressState == 2 && buttonOption == 1) {
 					pressState = 0;
 					buttonOption = 0;
 					gameState = GameState.PAUSE;
-					abilityPaused = abilityController.cancelTimers();
+					scheduler.pause();
 					canvas.savePosition();
-				} else if (InputController.getInstance().didReset()) {
+				} else if (inputController.didReset()) {
 					reset();
 				} else if (complete) {
 					canvas.savePosition();
-					abilityPaused = abilityController.cancelTimers();
+					scheduler.pause();
 					gameState = GameState.WIN;
 				} else if (pressState == 2 && buttonOption == 3 && !mute) {
 					SoundController.mute();
@@ -1159,10 +1314,10 @@ public abstract class GameMode implements Screen, InputProcessor {
 				}
 				break;
 			case LOSE:
-				if (InputController.getInstance().didReset()) { // R key
+				if (inputController.didReset()) { // R key
 					gameState = GameState.PLAY;
 					reset();
-				} else if (InputController.getInstance().didPause()) { // P key
+				} else if (inputController.didPause()) { // P key
 					gameState = GameState.PAUSE;
 				} else if (pressState == 2 && buttonOption == 1) { // button
 					pressState = 0;
@@ -1174,43 +1329,37 @@ public abstract class GameMode implements Screen, InputProcessor {
 			case PAUSE:
 				SoundController.pauseMusic();
 				Music m = SoundController.menuMusic();
-				m.setVolume(0.16f);
-				m.setLooping(true);
-				if(!SoundController.isMuted){
-					m.play();
+				if (m != null) {
+					m.setVolume(0.16f);
+					m.setLooping(true);
+					if(!SoundController.isMuted){
+						m.play();
+					}
 				}
 //				SoundController.playMusic(m, 0.16f, true);
-				if (InputController.getInstance().didPause()) { // P key
-					m.stop();
-					m.dispose();
+				if (inputController.didPause()) { // P key
+					SoundController.stopMusic(m);
 					SoundController.resumeMusic();
 					pressState = 0;
 					buttonOption = 0;
 					gameState = GameState.PLAY;
-					if (abilityPaused) {
-						abilityController.startTimers();
-					}
+					scheduler.resume();
 				} else if (pressState == 2 && buttonOption == 1) { // Resume
-					m.stop();
-					m.dispose();
+					SoundController.stopMusic(m);
 					SoundController.resumeMusic();
 					pressState = 0;
 					buttonOption = 0;
 					gameState = GameState.PLAY;
 					canvas.resetPrevZoom();
-					if (abilityPaused) {
-						abilityController.startTimers();
-					}
+					scheduler.resume();
 				} else if (pressState == 2 && buttonOption == 2) { // Menu
-					m.stop();
-					m.dispose();
+					SoundController.stopMusic(m);
 					pressState = 0;
 					buttonOption = 0;
 					canvas.resetZoom();
 					listener.exitScreen(this, 0, -1);
 				} else if (pressState == 2 && buttonOption == 3) { // Title screen
-					m.stop();
-					m.dispose();
+					SoundController.stopMusic(m);
 					pressState = 0;
 					buttonOption = 0;
 					canvas.resetZoom();
@@ -1235,14 +1384,12 @@ public abstract class GameMode implements Screen, InputProcessor {
 							pressState = 0;
 							buttonOption = 0;
 							gameState = GameState.PLAY;
-							if (abilityPaused) {
-								abilityController.startTimers();
-							}
+							scheduler.resume();
 							zoomIn = false;
 						}
 					}
 				} else {
-					canvas.moveCam(InputController.getInstance().getHorizontal(), InputController.getInstance().getVertical(), level.width);
+					canvas.moveCam(inputController.getHorizontal(), inputController.getVertical(), level.width);
 				}
 				break;
 			case CONTROLS:
@@ -1257,6 +1404,31 @@ public abstract class GameMode implements Screen, InputProcessor {
 		}
 	}
 
+	/**
+	 * Advances the game logic that must run at the physics rate.
+	 *
+	 * This is called once for every fixed physics step, immediately before the
+	 * world is stepped.  It may be called zero, one or several times in a single
+	 * animation frame, so anything that drains, moves or counts over time belongs
+	 * here rather than in update().
+	 *
+	 * @param step Number of seconds in a physics step
+	 */
+	public void fixedUpdate(float step) {
+	}
+
+	/**
+	 * Handles the results of a physics step.
+	 *
+	 * This is called immediately after every fixed physics step, once the world
+	 * is safe to change again.  It is the place to carry out anything that contact
+	 * callbacks asked for during the step.
+	 *
+	 * @param step Number of seconds in a physics step
+	 */
+	public void postStep(float step) {
+	}
+
 	/**
 	 * Processes alpha
 	 *
@@ -1273,8 +1445,30 @@ public abstract class GameMode implements Screen, InputProcessor {
 				addObject(addQueue.poll());
 			}
 
-			// Turn the alpha engine crank.
-			world.step(WORLD_STEP,WORLD_VELOC,WORLD_POSIT);
+			// Turn the alpha engine crank, in fixed steps.
+			// Forces applied during update() act on every step of this frame.
+			accumulator += Math.min(dt, MAX_FRAME_TIME);
+			int steps = 0;
+			while (accumulator >= stepTime && steps < maxSubsteps) {
+				for (Obstacle obj : objects) {
+					obj.savePreviousState();
+				}
+				scheduler.update(stepTime);
+				voices.update();
+				fixedUpdate(stepTime);
+				profiler.begin(FrameProfiler.WORLD_STEP);
+				world.step(stepTime,WORLD_VELOC,WORLD_POSIT);
+				profiler.end(FrameProfiler.WORLD_STEP);
+				postStep(stepTime);
+				accumulator -= stepTime;
+				steps++;
+			}
+			// Spiral of death: drop whatever we could not simulate this frame
+			if (accumulator >= stepTime) {
+				accumulator = 0;
+			}
+			world.clearForces();
+			stepAlpha = accumulator / stepTime;
 
 //			for (int i = 0; i <  removeMS.size; i++) {
 //				removeMS.get(i).deactivatePhysics(world);
@@ -1294,6 +1488,7 @@ public abstract class GameMode implements Screen, InputProcessor {
 				// Garbage collect the deleted objects.
 			// Note how we use the linked list nodes to delete O(1) in place.
 			// This is O(n) without copying.
+			profiler.begin(FrameProfiler.OBJECT_UPDATE);
 			Iterator<PooledList<Obstacle>.Entry> iterator = objects.entryIterator();
 			while (iterator.hasNext()) {
 				PooledList<Obstacle>.Entry entry = iterator.next();
@@ -1306,6 +1501,7 @@ public abstract class GameMode implements Screen, InputProcessor {
 					obj.update(dt);
 				}
 			}
+			profiler.end(FrameProfiler.OBJECT_UPDATE);
 		}
 	}
 
@@ -1314,27 +1510,16 @@ public abstract class GameMode implements Screen, InputProcessor {
 	float oy = 0;
 	float rx = 25;
 	float ry = 25;
-	TextureRegion[] animationFrames = new TextureRegion[FRAME_COLS * FRAME_ROWS];
 	float elapsedTime;
 	Animation<TextureRegion> animation;
 	private static final int FRAME_COLS = 3, FRAME_ROWS = 2;
+	private static final float SMOKE_FRAME_DURATION = 1f;
 	public void drawSmoke(GameCanvas canvas, float ox, float oy, float x, float y) {
 		float duration = 7f;
 		Color color = Color.WHITE;
 
 		elapsedTime += Gdx.graphics.getDeltaTime();
-		int index = 0;
-		//System.out.println("draw" + rx);
-		TextureRegion[][] tmpFrames = TextureRegion.split(smoke, smoke.getWidth()/FRAME_COLS, smoke.getHeight()/FRAME_ROWS);
-		for (int i = 0; i < FRAME_ROWS; i++) {
-			for (int j = 0; j < FRAME_COLS; j++) {
-				animationFrames[index++] = tmpFrames[i][j];
-			}
-		}
-
-
-		animation = new Animation<TextureRegion>(1f, animationFrames);
-
+		animation = AnimationRegistry.get(smoke, FRAME_COLS, FRAME_ROWS, SMOKE_FRAME_DURATION);
 
 		TextureRegion currentFrame = animation.getKeyFrame(elapsedTime, true);
 		if (elapsedTime < duration) {
@@ -1346,54 +1531,20 @@ public abstract class GameMode implements Screen, InputProcessor {
 	}
 	//================================================================================================
 	float elapsedTimeSP;
-	TextureRegion[] animationFramesSP;
-	private int FRAME_COLS_SP;
-	private int FRAME_ROWS_SP;
 	private int add_x;
 	public void drawSignpostAnimation(GameCanvas canvas, float x, float y, TextureRegion image, int sp_id) {
 
 		Color color = Color.WHITE;
 
 		elapsedTimeSP += Gdx.graphics.getDeltaTime();
-		int index = 0;
-		if (sp_id == 1) {
-			FRAME_COLS_SP = 5;
-			FRAME_ROWS_SP = 1;
-		}
-		else if (sp_id == 3) {
-			FRAME_COLS_SP = 15;
-			FRAME_ROWS_SP = 1;
+		if (sp_id == 3) {
 			add_x = -150;
 		}
-		else if (sp_id == 5) {
-			FRAME_COLS_SP = 11;
-			FRAME_ROWS_SP = 1;
-		}
-		else if (sp_id == 7) {
-			FRAME_COLS_SP = 7;
-			FRAME_ROWS_SP = 1;
-		}
-		else {
-			FRAME_COLS_SP = 1;
-			FRAME_ROWS_SP = 1;
-		}
-		animationFramesSP = new TextureRegion[FRAME_COLS_SP * FRAME_ROWS_SP];
-
-		//System.out.println("draw" + rx);
-		TextureRegion[][] tmpFrames = TextureRegion.split(image.getTexture(), image.getRegionWidth()/FRAME_COLS_SP, image.getRegionHeight()/FRAME_ROWS_SP);
-		for (int i = 0; i < FRAME_ROWS_SP; i++) {
-			System.out.println(FRAME_COLS_SP);
-			for (int j = 0; j < FRAME_COLS_SP; j++) {
-				animationFramesSP[index++] = tmpFrames[i][j];
-			}
-		}
-
-
-		animation = new Animation<TextureRegion>(0.3f, animationFramesSP);
-
+		int frames = SignPost.getMessageFrames(sp_id);
+		animation = AnimationRegistry.get(image, frames, 1, SignPost.MESSAGE_FRAME_DURATION);
 
 		TextureRegion currentFrame = animation.getKeyFrame(elapsedTimeSP, true);
-		canvas.draw(currentFrame, color, x + add_x, y, image.getRegionWidth() / FRAME_COLS_SP, image.getRegionHeight() / FRAME_ROWS_SP);
+		canvas.draw(currentFrame, color, x + add_x, y, image.getRegionWidth() / frames, image.getRegionHeight());
 	}
 
 	public Vector2 findMessagePos(String msg) {
@@ -1476,7 +1627,7 @@ public abstract class GameMode implements Screen, InputProcessor {
 			    canvas.drawConstant(levelSelectClicked, Color.WHITE, -27, -5, 405, 130);
                 canvas.drawConstant(nextLevelUnclicked,Color.WHITE,648,-5,405,130);
 			}
-			else if(InputController.getInstance().didNext() || pressState == 1 && buttonOption == 2) {
+			else if(inputController.didNext() || pressState == 1 && buttonOption == 2) {
 			    canvas.drawConstant(nextLevelClicked,Color.WHITE,648,-5,405,130);
                 canvas.drawConstant(levelSelectUnclicked, Color.WHITE, -27, -5, 405, 130);
             }
@@ -1487,8 +1638,10 @@ public abstract class GameMode implements Screen, InputProcessor {
             canvas.endConstantBatch();
 
 		} else {
+			profiler.begin(FrameProfiler.DRAW_WORLD);
 			if (player != null && gameState != GameState.MAP) {
-				canvas.begin(player.getX() * scale.x, player.getY() * scale.y, level.width);
+				player.setDrawAlpha(stepAlpha);
+				canvas.begin(player.getDrawX() * scale.x, player.getDrawY() * scale.y, level.width);
 			} else {
 				canvas.begin();
 			}
@@ -1505,7 +1658,10 @@ public abstract class GameMode implements Screen, InputProcessor {
 				canvas.drawBackground(background, 0,128);
 			}
 
-			for (Obstacle obj : objects) {
+			visibleObjects = culler.cull(objects, canvas.getViewBounds(), scale);
+			for (int i = 0; i < visibleObjects.size; i++) {
+				Obstacle obj = visibleObjects.get(i);
+				obj.setDrawAlpha(stepAlpha);
 				obj.draw(canvas);
 
 				//if (isSmoke) {
@@ -1553,17 +1709,21 @@ public abstract class GameMode implements Screen, InputProcessor {
 //			}
 
 			canvas.end();
+			profiler.end(FrameProfiler.DRAW_WORLD);
 
 			//display timer for ability
 
 			if (debug) {
+				profiler.begin(FrameProfiler.DRAW_DEBUG);
 				canvas.beginDebug();
-				for (Obstacle obj : objects) {
-					obj.drawDebug(canvas);
+				for (int i = 0; i < visibleObjects.size; i++) {
+					visibleObjects.get(i).drawDebug(canvas);
 				}
 				canvas.endDebug();
+				profiler.end(FrameProfiler.DRAW_DEBUG);
 			}
 
+			profiler.begin(FrameProfiler.DRAW_HUD);
 			canvas.beginConstantBatch();
 
 			if (abilityController.startedAbility) {
@@ -1685,9 +1845,63 @@ public abstract class GameMode implements Screen, InputProcessor {
 			}
 
 			canvas.endConstantBatch();
+			profiler.end(FrameProfiler.DRAW_HUD);
+		}
+	}
+
+	/**
+	 * Draws the profiler overlay in the top left corner, if the profiler is on.
+	 */
+	private void drawProfile() {
+		if (canvas == null || fountainFont == null || !profiler.isEnabled()) {
+			return;
+		}
+		canvas.beginConstantBatch();
+		canvas.drawText(profiler.getOverlay(), fountainFont, 10, canvas.getHeight() - 10, true);
+		canvas.endConstantBatch();
+	}
+
+	/**
+	 * Restarts the level from its initial layout, so that a recording made from
+	 * here can be replayed from a freshly loaded level.
+	 */
+	protected void restartForRecording() {
+		reset();
+	}
+
+	/** Writes the input being recorded, if any, to the replay file for this level */
+	private void saveRecording() {
+		InputLog log = inputController.stopRecording();
+		if (log == null) {
+			return;
+		}
+		try {
+			log.write(getReplayFile());
+		} catch (Exception e) {
+			e.printStackTrace();
 		}
 	}
 
+	/**
+	 * Returns the file that input recorded on this level is written to.
+	 *
+	 * @return the file that input recorded on this level is written to.
+	 */
+	private FileHandle getReplayFile() {
+		String name = (level == null || level.name == null) ? "level" : level.name;
+		return Gdx.files.local("replays/" + name.replaceAll("[^A-Za-z0-9_-]", "_") + ".replay");
+	}
+
+	/**
+	 * Returns the file that the profiler histogram for this level is written to.
+	 *
+	 * @return the file that the profiler histogram for this level is written to.
+	 */
+	private FileHandle getProfileFile() {
+		String name = (level == null || level.name == null) ? "level" : level.name;
+		return Gdx.files.local("profiles/" + name.replaceAll("[^A-Za-z0-9_-]", "_") + ".csv");
+	}
+
 	/**
 	 * Called when the Screen is resized. 
 	 *
@@ -1711,12 +1925,26 @@ public abstract class GameMode implements Screen, InputProcessor {
 	 */
 	public void render(float delta) {
 		if (active) {
-			if (preUpdate(delta)) {
+			// A replay plays back the frame times it was recorded with
+			delta = inputController.getFrameDelta(delta);
+			profiler.beginFrame();
+			profiler.begin(FrameProfiler.PRE_UPDATE);
+			boolean updating = preUpdate(delta);
+			profiler.end(FrameProfiler.PRE_UPDATE);
+			if (updating) {
 				//Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+				profiler.begin(FrameProfiler.UPDATE);
 				update(delta); // This is the one that must be defined.
+				profiler.end(FrameProfiler.UPDATE);
+				profiler.begin(FrameProfiler.POST_UPDATE);
 				postUpdate(delta);
+				profiler.end(FrameProfiler.POST_UPDATE);
 			}
+			profiler.begin(FrameProfiler.DRAW);
 			draw(delta);
+			drawProfile();
+			profiler.end(FrameProfiler.DRAW);
+			profiler.endFrame();
 		}
 	}
 
@@ -2031,6 +2259,6 @@ public abstract class GameMode implements Screen, InputProcessor {
 		return true;
 	}
 
-	public void editSaveJson(Boolean comp) {};
+	public void editSaveJson() {};
 
 }
\ No newline at end of file
@@ -1,13 +1,14 @@
 package edu.cornell.gdiac.amaris;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.utils.ImmutableArray;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.Animation;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.*;
 import com.badlogic.gdx.utils.*;
-import com.badlogic.gdx.audio.*;
 import com.badlogic.gdx.assets.*;
 import com.badlogic.gdx.physics.box2d.*;
 
@@ -22,13 +23,14 @@ import edu.cornell.gdiac.amaris.platform.PlayerModel;
 import edu.cornell.gdiac.amaris.util.*;
 import edu.cornell.gdiac.amaris.obstacle.*;
 import edu.cornell.gdiac.amaris.platform.PlayerModel.playerState;
+import edu.cornell.gdiac.amaris.contact.*;
+import edu.cornell.gdiac.amaris.entity.*;
+import edu.cornell.gdiac.amaris.event.*;
 
 import java.util.*;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Random;
-import java.util.Timer;
 
 /**
  * Gameplay specific controller for the platformer game.  
@@ -42,16 +44,14 @@ import java.util.Timer;
 public class GameplayController extends GameMode implements ContactListener {
 	/** The last used fountain */
 	private FountainModel lastUsed;
-	/** The ability controller **/
-	public AbilityController abilityController = AbilityController.getInstance();
-	/** The input controller **/
-	public InputController inputController = InputController.getInstance();
 	/** The number of moon shards collected */
 	public int numMoonCollected = 0;
 
 	//Important constants
 	private float MAX_SERENITY;
 	private int ABILITY_TIME = 5000;
+	/** Serenity lost per second of play (one point per step at 60 Hz) */
+	private static final float SERENITY_DRAIN = 60f;
 
 	/** Track asset loading from all instances and subclasses */
 	private AssetState platformAssetState = AssetState.EMPTY;
@@ -103,29 +103,30 @@ public class GameplayController extends GameMode implements ContactListener {
 	/** Reference to the goalDoor (for collision detection) */
 	private GoalDoor goalDoor;
 
-	// Physics objects for the game
-	/** Reference to the goalDoor (for collision detection) */
-	private List<FountainModel> fountainsList = new ArrayList<FountainModel>();
+	/** The moon shards still to collect */
 	private List<MoonShard> moonShardsList = new ArrayList<MoonShard>();
-	private List<SignPost> signpostsList = new ArrayList<SignPost>();
+
+	/** The entities of the level: everything it lays out except the player */
+	private Engine engine = new Engine();
+	/** Moves the patrolling entities */
+	private PatrolSystem patrolSystem = new PatrolSystem(WORLD_STEP);
+	/** Brings back the falling rocks */
+	private HazardSystem hazardSystem = new HazardSystem();
+	/** The fountains, moon shards, windows, signposts and falling rocks */
+	private ImmutableArray<Entity> fountains = engine.getEntitiesFor(Family.all(CheckpointComponent.class).get());
+	private ImmutableArray<Entity> shards = engine.getEntitiesFor(Family.all(PickupComponent.class).get());
+	private ImmutableArray<Entity> windows = engine.getEntitiesFor(Family.all(BreakableComponent.class).get());
+	private ImmutableArray<Entity> signposts = engine.getEntitiesFor(Family.all(SignComponent.class).get());
+	private ImmutableArray<Entity> hazards = engine.getEntitiesFor(HazardSystem.FAMILY);
 
 	/** Mark set to handle more sophisticated collision callbacks */
 	protected ObjectSet<Fixture> sensorFixtures;
+	/** Routes each contact to the handler for its pair of fixture types */
+	private ContactDispatcher contacts = new ContactDispatcher();
 
-	/** The set of platforms in the level */
-	protected List<Obstacle> platforms = new ArrayList<Obstacle>();
-	/** The set of windows in the level */
-	protected List<RegularPlatform> windows = new ArrayList<RegularPlatform>();
+	/** The clouds among the platforms, which the player can only stand on while transparent */
+	private List<CloudPlatform> clouds = new ArrayList<CloudPlatform>();
 	protected ArrayList<RegularPlatform> windowsStepped = new ArrayList<RegularPlatform>();
-	/** The set of rocks in the level */
-	protected Array<Rock> rocks = new Array<Rock>();
-
-
-	/** The set of crocodiles in the level */
-	protected List<Crocodile> crocodiles = new ArrayList<Crocodile>();
-
-	/** The set of flying monsters in the level */
-	protected List<FlyingMonster> flyingMonsters = new ArrayList<FlyingMonster>();
 
 	// Fields to be retrieved as results from collisions
 	/** Whether the level failed or not */
@@ -149,13 +150,22 @@ public class GameplayController extends GameMode implements ContactListener {
 	private LevelLoader levelLoader;
 //	private int level;
 
-	/** The set of moving platforms in the level */
-	protected List<Platform> movingPlatforms = new ArrayList<Platform>();
+	/** The moving platform the player stood on during the last physics step, or null */
+	private Platform carrier;
+	/** Side effects of the contacts in the current physics step, carried out by postStep */
+	private ContactCommands commands = new ContactCommands();
+	/** Cache for the knockback direction of spikes */
+	private Vector2 launchCache = new Vector2();
 	/** Detecting collisions with obstacles */
 	private boolean isSpikeCollision;
 	private boolean isMonsterCollision;
 	private boolean isRockCollision;
-	private float rockTimer = 0;
+	/** Keeps only the bodies near the player active */
+	private ChunkStreamer streamer = new ChunkStreamer();
+	/** Every object laid out for the level, in the order they were added */
+	private Array<Obstacle> levelObjects = new Array<Obstacle>();
+	/** The path of the level laid out in the current world, or null */
+	private String laidOutPath;
 
 
 	/** Sets the ability to add */
@@ -164,7 +174,6 @@ public class GameplayController extends GameMode implements ContactListener {
 	public FountainModel.FountainType getAbilityToAdd() { return abilityToAdd; }
 	public PlayerModel getPlayer() { return player; }
 	public void setPlayer (PlayerModel avatar) { player = avatar; }
-	public void setFountainsList(List<FountainModel> fountains) { fountainsList = fountains; }
 	public void setGoalDoor (GoalDoor goal) { goalDoor = goal; }
 	public FountainModel getTouchedFountain() { return touchedFountain; }
 	public void setTouchedFountain(FountainModel fountain) { touchedFountain = fountain; }
@@ -175,11 +184,32 @@ public class GameplayController extends GameMode implements ContactListener {
 	 * The game has default gravity and other settings
 	 */
 	public GameplayController(LevelLoader levelLoader, Level level, boolean mute) {
-		super(DEFAULT_WIDTH,DEFAULT_HEIGHT,DEFAULT_GRAVITY, levelLoader, level, mute);
+		this(levelLoader, level, mute,
+			 InputController.getInstance(), AbilityController.getInstance(), Scheduler.getInstance());
+	}
+
+	/**
+	 * Creates and initialize a new instance of the platformer game on its own controllers
+	 *
+	 * Unlike the game, which shares its controllers between levels, a simulation
+	 * passes in its own, so the shared ones are never touched.
+	 *
+	 * @param input     The input that drives the player
+	 * @param abilities The abilities of the player, which must use the same scheduler
+	 * @param scheduler The scheduler for the timed game logic
+	 */
+	public GameplayController(LevelLoader levelLoader, Level level, boolean mute,
+							  InputController input, AbilityController abilities, Scheduler scheduler) {
+		super(DEFAULT_WIDTH,DEFAULT_HEIGHT,DEFAULT_GRAVITY, levelLoader, level, mute, input, abilities, scheduler);
 		setComplete(false);
 		setFailure(false);
 		world.setContactListener(this);
 		sensorFixtures = new ObjectSet<Fixture>();
+		registerContactHandlers();
+		registerVoices();
+		registerEventListeners();
+		engine.addSystem(patrolSystem);
+		engine.addSystem(hazardSystem);
 		this.levelLoader = levelLoader;
 		super.num_moons = moonShardsList.size();
 		numMoonCollected = 0;
@@ -204,8 +234,8 @@ public class GameplayController extends GameMode implements ContactListener {
 		for(Obstacle obj : objects) {
 			obj.deactivatePhysics(world);
 		}
-		for(Rock rock : rocks) {
-			rock.deactivatePhysics(world);
+		for (int i = 0; i < hazards.size(); i++) {
+			HazardComponent.MAPPER.get(hazards.get(i)).rock.deactivatePhysics(world);
 		}
 		for(Rock rock : removeRocks) {
 			rock.deactivatePhysics(world);
@@ -216,21 +246,24 @@ public class GameplayController extends GameMode implements ContactListener {
 		objects.clear();
 		addQueue.clear();
 		world.dispose();
+		scheduler.clear();
+		scheduler.resume();
 		abilityController.reset();
-		rocks.clear();
+		engine.removeAllEntities();
+		hazardSystem.reset();
 		removeMS.clear();
 		removeRocks.clear();
 		removeWindows.clear();
 		smokesCoord.clear();
-		fountainsList.clear();
-		signpostsList.clear();
-		movingPlatforms.clear();
-		crocodiles.clear();
-		flyingMonsters.clear();
+		clouds.clear();
+		carrier = null;
+		commands.clear();
+		levelObjects.clear();
+		streamer.clear();
+		laidOutPath = null;
 		playerSmokeCoord.clear();
 		windowsStepped.clear();
 		moonShardsList.clear();
-		windows.clear();
 		lastpt = null;
 		checkpointSerenity = level.maxSerenity;
 	}
@@ -238,17 +271,25 @@ public class GameplayController extends GameMode implements ContactListener {
 	/**
 	 * Resets the status of the game so that we can play again.
 	 *
-	 * This method disposes of the world and creates a new one.
+	 * The first reset of a level disposes of the world and lays the level out in a
+	 * new one.  Later resets of the same level restart it in place instead.
 	 */
 	public void reset() {
-		Vector2 gravity = new Vector2(world.getGravity() );
 		super.serenityOffset = 0;
+		voices.reset();
+		if (level.path.equals(laidOutPath)) {
+			restart();
+			return;
+		}
+
+		Vector2 gravity = new Vector2(world.getGravity() );
 		clear();
 
 		super.setSerenity(MAX_SERENITY);
 
 		//abilityTimer = 0;
 		world = new World(gravity,false);
+		world.setAutoClearForces(false);
 		world.setContactListener(this);
 		lastpt = null;
 		checkpointSerenity = level.maxSerenity;
@@ -256,6 +297,71 @@ public class GameplayController extends GameMode implements ContactListener {
 		setComplete(false);
 		setFailure(false);
 		populateLevel();
+		laidOutPath = level.path;
+	}
+
+	/**
+	 * Lays the level out again from scratch, so a recording starts from the same
+	 * state as a freshly loaded level.
+	 */
+	@Override
+	protected void restartForRecording() {
+		laidOutPath = null;
+		reset();
+	}
+
+	/**
+	 * Restarts the level without rebuilding it.
+	 *
+	 * Every object the level laid out is put back in its starting state in the
+	 * existing world.  Objects whose bodies were destroyed, like broken windows,
+	 * get them back.
+	 */
+	private void restart() {
+		scheduler.clear();
+		scheduler.resume();
+		abilityController.reset();
+		addQueue.clear();
+		removeMS.clear();
+		removeRocks.clear();
+		removeWindows.clear();
+		smokesCoord.clear();
+		playerSmokeCoord.clear();
+		windowsStepped.clear();
+		sensorFixtures.clear();
+		carrier = null;
+		commands.clear();
+		hazardSystem.reset();
+		lastUsed = null;
+		touchedFountain = null;
+		isSpikeCollision = false;
+		isMonsterCollision = false;
+		isRockCollision = false;
+		setSmoke(false);
+
+		objects.clear();
+		for (int i = 0; i < levelObjects.size; i++) {
+			Obstacle obj = levelObjects.get(i);
+			if (obj.getBody() == null) {
+				obj.activatePhysics(world);
+			}
+			obj.restoreSpawnState();
+			objects.add(obj);
+		}
+		streamer.invalidate();
+		levelLoader.setSignPostFile();
+		levelLoader.setWindowTexture();
+		moonShardsList.clear();
+		moonShardsList.addAll(levelLoader.getMoonShards());
+		super.num_moons = moonShardsList.size();
+		numMoonCollected = 0;
+
+		super.setSerenity(MAX_SERENITY);
+		lastpt = null;
+		checkpointSerenity = level.maxSerenity;
+		setComplete(false);
+		setFailure(false);
+		voices.play("start_level", 0.8f);
 	}
 
 	public boolean getCollisions() {
@@ -267,75 +373,114 @@ public class GameplayController extends GameMode implements ContactListener {
 	 */
 	private void populateLevel() {
 		levelLoader.populateLevel(level.path, scale);
-		Sound s = SoundController.startLevelSound();
-		SoundController.playSound(s, 0.8f);
+		voices.play("start_level", 0.8f);
 
+		// The level is laid out 4 units up from where the level file puts it
 		for (Obstacle p : levelLoader.getPlatforms()) {
+			if (p instanceof Platform) {
+				setPatrolBodyType(p, ((Platform) p).getVelocity());
+			}
 			addObject(p);
 			p.setY(p.getY() + 4f);
+			Entity entity = createEntity(p);
 			if (p instanceof Platform) {
 				Platform platform = (Platform) p;
-				((Platform) p).setOriginalPosition(new Vector2(p.getX(), p.getY()));
-				movingPlatforms.add(platform);
+				platform.setOriginalPosition(new Vector2(p.getX(), p.getY()));
+				PatrolComponent patrol = createPatrol(entity, platform.getVelocity(), platform.getOriginalPosition(),
+						platform.getHorizontalRadius(), platform.getVerticalRadius());
+				if (patrol != null && p instanceof CloudPlatform) {
+					patrol.eased = true;
+				}
 			}
-			platforms.add(p);
+			if (p instanceof CloudPlatform) {
+				clouds.add((CloudPlatform) p);
+			}
+			engine.addEntity(entity);
 		}
 
 		for(Obstacle o : levelLoader.getObstacles()) {
+			if (o instanceof Crocodile) {
+				setPatrolBodyType(o, ((Crocodile) o).getVelocity());
+			} else if (o instanceof FlyingMonster) {
+				setPatrolBodyType(o, ((FlyingMonster) o).getVelocity());
+			}
 			addObject(o);
             o.setY(o.getY() + 4);
+			Entity entity = createEntity(o);
 			if (o instanceof Crocodile) {
-				crocodiles.add((Crocodile) o);
+				Crocodile croc = (Crocodile) o;
+				PatrolComponent patrol = createPatrol(entity, croc.getVelocity(), croc.getOriginalPosition(),
+						croc.getHorizontalRadius(), croc.getVerticalRadius());
+				if (patrol != null) {
+					patrol.facing = croc;
+				}
 			} else if (o instanceof FlyingMonster) {
-				flyingMonsters.add((FlyingMonster) o);
+				FlyingMonster fly = (FlyingMonster) o;
+				PatrolComponent patrol = createPatrol(entity, fly.getVelocity(), fly.getOriginalPosition(),
+						fly.getHorizontalRadius(), fly.getVerticalRadius());
+				if (patrol != null) {
+					patrol.facing = fly;
+				}
 			} else if (o instanceof Rock) {
 				((Rock) o).setOriginalPos(new Vector2(o.getX(), o.getY()));
-				rocks.add((Rock) o);
+				entity.add(new HazardComponent((Rock) o));
 			}
+			engine.addEntity(entity);
 		}
 
-		//windows
 		for (RegularPlatform w: levelLoader.getWindows()) {
+			setPatrolBodyType(w, w.getVelocity());
 			addObject(w);
 			w.setOriginalPosition(new Vector2(w.getX(), w.getY()));
-			movingPlatforms.add(w);
-			windows.add(w);
+			Entity entity = createEntity(w);
+			createPatrol(entity, w.getVelocity(), w.getOriginalPosition(), w.getHorizontalRadius(), w.getVerticalRadius());
+			entity.add(new BreakableComponent(w));
+			engine.addEntity(entity);
 		}
 
 		goalDoor = levelLoader.getGoalDoor();
 		addObject(goalDoor);
 		goalDoor.setY(goalDoor.getY() + 4);
+		engine.addEntity(createEntity(goalDoor));
 		for (BoxObstacle sensor : goalDoor.sensors) {
 			sensor.setY(sensor.getY() + 4);
 			addObject(sensor);
+			engine.addEntity(createEntity(sensor));
 		}
 
-
 		for (FountainModel f : levelLoader.getFountains()) {
 			addObject(f);
             f.setY(f.getY() + 4);
-			fountainsList.add(f);
+			engine.addEntity(createEntity(f).add(new CheckpointComponent(f)));
 		}
 
 		for (FountainModel f : levelLoader.getCheckpoints()) {
 			addObject(f);
             f.setY(f.getY() + 4);
-			fountainsList.add(f);
+			engine.addEntity(createEntity(f).add(new CheckpointComponent(f)));
 		}
 
 		for (MoonShard shard : levelLoader.getMoonShards()) {
+			setPatrolBodyType(shard, shard.getVelocity());
 			addObject(shard);
             shard.setY(shard.getY() + 4);
             shard.setOriginalPosition(new Vector2(shard.getX(), shard.getY()));
+			Entity entity = createEntity(shard);
+			PatrolComponent patrol = createPatrol(entity, shard.getVelocity(), shard.getOriginalPosition(),
+					shard.getHorizontalRadius(), shard.getVerticalRadius());
+			if (patrol != null) {
+				patrol.eased = true;
+			}
+			entity.add(new PickupComponent(shard));
+			engine.addEntity(entity);
 			moonShardsList.add(shard);
-			//super.num_moons += 1;
 		}
 
 		for (SignPost post : levelLoader.getSignposts()) {
 			post.setY(post.getY() + 4);
 			post.messagePos.set(post.messagePos.x, post.messagePos.y + 4*scale.y);
 			addObject(post);
-			signpostsList.add(post);
+			engine.addEntity(createEntity(post).add(new SignComponent(post)));
 		}
 
 
@@ -353,32 +498,75 @@ public class GameplayController extends GameMode implements ContactListener {
 		super.TWO_STAR = level.twoStars;
 		super.ONE_STAR = level.oneStar;
 		serenity = level.maxSerenity;
-		abilityController = AbilityController.getInstance();
+		player.abilityController = abilityController;
 		levelLoader.setAbilityTextures(abilityController);
+		levelLoader.setSignPostFile();
+		levelLoader.setWindowTexture();
+
+		// Remember where everything started, for restarts
+		levelObjects.clear();
+		for (Obstacle obj : objects) {
+			obj.saveSpawnState();
+			levelObjects.add(obj);
+		}
+
+		// Stream every entity, the patrolling ones over the whole of their patrol
+		ImmutableArray<Entity> entities = engine.getEntities();
+		for (int i = 0; i < entities.size(); i++) {
+			Entity entity = entities.get(i);
+			PatrolComponent patrol = PatrolComponent.MAPPER.get(entity);
+			streamer.add(BodyComponent.MAPPER.get(entity).obstacle, patrol != null ? patrol.horizontalRadius : 0);
+		}
 	}
 
-	private FountainModel findFountain(String id) {
-	    for (FountainModel fountain : fountainsList) {
-	        if (fountain.getName().equals(id)) {
-	            return fountain;
-            }
-        }
-        return null;
-    }
+	/**
+	 * Returns a new entity for a level object, not yet added to the engine
+	 *
+	 * @param obj The object
+	 *
+	 * @return a new entity for a level object
+	 */
+	private Entity createEntity(Obstacle obj) {
+		Entity entity = new Entity();
+		entity.add(new BodyComponent(obj));
+		return entity;
+	}
 
-    private MoonShard findMoonShard(String id) {
-        for (MoonShard m : moonShardsList) {
-            if (m.getName().equals(id)) {
-                return m;
-            }
-        }
-        return null;
-    }
+	/**
+	 * Gives an entity a patrol if its object moves (see setPatrolBodyType).
+	 *
+	 * @param entity   The entity of the object
+	 * @param velocity The patrol velocity of the object
+	 * @param origin   The middle of the patrol
+	 * @param hr       The horizontal radius of the patrol
+	 * @param vr       The vertical radius of the patrol
+	 *
+	 * @return the patrol, or null if the object stays put
+	 */
+	private PatrolComponent createPatrol(Entity entity, Vector2 velocity, Vector2 origin, float hr, float vr) {
+		if (velocity == null || velocity.isZero()) {
+			return null;
+		}
+		PatrolComponent patrol = new PatrolComponent(velocity, origin, hr, vr);
+		entity.add(patrol);
+		return patrol;
+	}
+
+	private FountainModel findFountain(String id) {
+		for (int i = 0; i < fountains.size(); i++) {
+			FountainModel fountain = CheckpointComponent.MAPPER.get(fountains.get(i)).fountain;
+			if (fountain.getName().equals(id)) {
+				return fountain;
+			}
+		}
+		return null;
+	}
 
-	private RegularPlatform findWindow(String id) {
-		for (RegularPlatform w : windows) {
-			if (w.getName().equals(id)) {
-				return w;
+	private MoonShard findMoonShard(String id) {
+		for (int i = 0; i < shards.size(); i++) {
+			MoonShard m = PickupComponent.MAPPER.get(shards.get(i)).shard;
+			if (m.getName().equals(id)) {
+				return m;
 			}
 		}
 		return null;
@@ -386,21 +574,21 @@ public class GameplayController extends GameMode implements ContactListener {
 
 
 	private void respawn(){
-		Sound s = SoundController.hurtSound();
-		SoundController.playSound(s, 0.3f);
+		voices.play("hurt", 0.3f);
 //        super.serenity -= MAX_SERENITY/4;
 		super.serenity = checkpointSerenity;
         lastUsed = null;
         for(SignPost sign : levelLoader.getSignposts()) {
         	sign.hasRead = false;
 		}
+		levelLoader.setSignPostFile();
         if(lastpt != null) {
 			// no abilities currently being used
 			abilityController.reset();
 
 			// set fountains to state at lastpt
-			for (FountainModel f : fountainsList) {
-				f.setAvailable(true);
+			for (int i = 0; i < fountains.size(); i++) {
+				CheckpointComponent.MAPPER.get(fountains.get(i)).fountain.setAvailable(true);
 			}
 			for (String id : lastpt.getFountainsQueued()) {
 				FountainModel fountain = findFountain(id);
@@ -429,9 +617,11 @@ public class GameplayController extends GameMode implements ContactListener {
 			// set player position to lastpt
 			player.setX(lastpt.getX());
 			player.setY(lastpt.getY());
+			player.clearPreviousState();
 
 			//set windows broken
-			for (RegularPlatform w : windows) {
+			for (int i = 0; i < windows.size(); i++) {
+				RegularPlatform w = BreakableComponent.MAPPER.get(windows.get(i)).window;
 				if (lastpt.getWindowsBroken().contains(w.getName())) {
 					w.setStepCount(w.getStepCount());
 				} else {
@@ -439,6 +629,7 @@ public class GameplayController extends GameMode implements ContactListener {
 
 				}
 			}
+			levelLoader.setWindowTexture();
 		}
 
 
@@ -491,31 +682,6 @@ public class GameplayController extends GameMode implements ContactListener {
 		return true;
 	}
 
-	public void resetRock(Rock rk) {
-		rk.setPosition(rk.getOriginalPos());
-		rk.setVY(rk.getOriginalVel().y);
-		rk.setVX(rk.getOriginalVel().x);
-//		Rock r = levelLoader.initRock(rk.getOriginalPos().x-1, rk.getOriginalPos().y, rk.type, rk.scale);
-//		addObject(r);
-//		rocks.add(r);
-		rockTimer = 0;
-		rk.setDraw(true);
-		rk.setCollide(true);
-		rk.setReset(false);
-
-	}
-
-	public float map(Vector2 originalRange, Vector2 newRange, float originalValue){
-//		System.out.println("OV: " + originalValue + "    OR: " + originalRange );
-		float fDiff = originalValue - originalRange.x;
-//		System.out.println("FDIFF: " + fDiff);
-		float fProp = fDiff / (originalRange.y - originalRange.x);
-//		System.out.println("FPROP: " + fProp);
-		float sMod = newRange.y - newRange.x;
-//		System.out.println("SMOD: " + sMod);
-		return (fProp * sMod) + newRange.x;
-	}
-
 	/**
 	 * The core gameplay loop of this world.
 	 *
@@ -533,21 +699,6 @@ public class GameplayController extends GameMode implements ContactListener {
 			goalDoor.setComplete(true);
 			//goalDoor.canComplete = true;
 		}
-		if(player.isTransparent()) {
-			for(Obstacle pl : platforms) {
-				if(pl instanceof CloudPlatform) {
-					((CloudPlatform) pl).setTransparent(true);
-				}
-			}
-		}
-		else {
-			for(Obstacle pl : platforms) {
-				if(pl instanceof CloudPlatform) {
-					((CloudPlatform) pl).setTransparent(false);
-				}
-			}
-		}
-
 
 		// Process actions in object model
 		if (super.gameState == GameState.PLAY) {
@@ -559,7 +710,6 @@ public class GameplayController extends GameMode implements ContactListener {
 				//if (abilityController.getLastAbilityUsed() != null) abilityController.getLastAbilityUsed().setAvailable(true);
 			}
 			if(lastUsed != null && !abilityController.isAbilityActive(lastUsed.getFountainType())) {
-				if(lastUsed.getFountainType() == FountainModel.FountainType.TRANSPARENCY) { player.setTransparent(false); }
 				lastUsed.setAvailable(true);
 				lastUsed = null;
 			}
@@ -573,11 +723,6 @@ public class GameplayController extends GameMode implements ContactListener {
 			else {
 				player.isHurt = false;
 			}
-			if(super.serenity > 0) {
-				super.serenity -= 1f;
-				//super.serenity -= 1f;
-				//super.setSerenity(super.currentSerenity()- 0.1f);
-			}
 
 
 			if(super.serenity <= 0) {
@@ -587,16 +732,16 @@ public class GameplayController extends GameMode implements ContactListener {
 			
 
 			// Process actions in object model
-			player.setMovement(InputController.getInstance().getHorizontal() *player.getForce());
-			player.setJumping(InputController.getInstance().didPrimary() && player.isGrounded());
+			player.setMovement(inputController.getHorizontal() *player.getForce());
+			player.setJumping(inputController.didPrimary() && player.isGrounded());
 //		player.setDashing(InputController.getInstance().didActivateAbility() && abilityController.isAbilityActive(FountainModel.FountainType.DASH));
 //		player.setFlying(InputController.getInstance().didActivateAbility() && abilityController.isAbilityActive(FountainModel.FountainType.FLIGHT));
 //		player.setTransparent(InputController.getInstance().didActivateAbility() && abilityController.isAbilityActive(FountainModel.FountainType.TRANSPARENCY));
 //		player.setDashing(InputController.getInstance().didDash());
 //		player.setFlying(InputController.getInstance().didFlight());
 			if(abilityController.isAbilityActive(FountainModel.FountainType.DASH)){
-				player.setDashing(InputController.getInstance().didDoubleDash() || abilityController.isApplyingDash());
-				if(InputController.getInstance().didDoubleDash() || abilityController.isApplyingDash()) {
+				player.setDashing(inputController.didDoubleDash() || abilityController.isApplyingDash());
+				if(inputController.didDoubleDash() || abilityController.isApplyingDash()) {
 					player.setDashState(true);
 				}
 				else if((player.ps == playerState.DASH && player.isGrounded())) {
@@ -611,8 +756,7 @@ public class GameplayController extends GameMode implements ContactListener {
 			else if (player.ps == playerState.FLIGHT && player.isGrounded()) {
 				player.setFlightState(false);
 			}
-			player.setTransparent(abilityController.isAbilityActive(FountainModel.FountainType.TRANSPARENCY));
-			if(InputController.getInstance().didWalk() && player.ps != playerState.DASH && player.ps != playerState.JUMP && player.ps != playerState.FLIGHT) {
+			if(inputController.didWalk() && player.ps != playerState.DASH && player.ps != playerState.JUMP && player.ps != playerState.FLIGHT) {
 				player.setWalking(true);
 			}
 			else if (player.ps == playerState.WALK && player.isGrounded()) {
@@ -630,15 +774,13 @@ public class GameplayController extends GameMode implements ContactListener {
 //			SoundController.getInstance().play(JUMP_FILE,JUMP_FILE,false,EFFECT_VOLUME);
 			}
 
-			levelLoader.setSignPostFile();
-			levelLoader.setWindowTexture();
+			updateSignposts();
 
 			if (player.isJumping() && player.isGrounded()) {
 				//System.out.println("setting true");
 				player.setJumpState(true);
 				player.setGrounded(false);
-				Sound s = SoundController.jumpSound();
-				SoundController.playSound(s, 0.6f);
+				voices.play("jump", 0.6f);
 			}
 
 			if (player.ps == playerState.JUMP && player.isGrounded()) {
@@ -647,10 +789,7 @@ public class GameplayController extends GameMode implements ContactListener {
 			}
 
 			if (player.ps == playerState.JUMP) {
-				for (int i = 0; i < windows.size(); i++) {
-					RegularPlatform w = windows.get(i);
-					w.setOnWindow(false);
-				}
+				leaveWindows();
 			}
 
 			//System.out.println(player.ps == playerState.JUMP);
@@ -662,131 +801,14 @@ public class GameplayController extends GameMode implements ContactListener {
 					&& inputController.didDoubleJump()) {
 				player.setGrounded(false);
 				player.setFlying(true);
-				Sound s = SoundController.flightSound();
-				SoundController.playSound(s, 0.8f);
+				voices.play("flight", 0.8f);
 			}
 
 			if(abilityController.isAbilityActive(FountainModel.FountainType.DASH) &&
 					inputController.didDoubleDash()){
-				Sound s = SoundController.dashSound();
-				SoundController.playSound(s, 0.7f);
-			}
-
-			//moving the platforms
-			for(Platform platform : movingPlatforms){
-				if(platform instanceof CloudPlatform){
-					Vector2 newPos = platform.getPosition();
-					Vector2 platformVel = platform.getVelocity().cpy();
-					double mod;
-					double c = 2;
-					if (Double.isNaN((float)Math.sin((newPos.dst(platform.getOriginalPosition()) / Math.sqrt(Math.pow(platform.getHorizontalRadius(),2) + Math.pow(platform.getVerticalRadius(),2)))))) {
-						mod = -1;
-					} else {
-						mod = map(new Vector2(0,1), new Vector2(0.25f, 1.6f), 1 - (float)Math.sin((newPos.dst(platform.getOriginalPosition()) /
-								Math.sqrt(Math.pow(platform.getHorizontalRadius(),2) + Math.pow(platform.getVerticalRadius(),2)))
-								* Math.PI / 2));
-					}
-					newPos.add(platformVel.scl((float)(mod * c)));
-					if(Math.abs(newPos.x - platform.getOriginalPosition().x) > platform.getHorizontalRadius())
-						platform.setVelocity(platform.getVelocity().scl(-1, 1));
-					if(Math.abs(newPos.y - platform.getOriginalPosition().y) > platform.getVerticalRadius())
-						platform.setVelocity(platform.getVelocity().scl(1,-1));
-					platform.setPosition(newPos);
-				} else {
-					Vector2 newPos = platform.getPosition();
-					newPos.add(platform.getVelocity());
-					if(Math.abs(newPos.x - platform.getOriginalPosition().x) > platform.getHorizontalRadius())
-						platform.setVelocity(platform.getVelocity().scl(-1, 1));
-					if(Math.abs(newPos.y - platform.getOriginalPosition().y) > platform.getVerticalRadius())
-						platform.setVelocity(platform.getVelocity().scl(1,-1));
-					platform.setPosition(newPos);
-				}
+				voices.play("dash", 0.7f);
 			}
 
-			//moving the shards
-			for(MoonShard shard: moonShardsList){
-
-				Vector2 newPos = shard.getPosition();
-				Vector2 shardVel = shard.getVelocity().cpy();
-				double mod;
-				double c = 2;
-				if (Double.isNaN((float)Math.sin((newPos.dst(shard.getOriginalPosition()) / Math.sqrt(Math.pow(shard.getHorizontalRadius(),2) + Math.pow(shard.getVerticalRadius(),2)))))) {
-					mod = -1;
-				} else {
-					mod = map(new Vector2(0,1), new Vector2(0.25f, 1.6f), 1 - (float)Math.sin((newPos.dst(shard.getOriginalPosition()) /
-							Math.sqrt(Math.pow(shard.getHorizontalRadius(),2) + Math.pow(shard.getVerticalRadius(),2)))
-							* Math.PI / 2));
-				}
-				newPos.add(shardVel.scl((float)(mod * c)));
-				if(Math.abs(newPos.x - shard.getOriginalPosition().x) > shard.getHorizontalRadius())
-					shard.setVelocity(shard.getVelocity().scl(-1, 1));
-				if(Math.abs(newPos.y - shard.getOriginalPosition().y) > shard.getVerticalRadius())
-					shard.setVelocity(shard.getVelocity().scl(1,-1));
-				shard.setPosition(newPos);
-
-//				Vector2 newPos = shard.getPosition();
-//				newPos.add(shard.getVelocity());
-//				if(Math.abs(newPos.x - shard.getOriginalPosition().x) > shard.getHorizontalRadius())
-//					shard.setVelocity(shard.getVelocity().scl(-1, 1));
-//				if(Math.abs(newPos.y - shard.getOriginalPosition().y) > shard.getVerticalRadius())
-//					shard.setVelocity(shard.getVelocity().scl(1,-1));
-//				shard.setPosition(newPos);
-			}
-
-			for(Crocodile croc : crocodiles){
-				Vector2 newPos = croc.getPosition();
-				newPos.add(croc.getVelocity());
-				if(Math.abs(newPos.x - croc.getOriginalPosition().x) > croc.getHorizontalRadius()) {
-					croc.setVelocity(croc.getVelocity().scl(-1, 1));
-					//System.out.println("hi");
-				}
-				if(newPos.x - croc.getOriginalPosition().x > croc.getHorizontalRadius()) {
-					croc.setFaceRight(false);
-				}
-				if(croc.getOriginalPosition().x - newPos.x  > croc.getHorizontalRadius()) {
-					croc.setFaceRight(true);
-				}
-				if(Math.abs(newPos.y - croc.getOriginalPosition().y) > croc.getVerticalRadius()) {
-					croc.setVelocity(croc.getVelocity().scl(1, -1));
-				}
-				croc.setPosition(newPos);
-			}
-
-			for(FlyingMonster fly : flyingMonsters){
-				Vector2 newPos = fly.getPosition();
-				newPos.add(fly.getVelocity());
-				if(Math.abs(newPos.x - fly.getOriginalPosition().x) > fly.getHorizontalRadius())
-					fly.setVelocity(fly.getVelocity().scl(-1, 1));
-				if(newPos.x - fly.getOriginalPosition().x > fly.getHorizontalRadius()) {
-					fly.setFaceRight(false);
-				}
-				if(fly.getOriginalPosition().x - newPos.x  > fly.getHorizontalRadius()) {
-					fly.setFaceRight(true);
-				}
-				if(Math.abs(newPos.y - fly.getOriginalPosition().y) > fly.getVerticalRadius())
-					fly.setVelocity(fly.getVelocity().scl(1,-1));
-				fly.setPosition(newPos);
-			}
-
-			for(int i = 0; i < rocks.size; i++) {
-				Rock rk = rocks.get(i);
-				if(rockTimer > 1.5) {
-					rk.setReset(true);
-				}
-			}
-			//resetting the rocks
-			for(int i = 0; i < rocks.size; i++) {
-				Rock rk = rocks.get(i);
-//				Vector2 newPos = rk.getPosition();
-//				newPos.add(new Vector2(0f, -0.05f));
-//				rk.setPosition(newPos);
-				if (rk.getReset()) {
-					resetRock(rk);
-					//rocks.removeIndex(i);
-				}
-			}
-
-			rockTimer += Gdx.graphics.getDeltaTime();
 
 //		if (player.isTimerDone()) {
 //			abilityState = AbilityState.LAME;
@@ -797,287 +819,491 @@ public class GameplayController extends GameMode implements ContactListener {
 
 			//System.out.println(abilityController.getTimeLeftForAbility());
 		}
+	}
+
+	/**
+	 * Advances everything that drains or moves over time by one physics step.
+	 *
+	 * The entity systems move the patrolling objects and bring back the falling
+	 * rocks (see PatrolSystem and HazardSystem).
+	 *
+	 * @param step Number of seconds in a physics step
+	 */
+	public void fixedUpdate(float step) {
+		if(super.serenity > 0) {
+			super.serenity -= SERENITY_DRAIN * step;
+		}
 
+		// Wake the chunks the player is approaching, and put the far ones to sleep
+		streamer.update(player.getX());
+
+		// Move the patrolling entities and bring back the falling rocks
+		engine.update(step);
+
+		// Move the player with the platform under them, now that it has its new velocity
+		player.setCarrierVX(carrier != null ? carrier.getLinearVelocity().x : 0);
+		carrier = null;
 		player.setOnMovingPlatform(false);
 	}
 
+	/**
+	 * Makes an object kinematic if it patrols, so that the world step moves it.
+	 *
+	 * Objects that stay put are left static, and fixedUpdate leaves them alone.
+	 *
+	 * @param obj      The object to lay out
+	 * @param velocity Its patrol velocity
+	 */
+	private void setPatrolBodyType(Obstacle obj, Vector2 velocity) {
+		if (velocity != null && !velocity.isZero()) {
+			obj.setBodyType(BodyDef.BodyType.KinematicBody);
+		}
+	}
+
+	/**
+	 * Carries out the side effects of the contacts in the last physics step.
+	 *
+	 * @param step Number of seconds in a physics step
+	 */
+	public void postStep(float step) {
+		commands.execute(commandExecutor);
+	}
+
+	/** Carries out contact commands on this controller */
+	private final ContactCommands.Executor commandExecutor = new ContactCommands.Executor() {
+		public void knockback(Obstacle target, float vx, float vy) {
+			target.setVX(vx);
+			target.setVY(vy);
+			if (target == player) {
+				player.setGrounded(false);
+				player.applyForce();
+			}
+		}
+
+		public void damage(float amount) {
+			serenity = Math.max(0, serenity - amount);
+		}
+
+		public void playSound(String sound, float volume) {
+			voices.play(sound, volume);
+		}
+	};
+
 	public boolean detectLocation(float x,float y) {
 		return player.getX() == x && player.getY() == y;
 	}
 
+	/** Keeps the textures and clouds in step with the game events */
+	private final GameEventListener eventListener = new GameEventAdapter() {
+		public void signRead(SignPost sign) {
+			levelLoader.setSignPostFile(sign);
+		}
+
+		public void windowStepped(RegularPlatform window) {
+			levelLoader.setWindowTexture(window);
+		}
+
+		public void abilityStarted(FountainModel ability) {
+			if (ability.getFountainType() == FountainModel.FountainType.TRANSPARENCY) {
+				setPlayerTransparent(true);
+				voices.play("ethereality", 0.45f);
+			}
+		}
+
+		public void abilityEnded(FountainModel ability) {
+			if (ability.getFountainType() == FountainModel.FountainType.TRANSPARENCY) {
+				setPlayerTransparent(false);
+			}
+		}
+
+		public void transparencyChanged(boolean transparent) {
+			for (int i = 0; i < clouds.size(); i++) {
+				clouds.get(i).setTransparent(transparent);
+			}
+		}
+	};
+
+	/** Listens to the events of this mode, including those of the abilities */
+	private void registerEventListeners() {
+		events.clear();
+		events.addListener(eventListener);
+		abilityController.setEvents(events);
+	}
+
 	/**
-	 * Callback method for the start of a collision
+	 * Makes the player transparent or solid, posting the change if there is one
 	 *
-	 * This method is called when we first get a collision between two objects.  We use
-	 * this method to test if it is the "right" kind of collision.  In particular, we
-	 * use it to test if we made it to the win door.
+	 * @param value Whether the player should be transparent
+	 */
+	private void setPlayerTransparent(boolean value) {
+		if (player != null && player.isTransparent() != value) {
+			player.setTransparent(value);
+			events.transparencyChanged(value);
+		}
+	}
+
+	/**
+	 * Defines the voice of every gameplay sound.
 	 *
-	 * @param contact The two bodies that collided
+	 * Cooldowns and lengths are in seconds.  The hurt cooldown keeps a monster
+	 * the player stands on from playing it every step.
 	 */
-	public void beginContact(Contact contact) {
-		Fixture fix1 = contact.getFixtureA();
-		Fixture fix2 = contact.getFixtureB();
+	private void registerVoices() {
+		voices.define("jump", VoiceManager.Priority.LOW, 0.1f, 0.32f);
+		voices.define("flight", VoiceManager.Priority.NORMAL, 0.5f, 1.2f);
+		voices.define("dash", VoiceManager.Priority.NORMAL, 0.2f, 1.43f);
+		voices.define("ethereality", VoiceManager.Priority.NORMAL, 0.5f, 3.06f);
+		voices.define("moon_shard", VoiceManager.Priority.NORMAL, 0, 1.57f);
+		voices.define("touch_fountain", VoiceManager.Priority.NORMAL, 0.5f, 1.57f);
+		voices.define("hurt", VoiceManager.Priority.HIGH, 0.4f, 0.57f);
+		voices.define("start_level", VoiceManager.Priority.HIGH, 0.5f, 2.57f);
+		voices.define("goal", VoiceManager.Priority.HIGH, 0, 3.55f);
+		voices.setStepRate(getStepRate());
+	}
+
+	/**
+	 * Registers the handlers for every pair of contact types we care about.
+	 *
+	 * Each fixture carries a ContactType in its user data, so the dispatcher can find
+	 * the right handler directly instead of searching the object lists.
+	 */
+	private void registerContactHandlers() {
+		contacts.clear();
 
-		Body body1 = fix1.getBody();
-		Body body2 = fix2.getBody();
+		// Player body
+		contacts.register(ContactType.PLAYER, ContactType.FOUNTAIN, new ContactAdapter() {
+			public void begin(Contact contact, Fixture first, Fixture second) {
+				touchFountain((FountainModel) ContactDispatcher.getObstacle(second));
+			}
+		});
+		contacts.register(ContactType.PLAYER, ContactType.MOON_SHARD, new ContactAdapter() {
+			public void begin(Contact contact, Fixture first, Fixture second) {
+				collectMoonShard((MoonShard) ContactDispatcher.getObstacle(second));
+			}
+		});
+		contacts.register(ContactType.PLAYER, ContactType.ROCK, new ContactAdapter() {
+			public void begin(Contact contact, Fixture first, Fixture second) {
+				hitPlayerWithRock((Rock) ContactDispatcher.getObstacle(second));
+			}
+		});
+		contacts.register(ContactType.PLAYER, ContactType.WINDOW, new ContactAdapter() {
+			public void begin(Contact contact, Fixture first, Fixture second) {
+				stepOnWindow((RegularPlatform) ContactDispatcher.getObstacle(second));
+			}
+			public void preSolve(Contact contact, Fixture first, Fixture second, Manifold oldManifold) {
+				carryPlayer((Platform) ContactDispatcher.getObstacle(second));
+			}
+		});
+		contacts.register(ContactType.PLAYER, ContactType.PLATFORM, new ContactAdapter() {
+			public void begin(Contact contact, Fixture first, Fixture second) {
+				leaveWindows();
+			}
+			public void preSolve(Contact contact, Fixture first, Fixture second, Manifold oldManifold) {
+				carryPlayer((Platform) ContactDispatcher.getObstacle(second));
+			}
+		});
+		contacts.register(ContactType.PLAYER, ContactType.ROCK_TILE, new ContactAdapter() {
+			public void preSolve(Contact contact, Fixture first, Fixture second, Manifold oldManifold) {
+				carryPlayer((Platform) ContactDispatcher.getObstacle(second));
+			}
+		});
+		contacts.register(ContactType.PLAYER, ContactType.CLOUD, new ContactAdapter() {
+			public void begin(Contact contact, Fixture first, Fixture second) {
+				leaveWindows();
+			}
+			public void preSolve(Contact contact, Fixture first, Fixture second, Manifold oldManifold) {
+				solveCloud(contact, (CloudPlatform) ContactDispatcher.getObstacle(second));
+			}
+		});
+		contacts.register(ContactType.PLAYER, ContactType.SPIKE, new ContactAdapter() {
+			public void begin(Contact contact, Fixture first, Fixture second) {
+				leaveWindows();
+			}
+			public void preSolve(Contact contact, Fixture first, Fixture second, Manifold oldManifold) {
+				SpikedPlatform spikes = (SpikedPlatform) ContactDispatcher.getObstacle(second);
+				carryPlayer(spikes);
+				solveSpikes(contact, spikes);
+			}
+		});
+		contacts.register(ContactType.PLAYER, ContactType.GOAL_SENSOR, new ContactAdapter() {
+			public void begin(Contact contact, Fixture first, Fixture second) {
+				reachGoal();
+			}
+		});
+		ContactHandler monster = new ContactAdapter() {
+			public void preSolve(Contact contact, Fixture first, Fixture second, Manifold oldManifold) {
+				hurtByMonster();
+			}
+		};
+		contacts.register(ContactType.PLAYER, ContactType.CROCODILE, monster);
+		contacts.register(ContactType.PLAYER, ContactType.FLYING_MONSTER, monster);
+
+		// Player feet (also does everything the player body does)
+		for (ContactType type : ContactType.values()) {
+			if (type != ContactType.PLAYER_SENSOR) {
+				contacts.register(ContactType.PLAYER_SENSOR, type,
+						new GroundSensorHandler(type, contacts.getHandler(ContactType.PLAYER, type)));
+			}
+		}
 
-		Object fd1 = fix1.getUserData();
-		Object fd2 = fix2.getUserData();
+		// Rocks shatter on anything that counts as a platform
+		ContactHandler shatter = new ContactAdapter() {
+			public void begin(Contact contact, Fixture first, Fixture second) {
+				shatterRock((Rock) ContactDispatcher.getObstacle(first));
+			}
+		};
+		contacts.register(ContactType.ROCK, ContactType.PLATFORM, shatter);
+		contacts.register(ContactType.ROCK, ContactType.CLOUD, shatter);
+		contacts.register(ContactType.ROCK, ContactType.SPIKE, shatter);
+	}
 
-		try {
-			Obstacle bd1 = (Obstacle)body1.getUserData();
-			Obstacle bd2 = (Obstacle)body2.getUserData();
-
-			// See if we have landed on the ground.
-			if ((player.getSensorName().equals(fd2) && player != bd1) ||
-					(player.getSensorName().equals(fd1) && player != bd2)) {
-				// Only set grounded to true on CloudPlatforms if the player is transparent
-				if(bd1 instanceof CloudPlatform || bd2 instanceof CloudPlatform){
-					CloudPlatform cp;
-					if(bd1 instanceof CloudPlatform)
-						cp = (CloudPlatform) bd1;
-					else
-						cp = (CloudPlatform) bd2;
-					if(cp.getPosition().y > player.getPosition().y){
-						contact.setEnabled(false);
-					}
-					if(player.isTransparent()){
-						player.setGrounded(true);
-						for (int j = 0; j < windows.size(); j++) {
-							RegularPlatform w = windows.get(j);
-							w.setOnWindow(false);
+	/**
+	 * Handles contacts with the ground sensor under the player's feet.
+	 *
+	 * The sensor belongs to the player body, so after deciding whether we are on the
+	 * ground, we forward the contact to whatever handles the player body.
+	 */
+	private class GroundSensorHandler implements ContactHandler {
+		/** The type of fixture the sensor is touching */
+		private ContactType type;
+		/** The handler for the player body and this type (may be null) */
+		private ContactHandler playerHandler;
+
+		public GroundSensorHandler(ContactType type, ContactHandler playerHandler) {
+			this.type = type;
+			this.playerHandler = playerHandler;
+		}
+
+		public void begin(Contact contact, Fixture sensor, Fixture other) {
+			Obstacle bd = ContactDispatcher.getObstacle(other);
+			if (player != bd) {
+				switch (type) {
+					case CLOUD:
+						// Only set grounded to true on CloudPlatforms if the player is transparent
+						if (bd.getPosition().y > player.getPosition().y) {
+							contact.setEnabled(false);
 						}
-					}
-				} else if (!(bd1 instanceof FountainModel || bd2 instanceof FountainModel
-						|| bd1 instanceof MoonShard || bd2 instanceof MoonShard
-						|| bd1 instanceof SignPost || bd2 instanceof SignPost ||
-						(bd1 instanceof GoalDoor && !((GoalDoor) bd1).canComplete) ||
-						(bd2 instanceof GoalDoor && !((GoalDoor) bd2).canComplete) ||
-						(bd1 instanceof BoxObstacle && goalDoor.sensors.contains((BoxObstacle) bd1, true))
-						|| (bd2 instanceof BoxObstacle && goalDoor.sensors.contains((BoxObstacle) bd2, true)))) {
-					player.setGrounded(true);
+						if (player.isTransparent()) {
+							player.setGrounded(true);
+							leaveWindows();
+						}
+						break;
+					case FOUNTAIN:
+					case MOON_SHARD:
+					case SIGNPOST:
+					case GOAL_SENSOR:
+						break;
+					case GOAL_DOOR:
+						if (((GoalDoor) bd).canComplete) {
+							player.setGrounded(true);
+						}
+						break;
+					default:
+						player.setGrounded(true);
+						break;
 				}
-				sensorFixtures.add(player == bd1 ? fix2 : fix1); // Could have more than one ground
+				sensorFixtures.add(other); // Could have more than one ground
 			}
+			if (playerHandler != null) {
+				playerHandler.begin(contact, sensor, other);
+			}
+		}
 
-
-			//System.out.println("grounded" + player.isGrounded());
-			//check for fountains
-			for (int i = 0; i < fountainsList.size(); i++) {
-				if ((bd1 == player   && bd2 == fountainsList.get(i)) ||
-						(bd1 == fountainsList.get(i) && bd2 == player)) {
-					//System.out.println(bd1);
-					if(fountainsList.get(i).getFountainType() != FountainModel.FountainType.RESTORE) {
-						setAbilityToAdd(fountainsList.get(i).getFountainType());
-					}
-					if(bd2 == fountainsList.get(i)) {
-						touchedFountain = (FountainModel)bd2;
-					}
-					else if(bd1 == fountainsList.get(i)) {
-						touchedFountain = (FountainModel)bd1;
-					}
-					if(touchedFountain.isAvailable() && touchedFountain.getFountainType() != FountainModel.FountainType.RESTORE){
-						Sound s = SoundController.touchFountainSound();
-						SoundController.playSound(s, 0.8f);
-						touchedFountain.setAvailable(false);
-						abilityController.addAbility(touchedFountain);
-					}
-					if(touchedFountain.getFountainType() == FountainModel.FountainType.RESTORE && touchedFountain.isAvailable()) {
-						Sound s = SoundController.touchFountainSound();
-						SoundController.playSound(s, 0.8f);
-						//toRestore = true;
-//						editSaveJson(false);
-						lastpt = touchedFountain;
-						level.checkpointsPassed++;
-						editSaveJson(false);
-						super.serenity = Math.min(super.serenity+(MAX_SERENITY/2),MAX_SERENITY);
-						checkpointSerenity = super.serenity;
-						touchedFountain.setAvailable(false);
-						touchedFountain.setFountainsQueued(abilityController.getAbilityQueue());
-						ArrayList<MoonShard> taken = new ArrayList<MoonShard>();
-						for (MoonShard moon : removeMS) {
-						    if (moon.isTaken()) {
-						        taken.add(moon);
-                            }
-                        }
-						touchedFountain.setMoonShardsCollected(taken);
-//						ArrayList<RegularPlatform> brokenWindows = new ArrayList<RegularPlatform>();
-//						for (RegularPlatform w: windowsStepped) {
-//							if(w.getStepCount() )
-//						}
-						touchedFountain.setWindowsBroken(windowsStepped);
-					}
+		public void end(Contact contact, Fixture sensor, Fixture other) {
+			if (player != ContactDispatcher.getObstacle(other)) {
+				sensorFixtures.remove(other);
+				if (sensorFixtures.size == 0) {
+					player.setGrounded(false);
 				}
 			}
+			if (playerHandler != null) {
+				playerHandler.end(contact, sensor, other);
+			}
+		}
 
-			//check for moon shard collision
-			for (int i = 0; i < moonShardsList.size(); i++) {
-				MoonShard ms = moonShardsList.get(i);
-				if ((bd1 == ms && bd2 == player)
-						|| (bd1 == player && bd2 == ms)) {
-                    if (!ms.isTaken()) {
-                        ms.setTaken(true);
-                        moonShardsList.remove(ms);
-                        //ms.deactivatePhysics(world);
-                        removeMS.add(ms);
-                        Sound s = SoundController.moonShardSound();
-                        SoundController.playSound(s, 0.6f);
-                    }
-                }
-			}
-
-			//detect rock collision with player
-			for (int i = 0; i < rocks.size; i++) {
-				Rock r = rocks.get(i);
-				if (r.getCollide() == true) {
-					if ((bd1 == r && bd2 == player)
-							|| (bd1 == player && bd2 == r)) {
-						r.setDraw(false);
-						if (!player.isTransparent()) {
-							isRockCollision = true;
-							Sound s = SoundController.hurtSound();
-							SoundController.playSound(s, 0.3f);
-							super.serenity -= MAX_SERENITY / 5;
-							if (super.serenity < 0) {
-								super.serenity = 0;
-							}
-						}
-
-						rx = r.getX() * r.getDrawScale().x;
-						ry = r.getY() * r.getDrawScale().y;
-						ox = r.getOriginalPos().x;
-						oy = r.getOriginalPos().y;
-						playerSmokeCoord.add(ox, oy, rx, ry);
-						if (smokesCoord.size == rocks.size) {
-							smokesCoord.removeIndex(0);
-						}
+		public void preSolve(Contact contact, Fixture sensor, Fixture other, Manifold oldManifold) {
+			if (playerHandler != null) {
+				playerHandler.preSolve(contact, sensor, other, oldManifold);
+			}
+		}
+	}
 
+	/** Clears the on-window flag of every window (the player is standing elsewhere) */
+	private void leaveWindows() {
+		for (int j = 0; j < windows.size(); j++) {
+			BreakableComponent.MAPPER.get(windows.get(j)).window.setOnWindow(false);
+		}
+	}
 
-						setSmoke(true);
-						r.setCollide(false);
-					}
+	/** Collects the ability (or checkpoint) of the fountain the player touched */
+	private void touchFountain(FountainModel fountain) {
+		if(fountain.getFountainType() != FountainModel.FountainType.RESTORE) {
+			setAbilityToAdd(fountain.getFountainType());
+		}
+		touchedFountain = fountain;
+		if(touchedFountain.isAvailable() && touchedFountain.getFountainType() != FountainModel.FountainType.RESTORE){
+			voices.play("touch_fountain", 0.8f);
+			touchedFountain.setAvailable(false);
+			abilityController.addAbility(touchedFountain);
+		}
+		if(touchedFountain.getFountainType() == FountainModel.FountainType.RESTORE && touchedFountain.isAvailable()) {
+			voices.play("touch_fountain", 0.8f);
+			lastpt = touchedFountain;
+			level.checkpointsPassed++;
+			editSaveJson();
+			super.serenity = Math.min(super.serenity+(MAX_SERENITY/2),MAX_SERENITY);
+			checkpointSerenity = super.serenity;
+			touchedFountain.setAvailable(false);
+			touchedFountain.setFountainsQueued(abilityController.getAbilityQueue());
+			ArrayList<MoonShard> taken = new ArrayList<MoonShard>();
+			for (MoonShard moon : removeMS) {
+				if (moon.isTaken()) {
+					taken.add(moon);
 				}
 			}
+			touchedFountain.setMoonShardsCollected(taken);
+			touchedFountain.setWindowsBroken(windowsStepped);
+		}
+	}
 
-			//detect rock collision with platforms
-			for (int i = 0; i < rocks.size; i++) {
-				Rock r = rocks.get(i);
-				if (r.getCollide() == true) {
-					for (int j = 0; j < platforms.size(); j++) {
-						Obstacle p = platforms.get(j);
-						if ((bd1 == r && bd2 == p)
-								|| (bd1 == p && bd2 == r)) {
-							r.setDraw(false);
-							//r.setReset(true);
-							//removeRocks.add(r);
-							rx = r.getX() * r.getDrawScale().x;
-							ry = r.getY() * r.getDrawScale().y;
-							ox = r.getOriginalPos().x;
-							oy = r.getOriginalPos().y;
-							Array<Float> temp = new Array<Float>();
-							temp.add(ox, oy, rx, ry);
-							if (smokesCoord.size == rocks.size) {
-								smokesCoord.removeIndex(0);
-							}
-							smokesCoord.add(temp);
-							setSmoke(true);
-							r.setCollide(false);
+	/** Collects a moon shard if it has not been taken yet */
+	private void collectMoonShard(MoonShard ms) {
+		if (!ms.isTaken()) {
+			ms.setTaken(true);
+			moonShardsList.remove(ms);
+			removeMS.add(ms);
+			commands.playSound("moon_shard", 0.6f);
+		}
+	}
 
-						}
-					}
-				}
+	/** Hurts the player (unless transparent) and shatters the rock */
+	private void hitPlayerWithRock(Rock r) {
+		if (r.getCollide()) {
+			r.setDraw(false);
+			if (!player.isTransparent()) {
+				isRockCollision = true;
+				commands.playSound("hurt", 0.3f);
+				commands.damage(MAX_SERENITY / 5);
 			}
 
+			rx = r.getX() * r.getDrawScale().x;
+			ry = r.getY() * r.getDrawScale().y;
+			ox = r.getOriginalPos().x;
+			oy = r.getOriginalPos().y;
+			playerSmokeCoord.add(ox, oy, rx, ry);
+			if (smokesCoord.size == hazards.size()) {
+				smokesCoord.removeIndex(0);
+			}
 
-			//TODO: check rock collision with windows
+			setSmoke(true);
+			r.setCollide(false);
+		}
+	}
 
+	/** Shatters a rock that hit a platform */
+	private void shatterRock(Rock r) {
+		if (r.getCollide()) {
+			r.setDraw(false);
+			rx = r.getX() * r.getDrawScale().x;
+			ry = r.getY() * r.getDrawScale().y;
+			ox = r.getOriginalPos().x;
+			oy = r.getOriginalPos().y;
+			Array<Float> temp = new Array<Float>();
+			temp.add(ox, oy, rx, ry);
+			if (smokesCoord.size == hazards.size()) {
+				smokesCoord.removeIndex(0);
+			}
+			smokesCoord.add(temp);
+			setSmoke(true);
+			r.setCollide(false);
+		}
+	}
 
-			//detect window and player collision
-			for (int i = 0; i < windows.size(); i++) {
-				RegularPlatform w = windows.get(i);
-				if (w.getStepCount() < 3) {
-					if ((bd1 == w && bd2 == player)
-							|| (bd1 == player && bd2 == w)) {
-						if (player.isGrounded() && w.getOnWindow() == false) {
-							windowsStepped.add(w);
-							//System.out.println(w.getStepCount());
-							w.setOnWindow(true);
-							w.incrementStepCount();
-						}
-					}
-				}
-				else {
-					windowsStepped.add(w);
-					removeWindows.add(w);
-				}
+	/** Counts a step on a window, and breaks it on the third */
+	private void stepOnWindow(RegularPlatform w) {
+		if (w.getStepCount() < 3) {
+			if (player.isGrounded() && w.getOnWindow() == false) {
+				windowsStepped.add(w);
+				w.setOnWindow(true);
+				w.incrementStepCount();
+				events.windowStepped(w);
 			}
+		}
+		if (w.getStepCount() >= 3) {
+			windowsStepped.add(w);
+			removeWindows.add(w);
+		}
+	}
 
-			//check player and platform collision
-			for (int i = 0; i < platforms.size(); i++) {
-				Obstacle p = platforms.get(i);
-				if ((bd1 == player && bd2 == p)
-						|| (bd1 == p && bd2 == player)) {
-					for (int j = 0; j < windows.size(); j++) {
-						RegularPlatform w = windows.get(j);
-						w.setOnWindow(false);
-					}
-				}
+	/** Completes the level if every moon shard has been collected */
+	private void reachGoal() {
+		numMoonCollected = 0;
+		for (int i =0; i<moonShardsList.size(); i++) {
+			if (moonShardsList.get(i).isTaken()) {
+				numMoonCollected++;
+			}
+		}
+		if (numMoonCollected == moonShardsList.size()) {
+			lastpt = null;
+			SoundController.pauseMusic();
+			voices.play("goal", 0.1f);
+			level.complete = true;
+			if (level.nextLevel != null) {
+				level.nextLevel.available = true;
+			}
+			int stars = 0;
+			if(serenity >= THREE_STAR) {
+				stars = 3;
+			}
+			else if(serenity >= TWO_STAR) {
+				stars = 2;
 			}
+			else if(serenity >= ONE_STAR) {
+				stars = 1;
+			}
+			level.numStarsCollected = Math.max(stars, level.numStarsCollected);
+			editSaveJson();
+			setComplete(true);
+		}
+	}
 
-			// Check for win condition
-			if (((bd1 == player && (bd2 instanceof BoxObstacle && goalDoor.sensors.contains((BoxObstacle) bd2, true))) ||
-					((bd1 instanceof BoxObstacle && goalDoor.sensors.contains((BoxObstacle) bd1, true) && bd2 == player)))) {
-				numMoonCollected = 0;
-				for (int i =0; i<moonShardsList.size(); i++) {
-					if (moonShardsList.get(i).isTaken()) {
-						numMoonCollected++;
+	/** Shows the message of any signpost the player is standing at */
+	private void updateSignposts() {
+		for (int i = 0; i < signposts.size(); i++) {
+			SignPost post = SignComponent.MAPPER.get(signposts.get(i)).sign;
+			// I did it this way because the other way was causing it to disappear
+			// too soon
+			if (player.getX() >= post.getX()-1 && player.getX() <= post.getX() + 1) {
+				if (player.getY() >= post.getY()-1 && player.getY() <= post.getY() + 1) {
+					post.setMessageVisible(true);
+					if (!post.getHasRead()) {
+						post.setHasRead(true);
+						events.signRead(post);
 					}
+				} else {
+					post.setMessageVisible(false);
 				}
-				if (numMoonCollected == moonShardsList.size()) {
-					lastpt = null;
-					SoundController.pauseMusic();
-					Sound s = SoundController.goalSound();
-					SoundController.playSound(s, 0.1f);
-					level.complete = true;
-					if (level.nextLevel != null) {
-					    level.nextLevel.available = true;
-                    }
-                    int stars = 0;
-					if(serenity >= THREE_STAR) {
-						stars = 3;
-					}
-					else if(serenity >= TWO_STAR) {
-						stars = 2;
-					}
-					else if(serenity >= ONE_STAR) {
-						stars = 1;
-					}
-					level.numStarsCollected = Math.max(stars, level.numStarsCollected);
-					editSaveJson(true);
-					setComplete(true);
-				}
+			} else {
+				post.setMessageVisible(false);
 			}
+		}
+	}
 
-			//check for signpost collision
-			for (int i = 0; i < signpostsList.size(); i++) {
-				SignPost post = signpostsList.get(i);
-				// I did it this way because the other way was causing it to disappear
-                // too soon
-				if (player.getX() >= post.getX()-1 && player.getX() <= post.getX() + 1) {
-				    if (player.getY() >= post.getY()-1 && player.getY() <= post.getY() + 1) {
-				        post.setMessageVisible(true);
-				        post.setHasRead(true);
-                    } else {
-				        post.setMessageVisible(false);
-                    }
-                } else {
-				    post.setMessageVisible(false);
-                }
-			}
+	/**
+	 * Callback method for the start of a collision
+	 *
+	 * This method is called when we first get a collision between two objects.  We use
+	 * this method to test if it is the "right" kind of collision.  In particular, we
+	 * use it to test if we made it to the win door.
+	 *
+	 * @param contact The two bodies that collided
+	 */
+	public void beginContact(Contact contact) {
+		try {
+			contacts.beginContact(contact);
 		} catch (Exception e) {
 			e.printStackTrace();
 		}
-
 	}
 
 	/**
@@ -1088,225 +1314,76 @@ public class GameplayController extends GameMode implements ContactListener {
 	 * double jumping.
 	 */
 	public void endContact(Contact contact) {
-		Fixture fix1 = contact.getFixtureA();
-		Fixture fix2 = contact.getFixtureB();
-
-		Body body1 = fix1.getBody();
-		Body body2 = fix2.getBody();
-
-		Object fd1 = fix1.getUserData();
-		Object fd2 = fix2.getUserData();
-
-		Object bd1 = body1.getUserData();
-		Object bd2 = body2.getUserData();
-
-		if ((player.getSensorName().equals(fd2) && player != bd1) ||
-				(player.getSensorName().equals(fd1) && player != bd2)) {
-			sensorFixtures.remove(player == bd1 ? fix2 : fix1);
-			if (sensorFixtures.size == 0) {
-				player.setGrounded(false);
-			}
-		}
-
+		contacts.endContact(contact);
 	}
 
 	/** Unused ContactListener method */
 	public void postSolve(Contact contact, ContactImpulse impulse) {}
 
-	private static boolean canPlaySound = true;
-	private static Timer canPlaySoundTimer = new Timer();
-
-	/** Unused ContactListener method */
+	/**
+	 * Callback method before a collision is solved
+	 *
+	 * We use this to handle clouds, spikes, monsters and moving platforms.
+	 */
 	public void preSolve(Contact contact, Manifold oldManifold) {
 		if (gameState == GameState.PLAY) {
-			Fixture fix1 = contact.getFixtureA();
-			Fixture fix2 = contact.getFixtureB();
-
-			Body body1 = fix1.getBody();
-			Body body2 = fix2.getBody();
-
-			Object fd1 = fix1.getUserData();
-			Object fd2 = fix2.getUserData();
-
-			// Presolve collisions with CloudPlatforms and SpikedPlatforms
-
 			try {
-				Obstacle bd1 = (Obstacle) body1.getUserData();
-				Obstacle bd2 = (Obstacle) body2.getUserData();
-
-				// Check object types for CloudPlatform & PlayerModel collision
-				if ((bd1 instanceof CloudPlatform && bd2 instanceof PlayerModel)
-						|| (bd1 instanceof PlayerModel && bd2 instanceof CloudPlatform)) {
-					// Get the PlayerModel and CloudPlatform
-					final PlayerModel dm;
-					final CloudPlatform platform;
-					if(bd1 instanceof PlayerModel){
-						dm = (PlayerModel) bd1;
-						platform = (CloudPlatform) bd2;
-					}
-					else {
-						dm = (PlayerModel) bd2;
-						platform = (CloudPlatform) bd1;
-					}
-					// If the intangible ability is not held, cancel the collision
-					if(!dm.isTransparent() || !platform.isValidCollision(dm)) {
-						contact.setEnabled(false);
-					} else if (dm.isTransparent() && platform.isValidCollision(dm)){
-						// On the next render frame, add the platform's velocity to the player's position so
-						// the player sticks to the platform and moves with it.
-						Gdx.app.postRunnable(new Runnable() {
-							@Override
-							public void run () {
-								Vector2 newPlayerPos = dm.getPosition().add(platform.getVelocity());
-								dm.setPosition(newPlayerPos);
-							}
-						});
-					}
-				}
-
-				if(((bd1 instanceof Platform && bd2 instanceof PlayerModel)
-						|| (bd1 instanceof PlayerModel && bd2 instanceof Platform))
-						&& !(bd1 instanceof  CloudPlatform) && !(bd2 instanceof  CloudPlatform)) {
-					final PlayerModel dm;
-					final Platform platform;
-					if(bd1 instanceof PlayerModel){
-						dm = (PlayerModel) bd1;
-//						if (bd2 instanceof RegularPlatform) {
-//							platform = (RegularPlatform) bd2;
-//						} else {
-//							platform = (PolygonPlatform) bd2;
-//						}
-						platform = (Platform) bd2;
-					}
-					else {
-						dm = (PlayerModel) bd2;
-//						if (bd1 instanceof RegularPlatform) {
-//							platform = (RegularPlatform) bd1;
-//						} else {
-//							platform = (PolygonPlatform) bd1;
-//						}
-						platform = (Platform) bd1;
-					}
-
-					if(!(platform instanceof CloudPlatform) && platform.isValidCollision(dm) && !dm.onMovingPlatform){
-						Gdx.app.postRunnable(new Runnable() {
-							@Override
-							public void run () {
-								if (platform.getVelocity().x != 0) {
-									float dx = platform.getVelocity().x;
-									float x = dm.getPosition().x + dx;
-									dm.setPosition(x, dm.getPosition().y);
-									dm.setOnMovingPlatform(true);
-								}
-								if (platform.getVelocity().y != 0) {
-									float dy = platform.getVelocity().y;
-									if (dy > 0) dy = 0;
-									float y = dm.getPosition().y + dy;
-									dm.setPosition(dm.getPosition().x, y);
-									dm.setOnMovingPlatform(true);
-
-								}
-
-							}
-						});
-					}
+				contacts.preSolve(contact, oldManifold);
+			} catch (Exception e){
+				e.printStackTrace();
+			}
+		}
+	}
 
-				}
+	/** Lets the player through a cloud unless transparent, otherwise carries them with it */
+	private void solveCloud(Contact contact, CloudPlatform platform) {
+		PlayerModel dm = player;
+		// If the intangible ability is not held, cancel the collision
+		if(!dm.isTransparent() || !platform.isValidCollision(dm)) {
+			contact.setEnabled(false);
+		} else if (carrier == null) {
+			// The player stands on the cloud, so it carries them along (see fixedUpdate)
+			carrier = platform;
+			dm.setOnMovingPlatform(true);
+		}
+	}
 
-				if(bd1 instanceof Crocodile && bd2 instanceof PlayerModel || bd2 instanceof  Crocodile
-						&& bd1 instanceof  PlayerModel) {
-					isMonsterCollision = true;
-					//TODO: add cooldown
-					if(canPlaySound){
-						Sound s = SoundController.hurtSound();
-						SoundController.playSound(s, 0.3f);
-						canPlaySound = false;
-						canPlaySoundTimer.schedule(new TimerTask() {
-							@Override
-							public void run() {
-								canPlaySound = true;
-							}
-						}, 400);
-					}
-					super.serenity -= MAX_SERENITY/2000;
-					if(super.serenity < 0) {
-						super.serenity = 0;
-					}
-				}
-				if(bd1 instanceof FlyingMonster && bd2 instanceof PlayerModel || bd2 instanceof  FlyingMonster
-						&& bd1 instanceof  PlayerModel) {
-					isMonsterCollision = true;
-					if(canPlaySound){
-						Sound s = SoundController.hurtSound();
-						SoundController.playSound(s, 0.3f);
-						canPlaySound = false;
-						canPlaySoundTimer.schedule(new TimerTask() {
-							@Override
-							public void run() {
-								canPlaySound = true;
-							}
-						}, 400);
-					}
-					super.serenity -= MAX_SERENITY/2000;
-					if(super.serenity < 0) {
-						super.serenity = 0;
-					}
-				}
+	/**
+	 * Notes the (non-cloud) moving platform the player is standing on.
+	 *
+	 * Kinematic platforms push the player up and down by themselves, but they
+	 * have no friction, so fixedUpdate carries the player sideways.
+	 */
+	private void carryPlayer(Platform platform) {
+		PlayerModel dm = player;
+		if (carrier == null && !platform.getLinearVelocity().isZero() && platform.isValidCollision(dm)) {
+			carrier = platform;
+			dm.setOnMovingPlatform(true);
+		}
+	}
 
-				// Check object types for SpikedPlatform & PlayerModel collision
-				if ((bd1 instanceof SpikedPlatform && bd2 instanceof PlayerModel)
-						|| (bd1 instanceof PlayerModel && bd2 instanceof SpikedPlatform)) {
-					// Find and assign the PlayerModel object and SpikedPlatform Object
-					final PlayerModel dm;
-					final SpikedPlatform sp;
-					if(bd1 instanceof PlayerModel){
-						dm = (PlayerModel) bd1;
-						sp = (SpikedPlatform) bd2;
-					}
-					else{
-						dm = (PlayerModel) bd2;
-						sp = (SpikedPlatform) bd1;
-					}
-					if(sp.isValidCollision(dm) && !dm.isTransparent()){
-						// Handle knockback from spikes bsaed on spike direction
-						Float xVariation = (new Random()).nextFloat();
-						float knockBackScale = 8f;
-						Vector2 newVelocity = sp.getLaunchDirection();
-						// Uncomment the following line to give a random x-direction knockback
-						//newVelocity = newVelocity.add((xVariation - 0.5f) * 10, 0f);
-						newVelocity = newVelocity.scl(knockBackScale);
-						//newVelocity.add(-dm.getLinearVelocity().x/2, 0f);
-						dm.setLinearVelocity(newVelocity);
-						dm.setGrounded(false);
-						contact.setEnabled(false);
-						dm.applyForce();
-						Sound s = SoundController.hurtSound();
-						SoundController.playSound(s, 0.3f);
-						super.serenity -= MAX_SERENITY/20;
-						isSpikeCollision = true;
-						if(super.serenity < 0) {
-							super.serenity = 0;
-						}
-						// On the next render frame, add the platform's velocity to the player's position so
-						// the player sticks to the platform and moves with it.
-						Gdx.app.postRunnable(new Runnable() {
-							@Override
-							public void run () {
-								Vector2 platformVelocity = new Vector2(sp.getVelocity());
-								Vector2 newPlayerPos =
-										dm.getPosition().add(platformVelocity);
-								dm.setPosition(newPlayerPos);
-							}
-						});
-					}
-					else {
-						isSpikeCollision = false;
-					}
-				}
+	/** Drains serenity while the player is touching a crocodile or flying monster */
+	private void hurtByMonster() {
+		isMonsterCollision = true;
+		commands.playSound("hurt", 0.3f);
+		commands.damage(MAX_SERENITY/2000);
+	}
 
-			} catch (Exception e){
-				e.printStackTrace();
-			}
+	/** Knocks the player back off the spikes (unless transparent) */
+	private void solveSpikes(Contact contact, SpikedPlatform sp) {
+		PlayerModel dm = player;
+		if(sp.isValidCollision(dm) && !dm.isTransparent()){
+			// Handle knockback from spikes bsaed on spike direction
+			float knockBackScale = 8f;
+			Vector2 newVelocity = sp.getLaunchDirection(launchCache).scl(knockBackScale);
+			contact.setEnabled(false);
+			commands.knockback(dm, newVelocity.x, newVelocity.y);
+			commands.playSound("hurt", 0.3f);
+			commands.damage(MAX_SERENITY/20);
+			isSpikeCollision = true;
+		}
+		else {
+			isSpikeCollision = false;
 		}
 	}
 
@@ -1323,122 +1400,16 @@ public class GameplayController extends GameMode implements ContactListener {
 		}
 	}
 
-	public String createJsonString(String name, Boolean complete, Boolean unlock, int checkpts, int serenityLeft, String path, String abilQueue, int numStars) {
-//		Map<String, String> objectToReturn = new HashMap<String, String>();
-//		objectToReturn.put("name", lvl.name);
-//		objectToReturn.put("completed", Boolean.toString(false));
-//		objectToReturn.put("unlocked", Boolean.toString(true));
-//		objectToReturn.put("checkpoints-passed", Integer.toString(checkpointsPassed));
-//		objectToReturn.put("serenity-left", Integer.toString(super.serenity));
-//		objectToReturn.put("path", lvl.path);
-//		objectToReturn.put("ability-queue", abilityController.getAbilityQueue().abilities.toString());
-
-		String text = "{ \n \"name\": \"" + name + "\",\n \"completed\": " + complete + ",\n " + "\"unlocked\": " + unlock + ",\n \"checkpoints\": " + checkpts + ",\n \"serenity-left\": " + serenityLeft + ",\n \"path\": \"" + path + "\",\n \"ability-queue\": " + abilQueue + ",\n \"num-stars\": " + numStars + " \n},";
-
-//		String text = "{ \n name: \"" + name + "\",\n completed: " + complete + ",\n " + "unlocked: " + unlock + ",\n checkpoints: " + checkpointsPassed + ",\n serenity-left: " + super.serenity + ",\n path: \"" + level.path + "\",\n ability-queue: " + abilityController.getAbilityQueue().abilities.toString() + " \n}";
-
-//		Json json = new Json();
-//		String jsonRaw = json.toJson(objectToReturn);
-//		String text = json.prettyPrint(jsonRaw);
-//		int strLen = text.length();
-//		String replaceText = text.substring(1,strLen-1);
-//		replaceText = replaceText.replaceAll("\\{", "");
-//		replaceText = replaceText.replaceAll("\\}", "");
-//		replaceText = replaceText.replaceAll("class: java.lang.String" , "");
-//		replaceText = replaceText.replaceAll("value:" , "");
-//		text = "{" + replaceText + "}";
-		return text;
-	}
-
-	public void editSaveJson(Boolean comp) {
-		String file = "jsons/saved_game.json";
-
-		JsonReader jsonReader = new JsonReader();
-		JsonValue savedGameFile = jsonReader.parse(Gdx.files.internal(file));
-//		Array<Level> levels = new Array<Level>();
-
-
-		String text = "{\"levels\": [";
-		JsonValue levelsJson = savedGameFile.get("levels");
-		if (levelsJson != null) {
-//			levels = new Array<Level>();
-			int num = 0;
-			for (JsonValue entry = levelsJson.child; entry != null; entry = entry.next) {
-				Level newLevel = new Level();
-				newLevel.name = entry.getString("name");
-				newLevel.num = num;
-				newLevel.complete = entry.getBoolean("completed");
-				newLevel.available = entry.getBoolean("unlocked");
-				newLevel.checkpointsPassed = entry.getInt("checkpoints");
-				newLevel.currentSerenity = entry.getInt("serenity-left");
-				newLevel.path = entry.getString("path");
-				newLevel.numStarsCollected = entry.getInt("num-stars");
-
-				if (newLevel.num == level.num+1) {
-				    newLevel.available = level.nextLevel.available;
-                }
-
-				String lvlText;
-
-				if (level.name.equals(newLevel.name)) {
-					lvlText = createJsonString(level.name, level.complete, level.available, level.checkpointsPassed, (int) super.serenity, level.path, abilityController.getAbilityQueue().abilities.toString(), level.numStarsCollected);
-				}
-				else {
-					lvlText = createJsonString(newLevel.name, newLevel.complete, newLevel.available, newLevel.checkpointsPassed, newLevel.currentSerenity, newLevel.path, null, newLevel.numStarsCollected);
-				}
-				text = text + "\n" + lvlText;
-//				levels.add(newLevel);
-				num++;
-			}
-		}
-		text = text + "\n]\n}";
-		FileHandle fileToPrint = Gdx.files.local("jsons/saved_game.json");
-		fileToPrint.writeString(text, false);
-	}
-
-	public void newSaveJson() {
-		String file = "jsons/saved_game.json";
-
-		JsonReader jsonReader = new JsonReader();
-		JsonValue savedGameFile = jsonReader.parse(Gdx.files.internal(file));
-//		Array<Level> levels = new Array<Level>();
-
-
-		String text = "{\"levels\": [";
-		JsonValue levelsJson = savedGameFile.get("levels");
-		if (levelsJson != null) {
-//			levels = new Array<Level>();
-			int num = 0;
-			for (JsonValue entry = levelsJson.child; entry != null; entry = entry.next) {
-				Level newLevel = new Level();
-				newLevel.name = entry.getString("name");
-				newLevel.num = num;
-				newLevel.complete = entry.getBoolean("completed");
-				newLevel.available = entry.getBoolean("unlocked");
-				newLevel.checkpointsPassed = entry.getInt("checkpoints");
-				newLevel.currentSerenity = entry.getInt("serenity-left");
-				newLevel.path = entry.getString("path");
-				newLevel.numStarsCollected = entry.getInt("num-stars");
-
-				if (newLevel.num == level.num+1) {
-					newLevel.available = level.nextLevel.available;
-				}
-
-				String lvlText;
-
-				if (level.name.equals(newLevel.name)) {
-					lvlText = createJsonString(level.name, level.complete, level.available, level.checkpointsPassed, (int) super.serenity, level.path, abilityController.getAbilityQueue().abilities.toString(), level.numStarsCollected);
-				}
-				else {
-					lvlText = createJsonString(newLevel.name, newLevel.complete, newLevel.available, newLevel.checkpointsPassed, newLevel.currentSerenity, newLevel.path, null, newLevel.numStarsCollected);
-				}
-				text = text + "\n" + lvlText;
-//				levels.add(newLevel);
-				num++;
-			}
-		}
-		text = text + "\n]\n}";
-		FileHandle fileToPrint = Gdx.files.local("jsons/saved_game.json");
-		fileToPrint.writeString(text, false);
+	/**
+	 * Records the progress on this level in the saved game
+	 *
+	 * The level record is shared with the save game store, so only the serenity
+	 * needs to be copied in; completion and stars are set on the record when
+	 * the goal is reached.  The file is written in the background.
+	 */
+	@Override
+	public void editSaveJson() {
+		level.currentSerenity = (int) super.serenity;
+		SaveGameStore.getInstance().save();
 	}
 }
\ No newline at end of file
@@ -3,13 +3,14 @@ package edu.cornell.gdiac.amaris;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
 
-import java.util.Timer;
-import java.util.TimerTask;
-
 /**
  * Class for reading player input.
  *
- * This supports a keyboard controller.
+ * This supports a keyboard controller.  The keys that drive the player are read
+ * once per tick into a set of InputLog bits, and all game logic works from those
+ * bits, so a recorded log can stand in for the keyboard.  The double jump and
+ * double dash windows run on a clock advanced by the frame time rather than the
+ * wall clock, so a replay with the same frame times sees the same windows.
  */
 public class InputController {
 	/** The singleton instance of the input controller */
@@ -22,11 +23,26 @@ public class InputController {
 	 */
 	public static InputController getInstance() {
 		if (theController == null) {
-			theController = new InputController();
+			theController = new InputController(AbilityController.getInstance());
 		}
 		return theController;
 	}
 
+	/** The abilities of the player this input drives, which block a double dash mid-dash */
+	private AbilityController abilityController;
+
+	/**
+	 * Creates an input controller for a player.
+	 *
+	 * The game uses the shared instance; simulations that run side by side each
+	 * create their own, so that their input state is not shared.
+	 *
+	 * @param abilityController The ability controller of the same player
+	 */
+	public InputController(AbilityController abilityController) {
+		this.abilityController = abilityController;
+	}
+
 	// Fields to manage buttons
 	/** Whether the reset button was pressed. */
 	private boolean resetPressed;
@@ -50,6 +66,12 @@ public class InputController {
 	/** Whether the debug toggle was pressed. */
 	private boolean debugPressed;
 	private boolean debugPrevious;
+	/** Whether the profiler toggle was pressed. */
+	private boolean profilePressed;
+	private boolean profilePrevious;
+	/** Whether the replay recording toggle was pressed. */
+	private boolean recordPressed;
+	private boolean recordPrevious;
 	/** Whether the pause button was pressed. */
 	private boolean pausePressed;
 	private boolean pausePrevious;
@@ -57,28 +79,39 @@ public class InputController {
 	private boolean nextPressed;
 	private boolean walkPressed;
 	private int flyCount = 0;
+	/** Seconds of input read so far, which times the double jump and dash windows */
+	private float clock = 0;
 	/** The time of the last jump */
-	private long lastJump = System.currentTimeMillis();
-	/** The time of the last jump */
-	private long doubleJumpRange = 500;
-	/** The time of the last jump */
+	private float lastJump = 0;
+	/** Seconds after a jump in which a second press is a double jump */
+	private float doubleJumpRange = 0.5f;
+	/** Whether the player double jumped this tick */
 	private boolean didDoubleJump;
 	private boolean jumpReleased = false;
 	private boolean firstJumpPressed = false;
-	private boolean isCooldownDone = true;
+	/** Seconds left before the player can double jump again */
+	private float jumpCooldownLeft = 0;
 	private float doubleJumpCooldown = 1.0f;
 	/** The time of the last side press */
-	private long lastDash = System.currentTimeMillis();
-	/** The time of the last side press */
-	private long doubleDashRange = 500;
-	/** The time of the last side press */
+	private float lastDash = 0;
+	/** Seconds after a side press in which a second press is a double dash */
+	private float doubleDashRange = 0.5f;
+	/** Whether the player double dashed this tick */
 	private boolean didDoubleDash;
 	private boolean sideReleased = false;
 	private boolean firstSidePressed = false;
-	private boolean isDashCooldownDone = true;
+	/** Seconds left before the player can double dash again */
+	private float dashCooldownLeft = 0;
 	private float doubleDashCooldown = 1f;
 	private float lastHorizontal = 0f;
 
+	/** The log being recorded, or null */
+	private InputLog recording;
+	/** The log being replayed, or null */
+	private InputLog replay;
+	/** The next tick of the replay */
+	private int replayTick;
+
 
 
 	//TEMPORARY VARIABLES:
@@ -165,6 +198,24 @@ public class InputController {
 		return false;
 	}
 
+	/**
+	 * Returns true if the player wants to toggle the frame profiler.
+	 *
+	 * @return true if the player wants to toggle the frame profiler.
+	 */
+	public boolean didProfile() {
+		return profilePressed && !profilePrevious;
+	}
+
+	/**
+	 * Returns true if the player wants to start or stop recording a replay.
+	 *
+	 * @return true if the player wants to start or stop recording a replay.
+	 */
+	public boolean didRecord() {
+		return recordPressed && !recordPrevious;
+	}
+
 	/**
 	 * Returns true if the activate ability button was pressed.
 	 *
@@ -209,21 +260,130 @@ public class InputController {
 	public boolean didFlight() { return flightPressed; }
 	public boolean didTransparency() { return transparencyPressed; }
 
+	/**
+	 * Starts recording the input of every tick from now on.
+	 *
+	 * The input state is cleared first, so the log replays from the same state.
+	 *
+	 * @param levelPath The level file being played
+	 */
+	public void startRecording(String levelPath) {
+		clearState();
+		replay = null;
+		recording = new InputLog(levelPath);
+	}
+
+	/**
+	 * Stops recording, and returns the log recorded
+	 *
+	 * @return the log recorded, or null if there was no recording
+	 */
+	public InputLog stopRecording() {
+		InputLog log = recording;
+		recording = null;
+		return log;
+	}
+
+	/**
+	 * Returns true if input is being recorded
+	 *
+	 * @return true if input is being recorded
+	 */
+	public boolean isRecording() {
+		return recording != null;
+	}
+
+	/**
+	 * Plays a recorded log in place of the keyboard, from its first tick.
+	 *
+	 * The input state is cleared first, as it was when the log was recorded.
+	 *
+	 * @param log The log to replay
+	 */
+	public void startReplay(InputLog log) {
+		clearState();
+		recording = null;
+		replay = log;
+		replayTick = 0;
+	}
+
+	/** Stops a replay, and goes back to the keyboard */
+	public void stopReplay() {
+		replay = null;
+	}
+
+	/**
+	 * Returns true if a replay is being played and has ticks left
+	 *
+	 * @return true if a replay is being played and has ticks left
+	 */
+	public boolean isReplaying() {
+		return replay != null && replayTick < replay.size();
+	}
+
+	/**
+	 * Returns the frame time to simulate for the next tick.
+	 *
+	 * During a replay this is the frame time recorded, so that the fixed-step
+	 * loop accumulates exactly the same steps.  Otherwise it is the given delta.
+	 *
+	 * @param delta Seconds since the last animation frame
+	 *
+	 * @return the frame time to simulate for the next tick
+	 */
+	public float getFrameDelta(float delta) {
+		return isReplaying() ? replay.getDelta(replayTick) : delta;
+	}
+
+	/** Puts the double jump and dash logic back in its starting state */
+	private void clearState() {
+		clock = 0;
+		lastJump = 0;
+		lastDash = 0;
+		jumpCooldownLeft = 0;
+		dashCooldownLeft = 0;
+		didDoubleJump = false;
+		didDoubleDash = false;
+		resetDoubleJump();
+		resetDoubleDash();
+	}
+
 	/**
 	 * Reads the input for the player and converts the result into game logic.
+	 *
+	 * @param dt Number of seconds since last animation frame
 	 */
-	public void readInput() {
+	public void readInput(float dt) {
 		// Copy state from last animation frame
 		// Helps us ignore buttons that are held down
 		primePrevious  = primePressed;
 		resetPrevious  = resetPressed;
 		exitPrevious = exitPressed;
 		debugPrevious  = debugPressed;
+		profilePrevious = profilePressed;
+		recordPrevious = recordPressed;
 		abilityPrevious = abilityPressed;
 		pausePrevious = pausePressed;
 		mapPrevious = mapPressed;
 
-		readKeyboard(false);
+		clock += dt;
+		jumpCooldownLeft -= dt;
+		dashCooldownLeft -= dt;
+
+		boolean replaying = isReplaying();
+		int bits = replaying ? replay.getButtons(replayTick++) : sampleKeyboard();
+		readKeyboard(false, replaying);
+		applyButtons(bits, replaying);
+
+		if (recording != null) {
+			if (didDoubleJump) {
+				bits |= InputLog.DOUBLE_JUMP;
+			}
+			if (didDoubleDash) {
+				bits |= InputLog.DOUBLE_DASH;
+			}
+			recording.add(bits, dt);
+		}
 	}
 
 	public boolean activateFlightAbility() {
@@ -235,120 +395,133 @@ public class InputController {
 		firstJumpPressed = false;
 	}
 
-	private static Timer doubleJumpTimer = new Timer();
-
 	public void resetDoubleDash(){
 		sideReleased = false;
 		firstSidePressed = false;
 		lastHorizontal = 0f;
 	}
 
-	private static Timer doubleDashTimer = new Timer();
 	/**
-	 * Reads input from the keyboard.
+	 * Returns the buttons that drive the player, as InputLog bits
+	 *
+	 * @return the buttons that drive the player, as InputLog bits
+	 */
+	private int sampleKeyboard() {
+		int bits = 0;
+		if (Gdx.input.isKeyPressed(Input.Keys.LEFT) || Gdx.input.isKeyPressed(Input.Keys.A)) {
+			bits |= InputLog.LEFT;
+		}
+		if (Gdx.input.isKeyPressed(Input.Keys.RIGHT) || Gdx.input.isKeyPressed(Input.Keys.D)) {
+			bits |= InputLog.RIGHT;
+		}
+		if (Gdx.input.isKeyPressed(Input.Keys.UP) || Gdx.input.isKeyPressed(Input.Keys.W)) {
+			bits |= InputLog.UP;
+		}
+		if (Gdx.input.isKeyPressed(Input.Keys.DOWN) || Gdx.input.isKeyPressed(Input.Keys.S)) {
+			bits |= InputLog.DOWN;
+		}
+		if (Gdx.input.isKeyPressed(Input.Keys.SPACE)) {
+			bits |= InputLog.ABILITY;
+		}
+		if (Gdx.input.isKeyPressed(Input.Keys.P)) {
+			bits |= InputLog.PAUSE;
+		}
+		if (Gdx.input.isKeyPressed(Input.Keys.R)) {
+			bits |= InputLog.RESET;
+		}
+		return bits;
+	}
+
+	/**
+	 * Reads the keys that do not drive the player from the keyboard.
 	 *
-	 * This controller reads from the keyboard regardless of whether or not an X-Box
-	 * controller is connected.  However, if a controller is connected, this method
-	 * gives priority to the X-Box controller.
+	 * These are the developer toggles and menu keys.  They are never recorded, and
+	 * during a replay only the toggles are read, so the replay cannot be disturbed.
 	 *
 	 * @param secondary true if the keyboard should give priority to a gamepad
+	 * @param replaying true if a replay is driving the player
 	 */
-	private void readKeyboard(boolean secondary) {
-		// Give priority to gamepad results
-		/*if(!Gdx.input.isKeyPressed(Input.Keys.UP)) {
-			flyCount = 0;
-		}*/
+	private void readKeyboard(boolean secondary, boolean replaying) {
 		debugPressed = (secondary && debugPressed) || (Gdx.input.isKeyPressed(Input.Keys.Z));
-		resetPressed = (secondary && resetPressed) || (Gdx.input.isKeyPressed(Input.Keys.R));
-		primePressed = (secondary && primePressed) || (Gdx.input.isKeyPressed(Input.Keys.UP) ||
-				(Gdx.input.isKeyPressed(Input.Keys.W)));
+		profilePressed = (secondary && profilePressed) || (Gdx.input.isKeyPressed(Input.Keys.F3));
+		recordPressed = !replaying && Gdx.input.isKeyPressed(Input.Keys.F5);
 //		exitPressed  = (secondary && exitPressed) || (Gdx.input.isKeyPressed(Input.Keys.ESCAPE));
-		activateAbilityPressed =  Gdx.input.isKeyPressed(Input.Keys.SPACE);
-//		activateFlightAbilityPressed = activateFlightAbility();
-		abilityPressed = Gdx.input.isKeyPressed(Input.Keys.SPACE);
-
-		mapPressed = Gdx.input.isKeyPressed(Input.Keys.M);
-		pausePressed = Gdx.input.isKeyPressed(Input.Keys.P);
-		nextPressed = Gdx.input.isKeyPressed(Input.Keys.N);
-
+		mapPressed = !replaying && Gdx.input.isKeyPressed(Input.Keys.M);
+		nextPressed = !replaying && Gdx.input.isKeyPressed(Input.Keys.N);
+	}
 
-//		//TEMPORARY TESTING VALUES: TODO PLEASE DELETE ME
-//		dashPressed = Gdx.input.isKeyPressed(Input.Keys.D);
-//		flightPressed = Gdx.input.isKeyPressed(Input.Keys.F);
-//		transparencyPressed = Gdx.input.isKeyPressed(Input.Keys.T);
+	/**
+	 * Converts the buttons held this tick into game logic.
+	 *
+	 * @param bits     The buttons held, as InputLog bits
+	 * @param replayed true if the bits come from a log, whose double jump and dash are used as recorded
+	 */
+	private void applyButtons(int bits, boolean replayed) {
+		boolean left = (bits & InputLog.LEFT) != 0;
+		boolean right = (bits & InputLog.RIGHT) != 0;
+		boolean up = (bits & InputLog.UP) != 0;
+		boolean down = (bits & InputLog.DOWN) != 0;
+
+		resetPressed = (bits & InputLog.RESET) != 0;
+		primePressed = up;
+		activateAbilityPressed = (bits & InputLog.ABILITY) != 0;
+		abilityPressed = activateAbilityPressed;
+		pausePressed = (bits & InputLog.PAUSE) != 0;
 
 		// Directional controls
-		horizontal = (secondary ? horizontal : 0.0f);
-		walkPressed = (Gdx.input.isKeyPressed(Input.Keys.RIGHT) || Gdx.input.isKeyPressed(Input.Keys.D) ||
-				Gdx.input.isKeyPressed(Input.Keys.LEFT) || Gdx.input.isKeyPressed(Input.Keys.A));
-		if (Gdx.input.isKeyPressed(Input.Keys.RIGHT) || (Gdx.input.isKeyPressed(Input.Keys.D))) {
+		walkPressed = left || right;
+		horizontal = 0.0f;
+		if (right) {
 			horizontal += 1.0f;
-
 		}
-		if (Gdx.input.isKeyPressed(Input.Keys.LEFT) || (Gdx.input.isKeyPressed(Input.Keys.A))) {
+		if (left) {
 			horizontal -= 1.0f;
 		}
 
-		vertical = (secondary ? vertical : 0.0f);
-		if (Gdx.input.isKeyPressed(Input.Keys.UP) || (Gdx.input.isKeyPressed(Input.Keys.W))) {
+		vertical = 0.0f;
+		if (up) {
 			vertical += 1.0f;
 		}
-		if (Gdx.input.isKeyPressed(Input.Keys.DOWN) || (Gdx.input.isKeyPressed(Input.Keys.S))) {
+		if (down) {
 			vertical -= 1.0f;
 		}
 
 		//Double jump logic
-		didDoubleJump = ((Gdx.input.isKeyPressed(Input.Keys.UP)||(Gdx.input.isKeyPressed(Input.Keys.W))) && (System.currentTimeMillis() - lastJump < doubleJumpRange)
-				&& jumpReleased && firstJumpPressed && isCooldownDone);
-		if((Gdx.input.isKeyPressed(Input.Keys.UP)||(Gdx.input.isKeyPressed(Input.Keys.W))) && !jumpReleased && !firstJumpPressed) {
-			lastJump = System.currentTimeMillis();
+		didDoubleJump = (up && (clock - lastJump < doubleJumpRange)
+				&& jumpReleased && firstJumpPressed && jumpCooldownLeft <= 0);
+		if (replayed) {
+			didDoubleJump = (bits & InputLog.DOUBLE_JUMP) != 0;
+		}
+		if(up && !jumpReleased && !firstJumpPressed) {
+			lastJump = clock;
 			firstJumpPressed = true;
 		}
-		else if (!((Gdx.input.isKeyPressed(Input.Keys.UP)||(Gdx.input.isKeyPressed(Input.Keys.W)))) && !jumpReleased && firstJumpPressed){
+		else if (!up && !jumpReleased && firstJumpPressed){
 			jumpReleased = true;
 		}
-		if(System.currentTimeMillis() - lastJump > doubleJumpRange && firstJumpPressed){
+		if(clock - lastJump > doubleJumpRange && firstJumpPressed){
 			resetDoubleJump();
 		}
 		if(didDoubleJump) {
-			//System.out.println("DOUBLE JUMP");
 			resetDoubleJump();
-//			if (!isCooldownDone){
-//				doubleJumpTimer.cancel();
-//				doubleJumpTimer = new Timer();
-//			}
-			isCooldownDone = false;
-			doubleJumpTimer.schedule(new TimerTask() {
-				@Override
-				public void run() {
-					isCooldownDone = true;
-				}
-			}, (long)doubleJumpCooldown * 1000);
+			jumpCooldownLeft = doubleJumpCooldown;
 		}
 
-		float lastHorizontalCache = lastHorizontal;
-
 		//Double dash logic
+		boolean isDashCooldownDone = dashCooldownLeft <= 0;
 		didDoubleDash = (
-				(((Gdx.input.isKeyPressed(Input.Keys.LEFT)|| Gdx.input.isKeyPressed(Input.Keys.A)) && lastHorizontal == -1) ||
-						((Gdx.input.isKeyPressed(Input.Keys.RIGHT)
-						 || Gdx.input.isKeyPressed(Input.Keys.D)) && lastHorizontal == 1))
-						&& (System.currentTimeMillis() - lastDash < doubleDashRange)
-				&& sideReleased && firstSidePressed && isDashCooldownDone && !AbilityController.getInstance().isApplyingDash());
-
-		if(((Gdx.input.isKeyPressed(Input.Keys.LEFT)|| Gdx.input.isKeyPressed(Input.Keys.A))) ||
-				((Gdx.input.isKeyPressed(Input.Keys.RIGHT) || Gdx.input.isKeyPressed(Input.Keys.D)))
-				&& !sideReleased && !firstSidePressed && isDashCooldownDone) {
-
-			if(((Gdx.input.isKeyPressed(Input.Keys.LEFT) || Gdx.input.isKeyPressed(Input.Keys.A)) ||
-					(Gdx.input.isKeyPressed(Input.Keys.RIGHT) || Gdx.input.isKeyPressed(Input.Keys.D)))
-					&&
-					!((Gdx.input.isKeyPressed(Input.Keys.LEFT) || Gdx.input.isKeyPressed(Input.Keys.A)) &&
-							(Gdx.input.isKeyPressed(Input.Keys.RIGHT) || Gdx.input.isKeyPressed(Input.Keys.D)))
-			){
-				if (Gdx.input.isKeyPressed(Input.Keys.LEFT) || Gdx.input.isKeyPressed(Input.Keys.A)) {
+				((left && lastHorizontal == -1) || (right && lastHorizontal == 1))
+						&& (clock - lastDash < doubleDashRange)
+				&& sideReleased && firstSidePressed && isDashCooldownDone && !abilityController.isApplyingDash());
+		if (replayed) {
+			didDoubleDash = (bits & InputLog.DOUBLE_DASH) != 0;
+		}
+
+		if(left || (right && !sideReleased && !firstSidePressed && isDashCooldownDone)) {
+			if((left || right) && !(left && right)) {
+				if (left) {
 					if(lastHorizontal != -1){
-						lastDash = System.currentTimeMillis();
+						lastDash = clock;
 						sideReleased = false;
 					}
 					if(lastHorizontal == 1){
@@ -357,9 +530,9 @@ public class InputController {
 						lastHorizontal = -1;
 					}
 				}
-				else if (Gdx.input.isKeyPressed(Input.Keys.RIGHT) || Gdx.input.isKeyPressed(Input.Keys.D)){
+				else if (right){
 					if(lastHorizontal != 1){
-						lastDash = System.currentTimeMillis();
+						lastDash = clock;
 						sideReleased = false;
 					}
 					if(lastHorizontal == -1){
@@ -371,25 +544,16 @@ public class InputController {
 			}
 			firstSidePressed = true;
 		}
-		if (!(Gdx.input.isKeyPressed(Input.Keys.LEFT) || Gdx.input.isKeyPressed(Input.Keys.RIGHT)
-				|| Gdx.input.isKeyPressed(Input.Keys.A) || Gdx.input.isKeyPressed(Input.Keys.D))
-				&& !sideReleased && firstSidePressed && isDashCooldownDone){
+		if (!(left || right) && !sideReleased && firstSidePressed && isDashCooldownDone){
 			sideReleased = true;
 		}
 
-		if(System.currentTimeMillis() - lastDash > doubleDashRange){
+		if(clock - lastDash > doubleDashRange){
 			resetDoubleDash();
 		}
 		if(didDoubleDash) {
-			//System.out.println("DOUBLE DASH");
 			resetDoubleDash();
-			isDashCooldownDone = false;
-			doubleDashTimer.schedule(new TimerTask() {
-				@Override
-				public void run() {
-					isDashCooldownDone = true;
-				}
-			}, (long)doubleDashCooldown * 1000);
+			dashCooldownLeft = doubleDashCooldown;
 		}
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,183 @@
+/*
+ * InputLog.java
+ *
+ * A recording of the logical input of a level, one entry per tick.  Each entry
+ * is the set of buttons held (as bits) and the length of the tick, so that a
+ * replay feeds the fixed-step loop exactly the same input and the same frame
+ * times, and ends up in exactly the same state.
+ *
+ * On disk, a log is a small header followed by six bytes per tick.  A minute of
+ * play at 60 frames a second is about 21 KB.
+ */
+package edu.cornell.gdiac.amaris;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ShortArray;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * The buttons held and the frame time of every tick of a level.
+ */
+public class InputLog {
+	/** Left (or A) is held */
+	public static final int LEFT = 1;
+	/** Right (or D) is held */
+	public static final int RIGHT = 1 << 1;
+	/** Up (or W), the primary button, is held */
+	public static final int UP = 1 << 2;
+	/** Down (or S) is held */
+	public static final int DOWN = 1 << 3;
+	/** The ability button (space) is held */
+	public static final int ABILITY = 1 << 4;
+	/** The player double jumped this tick */
+	public static final int DOUBLE_JUMP = 1 << 5;
+	/** The player double dashed this tick */
+	public static final int DOUBLE_DASH = 1 << 6;
+	/** The pause button is held */
+	public static final int PAUSE = 1 << 7;
+	/** The reset button is held */
+	public static final int RESET = 1 << 8;
+
+	/** Marks the start of a log file ("AMRP") */
+	private static final int MAGIC = 0x414D5250;
+	/** The file format version */
+	private static final int VERSION = 1;
+
+	/** The level file the log was recorded on */
+	private String levelPath;
+	/** The buttons of each tick */
+	private ShortArray buttons = new ShortArray();
+	/** The length of each tick, in seconds */
+	private FloatArray deltas = new FloatArray();
+
+	/**
+	 * Creates an empty log for a level
+	 *
+	 * @param levelPath The level file the log is recorded on
+	 */
+	public InputLog(String levelPath) {
+		this.levelPath = levelPath;
+	}
+
+	/**
+	 * Returns the level file the log was recorded on
+	 *
+	 * @return the level file the log was recorded on
+	 */
+	public String getLevelPath() {
+		return levelPath;
+	}
+
+	/**
+	 * Returns the number of ticks in the log
+	 *
+	 * @return the number of ticks in the log
+	 */
+	public int size() {
+		return buttons.size;
+	}
+
+	/**
+	 * Adds a tick to the end of the log
+	 *
+	 * @param bits  The buttons held
+	 * @param delta The length of the tick, in seconds
+	 */
+	public void add(int bits, float delta) {
+		buttons.add((short) bits);
+		deltas.add(delta);
+	}
+
+	/**
+	 * Returns the buttons held in a tick
+	 *
+	 * @param tick The tick
+	 *
+	 * @return the buttons held in a tick
+	 */
+	public int getButtons(int tick) {
+		return buttons.get(tick) & 0xFFFF;
+	}
+
+	/**
+	 * Returns the length of a tick, in seconds
+	 *
+	 * @param tick The tick
+	 *
+	 * @return the length of a tick, in seconds
+	 */
+	public float getDelta(int tick) {
+		return deltas.get(tick);
+	}
+
+	/**
+	 * Writes the log to a file, replacing it
+	 *
+	 * @param file The file to write
+	 */
+	public void write(FileHandle file) {
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file.write(false)));
+		try {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeUTF(levelPath);
+			out.writeInt(buttons.size);
+			for (int ii = 0; ii < buttons.size; ii++) {
+				out.writeShort(buttons.get(ii));
+				out.writeFloat(deltas.get(ii));
+			}
+		} catch (IOException e) {
+			throw new GdxRuntimeException("Could not write input log " + file, e);
+		} finally {
+			try {
+				out.close();
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+	/**
+	 * Reads a log from a file
+	 *
+	 * @param file The file to read
+	 *
+	 * @return the log in the file
+	 */
+	public static InputLog read(FileHandle file) {
+		DataInputStream in = new DataInputStream(new BufferedInputStream(file.read()));
+		try {
+			if (in.readInt() != MAGIC) {
+				throw new GdxRuntimeException(file + " is not an input log");
+			}
+			int version = in.readInt();
+			if (version != VERSION) {
+				throw new GdxRuntimeException(file + " has unsupported version " + version);
+			}
+			InputLog log = new InputLog(in.readUTF());
+			int count = in.readInt();
+			log.buttons.ensureCapacity(count);
+			log.deltas.ensureCapacity(count);
+			for (int ii = 0; ii < count; ii++) {
+				log.buttons.add(in.readShort());
+				log.deltas.add(in.readFloat());
+			}
+			return log;
+		} catch (IOException e) {
+			throw new GdxRuntimeException("Could not read input log " + file, e);
+		} finally {
+			try {
+				in.close();
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+	}
+}
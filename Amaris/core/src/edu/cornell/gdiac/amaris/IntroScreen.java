@@ -38,6 +38,7 @@ import com.badlogic.gdx.graphics.Texture.TextureFilter;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector3;
 import edu.cornell.gdiac.amaris.util.ScreenListener;
+import edu.cornell.gdiac.amaris.util.TextureCache;
 import edu.cornell.gdiac.amaris.util.SoundController;
 
 /**
@@ -96,11 +97,11 @@ public class IntroScreen implements Screen, InputProcessor, ControllerListener {
 		resize(canvas.getWidth(),canvas.getHeight());
 
 		BACKGROUND_FILE = levelLoader.getImagePath("intro_screen");
-		background = new Texture(BACKGROUND_FILE);
+		background = TextureCache.getInstance().acquire(BACKGROUND_FILE);
 		BUTTON = levelLoader.getImagePath("play_button");
-		button = new Texture(BUTTON);
+		button = TextureCache.getInstance().acquire(BUTTON);
 		BUTTON_CLICKED = levelLoader.getImagePath("play_button_clicked");
-		buttonClicked = new Texture(BUTTON_CLICKED);
+		buttonClicked = TextureCache.getInstance().acquire(BUTTON_CLICKED);
 
 		active = false;
 
@@ -120,11 +121,11 @@ public class IntroScreen implements Screen, InputProcessor, ControllerListener {
 	 * Called when this screen should release all resources.
 	 */
 	public void dispose() {
-		 background.dispose();
+		 TextureCache.getInstance().release(background);
 		 background = null;
-		 button.dispose();
+		 TextureCache.getInstance().release(button);
 		 button = null;
-		 buttonClicked.dispose();
+		 TextureCache.getInstance().release(buttonClicked);
 		 buttonClicked = null;
 	}
 
@@ -38,6 +38,7 @@ import com.badlogic.gdx.graphics.Texture.TextureFilter;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector3;
 import edu.cornell.gdiac.amaris.util.ScreenListener;
+import edu.cornell.gdiac.amaris.util.TextureCache;
 import edu.cornell.gdiac.amaris.util.SoundController;
 
 /**
@@ -114,27 +115,27 @@ public class IntroStory implements Screen, InputProcessor, ControllerListener {
         resize(canvas.getWidth(),canvas.getHeight());
 
         BACKGROUND_FILE1 = levelLoader.getImagePath("intro_slide1");
-        background1 = new Texture(BACKGROUND_FILE1);
+        background1 = TextureCache.getInstance().acquire(BACKGROUND_FILE1);
         BACKGROUND_FILE2 = levelLoader.getImagePath("intro_slide2");
-        background2= new Texture(BACKGROUND_FILE2);
+        background2= TextureCache.getInstance().acquire(BACKGROUND_FILE2);
         BACKGROUND_FILE3 = levelLoader.getImagePath("intro_slide3");
-        background3= new Texture(BACKGROUND_FILE3);
+        background3= TextureCache.getInstance().acquire(BACKGROUND_FILE3);
         BACKGROUND_FILE4 = levelLoader.getImagePath("intro_slide4");
-        background4= new Texture(BACKGROUND_FILE4);
+        background4= TextureCache.getInstance().acquire(BACKGROUND_FILE4);
         BACKGROUND_FILE5 = levelLoader.getImagePath("intro_slide5");
-        background5= new Texture(BACKGROUND_FILE5);
+        background5= TextureCache.getInstance().acquire(BACKGROUND_FILE5);
         BACKGROUND_FILE7 = levelLoader.getImagePath("intro_slide7");
-        background7= new Texture(BACKGROUND_FILE7);
+        background7= TextureCache.getInstance().acquire(BACKGROUND_FILE7);
         BACKGROUND_FILE8 = levelLoader.getImagePath("intro_slide8");
-        background8= new Texture(BACKGROUND_FILE8);
+        background8= TextureCache.getInstance().acquire(BACKGROUND_FILE8);
         BACKGROUND_FILE9 = levelLoader.getImagePath("intro_slide9");
-        background9= new Texture(BACKGROUND_FILE9);
+        background9= TextureCache.getInstance().acquire(BACKGROUND_FILE9);
         LOGO_FILE = levelLoader.getImagePath("intro_logo");
-        logo= new Texture(LOGO_FILE);
+        logo= TextureCache.getInstance().acquire(LOGO_FILE);
         BUTTON = levelLoader.getImagePath("skip_button");
-        button = new Texture(BUTTON);
+        button = TextureCache.getInstance().acquire(BUTTON);
         BUTTON_CLICKED = levelLoader.getImagePath("skip_button_clicked");
-        buttonClicked = new Texture(BUTTON_CLICKED);
+        buttonClicked = TextureCache.getInstance().acquire(BUTTON_CLICKED);
 
 
         active = false;
@@ -154,15 +155,17 @@ public class IntroStory implements Screen, InputProcessor, ControllerListener {
      * Called when this screen should release all resources.
      */
     public void dispose() {
-        background1.dispose();
-        background2.dispose();
-        background3.dispose();
-        background4.dispose();
-        background5.dispose();
-        background7.dispose();
-        background8.dispose();
-        background9.dispose();
-        logo.dispose();
+        TextureCache.getInstance().release(background1);
+        TextureCache.getInstance().release(background2);
+        TextureCache.getInstance().release(background3);
+        TextureCache.getInstance().release(background4);
+        TextureCache.getInstance().release(background5);
+        TextureCache.getInstance().release(background7);
+        TextureCache.getInstance().release(background8);
+        TextureCache.getInstance().release(background9);
+        TextureCache.getInstance().release(logo);
+        TextureCache.getInstance().release(button);
+        TextureCache.getInstance().release(buttonClicked);
         background1 = null;
         background2 = null;
         background3 = null;
@@ -172,6 +175,8 @@ public class IntroStory implements Screen, InputProcessor, ControllerListener {
         background8 = null;
         background9 = null;
         logo= null;
+        button = null;
+        buttonClicked = null;
 
     }
 
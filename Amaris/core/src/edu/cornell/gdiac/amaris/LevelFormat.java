@@ -0,0 +1,502 @@
+/*
+ * LevelFormat.java
+ *
+ * Level files are verbose JSON: every tile repeats keys like "x-velocity" and
+ * "y-bounds", and parsing them is most of the cost of loading a level.  The
+ * compileLevels task in the desktop project compiles each level file into a
+ * compact binary file next to it, which is read through a memory-mapped file
+ * and turned straight back into the tree the level loader expects, so the
+ * loader itself does not care which one it was given.
+ *
+ * A compiled file is a header, a string table holding every key and string
+ * value once, and the level entry.  Lists of flat entries (platforms, obstacles,
+ * moon shards, fountains, checkpoints and messages) are stored as tables, one
+ * column per key, so each key is written once per list rather than once per
+ * entry.  Everything else is stored as a small tagged tree.  Numbers keep their
+ * value and whether they were integers, but not their spelling.
+ */
+package edu.cornell.gdiac.amaris;
+
+import com.badlogic.gdx.Files;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.ObjectIntMap;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * Reads and writes compiled level files.
+ */
+public class LevelFormat {
+    /** The extension of a compiled level file, which replaces .json */
+    public static final String COMPILED_SUFFIX = ".lvl";
+
+    /** Marks the start of a compiled level ("AMLV") */
+    private static final int MAGIC = 0x414D4C56;
+    /** The format version, to be bumped whenever the layout changes */
+    private static final int VERSION = 1;
+
+    // Value tags
+    private static final byte NULL = 0;
+    private static final byte BOOLEAN = 1;
+    private static final byte LONG = 2;
+    private static final byte DOUBLE = 3;
+    private static final byte STRING = 4;
+    private static final byte OBJECT = 5;
+    private static final byte ARRAY = 6;
+    private static final byte TABLE = 7;
+
+    // Column kinds of a table
+    /** Integers that fit in an int */
+    private static final byte COLUMN_INT = 0;
+    /** Numbers that are exact as floats */
+    private static final byte COLUMN_FLOAT = 1;
+    /** Any other numbers */
+    private static final byte COLUMN_DOUBLE = 2;
+    /** Strings, as indices into the string table */
+    private static final byte COLUMN_STRING = 3;
+    /** Booleans */
+    private static final byte COLUMN_BOOLEAN = 4;
+
+    /**
+     * Returns the path of the compiled file for a level file
+     *
+     * @param path The level file path
+     *
+     * @return the path of the compiled file for a level file
+     */
+    public static String getCompiledPath(String path) {
+        int dot = path.lastIndexOf('.');
+        return (dot < 0 ? path : path.substring(0, dot)) + COMPILED_SUFFIX;
+    }
+
+    // READING ------------------------------------------------------------------------------
+
+    /**
+     * Returns the contents of a file, memory-mapped if it is a plain file.
+     *
+     * Files inside a jar or an Android package cannot be mapped, so they are read
+     * into memory instead.
+     *
+     * @param file The file to read
+     *
+     * @return the contents of the file
+     */
+    public static ByteBuffer map(FileHandle file) throws IOException {
+        if (file.type() != Files.FileType.Classpath) {
+            File path = file.file();
+            if (path.isFile()) {
+                RandomAccessFile raf = new RandomAccessFile(path, "r");
+                try {
+                    FileChannel channel = raf.getChannel();
+                    // The mapping stays valid after the channel is closed
+                    return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                } finally {
+                    raf.close();
+                }
+            }
+        }
+        return ByteBuffer.wrap(file.readBytes());
+    }
+
+    /**
+     * Returns the level entry in a compiled level
+     *
+     * @param buffer The compiled level, positioned at its start
+     *
+     * @return the level entry, as the level file would parse to
+     */
+    public static JsonValue read(ByteBuffer buffer) {
+        if (buffer.getInt() != MAGIC) {
+            throw new GdxRuntimeException("Not a compiled level");
+        }
+        int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new GdxRuntimeException("Unsupported compiled level version " + version);
+        }
+        String[] strings = new String[buffer.getInt()];
+        for (int ii = 0; ii < strings.length; ii++) {
+            byte[] bytes = new byte[buffer.getInt()];
+            buffer.get(bytes);
+            strings[ii] = decode(bytes);
+        }
+        String name = strings[buffer.getInt()];
+        JsonValue level = readValue(buffer, strings);
+        level.setName(name);
+        return level;
+    }
+
+    /** Reads a tagged value */
+    private static JsonValue readValue(ByteBuffer buffer, String[] strings) {
+        byte tag = buffer.get();
+        switch (tag) {
+            case NULL:
+                return new JsonValue(JsonValue.ValueType.nullValue);
+            case BOOLEAN:
+                return new JsonValue(buffer.get() != 0);
+            case LONG:
+                return new JsonValue(buffer.getLong());
+            case DOUBLE:
+                return new JsonValue(buffer.getDouble());
+            case STRING:
+                return new JsonValue(strings[buffer.getInt()]);
+            case OBJECT: {
+                JsonValue object = new JsonValue(JsonValue.ValueType.object);
+                int size = buffer.getInt();
+                JsonValue last = null;
+                for (int ii = 0; ii < size; ii++) {
+                    String name = strings[buffer.getInt()];
+                    JsonValue child = readValue(buffer, strings);
+                    child.setName(name);
+                    last = append(object, last, child);
+                }
+                return object;
+            }
+            case ARRAY: {
+                JsonValue array = new JsonValue(JsonValue.ValueType.array);
+                int size = buffer.getInt();
+                JsonValue last = null;
+                for (int ii = 0; ii < size; ii++) {
+                    last = append(array, last, readValue(buffer, strings));
+                }
+                return array;
+            }
+            case TABLE:
+                return readTable(buffer, strings);
+            default:
+                throw new GdxRuntimeException("Bad tag " + tag + " in compiled level");
+        }
+    }
+
+    /** Reads a table back into an array of objects */
+    private static JsonValue readTable(ByteBuffer buffer, String[] strings) {
+        int rows = buffer.getInt();
+        int columns = buffer.getInt();
+
+        JsonValue array = new JsonValue(JsonValue.ValueType.array);
+        JsonValue[] entries = new JsonValue[rows];
+        JsonValue[] lastField = new JsonValue[rows];
+        JsonValue last = null;
+        for (int row = 0; row < rows; row++) {
+            entries[row] = new JsonValue(JsonValue.ValueType.object);
+            last = append(array, last, entries[row]);
+        }
+
+        byte[] present = new byte[(rows + 7) / 8];
+        byte[] integral = new byte[present.length];
+        for (int col = 0; col < columns; col++) {
+            String name = strings[buffer.getInt()];
+            byte kind = buffer.get();
+            buffer.get(present);
+            if (kind == COLUMN_FLOAT || kind == COLUMN_DOUBLE) {
+                buffer.get(integral);
+            }
+            for (int row = 0; row < rows; row++) {
+                if (!isSet(present, row)) {
+                    continue;
+                }
+                JsonValue field;
+                switch (kind) {
+                    case COLUMN_INT:
+                        field = new JsonValue((long) buffer.getInt());
+                        break;
+                    case COLUMN_FLOAT:
+                        field = number(buffer.getFloat(), isSet(integral, row));
+                        break;
+                    case COLUMN_DOUBLE:
+                        field = number(buffer.getDouble(), isSet(integral, row));
+                        break;
+                    case COLUMN_STRING:
+                        field = new JsonValue(strings[buffer.getInt()]);
+                        break;
+                    case COLUMN_BOOLEAN:
+                        field = new JsonValue(buffer.get() != 0);
+                        break;
+                    default:
+                        throw new GdxRuntimeException("Bad column kind " + kind + " in compiled level");
+                }
+                field.setName(name);
+                lastField[row] = append(entries[row], lastField[row], field);
+            }
+        }
+        return array;
+    }
+
+    /** Returns a number value, as an integer if it was one */
+    private static JsonValue number(double value, boolean integral) {
+        return integral ? new JsonValue((long) value) : new JsonValue(value);
+    }
+
+    /**
+     * Adds a child after the last one, without walking the list as addChild does
+     *
+     * @return the child, which is now the last one
+     */
+    private static JsonValue append(JsonValue parent, JsonValue last, JsonValue child) {
+        child.parent = parent;
+        if (last == null) {
+            parent.child = child;
+        } else {
+            last.next = child;
+            child.prev = last;
+        }
+        parent.size++;
+        return child;
+    }
+
+    /** Returns whether a bit is set in a bitmask */
+    private static boolean isSet(byte[] bits, int index) {
+        return (bits[index >> 3] & (1 << (index & 7))) != 0;
+    }
+
+    /** Decodes a string from the string table */
+    private static String decode(byte[] bytes) {
+        try {
+            return new String(bytes, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new GdxRuntimeException(e);
+        }
+    }
+
+    // WRITING ------------------------------------------------------------------------------
+
+    /**
+     * Writes a level entry in the compiled format
+     *
+     * @param level  The level entry of a level file
+     * @param output The stream to write to, which is not closed
+     */
+    public static void write(JsonValue level, OutputStream output) throws IOException {
+        // The body is written first, as it decides what goes in the string table
+        Strings strings = new Strings();
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        DataOutputStream bodyOut = new DataOutputStream(body);
+        bodyOut.writeInt(strings.indexOf(level.name == null ? "" : level.name));
+        writeValue(bodyOut, level, strings);
+        bodyOut.flush();
+
+        DataOutputStream out = new DataOutputStream(output);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(strings.list.size);
+        for (String s : strings.list) {
+            byte[] bytes = s.getBytes("UTF-8");
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+        body.writeTo(out);
+        out.flush();
+    }
+
+    /** The strings of a level, each stored once */
+    private static class Strings {
+        /** The strings in the order they were first seen */
+        private Array<String> list = new Array<String>();
+        /** The index of each string */
+        private ObjectIntMap<String> indices = new ObjectIntMap<String>();
+
+        /** Returns the index of a string, adding it if it is new */
+        private int indexOf(String s) {
+            int index = indices.get(s, -1);
+            if (index < 0) {
+                index = list.size;
+                list.add(s);
+                indices.put(s, index);
+            }
+            return index;
+        }
+    }
+
+    /** Writes a tagged value */
+    private static void writeValue(DataOutputStream out, JsonValue value, Strings strings) throws IOException {
+        switch (value.type()) {
+            case object:
+                out.writeByte(OBJECT);
+                out.writeInt(value.size);
+                for (JsonValue child = value.child; child != null; child = child.next) {
+                    out.writeInt(strings.indexOf(child.name));
+                    writeValue(out, child, strings);
+                }
+                break;
+            case array:
+                byte[] kinds = getColumnKinds(value);
+                if (kinds != null) {
+                    writeTable(out, value, kinds, strings);
+                } else {
+                    out.writeByte(ARRAY);
+                    out.writeInt(value.size);
+                    for (JsonValue child = value.child; child != null; child = child.next) {
+                        writeValue(out, child, strings);
+                    }
+                }
+                break;
+            case stringValue:
+                out.writeByte(STRING);
+                out.writeInt(strings.indexOf(value.asString()));
+                break;
+            case doubleValue:
+                out.writeByte(DOUBLE);
+                out.writeDouble(value.asDouble());
+                break;
+            case longValue:
+                out.writeByte(LONG);
+                out.writeLong(value.asLong());
+                break;
+            case booleanValue:
+                out.writeByte(BOOLEAN);
+                out.writeByte(value.asBoolean() ? 1 : 0);
+                break;
+            default:
+                out.writeByte(NULL);
+                break;
+        }
+    }
+
+    /**
+     * Returns the column kinds if an array can be stored as a table, or null.
+     *
+     * An array is a table if it is a non-empty list of objects whose fields are
+     * all strings, numbers or booleans, and each key holds the same sort of value
+     * in every entry.  Columns are in the order their keys first appear.
+     */
+    private static byte[] getColumnKinds(JsonValue array) {
+        Array<String> columns = getColumns(array);
+        if (columns == null) {
+            return null;
+        }
+        byte[] kinds = new byte[columns.size];
+        for (int col = 0; col < columns.size; col++) {
+            boolean strings = false;
+            boolean booleans = false;
+            boolean numbers = false;
+            boolean ints = true;
+            boolean floats = true;
+            for (JsonValue entry = array.child; entry != null; entry = entry.next) {
+                JsonValue field = entry.get(columns.get(col));
+                if (field == null) {
+                    continue;
+                }
+                if (field.isString()) {
+                    strings = true;
+                } else if (field.isBoolean()) {
+                    booleans = true;
+                } else if (field.isNumber()) {
+                    numbers = true;
+                    double value = field.asDouble();
+                    ints &= field.isLong() && field.asLong() == (int) field.asLong();
+                    floats &= (double) (float) value == value && (!field.isLong() || (long) value == field.asLong());
+                } else {
+                    return null;
+                }
+            }
+            if ((strings ? 1 : 0) + (booleans ? 1 : 0) + (numbers ? 1 : 0) != 1) {
+                return null;
+            }
+            if (strings) {
+                kinds[col] = COLUMN_STRING;
+            } else if (booleans) {
+                kinds[col] = COLUMN_BOOLEAN;
+            } else if (ints) {
+                kinds[col] = COLUMN_INT;
+            } else if (floats) {
+                kinds[col] = COLUMN_FLOAT;
+            } else {
+                kinds[col] = COLUMN_DOUBLE;
+            }
+        }
+        return kinds;
+    }
+
+    /** Returns the keys of an array of flat objects, in order, or null if it is not one */
+    private static Array<String> getColumns(JsonValue array) {
+        if (array.size == 0) {
+            return null;
+        }
+        Array<String> columns = new Array<String>();
+        for (JsonValue entry = array.child; entry != null; entry = entry.next) {
+            if (!entry.isObject()) {
+                return null;
+            }
+            for (JsonValue field = entry.child; field != null; field = field.next) {
+                if (field.isObject() || field.isArray()) {
+                    return null;
+                }
+                if (!columns.contains(field.name, false)) {
+                    columns.add(field.name);
+                }
+            }
+        }
+        return columns;
+    }
+
+    /** Writes an array of flat objects one column at a time */
+    private static void writeTable(DataOutputStream out, JsonValue array, byte[] kinds,
+                                   Strings strings) throws IOException {
+        Array<String> columns = getColumns(array);
+        int rows = array.size;
+        out.writeByte(TABLE);
+        out.writeInt(rows);
+        out.writeInt(columns.size);
+
+        JsonValue[] fields = new JsonValue[rows];
+        byte[] present = new byte[(rows + 7) / 8];
+        byte[] integral = new byte[present.length];
+        for (int col = 0; col < columns.size; col++) {
+            String name = columns.get(col);
+            Arrays.fill(present, (byte) 0);
+            Arrays.fill(integral, (byte) 0);
+            int row = 0;
+            for (JsonValue entry = array.child; entry != null; entry = entry.next, row++) {
+                fields[row] = entry.get(name);
+                if (fields[row] != null) {
+                    present[row >> 3] |= 1 << (row & 7);
+                    if (fields[row].isLong()) {
+                        integral[row >> 3] |= 1 << (row & 7);
+                    }
+                }
+            }
+
+            byte kind = kinds[col];
+            out.writeInt(strings.indexOf(name));
+            out.writeByte(kind);
+            out.write(present);
+            if (kind == COLUMN_FLOAT || kind == COLUMN_DOUBLE) {
+                out.write(integral);
+            }
+            for (row = 0; row < rows; row++) {
+                JsonValue field = fields[row];
+                if (field == null) {
+                    continue;
+                }
+                switch (kind) {
+                    case COLUMN_INT:
+                        out.writeInt((int) field.asLong());
+                        break;
+                    case COLUMN_FLOAT:
+                        out.writeFloat(field.asFloat());
+                        break;
+                    case COLUMN_DOUBLE:
+                        out.writeDouble(field.asDouble());
+                        break;
+                    case COLUMN_STRING:
+                        out.writeInt(strings.indexOf(field.asString()));
+                        break;
+                    case COLUMN_BOOLEAN:
+                        out.writeByte(field.asBoolean() ? 1 : 0);
+                        break;
+                }
+            }
+        }
+    }
+}
@@ -7,16 +7,22 @@ import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.BodyDef;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.IntArray;
 import com.badlogic.gdx.utils.JsonReader;
 import com.badlogic.gdx.utils.JsonValue;
+import edu.cornell.gdiac.amaris.contact.CollisionLayer;
+import edu.cornell.gdiac.amaris.contact.ContactType;
 import edu.cornell.gdiac.amaris.objects.*;
 import edu.cornell.gdiac.amaris.obstacle.*;
 import edu.cornell.gdiac.amaris.platform.FountainModel;
 import edu.cornell.gdiac.amaris.platform.PlayerModel;
-import edu.cornell.gdiac.amaris.platform.PlayerModel.playerState;
+import edu.cornell.gdiac.amaris.util.AtlasCatalog;
+import edu.cornell.gdiac.amaris.util.SoundController;
 
-import java.text.DecimalFormat;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 
@@ -30,6 +36,8 @@ public class LevelLoader {
     private static HashMap<String, String> fonts = new HashMap<String, String>();
     private static HashMap<String, String> sounds = new HashMap<String, String>();
     private static HashMap<String, String> music = new HashMap<String, String>();
+    /** The screen or level background each piece of music plays on */
+    private static HashMap<String, String> musicScreens = new HashMap<String, String>();
 
     /** The density for most alpha objects */
     private static final float  BASIC_DENSITY = 0.0f;
@@ -133,6 +141,8 @@ public class LevelLoader {
         fonts = null;
         sounds = null;
         music = null;
+        musicScreens = null;
+        appearanceJson = null;
     }
 
     // POPULATING METHODS ------------------------------------------------------------------
@@ -140,6 +150,7 @@ public class LevelLoader {
     /** Creates the player for this level with the entrance position. */
     private void createPlayer(JsonValue levelJson, Vector2 scale) {
         JsonValue entrance = levelJson.get("entrance");
+        TextureRegion playerTexture = playerAppearance.getIdleTexture();
         float dwidth = playerTexture.getRegionWidth() / scale.x;
         float dheight = playerTexture.getRegionHeight() / scale.y;
         float x = entrance.getFloat("x")/scale.x;
@@ -256,6 +267,9 @@ public class LevelLoader {
     private void populatePlatforms(JsonValue levelJson, Vector2 scale) {
         level.platforms = new ArrayList<Obstacle>();
         level.windows = new ArrayList<RegularPlatform>();
+        // Static tiles with no other platform between them in draw order, and where they go
+        ArrayList<ArrayList<TileRun>> tileGroups = new ArrayList<ArrayList<TileRun>>();
+        IntArray tileIndices = new IntArray();
         JsonValue platforms = levelJson.get("platforms");
         if (platforms != null) {
             for (JsonValue entry = platforms.child; entry != null; entry = entry.next) {
@@ -424,6 +438,14 @@ public class LevelLoader {
                     obj.setName(name);
                     obj.setTexture(brick_endtile);
                     level.platforms.add(obj);
+                } else if (type.equals("tile") && xVel == 0 && yVel == 0 && xBound == 0 && yBound == 0) {
+                    // Static tiles are merged into larger bodies once the whole list is read
+                    int index = level.platforms.size();
+                    if (tileIndices.size == 0 || tileIndices.peek() != index) {
+                        tileGroups.add(new ArrayList<TileRun>());
+                        tileIndices.add(index);
+                    }
+                    tileGroups.get(tileGroups.size() - 1).add(new TileRun(x, y, width, height, name));
                 } else if (type.equals("tile")){ // tile
                     Obstacle obj;
                     obj = new RegularPlatform(x + width/2.0f, y + height/2.0f, width, height, scale, velocity,
@@ -476,6 +498,137 @@ public class LevelLoader {
                 }
             }
         }
+        // Last group first, so the indices of the earlier groups still hold
+        for (int i = tileGroups.size() - 1; i >= 0; i--) {
+            level.platforms.addAll(tileIndices.get(i), mergeTiles(tileGroups.get(i), scale));
+        }
+    }
+
+    /**
+     * A rectangle of identical static tiles, built up while merging.
+     *
+     * Positions are the bottom left corner, in physics units.
+     */
+    private static class TileRun {
+        float x, y, width, height;
+        float tileWidth, tileHeight;
+        /** Bottom left corners of the tiles in this run, as x,y pairs */
+        FloatArray tiles = new FloatArray();
+        /** Name of the first tile in this run, which the merged platform takes */
+        String name;
+
+        TileRun(float x, float y, float width, float height, String name) {
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+            this.tileWidth = width;
+            this.tileHeight = height;
+            tiles.add(x, y);
+            this.name = name;
+        }
+
+        /** Returns true if the two values are the same, within rounding error */
+        static boolean same(float a, float b) {
+            return Math.abs(a - b) < TILE_EPSILON;
+        }
+
+        /** Returns true if other starts exactly where this run ends horizontally */
+        boolean continuesRight(TileRun other) {
+            return same(y, other.y) && same(height, other.height) && same(tileWidth, other.tileWidth)
+                    && same(tileHeight, other.tileHeight) && same(x + width, other.x);
+        }
+
+        /** Returns true if other sits exactly on top of this run */
+        boolean continuesUp(TileRun other) {
+            return same(x, other.x) && same(width, other.width) && same(tileWidth, other.tileWidth)
+                    && same(tileHeight, other.tileHeight) && same(y + height, other.y);
+        }
+    }
+
+    /** Slack allowed when deciding whether two tiles touch (physics units) */
+    private static final float TILE_EPSILON = 0.001f;
+
+    /**
+     * Collapses touching static tiles into as few bodies as possible.
+     *
+     * Tiles are first joined into horizontal runs, then runs with the same span are
+     * stacked into rectangles.  Each rectangle becomes one TiledPlatform, which still
+     * draws every tile in its original place.  The tiles must be next to each other
+     * in draw order, since the merged platforms all draw where the first tile did.
+     *
+     * @param tiles The static tiles read from the level file
+     * @param scale The drawing scale
+     *
+     * @return the merged platforms
+     */
+    private List<Obstacle> mergeTiles(List<TileRun> tiles, Vector2 scale) {
+        // Rows, left to right
+        Collections.sort(tiles, new Comparator<TileRun>() {
+            public int compare(TileRun a, TileRun b) {
+                if (!TileRun.same(a.y, b.y)) {
+                    return a.y < b.y ? -1 : 1;
+                }
+                return Float.compare(a.x, b.x);
+            }
+        });
+        ArrayList<TileRun> rows = new ArrayList<TileRun>();
+        TileRun run = null;
+        for (TileRun next : tiles) {
+            if (run != null && run.continuesRight(next)) {
+                run.width += next.width;
+                run.tiles.addAll(next.tiles);
+            } else {
+                run = next;
+                rows.add(run);
+            }
+        }
+
+        // Stack rows with the same span, bottom to top
+        Collections.sort(rows, new Comparator<TileRun>() {
+            public int compare(TileRun a, TileRun b) {
+                if (!TileRun.same(a.x, b.x)) {
+                    return a.x < b.x ? -1 : 1;
+                }
+                if (!TileRun.same(a.width, b.width)) {
+                    return a.width < b.width ? -1 : 1;
+                }
+                return Float.compare(a.y, b.y);
+            }
+        });
+        ArrayList<TileRun> blocks = new ArrayList<TileRun>();
+        run = null;
+        for (TileRun row : rows) {
+            if (run != null && run.continuesUp(row)) {
+                run.height += row.height;
+                run.tiles.addAll(row.tiles);
+            } else {
+                run = row;
+                blocks.add(run);
+            }
+        }
+
+        List<Obstacle> merged = new ArrayList<Obstacle>();
+        for (TileRun block : blocks) {
+            float cx = block.x + block.width / 2.0f;
+            float cy = block.y + block.height / 2.0f;
+            float[] offsets = new float[block.tiles.size];
+            for (int i = 0; i < block.tiles.size; i += 2) {
+                offsets[i] = block.tiles.get(i) + block.tileWidth / 2.0f - cx;
+                offsets[i + 1] = block.tiles.get(i + 1) + block.tileHeight / 2.0f - cy;
+            }
+            TiledPlatform obj = new TiledPlatform(cx, cy, block.width, block.height, scale,
+                    block.tileWidth, block.tileHeight, offsets);
+            obj.setBodyType(BodyDef.BodyType.StaticBody);
+            obj.setDensity(BASIC_DENSITY);
+            obj.setFriction(0);
+            obj.setRestitution(BASIC_RESTITUTION);
+            obj.setDrawScale(scale);
+            obj.setName(block.name);
+            obj.setTexture(tile);
+            merged.add(obj);
+        }
+        return merged;
     }
 
     /** Populates the moon shards in this level with their position */
@@ -605,6 +758,7 @@ public class LevelLoader {
                     obj.setDrawScale(scale);
                     obj.setName(name);
                     obj.setTexture(rockTileTexture);
+                    obj.setContactType(ContactType.ROCK_TILE);
                     initRock(x, y, type, scale);
                     level.obstacles.add(obj);
                 } else if(type.equals("enemy_croc")) {
@@ -678,7 +832,9 @@ public class LevelLoader {
         obj.setName("border");
         level.platforms.add(obj);
 
-        obj = new RegularPlatform(-200/scale.x, 1100/scale.y, 4500/scale.x, 10/scale.y, scale, new Vector2(0, 0),
+        // The ceiling is centered left of the level, so it must be twice as wide as the level
+        float ceiling = Math.max(4500, 2 * (level.width + 200));
+        obj = new RegularPlatform(-200/scale.x, 1100/scale.y, ceiling/scale.x, 10/scale.y, scale, new Vector2(0, 0),
                 0, 0);
         obj.setBodyType(BodyDef.BodyType.StaticBody);
         obj.setDensity(BASIC_DENSITY);
@@ -744,12 +900,14 @@ public class LevelLoader {
     }
 
 
-    /** Populates the specific level with the info provided in the JSON file `file` */
+    /**
+     * Populates the specific level with the info provided in the JSON file `file`
+     *
+     * The file is only parsed the first time it is loaded; later loads reuse the
+     * cached LevelTemplate.
+     */
     public void populateLevel(String file, Vector2 scale) {
-        JsonReader jsonReader = new JsonReader();
-        JsonValue levelFormat = jsonReader.parse(Gdx.files.internal(file));
-
-        JsonValue currentLevel = levelFormat.get(0);
+        JsonValue currentLevel = LevelTemplate.get(file).getJson();
 
         if (currentLevel.has("max_width")) {
             level.width = currentLevel.getFloat("max_width");
@@ -773,6 +931,7 @@ public class LevelLoader {
         //populateText(currentLevel, scale);
         populateSignposts(currentLevel, scale);
         populateBorder(scale);
+        applyCollisionFilters();
 
         level.maxSerenity = currentLevel.getInt("max_serenity");
         level.threeStars = currentLevel.getFloat("three_star");
@@ -780,6 +939,41 @@ public class LevelLoader {
         level.oneStar = currentLevel.getFloat("one_star");
     }
 
+    /**
+     * Sets the collision filter of every object in the level from its contact type.
+     *
+     * This runs once everything is created, as some contact types (the rock tiles)
+     * are only set after the object is built.
+     */
+    private void applyCollisionFilters() {
+        CollisionLayer.apply(level.player);
+        CollisionLayer.apply(level.goalDoor);
+        for (BoxObstacle sensor : level.goalDoor.sensors) {
+            CollisionLayer.apply(sensor);
+        }
+        for (Obstacle obj : level.platforms) {
+            CollisionLayer.apply(obj);
+        }
+        for (Obstacle obj : level.windows) {
+            CollisionLayer.apply(obj);
+        }
+        for (Obstacle obj : level.obstacles) {
+            CollisionLayer.apply(obj);
+        }
+        for (Obstacle obj : level.shards) {
+            CollisionLayer.apply(obj);
+        }
+        for (Obstacle obj : level.fountains) {
+            CollisionLayer.apply(obj);
+        }
+        for (Obstacle obj : level.checkpoints) {
+            CollisionLayer.apply(obj);
+        }
+        for (Obstacle obj : level.signposts) {
+            CollisionLayer.apply(obj);
+        }
+    }
+
     /** Populates the assets of the game with the info provided in the JSON file `file` */
     public static void populateAssets(String file) {
         JsonReader jsonReader = new JsonReader();
@@ -822,66 +1016,42 @@ public class LevelLoader {
         if (musicJson != null) {
             for (JsonValue entry = musicJson.child; entry != null; entry = entry.next) {
                 music.put(entry.getString(0), entry.getString("path"));
+                musicScreens.put(entry.getString(0), entry.getString("screen", null));
+            }
+        }
+
+        // Player textures
+        appearanceJson = levelFormat.get("player-appearance");
+    }
+
+    /**
+     * Queues the audio for a screen on the asset manager.
+     *
+     * This is the manifest for the screen: every sound effect, since they are
+     * small and any level can use them, and the music whose "screen" in
+     * assets.json matches.  A level's screen is its background.  The asset
+     * manager decodes them in the background, and SoundController picks them up
+     * once they are done.
+     *
+     * @param manager Reference to global asset manager.
+     * @param screen  The screen, like "menu", or the level background
+     */
+    public static void preLoadAudio(AssetManager manager, String screen) {
+        for (String name : sounds.keySet()) {
+            SoundController.preLoadSound(manager, name, sounds.get(name));
+        }
+        for (String name : music.keySet()) {
+            if (screen != null && screen.equalsIgnoreCase(musicScreens.get(name))) {
+                SoundController.preLoadMusic(manager, name, music.get(name));
             }
         }
     }
 
     // LOADING ASSETS ------------------------------------------------------------------
 
-    /** The texture files for the player */
-    private static String PLAYER_FILE;
-    private static String PLAYER_WALK_FILE;
-    private static String PLAYER_JUMP_FILE;
-    private static String PLAYER_TRANS_WALK_FILE;
-    private static String PLAYER_TRANS_WALK_NG_FILE;
-    private static String PLAYER_FLIGHT_WALK_FILE;
-    private static String PLAYER_FLIGHT_WALK_NG_FILE;
-    private static String PLAYER_DASH_WALK_FILE;
-    private static String PLAYER_DASH_WALK_NG_FILE;
-    private static String PLAYER_DASH_JUMP_FILE;
-    private static String PLAYER_DASH_JUMP_NG_FILE;
-    private static String PLAYER_FLIGHT_JUMP_FILE;
-    private static String PLAYER_FLIGHT_JUMP_NG_FILE;
-    private static String PLAYER_TRANS_JUMP_FILE;
-    private static String PLAYER_TRANS_JUMP_NG_FILE;
-    private static String FLIGHT_FILE;
-    private static String FLIGHT_NG_FILE;
-    private static String DASH_FILE;
-    private static String DASH_FILE_NG;
-    private static String TRANSP_FILE;
-    private static String TRANSP_NG_FILE;
-    private static String HURT_FILE;
-    private static String FLYING_AMARIS_FILE;
-    private static String FLYING_AMARIS_NG_FILE;
-    private static String DASHING_AMARIS_FILE;
-    private static String DASHING_AMARIS_NG_FILE;
-    /** Textures for the player */
-    private TextureRegion playerWalkTexture;
-    private TextureRegion playerJumpTexture;
-    private TextureRegion playerTransWalkTexture;
-    private TextureRegion playerTransWalkNGTexture;
-    private TextureRegion playerFlightWalkTexture;
-    private TextureRegion playerFlightWalkNGTexture;
-    private TextureRegion playerDashWalkTexture;
-    private TextureRegion playerDashWalkNGTexture;
-    private TextureRegion playerDashJumpTexture;
-    private TextureRegion playerDashJumpNGTexture;
-    private TextureRegion playerFlightJumpTexture;
-    private TextureRegion playerFlightJumpNGTexture;
-    private TextureRegion playerTransJumpTexture;
-    private TextureRegion playerTransJumpNGTexture;
-    private TextureRegion playerTexture;
-    private TextureRegion dashTexture;
-    private TextureRegion dashNGTexture;
-    private TextureRegion flightTexture;
-    private TextureRegion flightNGTexture;
-    private TextureRegion transpTexture;
-    private TextureRegion transpNGTexture;
-    private TextureRegion hurtTexture;
-    private TextureRegion flyingPlayerTexture;
-    private TextureRegion flyingPlayerNGTexture;
-    private TextureRegion dashingPlayerTexture;
-    private TextureRegion dashingPlayerNGTexture;
+    /** The textures of the player, from the player-appearance section of assets.json */
+    private static JsonValue appearanceJson;
+    private PlayerAppearance playerAppearance;
 
     /** The texture file for a dash fountain */
     private static String DASH_FOUNTAIN_FILE;
@@ -1022,139 +1192,26 @@ public class LevelLoader {
 
     /** Sets player texture depending on which ability is active and the action*/
     public void setPlayerTextures(AbilityController abilityController) {
-        DecimalFormat df = new DecimalFormat("0.00");
-        if(level.player.isHurt) {
-            level.player.setTexture(hurtTexture);
-        }
-        else if(abilityController.isAbilityActive(FountainModel.FountainType.DASH)) {
-
-            if (level.player.isWalking()) {
-                if(abilityController.getTimeLeftForAbility() > 2
-                        || Double.valueOf(df.format(abilityController.getTimeLeftForAbility()))*10%2 == 0) {
-                    level.player.setTexture(playerDashWalkTexture);
-                }
-                else {
-                    level.player.setTexture(playerDashWalkNGTexture);
-                }
-                }
-            else if(level.player.ps == playerState.JUMP) {
-                if (abilityController.getTimeLeftForAbility() > 2
-                        || Double.valueOf(df.format(abilityController.getTimeLeftForAbility())) * 10 % 2 == 0) {
-                    level.player.setTexture(playerDashJumpTexture);
-                }
-                else {
-                    level.player.setTexture(playerDashJumpNGTexture);
-                }
-            }
-            else if (level.player.ps == playerState.DASH) {
-                if (abilityController.getTimeLeftForAbility() > 2
-                        || Double.valueOf(df.format(abilityController.getTimeLeftForAbility())) * 10 % 2 == 0) {
-                    level.player.setTexture(dashingPlayerTexture);
-                }
-                else {
-                    level.player.setTexture(dashingPlayerNGTexture);
-                }
-            }
-            else {
-                if(abilityController.getTimeLeftForAbility() > 2
-                || Double.valueOf(df.format(abilityController.getTimeLeftForAbility()))*10%2 == 0) {
-                    level.player.setTexture(dashTexture);
-                }
-                else {
-                    level.player.setTexture(dashNGTexture);
-
-                }
-            }
+        TextureRegion texture = playerAppearance.select(level.player, abilityController);
+        if (level.player.getTexture() != texture) {
+            level.player.setTexture(texture);
         }
-        else if(abilityController.isAbilityActive(FountainModel.FountainType.FLIGHT)) {
-            if (level.player.isWalking()) {
-                if(abilityController.getTimeLeftForAbility() > 1.2
-                        || Double.valueOf(df.format(abilityController.getTimeLeftForAbility()))*10%2 == 0) {
-                    level.player.setTexture(playerFlightWalkTexture);
-                }
-                else {
-                    level.player.setTexture(playerFlightWalkNGTexture);
-                }
-            }
-            else if (level.player.ps == playerState.FLIGHT) {
-                if(abilityController.getTimeLeftForAbility() > 1.2
-                        || Double.valueOf(df.format(abilityController.getTimeLeftForAbility()))*10%2 == 0) {
-                    level.player.setTexture(flyingPlayerTexture);
-                }
-                else {
-                    level.player.setTexture(flyingPlayerNGTexture);
-                }
-            }
-            else if (level.player.ps == playerState.JUMP) {
-                if(abilityController.getTimeLeftForAbility() > 1.2
-                        || Double.valueOf(df.format(abilityController.getTimeLeftForAbility()))*10%2 == 0) {
-                    level.player.setTexture(playerFlightJumpTexture);
-                }
-                else {
-                    level.player.setTexture(playerFlightJumpNGTexture);
-                }
-            }
-            else {
-                if(abilityController.getTimeLeftForAbility() > 1.2
-                        || Double.valueOf(df.format(abilityController.getTimeLeftForAbility()))*10%2 == 0) {
-                    level.player.setTexture(flightTexture);
-                }
-                else {
-                    level.player.setTexture(flightNGTexture);
-                }
-            }
-        }
-        else if(abilityController.isAbilityActive(FountainModel.FountainType.TRANSPARENCY)) {
-            level.player.setTransparent(true);
-            if (level.player.isWalking()) {
-                if(abilityController.getTimeLeftForAbility() > 2
-                        || Double.valueOf(df.format(abilityController.getTimeLeftForAbility()))*10%2 == 0) {
-                    level.player.setTexture(playerTransWalkTexture);
-                }
-                else {
-                    level.player.setTexture(playerTransWalkNGTexture);
-                }
-            }
-            else if (level.player.ps == playerState.JUMP) {
-                if(abilityController.getTimeLeftForAbility() > 2
-                        || Double.valueOf(df.format(abilityController.getTimeLeftForAbility()))*10%2 == 0) {
-                    level.player.setTexture(playerTransJumpTexture);
-                }
-                else {
-                    level.player.setTexture(playerTransJumpNGTexture);
-                }
-            }
-            else {
-                if(abilityController.getTimeLeftForAbility() > 2
-                        || Double.valueOf(df.format(abilityController.getTimeLeftForAbility()))*10%2 == 0) {
-                    level.player.setTexture(transpTexture);
-                }
-                else {
-                    level.player.setTexture(transpNGTexture);
-                }
-            }
+    }
 
-        }
-        else if(level.player.ps == playerState.JUMP) {
-            level.player.setTexture(playerJumpTexture);
-        }
-        else if (level.player.isWalking()) {
-            level.player.setTexture(playerWalkTexture);
-        }
-        else {
-            level.player.setTexture(playerTexture);
+    /** Sets the correct asset for every sign post */
+    public void setSignPostFile() {
+        for(SignPost sign : level.signposts) {
+            setSignPostFile(sign);
         }
     }
 
     /** Sets the correct asset for the sign post */
-    public void setSignPostFile() {
-        for(SignPost sign : level.signposts) {
-            if(sign.hasRead) {
-                sign.setTexture(signpost);
-            }
-            else {
-                sign.setTexture(unreadSignpost);
-            }
+    public void setSignPostFile(SignPost sign) {
+        if(sign.hasRead) {
+            sign.setTexture(signpost);
+        }
+        else {
+            sign.setTexture(unreadSignpost);
         }
     }
 
@@ -1165,25 +1222,31 @@ public class LevelLoader {
         abilityController.setTransparentTexture(transparencyAbilityTexture);
     }
 
-    /** Sets the correct asset for the window */
+    /** Sets the correct asset for every window */
     public void setWindowTexture() {
         for (RegularPlatform w: level.windows) {
-            if(w.getStepCount()== 0) {
-                w.setTexture(window);
-            }
-            else if(w.getStepCount() == 1) {
-                w.setTexture(windowBroken1);
-            }
-            else if(w.getStepCount() == 2) {
-                w.setTexture(windowBroken2);
-            }
+            setWindowTexture(w);
+        }
+    }
+
+    /** Sets the correct asset for the window */
+    public void setWindowTexture(RegularPlatform w) {
+        if(w.getStepCount()== 0) {
+            w.setTexture(window);
+        }
+        else if(w.getStepCount() == 1) {
+            w.setTexture(windowBroken1);
+        }
+        else if(w.getStepCount() == 2) {
+            w.setTexture(windowBroken2);
         }
     }
     /**
      * Returns a newly loaded texture region for the given file.
      *
      * This helper methods is used to set texture settings (such as scaling, and
-     * whether or not the texture should repeat) after loading.
+     * whether or not the texture should repeat) after loading.  Images packed
+     * into an atlas come from the atlas, unless they must repeat.
      *
      * @param manager 	Reference to global asset manager.
      * @param file		The texture (region) file
@@ -1192,6 +1255,13 @@ public class LevelLoader {
      * @return a newly loaded texture region for the given file.
      */
     protected TextureRegion createTexture(AssetManager manager, String file, boolean repeat) {
+        // Atlas regions share a page with other images, so they cannot repeat
+        if (!repeat) {
+            TextureRegion packed = AtlasCatalog.getInstance().findRegion(manager, file);
+            if (packed != null) {
+                return packed;
+            }
+        }
         if (manager.isLoaded(file)) {
             TextureRegion region = new TextureRegion(manager.get(file, Texture.class));
             region.getTexture().setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
@@ -1208,26 +1278,6 @@ public class LevelLoader {
      * These paths have been specified in jsons/assets.json.
      */
     private void getAssetPaths() {
-        PLAYER_FILE = getImagePath("player");
-        HURT_FILE = getImagePath("player_hurt");
-        PLAYER_WALK_FILE = getImagePath("player_walk");
-        PLAYER_JUMP_FILE = getImagePath("player_jump");
-        PLAYER_FLIGHT_WALK_FILE = getImagePath("player_flight_walk");
-        PLAYER_FLIGHT_WALK_NG_FILE = getImagePath("player_flight_walk_NG");
-        PLAYER_TRANS_WALK_FILE = getImagePath("player_trans_walk");
-        PLAYER_TRANS_WALK_NG_FILE = getImagePath("player_trans_walk_NG");
-        PLAYER_DASH_WALK_FILE = getImagePath("player_dash_walk");
-        PLAYER_DASH_WALK_NG_FILE = getImagePath("player_dash_walk_NG");
-        PLAYER_DASH_JUMP_FILE = getImagePath("player_dash_jump");
-        PLAYER_DASH_JUMP_NG_FILE = getImagePath("player_dash_jump_NG");
-        PLAYER_FLIGHT_JUMP_FILE = getImagePath("player_flight_jump");
-        PLAYER_FLIGHT_JUMP_NG_FILE = getImagePath("player_flight_jump_NG");
-        PLAYER_TRANS_JUMP_FILE = getImagePath("player_trans_jump");
-        PLAYER_TRANS_JUMP_NG_FILE = getImagePath("player_trans_jump_NG");
-        FLYING_AMARIS_FILE = getImagePath("player_flying");
-        FLYING_AMARIS_NG_FILE = getImagePath("player_flying_NG");
-        DASHING_AMARIS_FILE = getImagePath("player_dashing");
-        DASHING_AMARIS_NG_FILE = getImagePath("player_dashing_NG");
         FLIGHT_FOUNTAIN_FILE = getImagePath("flight_fountain");
         CASTLE_SPIKE_FILE = getImagePath("fence");
         ROCK_FILE1 = getImagePath("falling_rock1");
@@ -1236,12 +1286,6 @@ public class LevelLoader {
         ROCK_TILE_FILE = getImagePath("falling_rock_tile");
         CLOUD_FOUNTAIN_FILE = getImagePath("transparency_fountain");
         DASH_FOUNTAIN_FILE = getImagePath("dash_fountain");
-        FLIGHT_FILE = getImagePath("player_flight");
-        FLIGHT_NG_FILE = getImagePath("player_flight_NG");
-        DASH_FILE = getImagePath("player_dash_glow");
-        DASH_FILE_NG = getImagePath("player_dash");
-        TRANSP_FILE = getImagePath("player_transparency");
-        TRANSP_NG_FILE = getImagePath("player_transparency_NG");
         SERENITY_FOUNTAIN_FILE = getImagePath("restore_fountain");
         DASH_ICON_FILE = getImagePath("dash_icon");
         TRANSPARENT_ICON_FILE = getImagePath("transparency_icon");
@@ -1290,136 +1334,50 @@ public class LevelLoader {
         populateAssets("jsons/assets.json");
         getAssetPaths();
 
-        manager.load(PLAYER_FILE, Texture.class);
-        assets.add(PLAYER_FILE);
-        manager.load(HURT_FILE,Texture.class);
-        assets.add(HURT_FILE);
-        manager.load(PLAYER_WALK_FILE, Texture.class);
-        assets.add(PLAYER_WALK_FILE);
-        manager.load(PLAYER_JUMP_FILE, Texture.class);
-        assets.add(PLAYER_JUMP_FILE);
-        manager.load(PLAYER_FLIGHT_WALK_FILE, Texture.class);
-        assets.add(PLAYER_FLIGHT_WALK_FILE);
-        manager.load(PLAYER_FLIGHT_WALK_NG_FILE, Texture.class);
-        assets.add(PLAYER_FLIGHT_WALK_NG_FILE);
-        manager.load(PLAYER_TRANS_WALK_FILE, Texture.class);
-        assets.add(PLAYER_TRANS_WALK_FILE);
-        manager.load(PLAYER_TRANS_WALK_NG_FILE, Texture.class);
-        assets.add(PLAYER_TRANS_WALK_NG_FILE);
-        manager.load(PLAYER_DASH_WALK_FILE, Texture.class);
-        assets.add(PLAYER_DASH_WALK_FILE);
-        manager.load(PLAYER_DASH_WALK_NG_FILE, Texture.class);
-        assets.add(PLAYER_DASH_WALK_NG_FILE);
-        manager.load(PLAYER_DASH_JUMP_FILE, Texture.class);
-        assets.add(PLAYER_DASH_JUMP_FILE);
-        manager.load(PLAYER_DASH_JUMP_NG_FILE, Texture.class);
-        assets.add(PLAYER_DASH_JUMP_NG_FILE);
-        manager.load(PLAYER_FLIGHT_JUMP_FILE, Texture.class);
-        assets.add(PLAYER_FLIGHT_JUMP_FILE);
-        manager.load(PLAYER_FLIGHT_JUMP_NG_FILE, Texture.class);
-        assets.add(PLAYER_FLIGHT_JUMP_NG_FILE);
-        manager.load(PLAYER_TRANS_JUMP_FILE, Texture.class);
-        assets.add(PLAYER_TRANS_JUMP_FILE);
-        manager.load(PLAYER_TRANS_JUMP_NG_FILE, Texture.class);
-        assets.add(PLAYER_TRANS_JUMP_NG_FILE);
-        manager.load(FLYING_AMARIS_FILE, Texture.class);
-        assets.add(FLYING_AMARIS_FILE);
-        manager.load(FLYING_AMARIS_NG_FILE, Texture.class);
-        assets.add(FLYING_AMARIS_NG_FILE);
-        manager.load(DASHING_AMARIS_FILE, Texture.class);
-        assets.add(DASHING_AMARIS_FILE);
-        manager.load(DASHING_AMARIS_NG_FILE, Texture.class);
-        assets.add(DASHING_AMARIS_NG_FILE);
-        manager.load(DASH_FILE,Texture.class);
-        assets.add(DASH_FILE);
-        manager.load(DASH_FILE_NG,Texture.class);
-        assets.add(DASH_FILE_NG);
-        manager.load(FLIGHT_FOUNTAIN_FILE,Texture.class);
-        assets.add(FLIGHT_FOUNTAIN_FILE);
-        manager.load(SERENITY_FOUNTAIN_FILE,Texture.class);
-        assets.add(SERENITY_FOUNTAIN_FILE);
-        manager.load(FLIGHT_FILE,Texture.class);
-        assets.add(FLIGHT_FILE);
-        manager.load(FLIGHT_NG_FILE,Texture.class);
-        assets.add(FLIGHT_NG_FILE);
-        manager.load(TRANSP_FILE,Texture.class);
-        assets.add(TRANSP_FILE);
-        manager.load(TRANSP_NG_FILE,Texture.class);
-        assets.add(TRANSP_NG_FILE);
-        manager.load(DASH_FOUNTAIN_FILE,Texture.class);
-        assets.add(DASH_FOUNTAIN_FILE);
-        manager.load(DASH_ICON_FILE,Texture.class);
-        assets.add(DASH_ICON_FILE);
-        manager.load(SERENITY_ICON_FILE,Texture.class);
-        assets.add(SERENITY_ICON_FILE);
-        manager.load(CLOUD_FOUNTAIN_FILE,Texture.class);
-        assets.add(CLOUD_FOUNTAIN_FILE);
-        manager.load(CASTLE_SPIKE_FILE, Texture.class);
-        assets.add(CASTLE_SPIKE_FILE);
-        manager.load(TILE_FILE,Texture.class);
-        assets.add(TILE_FILE);
-        manager.load(BRICK_ENDTILE_FILE,Texture.class);
-        assets.add(BRICK_ENDTILE_FILE);
-        manager.load(BRICK_ENDTILE2_FILE,Texture.class);
-        assets.add(BRICK_ENDTILE2_FILE);
-        manager.load(BRICK_ENDTILE3_FILE,Texture.class);
-        assets.add(BRICK_ENDTILE3_FILE);
-        manager.load(BRICK_ENDTILE4_FILE,Texture.class);
-        assets.add(BRICK_ENDTILE4_FILE);
-        manager.load(ROCK_FILE1,Texture.class);
-        assets.add(ROCK_FILE1);
-        manager.load(ROCK_FILE2,Texture.class);
-        assets.add(ROCK_FILE2);
-        manager.load(ROCK_FILE3,Texture.class);
-        assets.add(ROCK_FILE3);
-        manager.load(ROCK_TILE_FILE,Texture.class);
-        assets.add(ROCK_TILE_FILE);
-        manager.load(WINDOW_FILE,Texture.class);
-        assets.add(WINDOW_FILE);
-        manager.load(WINDOW_BROKEN1_FILE,Texture.class);
-        assets.add(WINDOW_BROKEN1_FILE);
-        manager.load(WINDOW_BROKEN2_FILE,Texture.class);
-        assets.add(WINDOW_BROKEN2_FILE);
-        manager.load(TRANSPARENT_ICON_FILE,Texture.class);
-        assets.add(TRANSPARENT_ICON_FILE);
-        manager.load(FLIGHT_ICON_FILE,Texture.class);
-        assets.add(FLIGHT_ICON_FILE);
-        manager.load(GOAL_FILE,Texture.class);
-        assets.add(GOAL_FILE);
-        manager.load(CLOUD_FILE,Texture.class);
-        assets.add(CLOUD_FILE);
-        manager.load(MOON_SHARD_FILE,Texture.class);
-        assets.add(MOON_SHARD_FILE);
-        manager.load(DOOR_FILE,Texture.class);
-        assets.add(DOOR_FILE);
-        manager.load(CROC_FILE,Texture.class);
-        assets.add(CROC_FILE);
-        manager.load(FLYING_FILE,Texture.class);
-        assets.add(FLYING_FILE);
-        manager.load(SIGNPOST_FILE, Texture.class);
-        assets.add(SIGNPOST_FILE);
-        manager.load(UNREAD_SIGNPOST, Texture.class);
-        assets.add(UNREAD_SIGNPOST);
-        manager.load(SIGN1,Texture.class);
-        assets.add(SIGN1);
-        manager.load(SIGN2,Texture.class);
-        assets.add(SIGN2);
-        manager.load(SIGN3,Texture.class);
-        assets.add(SIGN3);
-        manager.load(SIGN4,Texture.class);
-        assets.add(SIGN4);
-        manager.load(SIGN5,Texture.class);
-        assets.add(SIGN5);
-        manager.load(SIGN6,Texture.class);
-        assets.add(SIGN6);
-        manager.load(SIGN7,Texture.class);
-        assets.add(SIGN7);
-        manager.load(SIGN8,Texture.class);
-        assets.add(SIGN8);
-        manager.load(LAMPPOST_FILE, Texture.class);
-        assets.add(LAMPPOST_FILE);
-        manager.load(LAMPPOST_EMPTY_FILE, Texture.class);
-        assets.add(LAMPPOST_EMPTY_FILE);
+        // Packed images are loaded with their atlas; see jsons/atlases.json
+        AtlasCatalog catalog = AtlasCatalog.getInstance();
+
+        playerAppearance = new PlayerAppearance(appearanceJson, AbilityController.TIME_LEFT_TICK);
+        playerAppearance.preLoadContent(this, manager, assets);
+        catalog.load(manager, FLIGHT_FOUNTAIN_FILE, assets);
+        catalog.load(manager, SERENITY_FOUNTAIN_FILE, assets);
+        catalog.load(manager, DASH_FOUNTAIN_FILE, assets);
+        catalog.load(manager, DASH_ICON_FILE, assets);
+        catalog.load(manager, SERENITY_ICON_FILE, assets);
+        catalog.load(manager, CLOUD_FOUNTAIN_FILE, assets);
+        catalog.load(manager, CASTLE_SPIKE_FILE, assets);
+        catalog.load(manager, TILE_FILE, assets);
+        catalog.load(manager, BRICK_ENDTILE_FILE, assets);
+        catalog.load(manager, BRICK_ENDTILE2_FILE, assets);
+        catalog.load(manager, BRICK_ENDTILE3_FILE, assets);
+        catalog.load(manager, BRICK_ENDTILE4_FILE, assets);
+        catalog.load(manager, ROCK_FILE1, assets);
+        catalog.load(manager, ROCK_FILE2, assets);
+        catalog.load(manager, ROCK_FILE3, assets);
+        catalog.load(manager, ROCK_TILE_FILE, assets);
+        catalog.load(manager, WINDOW_FILE, assets);
+        catalog.load(manager, WINDOW_BROKEN1_FILE, assets);
+        catalog.load(manager, WINDOW_BROKEN2_FILE, assets);
+        catalog.load(manager, TRANSPARENT_ICON_FILE, assets);
+        catalog.load(manager, FLIGHT_ICON_FILE, assets);
+        catalog.load(manager, GOAL_FILE, assets);
+        catalog.load(manager, CLOUD_FILE, assets);
+        catalog.load(manager, MOON_SHARD_FILE, assets);
+        catalog.load(manager, DOOR_FILE, assets);
+        catalog.load(manager, CROC_FILE, assets);
+        catalog.load(manager, FLYING_FILE, assets);
+        catalog.load(manager, SIGNPOST_FILE, assets);
+        catalog.load(manager, UNREAD_SIGNPOST, assets);
+        catalog.load(manager, SIGN1, assets);
+        catalog.load(manager, SIGN2, assets);
+        catalog.load(manager, SIGN3, assets);
+        catalog.load(manager, SIGN4, assets);
+        catalog.load(manager, SIGN5, assets);
+        catalog.load(manager, SIGN6, assets);
+        catalog.load(manager, SIGN7, assets);
+        catalog.load(manager, SIGN8, assets);
+        catalog.load(manager, LAMPPOST_FILE, assets);
+        catalog.load(manager, LAMPPOST_EMPTY_FILE, assets);
     }
 
     /**
@@ -1433,33 +1391,8 @@ public class LevelLoader {
      * @param manager Reference to global asset manager.
      */
     public void loadContent(AssetManager manager) {
-        playerTexture = createTexture(manager,PLAYER_FILE, false);
-        playerJumpTexture = createTexture(manager,PLAYER_JUMP_FILE, false);
-        playerDashJumpTexture = createTexture(manager,PLAYER_DASH_JUMP_FILE, false);
-        playerDashJumpNGTexture = createTexture(manager,PLAYER_DASH_JUMP_NG_FILE, false);
-        playerFlightJumpTexture = createTexture(manager,PLAYER_FLIGHT_JUMP_FILE, false);
-        playerFlightJumpNGTexture = createTexture(manager,PLAYER_FLIGHT_JUMP_NG_FILE, false);
-        playerTransJumpTexture = createTexture(manager,PLAYER_TRANS_JUMP_FILE, false);
-        playerTransJumpNGTexture = createTexture(manager,PLAYER_TRANS_JUMP_NG_FILE, false);
-        playerFlightWalkTexture = createTexture(manager,PLAYER_FLIGHT_WALK_FILE, false);
-        playerFlightWalkNGTexture = createTexture(manager,PLAYER_FLIGHT_WALK_NG_FILE, false);
-        playerTransWalkTexture = createTexture(manager,PLAYER_TRANS_WALK_FILE, false);
-        playerTransWalkNGTexture = createTexture(manager,PLAYER_TRANS_WALK_NG_FILE, false);
-        playerDashWalkTexture = createTexture(manager,PLAYER_DASH_WALK_FILE, false);
-        playerDashWalkNGTexture = createTexture(manager,PLAYER_DASH_WALK_NG_FILE, false);
-        playerWalkTexture = createTexture(manager,PLAYER_WALK_FILE, false);
-        flyingPlayerTexture = createTexture(manager,FLYING_AMARIS_FILE, false);
-        flyingPlayerNGTexture = createTexture(manager,FLYING_AMARIS_NG_FILE, false);
-        dashingPlayerTexture = createTexture(manager,DASHING_AMARIS_FILE, false);
-        dashingPlayerNGTexture = createTexture(manager,DASHING_AMARIS_NG_FILE, false);
-        hurtTexture = createTexture(manager, HURT_FILE, false);
-        dashTexture = createTexture(manager,DASH_FILE, false);
-        dashNGTexture = createTexture(manager,DASH_FILE_NG, false);
+        playerAppearance.loadContent(this, manager);
         flightFountainTexture = createTexture(manager,FLIGHT_FOUNTAIN_FILE, false);
-        flightTexture = createTexture(manager,FLIGHT_FILE, false);
-        flightNGTexture = createTexture(manager,FLIGHT_NG_FILE, false);
-        transpTexture = createTexture(manager,TRANSP_FILE, false);
-        transpNGTexture = createTexture(manager,TRANSP_NG_FILE, false);
         dashFountainTexture = createTexture(manager,DASH_FOUNTAIN_FILE, false);
         dashAbilityTexture = createTexture(manager,DASH_ICON_FILE, false);
         serenityFountainTexture = createTexture(manager,SERENITY_FOUNTAIN_FILE,false);
@@ -1509,5 +1442,21 @@ public class LevelLoader {
         tutorialImages.add(sign8);
         lamppost = createTexture(manager, LAMPPOST_FILE, false);
         emptyLamppost = createTexture(manager, LAMPPOST_EMPTY_FILE, false);
+        prepareAnimations();
+    }
+
+    /**
+     * Builds every sprite sheet animation used by the level, so that drawing
+     * never has to split a texture.
+     */
+    private void prepareAnimations() {
+        FountainModel.prepareAnimation(flightFountainTexture);
+        FountainModel.prepareAnimation(dashFountainTexture);
+        FountainModel.prepareAnimation(cloudFountainTexture);
+        Crocodile.prepareAnimation(crocTexture);
+        FlyingMonster.prepareAnimation(flyingTexture);
+        for (int i = 0; i < tutorialImages.size(); i++) {
+            SignPost.prepareAnimation(tutorialImages.get(i), i);
+        }
     }
 }
@@ -133,7 +133,7 @@ public class LevelSelect implements Screen, InputProcessor, ControllerListener {
         level = 0;
 
         // Load the next two images immediately.
-        background = new Texture(BACKGROUND_FILE);
+        background = TextureCache.getInstance().acquire(BACKGROUND_FILE);
         COMPLETED_FILE = levelLoader.getImagePath("completed_unclicked");
         COMPLETED_CLICKED_FILE = levelLoader.getImagePath("completed_clicked");
         AVAILABLE_FILE = levelLoader.getImagePath("available_unclicked");
@@ -171,30 +171,30 @@ public class LevelSelect implements Screen, InputProcessor, ControllerListener {
             Texture clickedButton;
             if (level.complete) {
                 if (level.numStarsCollected == 3) {
-                    button = new Texture(GLOW_FILE);
-                    clickedButton = new Texture(GLOW_CLICKED_FILE);
+                    button = TextureCache.getInstance().acquire(GLOW_FILE);
+                    clickedButton = TextureCache.getInstance().acquire(GLOW_CLICKED_FILE);
                     clickedButton.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
                     clickedButtons.add(clickedButton);
                 } else {
-                    button = new Texture(COMPLETED_FILE);
-                    clickedButton = new Texture(COMPLETED_CLICKED_FILE);
+                    button = TextureCache.getInstance().acquire(COMPLETED_FILE);
+                    clickedButton = TextureCache.getInstance().acquire(COMPLETED_CLICKED_FILE);
                     clickedButton.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
                     clickedButtons.add(clickedButton);
                 }
 
             } else if (level.available) {
-                button = new Texture(AVAILABLE_FILE);
-                clickedButton = new Texture(AVAILABLE_CLICKED_FILE);
+                button = TextureCache.getInstance().acquire(AVAILABLE_FILE);
+                clickedButton = TextureCache.getInstance().acquire(AVAILABLE_CLICKED_FILE);
                 clickedButton.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
                 clickedButtons.add(clickedButton);
             } else {
-                button = new Texture(UNCLICKABLE_FILE);
+                button = TextureCache.getInstance().acquire(UNCLICKABLE_FILE);
                 unavailable++;
                 clickedButtons.add(null);
             }
             button.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
             buttons.add(button);
-            Texture number = new Texture(levelLoader.getImagePath(String.valueOf(num+1)));
+            Texture number = TextureCache.getInstance().acquire(levelLoader.getImagePath(String.valueOf(num+1)));
             number.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
             numbers.add(number);
             num++;
@@ -202,16 +202,16 @@ public class LevelSelect implements Screen, InputProcessor, ControllerListener {
         }
 
         for (int i = num; i < TOTAL_NUMBER_LEVELS; i++) {
-            Texture button = new Texture(UNCLICKABLE_FILE);
+            Texture button = TextureCache.getInstance().acquire(UNCLICKABLE_FILE);
             button.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
             buttons.add(button);
-            Texture number = new Texture(levelLoader.getImagePath(String.valueOf(i + 1)));
+            Texture number = TextureCache.getInstance().acquire(levelLoader.getImagePath(String.valueOf(i + 1)));
             number.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
             numbers.add(number);
             //num++;
         }
 
-        star = new Texture(STAR_FILE);
+        star = TextureCache.getInstance().acquire(STAR_FILE);
         star.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
 //        Texture number = new Texture(levelLoader.getImagePath("9"));
 //        number.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
@@ -225,13 +225,13 @@ public class LevelSelect implements Screen, InputProcessor, ControllerListener {
      */
     public void dispose() {
         if (background != null) {
-            background.dispose();
+            TextureCache.getInstance().release(background);
             background = null;
         }
         if (buttons != null) {
             for (Texture b : buttons) {
                 if (b != null) {
-                    b.dispose();
+                    TextureCache.getInstance().release(b);
                 }
             }
             buttons = null;
@@ -240,11 +240,22 @@ public class LevelSelect implements Screen, InputProcessor, ControllerListener {
         if (clickedButtons != null) {
             for (Texture b : clickedButtons) {
                 if (b != null) {
-                    b.dispose();
+                    TextureCache.getInstance().release(b);
                 }
             }
             clickedButtons = null;
         }
+
+        if (numbers != null) {
+            for (Texture n : numbers) {
+                TextureCache.getInstance().release(n);
+            }
+            numbers = null;
+        }
+        if (star != null) {
+            TextureCache.getInstance().release(star);
+            star = null;
+        }
         pressState = 0;
     }
 
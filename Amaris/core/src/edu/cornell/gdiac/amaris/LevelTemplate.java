@@ -0,0 +1,97 @@
+package edu.cornell.gdiac.amaris;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+
+import java.util.HashMap;
+
+/**
+ * The parsed contents of a level file.
+ *
+ * Each level file is read and parsed once, the first time it is needed, and the
+ * template is shared by every later load of that level.  Templates are never
+ * modified after they are parsed, so they must only be read.
+ *
+ * A level is read from its compiled file (see LevelFormat) when there is one that
+ * is not older than the level file, and parsed from JSON otherwise.
+ */
+public class LevelTemplate {
+
+    /** Templates parsed so far, keyed by level path */
+    private static HashMap<String, LevelTemplate> templates = new HashMap<String, LevelTemplate>();
+
+    /** Path to the level file */
+    private final String path;
+    /** The level entry of the file */
+    private final JsonValue json;
+
+    /**
+     * Returns the template for the level file at path, parsing it if needed
+     *
+     * @param path Internal path to the level file
+     *
+     * @return the template for the level file at path
+     */
+    public static LevelTemplate get(String path) {
+        LevelTemplate template = templates.get(path);
+        if (template == null) {
+            JsonValue json = readCompiled(path);
+            if (json == null) {
+                JsonReader jsonReader = new JsonReader();
+                JsonValue levelFormat = jsonReader.parse(Gdx.files.internal(path));
+                json = levelFormat.get(0);
+            }
+            template = new LevelTemplate(path, json);
+            templates.put(path, template);
+        }
+        return template;
+    }
+
+    /**
+     * Returns the level entry from the compiled file for a level, or null if there
+     * is no usable compiled file
+     *
+     * @param path Internal path to the level file
+     *
+     * @return the level entry from the compiled file, or null
+     */
+    private static JsonValue readCompiled(String path) {
+        FileHandle source = Gdx.files.internal(path);
+        FileHandle compiled = Gdx.files.internal(LevelFormat.getCompiledPath(path));
+        if (!compiled.exists()) {
+            return null;
+        }
+        if (source.exists() && source.lastModified() > compiled.lastModified()) {
+            // The level was edited since it was compiled
+            return null;
+        }
+        try {
+            return LevelFormat.read(LevelFormat.map(compiled));
+        } catch (Exception e) {
+            Gdx.app.error("LevelTemplate", "Could not read " + compiled.path() + ", using the JSON file", e);
+            return null;
+        }
+    }
+
+    /** Discards every cached template */
+    public static void clearCache() {
+        templates.clear();
+    }
+
+    private LevelTemplate(String path, JsonValue json) {
+        this.path = path;
+        this.json = json;
+    }
+
+    /** Returns the path to the level file */
+    public String getPath() {
+        return path;
+    }
+
+    /** Returns the parsed level entry.  Callers must not modify it. */
+    JsonValue getJson() {
+        return json;
+    }
+}
@@ -191,8 +191,8 @@ public class LoadingMode implements Screen, InputProcessor, ControllerListener {
 
 		// Load the next two images immediately.
 		playButton = null;
-		background = new Texture(BACKGROUND_FILE);
-		statusBar  = new Texture(PROGRESS_FILE);
+		background = TextureCache.getInstance().acquire(BACKGROUND_FILE);
+		statusBar  = TextureCache.getInstance().acquire(PROGRESS_FILE);
 		
 		// No progress so far.		
 		progress   = 0;
@@ -230,12 +230,12 @@ public class LoadingMode implements Screen, InputProcessor, ControllerListener {
 		 statusFrgRight = null;
 		 statusFrgMiddle = null;
 
-		 background.dispose();
-		 statusBar.dispose();
+		 TextureCache.getInstance().release(background);
+		 TextureCache.getInstance().release(statusBar);
 		 background = null;
 		 statusBar  = null;
 		 if (playButton != null) {
-			 playButton.dispose();
+			 TextureCache.getInstance().release(playButton);
 			 playButton = null;
 		 }
 	}
@@ -255,7 +255,7 @@ public class LoadingMode implements Screen, InputProcessor, ControllerListener {
 			this.progress = manager.getProgress();
 			if (progress >= 1.0f) {
 				this.progress = 1.0f;
-				playButton = new Texture(PLAY_BTN_FILE);
+				playButton = TextureCache.getInstance().acquire(PLAY_BTN_FILE);
 				playButton.setFilter(TextureFilter.Linear, TextureFilter.Linear);
 			}
 		}
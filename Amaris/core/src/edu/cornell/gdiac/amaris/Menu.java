@@ -35,6 +35,7 @@ import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.math.Vector3;
 import edu.cornell.gdiac.amaris.util.ScreenListener;
+import edu.cornell.gdiac.amaris.util.TextureCache;
 import edu.cornell.gdiac.amaris.util.SoundController;
 
 /**
@@ -92,15 +93,15 @@ public class Menu implements Screen, InputProcessor, ControllerListener {
 		resize(canvas.getWidth(),canvas.getHeight());
 
 		BACKGROUND_FILE = levelLoader.getImagePath("main_menu");
-		background = new Texture(BACKGROUND_FILE);
+		background = TextureCache.getInstance().acquire(BACKGROUND_FILE);
 		LOAD_BUTTON = levelLoader.getImagePath("load_button");
-		loadButton = new Texture(LOAD_BUTTON);
+		loadButton = TextureCache.getInstance().acquire(LOAD_BUTTON);
 		NEW_BUTTON = levelLoader.getImagePath("new_button");
-		newButton = new Texture(NEW_BUTTON);
+		newButton = TextureCache.getInstance().acquire(NEW_BUTTON);
 		NEW_BUTTON_CLICKED = levelLoader.getImagePath("new_button_onclick");
-		newButtonClicked = new Texture(NEW_BUTTON_CLICKED);
+		newButtonClicked = TextureCache.getInstance().acquire(NEW_BUTTON_CLICKED);
 		LOAD_BUTTON_CLICKED = levelLoader.getImagePath("load_button_onclick");
-		loadButtonClicked = new Texture(LOAD_BUTTON_CLICKED);
+		loadButtonClicked = TextureCache.getInstance().acquire(LOAD_BUTTON_CLICKED);
 
 
 		active = false;
@@ -117,15 +118,15 @@ public class Menu implements Screen, InputProcessor, ControllerListener {
 	 * Called when this screen should release all resources.
 	 */
 	public void dispose() {
-		 background.dispose();
+		 TextureCache.getInstance().release(background);
 		 background = null;
-		 loadButton.dispose();
+		 TextureCache.getInstance().release(loadButton);
 		 loadButton = null;
-		 newButton.dispose();
+		 TextureCache.getInstance().release(newButton);
 		 newButton = null;
-		 newButtonClicked.dispose();
+		 TextureCache.getInstance().release(newButtonClicked);
 		 newButtonClicked = null;
-		 loadButtonClicked.dispose();
+		 TextureCache.getInstance().release(loadButtonClicked);
 		 loadButtonClicked = null;
 	}
 
@@ -0,0 +1,236 @@
+/*
+ * PlayerAppearance.java
+ *
+ * Chooses the texture of the player every frame.  The texture depends on the
+ * active ability, on what the player is doing, and, in the last seconds of an
+ * ability, on whether its glow has blinked off.  All of this comes from the
+ * "player-appearance" section of assets.json and is built into a table when the
+ * level assets load, so choosing a texture is a few array lookups.
+ *
+ * The blinking follows the countdown of the ability controller, one phase per
+ * countdown tick, so it is computed once per ability and indexed by the ticks
+ * left rather than worked out from the time left every frame.
+ *
+ * An ability gets its own look by adding an entry for it to assets.json.  An
+ * ability with no entry looks the same as no ability.
+ */
+package edu.cornell.gdiac.amaris;
+
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.ObjectMap;
+import edu.cornell.gdiac.amaris.platform.FountainModel;
+import edu.cornell.gdiac.amaris.platform.PlayerModel;
+import edu.cornell.gdiac.amaris.util.AtlasCatalog;
+
+/**
+ * The table of player textures, by ability, movement state and blink phase.
+ *
+ * Row 0 of the table is for no ability, and row n+1 is for the fountain type
+ * with ordinal n.
+ */
+public class PlayerAppearance {
+    /** Movement states, the columns of the table */
+    private static final int IDLE = 0;
+    private static final int WALK = 1;
+    private static final int JUMP = 2;
+    /** Jumping while walking */
+    private static final int WALK_JUMP = 3;
+    private static final int DASH = 4;
+    private static final int FLIGHT = 5;
+    private static final int NUM_STATES = 6;
+
+    /** The keys of the movement states in assets.json */
+    private static final String[] STATE_KEYS = {"idle", "walk", "jump", "walk_jump", "dash", "flight"};
+    /** The state whose images a state uses when an entry does not name any */
+    private static final int[] FALLBACK = {IDLE, IDLE, IDLE, WALK, IDLE, IDLE};
+    /** The column for each player state when the player is not walking */
+    private static final int[] COLUMNS = {IDLE, IDLE, JUMP, DASH, FLIGHT};
+
+    /** Blink phases: the ability glows, or has blinked off */
+    private static final int GLOW = 0;
+    private static final int DIM = 1;
+
+    /** The ability name of the entry for no ability */
+    private static final String NO_ABILITY = "none";
+
+    /** The image names, by row, state and phase */
+    private String[][][] names;
+    /** The textures, by row, state and phase */
+    private TextureRegion[][][] textures;
+    /** Whether the ability glows, by row and countdown ticks left; more ticks left always glow */
+    private boolean[][] timelines;
+    /** The image name while the player is hurt */
+    private String hurtName;
+    /** The texture while the player is hurt, whatever else is going on */
+    private TextureRegion hurtTexture;
+    /** Every image name, once each */
+    private Array<String> files = new Array<String>();
+
+    /**
+     * Builds the appearance table from the "player-appearance" section of assets.json
+     *
+     * @param json       The "player-appearance" section
+     * @param tickLength Seconds per countdown tick of the ability controller
+     */
+    public PlayerAppearance(JsonValue json, float tickLength) {
+        if (json == null) {
+            throw new GdxRuntimeException("assets.json has no player-appearance section");
+        }
+        int rows = FountainModel.FountainType.values().length + 1;
+        names = new String[rows][][];
+        timelines = new boolean[rows][];
+
+        hurtName = json.getString("hurt");
+        addFile(hurtName);
+        for (JsonValue entry = json.get("abilities").child; entry != null; entry = entry.next) {
+            int row = rowOf(entry.getString("ability"));
+            names[row] = parseStates(entry);
+            timelines[row] = buildTimeline(entry.getFloat("blink", 0), tickLength);
+        }
+        if (names[0] == null) {
+            throw new GdxRuntimeException("player-appearance has no entry for ability " + NO_ABILITY);
+        }
+        for (int row = 1; row < rows; row++) {
+            if (names[row] == null) {
+                names[row] = names[0];
+                timelines[row] = timelines[0];
+            }
+        }
+    }
+
+    /** Returns the table row for an ability name in assets.json */
+    private static int rowOf(String ability) {
+        if (NO_ABILITY.equals(ability)) {
+            return 0;
+        }
+        try {
+            return FountainModel.FountainType.valueOf(ability.toUpperCase()).ordinal() + 1;
+        } catch (IllegalArgumentException e) {
+            throw new GdxRuntimeException("player-appearance names unknown ability " + ability);
+        }
+    }
+
+    /**
+     * Returns the image names of an entry, by state and phase.
+     *
+     * A state is either one image, used in both phases, or a pair of the glowing
+     * image and the one blinked off.
+     */
+    private String[][] parseStates(JsonValue entry) {
+        String[][] states = new String[NUM_STATES][];
+        for (int ii = 0; ii < NUM_STATES; ii++) {
+            JsonValue value = entry.get(STATE_KEYS[ii]);
+            if (value == null) {
+                if (ii == IDLE) {
+                    throw new GdxRuntimeException("player-appearance entry " + entry.getString("ability") + " has no idle image");
+                }
+                states[ii] = states[FALLBACK[ii]];
+            } else if (value.isArray()) {
+                states[ii] = new String[] {value.getString(GLOW), value.getString(DIM)};
+            } else {
+                states[ii] = new String[] {value.asString(), value.asString()};
+            }
+            addFile(states[ii][GLOW]);
+            addFile(states[ii][DIM]);
+        }
+        return states;
+    }
+
+    /**
+     * Returns whether an ability glows for each number of countdown ticks left.
+     *
+     * Once no more than [blink] seconds are left, the glow goes off every other
+     * tick.  With more ticks left than the timeline holds, the ability glows.
+     */
+    private static boolean[] buildTimeline(float blink, float tickLength) {
+        int blinkTicks = Math.round(blink / tickLength);
+        boolean[] timeline = new boolean[blinkTicks + 1];
+        for (int ticks = 0; ticks <= blinkTicks; ticks++) {
+            timeline[ticks] = ticks % 2 == 0;
+        }
+        return timeline;
+    }
+
+    private void addFile(String name) {
+        if (!files.contains(name, false)) {
+            files.add(name);
+        }
+    }
+
+    /**
+     * Queues every player image on the asset manager
+     *
+     * @param loader  The level loader, to find image paths
+     * @param manager Reference to global asset manager.
+     * @param assets  The assets loaded so far, to unload later
+     */
+    public void preLoadContent(LevelLoader loader, AssetManager manager, Array<String> assets) {
+        AtlasCatalog catalog = AtlasCatalog.getInstance();
+        for (String name : files) {
+            catalog.load(manager, loader.getImagePath(name), assets);
+        }
+    }
+
+    /**
+     * Fills the table with the loaded textures, and splits their animations
+     *
+     * @param loader  The level loader, to find image paths and make textures
+     * @param manager Reference to global asset manager.
+     */
+    public void loadContent(LevelLoader loader, AssetManager manager) {
+        ObjectMap<String, TextureRegion> loaded = new ObjectMap<String, TextureRegion>();
+        for (String name : files) {
+            TextureRegion region = loader.createTexture(manager, loader.getImagePath(name), false);
+            PlayerModel.prepareAnimations(region);
+            loaded.put(name, region);
+        }
+        hurtTexture = loaded.get(hurtName);
+        textures = new TextureRegion[names.length][NUM_STATES][2];
+        for (int row = 0; row < names.length; row++) {
+            for (int state = 0; state < NUM_STATES; state++) {
+                textures[row][state][GLOW] = loaded.get(names[row][state][GLOW]);
+                textures[row][state][DIM] = loaded.get(names[row][state][DIM]);
+            }
+        }
+    }
+
+    /** Returns the texture of the player with no ability, standing still */
+    public TextureRegion getIdleTexture() {
+        return textures[0][IDLE][GLOW];
+    }
+
+    /**
+     * Returns the texture the player should have right now
+     *
+     * @param player    The player
+     * @param abilities The ability controller, for the active ability and its countdown
+     *
+     * @return the texture the player should have right now
+     */
+    public TextureRegion select(PlayerModel player, AbilityController abilities) {
+        if (player.isHurt) {
+            return hurtTexture;
+        }
+        int row = 0;
+        int phase = GLOW;
+        if (abilities.isUsingAbility()) {
+            row = abilities.getLastAbilityUsed().getFountainType().ordinal() + 1;
+            boolean[] timeline = timelines[row];
+            int ticks = abilities.getTicksLeftForAbility();
+            if (ticks < timeline.length && !timeline[ticks]) {
+                phase = DIM;
+            }
+        }
+        int state;
+        if (player.isWalking()) {
+            state = player.ps == PlayerModel.playerState.JUMP ? WALK_JUMP : WALK;
+        } else {
+            state = COLUMNS[player.ps.ordinal()];
+        }
+        return textures[row][state][phase];
+    }
+}
@@ -0,0 +1,316 @@
+package edu.cornell.gdiac.amaris;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+/**
+ * The saved game, kept in memory and written to disk in the background.
+ *
+ * The save file is parsed once.  After that the Level records in this store are
+ * the saved game: gameplay changes them directly and calls save().  Saving
+ * snapshots the records on the calling thread, which is cheap, and hands the
+ * text to a writer thread.  If several saves arrive before the writer gets to
+ * them, only the newest is written.
+ *
+ * The writer never overwrites the save file in place.  It writes a temporary
+ * file next to it and renames that over the old one, so a crash leaves either
+ * the old save or the new one, never half of each.
+ */
+public class SaveGameStore {
+
+    private static SaveGameStore instance = null;
+
+    public static SaveGameStore getInstance() {
+        if (instance == null) {
+            instance = new SaveGameStore();
+        }
+        return instance;
+    }
+
+    /** Path of the save file */
+    public static final String SAVE_FILE = "jsons/saved_game.json";
+    /** Suffix of the file written before it replaces the save file */
+    private static final String TEMP_SUFFIX = ".tmp";
+    /** Suffix of the old save while it is being replaced */
+    private static final String BACKUP_SUFFIX = ".bak";
+
+    /** The saved level records, or null if not loaded yet */
+    private Array<Level> levels;
+    /** Whether save() writes to disk */
+    private boolean writable = true;
+
+    /** Guards pending and written */
+    private final Object lock = new Object();
+    /** The newest snapshot that has not been written yet, or null */
+    private String pending;
+    /** The number of snapshots taken */
+    private int requested;
+    /** The number of snapshots written (or skipped for a newer one) */
+    private int written;
+    /** The background writer, started on the first save */
+    private Thread writer;
+
+    private SaveGameStore() { }
+
+    // READING -----------------------------------------------------------------------------
+
+    /**
+     * Returns the saved level records, parsing the save file the first time.
+     *
+     * The records are shared.  Anything that changes one should call save().
+     *
+     * @return the saved level records
+     */
+    public Array<Level> getLevels() {
+        if (levels == null) {
+            levels = parse(readSaveFile());
+        }
+        return levels;
+    }
+
+    /**
+     * Returns the save file to read.
+     *
+     * A local save (written by this store) wins over the one shipped with the
+     * game.  If a crash happened while replacing the local save, the backup of
+     * the old save is used.
+     */
+    private FileHandle readSaveFile() {
+        FileHandle local = Gdx.files.local(SAVE_FILE);
+        if (local.exists()) {
+            return local;
+        }
+        FileHandle backup = Gdx.files.local(SAVE_FILE + BACKUP_SUFFIX);
+        if (backup.exists()) {
+            return backup;
+        }
+        return Gdx.files.internal(SAVE_FILE);
+    }
+
+    /** Builds the level records from a save file */
+    private static Array<Level> parse(FileHandle file) {
+        JsonReader jsonReader = new JsonReader();
+        JsonValue savedGameFile = jsonReader.parse(file);
+
+        JsonValue levelsJson = savedGameFile.get("levels");
+        Array<Level> result = new Array<Level>();
+        if (levelsJson != null) {
+            int num = 0;
+            for (JsonValue entry = levelsJson.child; entry != null; entry = entry.next) {
+                Level newLevel = new Level();
+                newLevel.name = entry.getString("name");
+                newLevel.num = num;
+                newLevel.complete = entry.getBoolean("completed");
+                newLevel.available = entry.getBoolean("unlocked");
+                newLevel.checkpointsPassed = entry.getInt("checkpoints");
+                newLevel.currentSerenity = entry.getInt("serenity-left");
+                newLevel.path = entry.getString("path");
+                newLevel.numStarsCollected = entry.getInt("num-stars");
+                result.add(newLevel);
+                num++;
+            }
+        }
+        for (int i = 0; i < result.size; i++) {
+            if (i < result.size - 1) {
+                result.get(i).nextLevel = result.get(i+1);
+            } else {
+                result.get(i).nextLevel = null;
+            }
+        }
+        return result;
+    }
+
+    // WRITING -----------------------------------------------------------------------------
+
+    /**
+     * Clears all progress: only the first level is unlocked, and nothing is complete.
+     *
+     * The new records are saved.
+     */
+    public void resetProgress() {
+        Array<Level> records = getLevels();
+        for (int i = 0; i < records.size; i++) {
+            Level level = records.get(i);
+            level.complete = false;
+            level.available = (i == 0);
+            level.checkpointsPassed = 0;
+            level.currentSerenity = 0;
+            level.numStarsCollected = 0;
+        }
+        save();
+    }
+
+    /**
+     * Sets whether save() writes to disk.
+     *
+     * Tools that play levels without a player, like the headless simulation,
+     * turn this off so they do not overwrite the real saved game.  The records
+     * in memory are still updated.
+     *
+     * @param value whether save() writes to disk
+     */
+    public void setWritable(boolean value) {
+        writable = value;
+    }
+
+    /**
+     * Saves the current level records in the background.
+     *
+     * This returns immediately.  Call flush() to wait for the write to finish.
+     */
+    public void save() {
+        if (!writable) {
+            return;
+        }
+        String text = toJson(getLevels());
+        synchronized (lock) {
+            pending = text;
+            requested++;
+            if (writer == null) {
+                writer = new Thread(new Runnable() {
+                    public void run() {
+                        writeLoop();
+                    }
+                }, "SaveGameWriter");
+                writer.setDaemon(true);
+                writer.start();
+            }
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Blocks until every save requested so far is on disk.
+     *
+     * Call this before the game exits, as the writer thread does not keep the
+     * game alive.
+     */
+    public void flush() {
+        synchronized (lock) {
+            while (written < requested) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /** Writes snapshots as they arrive.  This runs on the writer thread. */
+    private void writeLoop() {
+        File target = Gdx.files.local(SAVE_FILE).file();
+        while (true) {
+            String text;
+            int snapshot;
+            synchronized (lock) {
+                while (pending == null) {
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                text = pending;
+                snapshot = requested;
+                pending = null;
+            }
+            try {
+                writeAtomically(target, text);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            synchronized (lock) {
+                written = snapshot;
+                lock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Replaces target with text, so that a crash never leaves a partial file.
+     *
+     * The text is synced to a temporary file first.  Renaming over an existing
+     * file is atomic on POSIX systems.  Where it fails (Windows), the old file is
+     * moved to a backup first, and the backup is removed once the new file is in
+     * place.
+     */
+    private static void writeAtomically(File target, String text) throws IOException {
+        File parent = target.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Could not create " + parent);
+        }
+        File temp = new File(target.getPath() + TEMP_SUFFIX);
+        FileOutputStream out = new FileOutputStream(temp);
+        try {
+            out.write(text.getBytes("UTF-8"));
+            out.flush();
+            out.getFD().sync();
+        } finally {
+            out.close();
+        }
+
+        if (temp.renameTo(target)) {
+            return;
+        }
+        File backup = new File(target.getPath() + BACKUP_SUFFIX);
+        backup.delete();
+        if (target.exists() && !target.renameTo(backup)) {
+            throw new IOException("Could not move " + target + " aside");
+        }
+        if (!temp.renameTo(target)) {
+            throw new IOException("Could not replace " + target);
+        }
+        backup.delete();
+    }
+
+    /** Returns the save file text for the level records */
+    private static String toJson(Array<Level> records) {
+        StringBuilder text = new StringBuilder(256 * (records.size + 1));
+        text.append("{\"levels\": [");
+        for (int i = 0; i < records.size; i++) {
+            Level level = records.get(i);
+            text.append("\n{ \n \"name\": ");
+            appendString(text, level.name);
+            text.append(",\n \"completed\": ").append(Boolean.TRUE.equals(level.complete));
+            text.append(",\n \"unlocked\": ").append(Boolean.TRUE.equals(level.available));
+            text.append(",\n \"checkpoints\": ").append(level.checkpointsPassed);
+            text.append(",\n \"serenity-left\": ").append(level.currentSerenity);
+            text.append(",\n \"path\": ");
+            appendString(text, level.path);
+            text.append(",\n \"ability-queue\": null");
+            text.append(",\n \"num-stars\": ").append(level.numStarsCollected);
+            text.append(" \n}");
+            if (i < records.size - 1) {
+                text.append(',');
+            }
+        }
+        text.append("\n]\n}");
+        return text.toString();
+    }
+
+    /** Appends a quoted JSON string */
+    private static void appendString(StringBuilder text, String value) {
+        if (value == null) {
+            text.append("null");
+            return;
+        }
+        text.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                text.append('\\');
+            }
+            text.append(c);
+        }
+        text.append('"');
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * CollisionLayer.java
+ *
+ * Box2D pairs every fixture with every other fixture it overlaps, unless their
+ * filters say otherwise.  Without filters, rocks made contacts with shards,
+ * fountains and enemies, and sensors made contacts with each other, only for the
+ * ContactDispatcher to find no handler for them.  This class sorts the contact
+ * types into a few layers, and says which layers may touch, so that only the
+ * pairs we handle (or that must block each other) reach the contact listener.
+ */
+package edu.cornell.gdiac.amaris.contact;
+
+import com.badlogic.gdx.physics.box2d.Filter;
+
+import edu.cornell.gdiac.amaris.obstacle.Obstacle;
+
+/**
+ * The collision category and mask of each contact type.
+ */
+public class CollisionLayer {
+    /** The body of the player */
+    public static final short PLAYER = 0x0001;
+    /** The ground sensor under the player's feet */
+    public static final short PLAYER_FOOT = 0x0002;
+    /** Anything solid that is not a cloud: platforms, walls, windows, the door */
+    public static final short TERRAIN = 0x0004;
+    /** Clouds, which are only solid while transparent */
+    public static final short CLOUD = 0x0008;
+    /** Spikes */
+    public static final short HAZARD = 0x0010;
+    /** Things the player collects by touching: shards and fountains */
+    public static final short PICKUP = 0x0020;
+    /** Sensors that do something when the player reaches them */
+    public static final short TRIGGER = 0x0040;
+    /** Crocodiles and flying monsters */
+    public static final short ENEMY = 0x0080;
+    /** Falling rocks */
+    public static final short ROCK = 0x0100;
+
+    /** Everything that stops a falling rock (it shatters on all but terrain) */
+    private static final short ROCK_STOPS = TERRAIN | CLOUD | HAZARD;
+
+    /** The filter for each contact type, indexed by ordinal */
+    private static final Filter[] FILTERS = new Filter[ContactType.values().length];
+
+    static {
+        set(ContactType.NONE, TERRAIN, PLAYER | PLAYER_FOOT | ROCK);
+        set(ContactType.PLAYER, PLAYER, ROCK_STOPS | PICKUP | TRIGGER | ENEMY | ROCK);
+        // The feet only decide whether we are grounded; the body handles pickups and triggers
+        set(ContactType.PLAYER_SENSOR, PLAYER_FOOT, ROCK_STOPS | ENEMY | ROCK);
+        set(ContactType.FOUNTAIN, PICKUP, PLAYER);
+        set(ContactType.MOON_SHARD, PICKUP, PLAYER);
+        set(ContactType.ROCK, ROCK, PLAYER | PLAYER_FOOT | ROCK_STOPS);
+        set(ContactType.ROCK_TILE, TERRAIN, PLAYER | PLAYER_FOOT | ROCK);
+        set(ContactType.PLATFORM, TERRAIN, PLAYER | PLAYER_FOOT | ROCK);
+        set(ContactType.WINDOW, TERRAIN, PLAYER | PLAYER_FOOT | ROCK);
+        set(ContactType.CLOUD, CLOUD, PLAYER | PLAYER_FOOT | ROCK);
+        set(ContactType.SPIKE, HAZARD, PLAYER | PLAYER_FOOT | ROCK);
+        // The feet stand on the door once it can be completed
+        set(ContactType.GOAL_DOOR, TERRAIN, PLAYER | PLAYER_FOOT | ROCK);
+        set(ContactType.GOAL_SENSOR, TRIGGER, PLAYER);
+        // Signposts are found by distance, so they touch nothing
+        set(ContactType.SIGNPOST, TRIGGER, (short) 0);
+        set(ContactType.CROCODILE, ENEMY, PLAYER | PLAYER_FOOT);
+        set(ContactType.FLYING_MONSTER, ENEMY, PLAYER | PLAYER_FOOT);
+    }
+
+    /** Sets the filter for a contact type */
+    private static void set(ContactType type, short category, int mask) {
+        Filter filter = new Filter();
+        filter.categoryBits = category;
+        filter.maskBits = (short) mask;
+        filter.groupIndex = 0;
+        FILTERS[type.ordinal()] = filter;
+    }
+
+    /**
+     * Returns the filter for fixtures of a contact type.
+     *
+     * The filter is shared, so it must not be changed.
+     *
+     * @param type The contact type
+     *
+     * @return the filter for fixtures of a contact type
+     */
+    public static Filter getFilter(ContactType type) {
+        return FILTERS[type.ordinal()];
+    }
+
+    /**
+     * Sets the filter data of an object from its contact type.
+     *
+     * This must be called after the contact type is set.
+     *
+     * @param obj The object to filter
+     */
+    public static void apply(Obstacle obj) {
+        obj.setFilterData(getFilter(obj.getContactType()));
+    }
+}
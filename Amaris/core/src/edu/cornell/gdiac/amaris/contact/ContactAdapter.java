@@ -0,0 +1,22 @@
+/*
+ * ContactAdapter.java
+ *
+ * Empty implementation of ContactHandler, so that handlers only need to
+ * override the callbacks they care about.
+ */
+package edu.cornell.gdiac.amaris.contact;
+
+import com.badlogic.gdx.physics.box2d.Contact;
+import com.badlogic.gdx.physics.box2d.Fixture;
+import com.badlogic.gdx.physics.box2d.Manifold;
+
+/**
+ * A ContactHandler that does nothing.
+ */
+public class ContactAdapter implements ContactHandler {
+    public void begin(Contact contact, Fixture first, Fixture second) { }
+
+    public void end(Contact contact, Fixture first, Fixture second) { }
+
+    public void preSolve(Contact contact, Fixture first, Fixture second, Manifold oldManifold) { }
+}
@@ -0,0 +1,181 @@
+/*
+ * ContactCommands.java
+ *
+ * Contact callbacks run in the middle of World.step, where it is not safe to
+ * change bodies, and where the order of callbacks is up to Box2D.  So handlers
+ * only record what should happen here, and the controller carries it out once
+ * the step is over.
+ *
+ * Commands are pooled, so recording them does not allocate once the pool has
+ * grown to the busiest step.
+ */
+package edu.cornell.gdiac.amaris.contact;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Pool;
+
+import edu.cornell.gdiac.amaris.obstacle.Obstacle;
+
+/**
+ * A buffer of side effects recorded by contact handlers.
+ *
+ * Commands are carried out in the order they were recorded.
+ */
+public class ContactCommands {
+    /**
+     * Carries out the commands in the buffer.
+     */
+    public interface Executor {
+        /**
+         * Sets the velocity of an object, knocking it away from what it hit.
+         *
+         * @param target The object knocked back
+         * @param vx     The new x-velocity
+         * @param vy     The new y-velocity
+         */
+        public void knockback(Obstacle target, float vx, float vy);
+
+        /**
+         * Drains serenity from the player.
+         *
+         * @param amount The serenity lost
+         */
+        public void damage(float amount);
+
+        /**
+         * Plays a sound effect.
+         *
+         * @param sound  The sound name in assets.json
+         * @param volume The volume, from 0 to 1
+         */
+        public void playSound(String sound, float volume);
+    }
+
+    /** Command type for knockback() */
+    private static final int KNOCKBACK = 0;
+    /** Command type for damage() */
+    private static final int DAMAGE = 1;
+    /** Command type for playSound() */
+    private static final int SOUND = 2;
+
+    /** A recorded command.  The fields used depend on the type. */
+    private static class Command implements Pool.Poolable {
+        /** The command type */
+        private int type;
+        /** The object acted on, or null */
+        private Obstacle target;
+        /** The name of the sound to play, or null */
+        private String sound;
+        /** The first number (x-velocity, damage or volume) */
+        private float x;
+        /** The second number (y-velocity) */
+        private float y;
+
+        public void reset() {
+            target = null;
+            sound = null;
+            x = 0;
+            y = 0;
+        }
+    }
+
+    /** Allocator for commands, which reuses the ones carried out */
+    private Pool<Command> memory = new Pool<Command>() {
+        protected Command newObject() {
+            return new Command();
+        }
+    };
+
+    /** The commands recorded since the last call to execute() */
+    private Array<Command> queue = new Array<Command>(16);
+
+    /**
+     * Records a knockback
+     *
+     * @param target The object knocked back
+     * @param vx     The new x-velocity
+     * @param vy     The new y-velocity
+     */
+    public void knockback(Obstacle target, float vx, float vy) {
+        Command command = add(KNOCKBACK);
+        command.target = target;
+        command.x = vx;
+        command.y = vy;
+    }
+
+    /**
+     * Records damage to the player
+     *
+     * @param amount The serenity lost
+     */
+    public void damage(float amount) {
+        add(DAMAGE).x = amount;
+    }
+
+    /**
+     * Records a sound effect
+     *
+     * @param sound  The sound name in assets.json
+     * @param volume The volume, from 0 to 1
+     */
+    public void playSound(String sound, float volume) {
+        Command command = add(SOUND);
+        command.sound = sound;
+        command.x = volume;
+    }
+
+    /**
+     * Returns the number of commands waiting
+     *
+     * @return the number of commands waiting
+     */
+    public int size() {
+        return queue.size;
+    }
+
+    /**
+     * Carries out every command waiting, in the order recorded, and empties the buffer.
+     *
+     * Commands recorded while executing wait for the next call.
+     *
+     * @param executor The object that carries out the commands
+     */
+    public void execute(Executor executor) {
+        int count = queue.size;
+        if (count == 0) {
+            return;
+        }
+        for (int ii = 0; ii < count; ii++) {
+            Command command = queue.get(ii);
+            switch (command.type) {
+                case KNOCKBACK:
+                    executor.knockback(command.target, command.x, command.y);
+                    break;
+                case DAMAGE:
+                    executor.damage(command.x);
+                    break;
+                case SOUND:
+                    executor.playSound(command.sound, command.x);
+                    break;
+            }
+        }
+        for (int ii = 0; ii < count; ii++) {
+            memory.free(queue.get(ii));
+        }
+        queue.removeRange(0, count - 1);
+    }
+
+    /** Drops every command waiting without carrying it out */
+    public void clear() {
+        memory.freeAll(queue);
+        queue.clear();
+    }
+
+    /** Returns a new command of the given type at the end of the queue */
+    private Command add(int type) {
+        Command command = memory.obtain();
+        command.type = type;
+        queue.add(command);
+        return command;
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * ContactDispatcher.java
+ *
+ * Routes Box2D contacts to handlers based on the ContactType stored in the user
+ * data of each fixture.  The handlers live in a flat table indexed by the pair of
+ * types, so finding the handler for a contact is O(1) no matter how many objects
+ * are in the level.
+ */
+package edu.cornell.gdiac.amaris.contact;
+
+import com.badlogic.gdx.physics.box2d.*;
+
+import edu.cornell.gdiac.amaris.obstacle.Obstacle;
+
+/**
+ * A ContactListener that dispatches each contact to the handler for its type pair.
+ */
+public class ContactDispatcher implements ContactListener {
+    /** The number of contact types (cached, as values() allocates) */
+    private static final int NUM_TYPES = ContactType.values().length;
+
+    /** The handler for each (typeA, typeB) pair */
+    private ContactHandler[] handlers = new ContactHandler[NUM_TYPES * NUM_TYPES];
+    /** Whether the fixtures must be swapped before calling the handler */
+    private boolean[] swapped = new boolean[NUM_TYPES * NUM_TYPES];
+
+    /**
+     * Registers a handler for contacts between fixtures of type first and second.
+     *
+     * The handler receives the fixtures in the order (first, second) regardless of
+     * the order Box2D reports them.  Registering a pair again replaces the old handler.
+     *
+     * @param first   The first contact type
+     * @param second  The second contact type
+     * @param handler The handler to call
+     */
+    public void register(ContactType first, ContactType second, ContactHandler handler) {
+        int index = first.ordinal() * NUM_TYPES + second.ordinal();
+        handlers[index] = handler;
+        swapped[index] = false;
+        if (first != second) {
+            index = second.ordinal() * NUM_TYPES + first.ordinal();
+            handlers[index] = handler;
+            swapped[index] = true;
+        }
+    }
+
+    /**
+     * Returns the handler registered for the pair (first, second), or null
+     *
+     * @param first   The first contact type
+     * @param second  The second contact type
+     *
+     * @return the handler registered for the pair (first, second), or null
+     */
+    public ContactHandler getHandler(ContactType first, ContactType second) {
+        return handlers[first.ordinal() * NUM_TYPES + second.ordinal()];
+    }
+
+    /**
+     * Removes every registered handler
+     */
+    public void clear() {
+        for (int i = 0; i < handlers.length; i++) {
+            handlers[i] = null;
+            swapped[i] = false;
+        }
+    }
+
+    /**
+     * Returns the contact type of a fixture
+     *
+     * Fixtures without a ContactType in their user data are treated as NONE.
+     *
+     * @param fixture The fixture to check
+     *
+     * @return the contact type of a fixture
+     */
+    public static ContactType getType(Fixture fixture) {
+        Object data = fixture.getUserData();
+        return data instanceof ContactType ? (ContactType) data : ContactType.NONE;
+    }
+
+    /**
+     * Returns the obstacle that owns a fixture
+     *
+     * @param fixture The fixture to check
+     *
+     * @return the obstacle that owns a fixture
+     */
+    public static Obstacle getObstacle(Fixture fixture) {
+        return (Obstacle) fixture.getBody().getUserData();
+    }
+
+    /** Returns the table index for the fixtures of this contact */
+    private int indexOf(Contact contact) {
+        return getType(contact.getFixtureA()).ordinal() * NUM_TYPES + getType(contact.getFixtureB()).ordinal();
+    }
+
+    public void beginContact(Contact contact) {
+        int index = indexOf(contact);
+        ContactHandler handler = handlers[index];
+        if (handler == null) {
+            return;
+        }
+        if (swapped[index]) {
+            handler.begin(contact, contact.getFixtureB(), contact.getFixtureA());
+        } else {
+            handler.begin(contact, contact.getFixtureA(), contact.getFixtureB());
+        }
+    }
+
+    public void endContact(Contact contact) {
+        int index = indexOf(contact);
+        ContactHandler handler = handlers[index];
+        if (handler == null) {
+            return;
+        }
+        if (swapped[index]) {
+            handler.end(contact, contact.getFixtureB(), contact.getFixtureA());
+        } else {
+            handler.end(contact, contact.getFixtureA(), contact.getFixtureB());
+        }
+    }
+
+    public void preSolve(Contact contact, Manifold oldManifold) {
+        int index = indexOf(contact);
+        ContactHandler handler = handlers[index];
+        if (handler == null) {
+            return;
+        }
+        if (swapped[index]) {
+            handler.preSolve(contact, contact.getFixtureB(), contact.getFixtureA(), oldManifold);
+        } else {
+            handler.preSolve(contact, contact.getFixtureA(), contact.getFixtureB(), oldManifold);
+        }
+    }
+
+    /** Unused ContactListener method */
+    public void postSolve(Contact contact, ContactImpulse impulse) { }
+}
@@ -0,0 +1,47 @@
+/*
+ * ContactHandler.java
+ *
+ * Callbacks for a single pair of contact types.
+ */
+package edu.cornell.gdiac.amaris.contact;
+
+import com.badlogic.gdx.physics.box2d.Contact;
+import com.badlogic.gdx.physics.box2d.Fixture;
+import com.badlogic.gdx.physics.box2d.Manifold;
+
+/**
+ * Handles contacts between two kinds of fixture.
+ *
+ * A handler is registered with a ContactDispatcher for an ordered pair of types
+ * (first, second).  The fixtures are always passed in that order, no matter which
+ * one Box2D reports as fixture A.
+ */
+public interface ContactHandler {
+    /**
+     * Called when the two fixtures begin to touch.
+     *
+     * @param contact The Box2D contact
+     * @param first   The fixture of the first registered type
+     * @param second  The fixture of the second registered type
+     */
+    public void begin(Contact contact, Fixture first, Fixture second);
+
+    /**
+     * Called when the two fixtures cease to touch.
+     *
+     * @param contact The Box2D contact
+     * @param first   The fixture of the first registered type
+     * @param second  The fixture of the second registered type
+     */
+    public void end(Contact contact, Fixture first, Fixture second);
+
+    /**
+     * Called before the contact is solved, every step that it is touching.
+     *
+     * @param contact     The Box2D contact
+     * @param first       The fixture of the first registered type
+     * @param second      The fixture of the second registered type
+     * @param oldManifold The manifold from the previous step
+     */
+    public void preSolve(Contact contact, Fixture first, Fixture second, Manifold oldManifold);
+}
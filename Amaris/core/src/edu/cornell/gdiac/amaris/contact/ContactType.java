@@ -0,0 +1,46 @@
+/*
+ * ContactType.java
+ *
+ * Every fixture we create is stamped with one of these tags in its user data.
+ * The ContactDispatcher uses the pair of tags on a contact to find its handler
+ * without having to search through the object lists.
+ */
+package edu.cornell.gdiac.amaris.contact;
+
+/**
+ * The kind of object a fixture belongs to, for the purpose of collision handling.
+ */
+public enum ContactType {
+    /** Untagged fixture (no handlers) */
+    NONE,
+    /** The body of the player */
+    PLAYER,
+    /** The ground sensor under the player's feet */
+    PLAYER_SENSOR,
+    /** Ability fountains and checkpoint lampposts */
+    FOUNTAIN,
+    /** Collectable moon shards */
+    MOON_SHARD,
+    /** Falling rocks */
+    ROCK,
+    /** The ceiling tile that falling rocks drop from */
+    ROCK_TILE,
+    /** Solid platforms, walls and level borders */
+    PLATFORM,
+    /** Windows that break after being stepped on */
+    WINDOW,
+    /** Clouds that are only solid while transparent */
+    CLOUD,
+    /** Spikes */
+    SPIKE,
+    /** The goal door itself */
+    GOAL_DOOR,
+    /** The sensors in front of the goal door */
+    GOAL_SENSOR,
+    /** Tutorial signposts */
+    SIGNPOST,
+    /** Crocodile enemies */
+    CROCODILE,
+    /** Flying enemies */
+    FLYING_MONSTER
+}
@@ -0,0 +1,33 @@
+/*
+ * BodyComponent.java
+ *
+ * Every entity of a level has a body: the obstacle that the level loader made
+ * for it.  The obstacle keeps its physics and drawing, and the other components
+ * add what the gameplay systems need to know about it.
+ */
+package edu.cornell.gdiac.amaris.entity;
+
+import com.badlogic.ashley.core.Component;
+import com.badlogic.ashley.core.ComponentMapper;
+
+import edu.cornell.gdiac.amaris.obstacle.Obstacle;
+
+/**
+ * The obstacle of a level entity.
+ */
+public class BodyComponent implements Component {
+    /** Finds the body of an entity */
+    public static final ComponentMapper<BodyComponent> MAPPER = ComponentMapper.getFor(BodyComponent.class);
+
+    /** The obstacle */
+    public final Obstacle obstacle;
+
+    /**
+     * Creates the body of an entity
+     *
+     * @param obstacle The obstacle
+     */
+    public BodyComponent(Obstacle obstacle) {
+        this.obstacle = obstacle;
+    }
+}
@@ -0,0 +1,26 @@
+package edu.cornell.gdiac.amaris.entity;
+
+import com.badlogic.ashley.core.Component;
+import com.badlogic.ashley.core.ComponentMapper;
+
+import edu.cornell.gdiac.amaris.objects.RegularPlatform;
+
+/**
+ * A window, which cracks each time the player lands on it and breaks on the third.
+ */
+public class BreakableComponent implements Component {
+    /** Finds the breakable of an entity */
+    public static final ComponentMapper<BreakableComponent> MAPPER = ComponentMapper.getFor(BreakableComponent.class);
+
+    /** The window */
+    public final RegularPlatform window;
+
+    /**
+     * Creates a breakable
+     *
+     * @param window The window
+     */
+    public BreakableComponent(RegularPlatform window) {
+        this.window = window;
+    }
+}
@@ -0,0 +1,28 @@
+package edu.cornell.gdiac.amaris.entity;
+
+import com.badlogic.ashley.core.Component;
+import com.badlogic.ashley.core.ComponentMapper;
+
+import edu.cornell.gdiac.amaris.platform.FountainModel;
+
+/**
+ * A fountain.  Restore fountains are the checkpoints, and each one saves which
+ * ability fountains have been used, so every fountain is part of the
+ * checkpoint state.
+ */
+public class CheckpointComponent implements Component {
+    /** Finds the checkpoint of an entity */
+    public static final ComponentMapper<CheckpointComponent> MAPPER = ComponentMapper.getFor(CheckpointComponent.class);
+
+    /** The fountain */
+    public final FountainModel fountain;
+
+    /**
+     * Creates a checkpoint
+     *
+     * @param fountain The fountain
+     */
+    public CheckpointComponent(FountainModel fountain) {
+        this.fountain = fountain;
+    }
+}
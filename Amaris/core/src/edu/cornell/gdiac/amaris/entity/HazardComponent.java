@@ -0,0 +1,33 @@
+/*
+ * HazardComponent.java
+ *
+ * Falling rocks are the only hazards with a life of their own: they drop, and
+ * come back to the ceiling a while later.  Spikes and monsters hurt the player
+ * through their contact handlers, and need nothing here.
+ */
+package edu.cornell.gdiac.amaris.entity;
+
+import com.badlogic.ashley.core.Component;
+import com.badlogic.ashley.core.ComponentMapper;
+
+import edu.cornell.gdiac.amaris.obstacle.Rock;
+
+/**
+ * A falling hazard, which HazardSystem puts back where it started.
+ */
+public class HazardComponent implements Component {
+    /** Finds the hazard of an entity */
+    public static final ComponentMapper<HazardComponent> MAPPER = ComponentMapper.getFor(HazardComponent.class);
+
+    /** The falling rock */
+    public final Rock rock;
+
+    /**
+     * Creates a falling hazard
+     *
+     * @param rock The falling rock
+     */
+    public HazardComponent(Rock rock) {
+        this.rock = rock;
+    }
+}
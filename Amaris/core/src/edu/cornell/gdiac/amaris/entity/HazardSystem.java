@@ -0,0 +1,82 @@
+/*
+ * HazardSystem.java
+ *
+ * Brings the falling rocks back.  The rocks share one timer: once it has run
+ * for a while, every rock that is still awake goes back to the ceiling, and so
+ * does any rock that asked to along the way.  Putting a rock back starts the
+ * timer again.
+ */
+package edu.cornell.gdiac.amaris.entity;
+
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.EntitySystem;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.utils.ImmutableArray;
+
+import edu.cornell.gdiac.amaris.obstacle.Rock;
+
+/**
+ * Resets the falling hazards, once per physics step.
+ */
+public class HazardSystem extends EntitySystem {
+    /** The falling hazards */
+    public static final Family FAMILY = Family.all(BodyComponent.class, HazardComponent.class).get();
+    /** Seconds the timer runs before the awake rocks go back */
+    private static final float RESET_TIME = 1.5f;
+
+    /** The falling hazards of the engine */
+    private ImmutableArray<Entity> hazards;
+    /** Seconds since a rock last went back */
+    private float timer;
+
+    @Override
+    public void addedToEngine(Engine engine) {
+        hazards = engine.getEntitiesFor(FAMILY);
+    }
+
+    @Override
+    public void removedFromEngine(Engine engine) {
+        hazards = null;
+    }
+
+    /**
+     * Puts back the rocks that are due, then advances the timer
+     *
+     * @param step Number of seconds in a physics step
+     */
+    @Override
+    public void update(float step) {
+        if (timer > RESET_TIME) {
+            for (int i = 0; i < hazards.size(); i++) {
+                Rock rock = HazardComponent.MAPPER.get(hazards.get(i)).rock;
+                if (rock.isActive()) {
+                    rock.setReset(true);
+                }
+            }
+        }
+        for (int i = 0; i < hazards.size(); i++) {
+            Rock rock = HazardComponent.MAPPER.get(hazards.get(i)).rock;
+            if (rock.getReset()) {
+                resetRock(rock);
+            }
+        }
+        timer += step;
+    }
+
+    /** Starts the timer again, for when the level restarts */
+    public void reset() {
+        timer = 0;
+    }
+
+    /** Puts a rock back where it started, ready to fall again */
+    private void resetRock(Rock rk) {
+        rk.setPosition(rk.getOriginalPos());
+        rk.setVY(rk.getOriginalVel().y);
+        rk.setVX(rk.getOriginalVel().x);
+        timer = 0;
+        rk.setDraw(true);
+        rk.setCollide(true);
+        rk.setReset(false);
+    }
+}
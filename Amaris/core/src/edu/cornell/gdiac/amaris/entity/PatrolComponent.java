@@ -0,0 +1,53 @@
+/*
+ * PatrolComponent.java
+ *
+ * Moving platforms, windows, moon shards and monsters all go back and forth in
+ * a box around where they start.  This holds that box and the patrol velocity,
+ * which PatrolSystem turns into the body velocity every physics step.
+ */
+package edu.cornell.gdiac.amaris.entity;
+
+import com.badlogic.ashley.core.Component;
+import com.badlogic.ashley.core.ComponentMapper;
+import com.badlogic.gdx.math.Vector2;
+
+import edu.cornell.gdiac.amaris.obstacle.Facing;
+
+/**
+ * The patrol of a kinematic level entity.
+ *
+ * The velocity and origin are those of the object, not copies, so turning
+ * around here turns the object around too.
+ */
+public class PatrolComponent implements Component {
+    /** Finds the patrol of an entity */
+    public static final ComponentMapper<PatrolComponent> MAPPER = ComponentMapper.getFor(PatrolComponent.class);
+
+    /** The patrol velocity, in world units per 1/60th of a second */
+    public final Vector2 velocity;
+    /** The middle of the patrol */
+    public final Vector2 origin;
+    /** How far the patrol goes left and right of the origin */
+    public final float horizontalRadius;
+    /** How far the patrol goes above and below the origin */
+    public final float verticalRadius;
+    /** Whether the object slows down towards the ends of the patrol */
+    public boolean eased;
+    /** The object to turn around at the ends of the patrol, or null */
+    public Facing facing;
+
+    /**
+     * Creates a patrol
+     *
+     * @param velocity         The patrol velocity of the object
+     * @param origin           The middle of the patrol
+     * @param horizontalRadius How far the patrol goes left and right
+     * @param verticalRadius   How far the patrol goes up and down
+     */
+    public PatrolComponent(Vector2 velocity, Vector2 origin, float horizontalRadius, float verticalRadius) {
+        this.velocity = velocity;
+        this.origin = origin;
+        this.horizontalRadius = horizontalRadius;
+        this.verticalRadius = verticalRadius;
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * PatrolSystem.java
+ *
+ * Moves every patrolling entity for the next physics step.  Patrolling objects
+ * are kinematic, so the system only sets their velocities and the world step
+ * moves them.  The patrol velocity is in world units per 1/60th of a second,
+ * as when these objects were moved by hand, so it is scaled by the step length.
+ *
+ * Clouds and moon shards ease: they slow down towards the ends of the patrol
+ * and speed up through the middle.  Monsters turn to face the way they go.
+ */
+package edu.cornell.gdiac.amaris.entity;
+
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.systems.IteratingSystem;
+import com.badlogic.gdx.math.Vector2;
+
+import edu.cornell.gdiac.amaris.obstacle.Obstacle;
+
+/**
+ * Sets the body velocities of the patrolling entities, once per physics step.
+ */
+public class PatrolSystem extends IteratingSystem {
+    /** The range of the patrol easing, and the speed multipliers it maps to */
+    private static final Vector2 EASE_RANGE = new Vector2(0, 1);
+    private static final Vector2 EASE_SPEED = new Vector2(0.25f, 1.6f);
+
+    /** Seconds of the step that patrol velocities are expressed in */
+    private final float frameStep;
+    /** Cache for the position a patrolling object reaches after a step */
+    private Vector2 patrolCache = new Vector2();
+
+    /**
+     * Creates a patrol system
+     *
+     * @param frameStep Seconds of the step that patrol velocities are expressed in
+     */
+    public PatrolSystem(float frameStep) {
+        super(Family.all(BodyComponent.class, PatrolComponent.class).get());
+        this.frameStep = frameStep;
+    }
+
+    /**
+     * Sets the body velocity of a patrolling entity for the next physics step.
+     *
+     * The entity turns around once the step would take it out of its patrol
+     * box.  Entities whose chunk is asleep are left alone.
+     *
+     * @param entity The patrolling entity
+     * @param step   Number of seconds in a physics step
+     */
+    @Override
+    protected void processEntity(Entity entity, float step) {
+        Obstacle obj = BodyComponent.MAPPER.get(entity).obstacle;
+        if (!obj.isActive()) {
+            return;
+        }
+        PatrolComponent patrol = PatrolComponent.MAPPER.get(entity);
+        Vector2 origin = patrol.origin;
+        float hr = patrol.horizontalRadius;
+        float vr = patrol.verticalRadius;
+
+        float speed = step / frameStep;
+        if (patrol.eased) {
+            speed *= ease(obj.getPosition(), origin, hr, vr);
+        }
+        patrolCache.set(patrol.velocity).scl(speed / step);
+        obj.setLinearVelocity(patrolCache);
+        patrolCache.scl(step).add(obj.getPosition());
+        if (Math.abs(patrolCache.x - origin.x) > hr) {
+            patrol.velocity.scl(-1, 1);
+        }
+        if (Math.abs(patrolCache.y - origin.y) > vr) {
+            patrol.velocity.scl(1, -1);
+        }
+
+        if (patrol.facing != null) {
+            if (patrolCache.x - origin.x > hr) {
+                patrol.facing.setFaceRight(false);
+            }
+            if (origin.x - patrolCache.x > hr) {
+                patrol.facing.setFaceRight(true);
+            }
+        }
+    }
+
+    /**
+     * Returns the patrol speed multiplier of an easing entity.
+     *
+     * @param position The current position
+     * @param origin   The middle of the patrol
+     * @param hr       The horizontal radius of the patrol
+     * @param vr       The vertical radius of the patrol
+     *
+     * @return the patrol speed multiplier of an easing entity
+     */
+    private static float ease(Vector2 position, Vector2 origin, float hr, float vr) {
+        double extent = position.dst(origin) / Math.sqrt(hr * hr + vr * vr);
+        float mod;
+        if (Double.isNaN(Math.sin(extent))) {
+            mod = -1;
+        } else {
+            mod = map(EASE_RANGE, EASE_SPEED, 1 - (float) Math.sin(extent * Math.PI / 2));
+        }
+        return mod * 2;
+    }
+
+    /** Maps [value] linearly from [originalRange] to [newRange] */
+    private static float map(Vector2 originalRange, Vector2 newRange, float value) {
+        float fProp = (value - originalRange.x) / (originalRange.y - originalRange.x);
+        return fProp * (newRange.y - newRange.x) + newRange.x;
+    }
+}
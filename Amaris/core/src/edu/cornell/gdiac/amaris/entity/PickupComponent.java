@@ -0,0 +1,26 @@
+package edu.cornell.gdiac.amaris.entity;
+
+import com.badlogic.ashley.core.Component;
+import com.badlogic.ashley.core.ComponentMapper;
+
+import edu.cornell.gdiac.amaris.objects.MoonShard;
+
+/**
+ * A moon shard for the player to collect.
+ */
+public class PickupComponent implements Component {
+    /** Finds the pickup of an entity */
+    public static final ComponentMapper<PickupComponent> MAPPER = ComponentMapper.getFor(PickupComponent.class);
+
+    /** The moon shard */
+    public final MoonShard shard;
+
+    /**
+     * Creates a pickup
+     *
+     * @param shard The moon shard
+     */
+    public PickupComponent(MoonShard shard) {
+        this.shard = shard;
+    }
+}
@@ -0,0 +1,26 @@
+package edu.cornell.gdiac.amaris.entity;
+
+import com.badlogic.ashley.core.Component;
+import com.badlogic.ashley.core.ComponentMapper;
+
+import edu.cornell.gdiac.amaris.objects.SignPost;
+
+/**
+ * A tutorial signpost, which shows its message while the player stands at it.
+ */
+public class SignComponent implements Component {
+    /** Finds the sign of an entity */
+    public static final ComponentMapper<SignComponent> MAPPER = ComponentMapper.getFor(SignComponent.class);
+
+    /** The signpost */
+    public final SignPost sign;
+
+    /**
+     * Creates a sign
+     *
+     * @param sign The signpost
+     */
+    public SignComponent(SignPost sign) {
+        this.sign = sign;
+    }
+}
@@ -0,0 +1,28 @@
+/*
+ * GameEventAdapter.java
+ *
+ * Empty implementation of GameEventListener, so that listeners only need to
+ * override the callbacks they care about.
+ */
+package edu.cornell.gdiac.amaris.event;
+
+import edu.cornell.gdiac.amaris.objects.RegularPlatform;
+import edu.cornell.gdiac.amaris.objects.SignPost;
+import edu.cornell.gdiac.amaris.platform.FountainModel;
+
+/**
+ * A GameEventListener that does nothing.
+ */
+public class GameEventAdapter implements GameEventListener {
+    public void signRead(SignPost sign) { }
+
+    public void windowStepped(RegularPlatform window) { }
+
+    public void abilityStarted(FountainModel ability) { }
+
+    public void abilityTick(FountainModel ability, float timeLeft) { }
+
+    public void abilityEnded(FountainModel ability) { }
+
+    public void transparencyChanged(boolean transparent) { }
+}
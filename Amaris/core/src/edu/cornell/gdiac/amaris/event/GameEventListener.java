@@ -0,0 +1,62 @@
+/*
+ * GameEventListener.java
+ *
+ * Callbacks for the changes in game state that the visuals depend on.
+ */
+package edu.cornell.gdiac.amaris.event;
+
+import edu.cornell.gdiac.amaris.objects.RegularPlatform;
+import edu.cornell.gdiac.amaris.objects.SignPost;
+import edu.cornell.gdiac.amaris.platform.FountainModel;
+
+/**
+ * Listens for game events posted to GameEvents.
+ *
+ * Events are delivered on the game thread as soon as they are posted, which may
+ * be in the middle of a physics step.  Listeners should only update state, and
+ * leave changes to bodies to the controller.
+ */
+public interface GameEventListener {
+    /**
+     * Called when the player reads a signpost for the first time.
+     *
+     * @param sign The signpost read
+     */
+    public void signRead(SignPost sign);
+
+    /**
+     * Called when the player steps on a window, cracking it further.
+     *
+     * @param window The window stepped on
+     */
+    public void windowStepped(RegularPlatform window);
+
+    /**
+     * Called when the player starts using an ability.
+     *
+     * @param ability The fountain that gave the ability
+     */
+    public void abilityStarted(FountainModel ability);
+
+    /**
+     * Called every time the countdown of the current ability goes down.
+     *
+     * @param ability  The fountain that gave the ability
+     * @param timeLeft Seconds left for the ability
+     */
+    public void abilityTick(FountainModel ability, float timeLeft);
+
+    /**
+     * Called when the current ability runs out or is cancelled.
+     *
+     * @param ability The fountain that gave the ability
+     */
+    public void abilityEnded(FountainModel ability);
+
+    /**
+     * Called when the player becomes transparent or solid.
+     *
+     * @param transparent Whether the player is now transparent
+     */
+    public void transparencyChanged(boolean transparent);
+}
@@ -0,0 +1,117 @@
+/*
+ * GameEvents.java
+ *
+ * A small event bus for the changes in game state that the visuals depend on.
+ * Textures used to be picked again every frame by walking every signpost and
+ * window, and the clouds were made solid or transparent every frame.  Now the
+ * code that makes a change posts an event, and the listeners update only what
+ * the change affects.
+ *
+ * Events are delivered synchronously, in the order the listeners were added, so
+ * a simulation replays the same way every time.
+ */
+package edu.cornell.gdiac.amaris.event;
+
+import com.badlogic.gdx.utils.Array;
+
+import edu.cornell.gdiac.amaris.objects.RegularPlatform;
+import edu.cornell.gdiac.amaris.objects.SignPost;
+import edu.cornell.gdiac.amaris.platform.FountainModel;
+
+/**
+ * The listeners of one game mode, and the methods that post events to them.
+ */
+public class GameEvents {
+    /** The listeners, in the order they were added */
+    private Array<GameEventListener> listeners = new Array<GameEventListener>(4);
+
+    /**
+     * Adds a listener for every event
+     *
+     * @param listener The listener to add
+     */
+    public void addListener(GameEventListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a listener
+     *
+     * @param listener The listener to remove
+     */
+    public void removeListener(GameEventListener listener) {
+        listeners.removeValue(listener, true);
+    }
+
+    /** Removes every listener */
+    public void clear() {
+        listeners.clear();
+    }
+
+    /**
+     * Posts that the player read a signpost for the first time
+     *
+     * @param sign The signpost read
+     */
+    public void signRead(SignPost sign) {
+        for (int ii = 0; ii < listeners.size; ii++) {
+            listeners.get(ii).signRead(sign);
+        }
+    }
+
+    /**
+     * Posts that the player stepped on a window
+     *
+     * @param window The window stepped on
+     */
+    public void windowStepped(RegularPlatform window) {
+        for (int ii = 0; ii < listeners.size; ii++) {
+            listeners.get(ii).windowStepped(window);
+        }
+    }
+
+    /**
+     * Posts that the player started using an ability
+     *
+     * @param ability The fountain that gave the ability
+     */
+    public void abilityStarted(FountainModel ability) {
+        for (int ii = 0; ii < listeners.size; ii++) {
+            listeners.get(ii).abilityStarted(ability);
+        }
+    }
+
+    /**
+     * Posts that the countdown of the current ability went down
+     *
+     * @param ability  The fountain that gave the ability
+     * @param timeLeft Seconds left for the ability
+     */
+    public void abilityTick(FountainModel ability, float timeLeft) {
+        for (int ii = 0; ii < listeners.size; ii++) {
+            listeners.get(ii).abilityTick(ability, timeLeft);
+        }
+    }
+
+    /**
+     * Posts that the current ability ran out or was cancelled
+     *
+     * @param ability The fountain that gave the ability
+     */
+    public void abilityEnded(FountainModel ability) {
+        for (int ii = 0; ii < listeners.size; ii++) {
+            listeners.get(ii).abilityEnded(ability);
+        }
+    }
+
+    /**
+     * Posts that the player became transparent or solid
+     *
+     * @param transparent Whether the player is now transparent
+     */
+    public void transparencyChanged(boolean transparent) {
+        for (int ii = 0; ii < listeners.size; ii++) {
+            listeners.get(ii).transparencyChanged(transparent);
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.badlogic.gdx.math.Vector2;
 import edu.cornell.gdiac.amaris.GameCanvas;
 import edu.cornell.gdiac.amaris.obstacle.BoxObstacle;
 import edu.cornell.gdiac.amaris.platform.PlayerModel;
+import edu.cornell.gdiac.amaris.contact.ContactType;
 
 public class CloudPlatform extends BoxObstacle implements Platform {
 
@@ -20,6 +21,7 @@ public class CloudPlatform extends BoxObstacle implements Platform {
     public CloudPlatform(float x, float y, float width, float height, Vector2 scale, Vector2 velocity,
                          float horizontalRadius, float verticalRadius) {
         super(width, height);
+        setContactType(ContactType.CLOUD);
         this.setPosition(x, y);
         this.width = width;
         this.height = height;
@@ -41,7 +43,7 @@ public class CloudPlatform extends BoxObstacle implements Platform {
         }
         float sx = width / (texture.getRegionWidth() / scale.x) ;
         float sy = height*2 / (texture.getRegionHeight() / scale.y);
-        canvas.draw(texture,color,origin.x,origin.y,getX()*drawScale.x,getY()*drawScale.y,getAngle(),sx,sy);
+        canvas.draw(texture,color,origin.x,origin.y,getDrawX()*drawScale.x,getDrawY()*drawScale.y,getDrawAngle(),sx,sy);
     }
 
     public void setTransparent(boolean val) { isTransparent = val; }
@@ -92,4 +94,18 @@ public class CloudPlatform extends BoxObstacle implements Platform {
                     playerPos.x < (platformPos.x + width/2));
     }
 
+    /** The velocity to restore when the level restarts */
+    private Vector2 spawnVelocity = new Vector2();
+
+    @Override
+    public void saveSpawnState() {
+        super.saveSpawnState();
+        spawnVelocity.set(velocity);
+    }
+
+    @Override
+    public void restoreSpawnState() {
+        super.restoreSpawnState();
+        velocity.set(spawnVelocity);
+    }
 }
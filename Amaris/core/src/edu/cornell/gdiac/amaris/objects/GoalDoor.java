@@ -10,6 +10,7 @@ import edu.cornell.gdiac.amaris.GameCanvas;
 import edu.cornell.gdiac.amaris.obstacle.BoxObstacle;
 import edu.cornell.gdiac.amaris.obstacle.PolygonObstacle;
 import edu.cornell.gdiac.amaris.platform.PlayerModel;
+import edu.cornell.gdiac.amaris.contact.ContactType;
 
 public class GoalDoor extends PolygonObstacle {
 
@@ -23,6 +24,7 @@ public class GoalDoor extends PolygonObstacle {
 
     public GoalDoor(float[] points, float x, float y, float width, float height, Vector2 scale, boolean flipped) {
         super(points, x, y, width, height);
+        setContactType(ContactType.GOAL_DOOR);
         this.setPosition(x, y);
         this.width = width;
         this.height = height;
@@ -40,6 +42,7 @@ public class GoalDoor extends PolygonObstacle {
         sensor.setDrawScale(scale);
         sensor.setSensor(true);
         sensor.setName("goal-sensor");
+        sensor.setContactType(ContactType.GOAL_SENSOR);
         sensors.add(sensor);
 
         sensor = new BoxObstacle(x+points[6]+sensorWidth/2.0f, y+points[5], sensorWidth, 0.7f);
@@ -50,6 +53,7 @@ public class GoalDoor extends PolygonObstacle {
         sensor.setDrawScale(scale);
         sensor.setSensor(true);
         sensor.setName("goal-sensor");
+        sensor.setContactType(ContactType.GOAL_SENSOR);
         sensors.add(sensor);
 
         sensor = new BoxObstacle(x+points[10]+sensorWidth/2.0f, y+points[9], sensorWidth, 0.7f);
@@ -60,6 +64,7 @@ public class GoalDoor extends PolygonObstacle {
         sensor.setDrawScale(scale);
         sensor.setSensor(true);
         sensor.setName("goal-sensor");
+        sensor.setContactType(ContactType.GOAL_SENSOR);
         sensors.add(sensor);
 
         sensor = new BoxObstacle(x+points[14]+sensorWidth/2.0f, y+points[13], sensorWidth, 0.5f);
@@ -70,6 +75,7 @@ public class GoalDoor extends PolygonObstacle {
         sensor.setDrawScale(scale);
         sensor.setSensor(true);
         sensor.setName("goal-sensor");
+        sensor.setContactType(ContactType.GOAL_SENSOR);
         sensors.add(sensor);
     }
 
@@ -92,11 +98,17 @@ public class GoalDoor extends PolygonObstacle {
         float sx = width / (texture.getRegionWidth() / scale.x) ;
         float sy = height / (texture.getRegionHeight() / scale.y);
         if (flipped) {
-            canvas.draw(texture,color,origin.x,origin.y,getX()*drawScale.x,getY()*drawScale.y,getAngle(),-sx,sy);
+            canvas.draw(texture,color,origin.x,origin.y,getDrawX()*drawScale.x,getDrawY()*drawScale.y,getDrawAngle(),-sx,sy);
 
         } else {
-            canvas.draw(texture,color,origin.x,origin.y,getX()*drawScale.x,getY()*drawScale.y,getAngle(),sx,sy);
+            canvas.draw(texture,color,origin.x,origin.y,getDrawX()*drawScale.x,getDrawY()*drawScale.y,getDrawAngle(),sx,sy);
         }
     }
 
+    /** Restores the door, closed until the shards are collected again */
+    @Override
+    public void restoreSpawnState() {
+        super.restoreSpawnState();
+        setComplete(false);
+    }
 }
@@ -6,6 +6,7 @@ import com.badlogic.gdx.physics.box2d.BodyDef;
 import com.badlogic.gdx.physics.box2d.World;
 import edu.cornell.gdiac.amaris.GameCanvas;
 import edu.cornell.gdiac.amaris.obstacle.BoxObstacle;
+import edu.cornell.gdiac.amaris.contact.ContactType;
 
 public class MoonShard extends BoxObstacle {
     //Class attributes
@@ -25,6 +26,7 @@ public class MoonShard extends BoxObstacle {
     public MoonShard(float x, float y, Vector2 velocity,
                      float horizontalRadius, float verticalRadius, Vector2 scale) {
         super(x, y, 2, 2);
+        setContactType(ContactType.MOON_SHARD);
         this.setPosition(x, y);
         this.scale = scale;
         this.width = 2;
@@ -43,6 +45,7 @@ public class MoonShard extends BoxObstacle {
      */
     public MoonShard(float x, float y, Vector2 scale) {
         super(x,y,2, 2); //guess-stimates
+        setContactType(ContactType.MOON_SHARD);
         this.setPosition(x, y);
         this.scale = scale;
         setBodyType(BodyDef.BodyType.StaticBody);
@@ -122,7 +125,14 @@ public class MoonShard extends BoxObstacle {
         if (!claimed) {
             float sx = width / (texture.getRegionWidth() / scale.x);
             float sy = height / (texture.getRegionHeight() / scale.y);
-            canvas.draw(texture, color, origin.x, origin.y, getX() * drawScale.x, getY() * drawScale.y, getAngle(), sx, sy);
+            canvas.draw(texture, color, origin.x, origin.y, getDrawX() * drawScale.x, getDrawY() * drawScale.y, getDrawAngle(), sx, sy);
         }
     }
+
+    /** Restores the shard, untaken */
+    @Override
+    public void restoreSpawnState() {
+        super.restoreSpawnState();
+        claimed = false;
+    }
 }
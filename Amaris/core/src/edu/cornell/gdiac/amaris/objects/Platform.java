@@ -7,6 +7,7 @@ public interface Platform {
 
     public Vector2 getPosition();
     public Vector2 getVelocity();
+    public Vector2 getLinearVelocity();
     public Vector2 getOriginalPosition();
     public void setOriginalPosition(Vector2 originalPosition);
     public void setPosition(Vector2 position);
@@ -5,6 +5,7 @@ import com.badlogic.gdx.math.Vector2;
 import edu.cornell.gdiac.amaris.GameCanvas;
 import edu.cornell.gdiac.amaris.obstacle.PolygonObstacle;
 import edu.cornell.gdiac.amaris.platform.PlayerModel;
+import edu.cornell.gdiac.amaris.contact.ContactType;
 
 public class PolygonPlatform extends PolygonObstacle implements Platform {
 
@@ -19,6 +20,7 @@ public class PolygonPlatform extends PolygonObstacle implements Platform {
     public PolygonPlatform(float[] points, float x, float y, float width, float height, Vector2 scale, Vector2 velocity,
                            float horizontalRadius, float verticalRadius) {
         super(points, x, y, width, height);
+        setContactType(ContactType.PLATFORM);
         this.setPosition(x, y);
         this.width = width;
         this.height = height;
@@ -35,8 +37,8 @@ public class PolygonPlatform extends PolygonObstacle implements Platform {
         if (texture != null) {
             float sx = width / (texture.getRegionWidth() / scale.x) ;
             float sy = height / (texture.getRegionHeight() / scale.y);
-            canvas.draw(texture,color,origin.x,origin.y,getX()*drawScale.x,getY()*drawScale.y,getAngle(),sx,sy);
-            canvas.draw(texture,color,origin.x,origin.y,getX()*drawScale.x,getY()*drawScale.y,getAngle(),sx,sy);
+            canvas.draw(texture,color,origin.x,origin.y,getDrawX()*drawScale.x,getDrawY()*drawScale.y,getDrawAngle(),sx,sy);
+            canvas.draw(texture,color,origin.x,origin.y,getDrawX()*drawScale.x,getDrawY()*drawScale.y,getDrawAngle(),sx,sy);
         }
     }
 
@@ -85,4 +87,19 @@ public class PolygonPlatform extends PolygonObstacle implements Platform {
                 playerPos.x > (platformPos.x - width/2) &&
                 playerPos.x < (platformPos.x + width/2));
     }
+
+    /** The velocity to restore when the level restarts */
+    private Vector2 spawnVelocity = new Vector2();
+
+    @Override
+    public void saveSpawnState() {
+        super.saveSpawnState();
+        spawnVelocity.set(velocity);
+    }
+
+    @Override
+    public void restoreSpawnState() {
+        super.restoreSpawnState();
+        velocity.set(spawnVelocity);
+    }
 }
@@ -5,6 +5,7 @@ import com.badlogic.gdx.math.Vector2;
 import edu.cornell.gdiac.amaris.GameCanvas;
 import edu.cornell.gdiac.amaris.obstacle.BoxObstacle;
 import edu.cornell.gdiac.amaris.platform.PlayerModel;
+import edu.cornell.gdiac.amaris.contact.ContactType;
 
 public class RegularPlatform extends BoxObstacle implements Platform {
 
@@ -23,6 +24,7 @@ public class RegularPlatform extends BoxObstacle implements Platform {
     public RegularPlatform(float x, float y, float width, float height, Vector2 scale, Vector2 velocity,
                          float horizontalRadius, float verticalRadius) {
         super(width, height);
+        setContactType(ContactType.PLATFORM);
         this.setPosition(x, y);
         this.width = width;
         this.height = height;
@@ -39,6 +41,9 @@ public class RegularPlatform extends BoxObstacle implements Platform {
                            float horizontalRadius, float verticalRadius, String t) {
         this(x,y+4,width,height,scale,velocity,horizontalRadius,verticalRadius);
         this.type = t;
+        if (t.equals("window")) {
+            setContactType(ContactType.WINDOW);
+        }
         stepCount = 0;
         onWindow = false;
     }
@@ -51,11 +56,11 @@ public class RegularPlatform extends BoxObstacle implements Platform {
             float sy = height / (texture.getRegionHeight() / scale.y);
             if (type.equals("window")) {
                 if(stepCount < 3) {
-                    canvas.draw(texture, color, origin.x, origin.y, getX() * drawScale.x, getY() * drawScale.y, getAngle(), sx, sy);
+                    canvas.draw(texture, color, origin.x, origin.y, getDrawX() * drawScale.x, getDrawY() * drawScale.y, getDrawAngle(), sx, sy);
                 }
             }
             else {
-                canvas.draw(texture,color,origin.x,origin.y,getX()*drawScale.x,getY()*drawScale.y,getAngle(),sx,sy);
+                canvas.draw(texture,color,origin.x,origin.y,getDrawX()*drawScale.x,getDrawY()*drawScale.y,getDrawAngle(),sx,sy);
             }
 
         }
@@ -127,4 +132,22 @@ public class RegularPlatform extends BoxObstacle implements Platform {
                 playerPos.x > (platformPos.x - width/2) &&
                 playerPos.x < (platformPos.x + width/2));
     }
+
+    /** The velocity to restore when the level restarts */
+    private Vector2 spawnVelocity = new Vector2();
+
+    @Override
+    public void saveSpawnState() {
+        super.saveSpawnState();
+        spawnVelocity.set(velocity);
+    }
+
+    /** Restores the platform, mending the window if it was stepped on */
+    @Override
+    public void restoreSpawnState() {
+        super.restoreSpawnState();
+        velocity.set(spawnVelocity);
+        stepCount = 0;
+        onWindow = false;
+    }
 }
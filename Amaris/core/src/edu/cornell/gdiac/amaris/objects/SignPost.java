@@ -6,6 +6,8 @@ import com.badlogic.gdx.math.Vector2;
 import edu.cornell.gdiac.amaris.GameCanvas;
 import edu.cornell.gdiac.amaris.obstacle.BoxObstacle;
 import edu.cornell.gdiac.amaris.platform.PlayerModel;
+import edu.cornell.gdiac.amaris.contact.ContactType;
+import edu.cornell.gdiac.amaris.util.AnimationRegistry;
 
 import java.util.ArrayList;
 
@@ -24,6 +26,7 @@ public class SignPost extends BoxObstacle {
 
     public SignPost(float x, float y, float mx, float my, float width, float height, Vector2 scale, TextureRegion image, int id) {
         super(x, y, width*0.2f, height);
+        setContactType(ContactType.SIGNPOST);
         //message = msg;
         this.setPosition(x, y);
         this.width = width;
@@ -50,12 +53,57 @@ public class SignPost extends BoxObstacle {
 
     public int getId() { return id;}
 
+    /** Seconds per frame of a tutorial image animation */
+    public static final float MESSAGE_FRAME_DURATION = 0.3f;
+
+    /**
+     * Returns the number of frames in the tutorial image for a signpost.
+     *
+     * The images are a single row of frames.  Images that do not animate
+     * have one frame.
+     *
+     * @param id The signpost id
+     *
+     * @return the number of frames in the tutorial image for a signpost
+     */
+    public static int getMessageFrames(int id) {
+        switch (id) {
+            case 1:
+                return 5;
+            case 3:
+                return 15;
+            case 5:
+                return 11;
+            case 7:
+                return 7;
+            default:
+                return 1;
+        }
+    }
+
+    /**
+     * Builds the animation for a tutorial image ahead of time.
+     *
+     * @param image The tutorial image
+     * @param id    The signpost id
+     */
+    public static void prepareAnimation(TextureRegion image, int id) {
+        AnimationRegistry.prepare(image, getMessageFrames(id), 1, MESSAGE_FRAME_DURATION);
+    }
+
     @Override
     public void draw(GameCanvas canvas){
         Color color = Color.WHITE;
         float sx = width / (texture.getRegionWidth() / scale.x) ;
         float sy = height / (texture.getRegionHeight() / scale.y);
-        canvas.draw(texture,color,origin.x,origin.y,getX()*drawScale.x,getY()*drawScale.y,getAngle(),sx,sy);
+        canvas.draw(texture,color,origin.x,origin.y,getDrawX()*drawScale.x,getDrawY()*drawScale.y,getDrawAngle(),sx,sy);
     }
 
+    /** Restores the signpost, unread */
+    @Override
+    public void restoreSpawnState() {
+        super.restoreSpawnState();
+        hasRead = false;
+        messageVisible = false;
+    }
 }
@@ -5,6 +5,7 @@ import com.badlogic.gdx.math.Vector2;
 import edu.cornell.gdiac.amaris.GameCanvas;
 import edu.cornell.gdiac.amaris.obstacle.BoxObstacle;
 import edu.cornell.gdiac.amaris.platform.PlayerModel;
+import edu.cornell.gdiac.amaris.contact.ContactType;
 
 public class SpikedPlatform extends BoxObstacle implements Platform {
 
@@ -21,6 +22,7 @@ public class SpikedPlatform extends BoxObstacle implements Platform {
     public SpikedPlatform(float x, float y, float width, float height, Vector2 scale, Vector2 velocity,
                           float horizontalRadius, float verticalRadius, SpikeDirection direction) {
         super(width, height);
+        setContactType(ContactType.SPIKE);
         this.setPosition(x, y);
         this.width = width;
         this.height = height;
@@ -40,15 +42,15 @@ public class SpikedPlatform extends BoxObstacle implements Platform {
         if (direction == SpikeDirection.RIGHT) {
             sx = width / (texture.getRegionHeight() / scale.y) ;
             sy = height / (texture.getRegionWidth() / scale.x);
-            canvas.draw(texture,color,origin.x,origin.y,getX()*drawScale.x,getY()*drawScale.y,11f,sx,sy);
+            canvas.draw(texture,color,origin.x,origin.y,getDrawX()*drawScale.x,getDrawY()*drawScale.y,11f,sx,sy);
         }
         else if (direction == SpikeDirection.LEFT) {
             sx = width / (texture.getRegionHeight() / scale.y) ;
             sy = height / (texture.getRegionWidth() / scale.x);
-            canvas.draw(texture,color,origin.x,origin.y,getX()*drawScale.x,getY()*drawScale.y,-11f,sx,sy);
+            canvas.draw(texture,color,origin.x,origin.y,getDrawX()*drawScale.x,getDrawY()*drawScale.y,-11f,sx,sy);
         }
         else {
-            canvas.draw(texture, color, origin.x, origin.y, getX() * drawScale.x, getY() * drawScale.y, getAngle(), sx, sy);
+            canvas.draw(texture, color, origin.x, origin.y, getDrawX() * drawScale.x, getDrawY() * drawScale.y, getDrawAngle(), sx, sy);
         }
     }
 
@@ -116,19 +118,44 @@ public class SpikedPlatform extends BoxObstacle implements Platform {
     }
 
     public Vector2 getLaunchDirection(){
-        if(direction == SpikeDirection.UP){
-            return new Vector2(0,1);
-        }
-        if(direction == SpikeDirection.DOWN){
-            return new Vector2(0,-1);
-        }
-        if(direction == SpikeDirection.LEFT){
-            return new Vector2(-1, 0);
-        }
-        if(direction == SpikeDirection.RIGHT){
-            return new Vector2(1, 0);
+        return getLaunchDirection(new Vector2());
+    }
+
+    /**
+     * Returns the direction the spikes launch the player, without allocating
+     *
+     * @param out The vector to store the direction in
+     *
+     * @return out, set to the launch direction
+     */
+    public Vector2 getLaunchDirection(Vector2 out){
+        switch (direction) {
+            case UP:
+                return out.set(0, 1);
+            case DOWN:
+                return out.set(0, -1);
+            case LEFT:
+                return out.set(-1, 0);
+            case RIGHT:
+                return out.set(1, 0);
+            default:
+                return out.setZero();
         }
-        return new Vector2();
+    }
+
+    /** The velocity to restore when the level restarts */
+    private Vector2 spawnVelocity = new Vector2();
+
+    @Override
+    public void saveSpawnState() {
+        super.saveSpawnState();
+        spawnVelocity.set(velocity);
+    }
+
+    @Override
+    public void restoreSpawnState() {
+        super.restoreSpawnState();
+        velocity.set(spawnVelocity);
     }
 
     public enum SpikeDirection {
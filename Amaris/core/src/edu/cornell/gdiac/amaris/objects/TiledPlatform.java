@@ -0,0 +1,61 @@
+package edu.cornell.gdiac.amaris.objects;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.math.Vector2;
+import edu.cornell.gdiac.amaris.GameCanvas;
+
+/**
+ * A block of static tiles merged into a single box body.
+ *
+ * The physics treat the block as one platform, but each tile is still drawn
+ * where it was placed in the level file.
+ */
+public class TiledPlatform extends RegularPlatform {
+
+    /** The width of a single tile */
+    private float tileWidth;
+    /** The height of a single tile */
+    private float tileHeight;
+    /** Tile centers relative to the center of this platform, as x,y pairs */
+    private float[] tileOffsets;
+
+    /**
+     * Creates a merged platform centered at (x, y)
+     *
+     * @param x           The x-coordinate of the center of the block
+     * @param y           The y-coordinate of the center of the block
+     * @param width       The width of the whole block
+     * @param height      The height of the whole block
+     * @param scale       The drawing scale
+     * @param tileWidth   The width of a single tile
+     * @param tileHeight  The height of a single tile
+     * @param tileOffsets Tile centers relative to (x, y), as x,y pairs
+     */
+    public TiledPlatform(float x, float y, float width, float height, Vector2 scale,
+                         float tileWidth, float tileHeight, float[] tileOffsets) {
+        super(x, y, width, height, scale, new Vector2(0, 0), 0, 0);
+        this.tileWidth = tileWidth;
+        this.tileHeight = tileHeight;
+        this.tileOffsets = tileOffsets;
+    }
+
+    /** Returns the number of tiles in this block */
+    public int getTileCount() {
+        return tileOffsets.length / 2;
+    }
+
+    @Override
+    public void draw(GameCanvas canvas) {
+        if (texture != null) {
+            Color color = Color.WHITE;
+            float sx = tileWidth / (texture.getRegionWidth() / scale.x);
+            float sy = tileHeight / (texture.getRegionHeight() / scale.y);
+            float cx = getDrawX();
+            float cy = getDrawY();
+            for (int i = 0; i < tileOffsets.length; i += 2) {
+                canvas.draw(texture, color, origin.x, origin.y, (cx + tileOffsets[i]) * drawScale.x,
+                        (cy + tileOffsets[i + 1]) * drawScale.y, getDrawAngle(), sx, sy);
+            }
+        }
+    }
+}
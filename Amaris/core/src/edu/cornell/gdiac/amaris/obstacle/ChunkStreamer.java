@@ -0,0 +1,166 @@
+/*
+ * ChunkStreamer.java
+ *
+ * A level is laid out in one go, but most of a wide level is far from the
+ * player at any time.  This class cuts the level into vertical strips (chunks)
+ * and keeps only the bodies in the chunks around the player active.  Inactive
+ * bodies take no part in the world step, and GameplayController skips their
+ * patrols, so the cost of a step depends on what is near the player rather than
+ * on the width of the level.
+ *
+ * Box2D keeps the position and velocity of an inactive body, so a moving
+ * platform or a falling rock in a chunk that goes to sleep picks up exactly where
+ * it stopped when the player comes back.
+ */
+package edu.cornell.gdiac.amaris.obstacle;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntMap;
+
+/**
+ * Activates and deactivates obstacles by their distance from the player.
+ *
+ * An obstacle belongs to every chunk its bounds (plus any patrol reach) touch,
+ * and is active while any of those chunks is.  Only the chunks that enter or leave
+ * the active range are looked at when the player moves.
+ */
+public class ChunkStreamer {
+	/** Width of a chunk, in alpha units (about one screen) */
+	public static final float CHUNK_WIDTH = 32.0f;
+	/** Chunks kept active on each side of the chunk holding the player */
+	public static final int ACTIVE_RADIUS = 1;
+
+	/** The obstacles being streamed */
+	private Array<Obstacle> tracked = new Array<Obstacle>();
+	/** The first chunk of each tracked obstacle */
+	private IntArray firstChunk = new IntArray();
+	/** The last chunk of each tracked obstacle */
+	private IntArray lastChunk = new IntArray();
+	/** Indices of the tracked obstacles in each chunk, keyed by chunk */
+	private IntMap<IntArray> chunks = new IntMap<IntArray>();
+
+	/** The chunk the player was in at the last update */
+	private int center;
+	/** Whether every obstacle must be looked at in the next update */
+	private boolean dirty = true;
+	/** Cache for the bounds of one object */
+	private Rectangle bounds = new Rectangle();
+
+	/** Forgets every obstacle */
+	public void clear() {
+		tracked.clear();
+		firstChunk.clear();
+		lastChunk.clear();
+		chunks.clear();
+		dirty = true;
+	}
+
+	/**
+	 * Starts streaming an obstacle.
+	 *
+	 * The obstacle must have a body, so that its bounds are known.
+	 *
+	 * @param obj   The obstacle
+	 * @param reach How far it may move left or right of where it is now
+	 */
+	public void add(Obstacle obj, float reach) {
+		obj.getBounds(bounds);
+		int first = chunkOf(bounds.x - reach);
+		int last = chunkOf(bounds.x + bounds.width + reach);
+		int index = tracked.size;
+		tracked.add(obj);
+		firstChunk.add(first);
+		lastChunk.add(last);
+		for (int chunk = first; chunk <= last; chunk++) {
+			IntArray members = chunks.get(chunk);
+			if (members == null) {
+				members = new IntArray(16);
+				chunks.put(chunk, members);
+			}
+			members.add(index);
+		}
+		dirty = true;
+	}
+
+	/**
+	 * Looks at every obstacle in the next update.
+	 *
+	 * Call this when something other than the streamer changed which bodies are
+	 * active, such as restoring the level to its starting state.
+	 */
+	public void invalidate() {
+		dirty = true;
+	}
+
+	/**
+	 * Activates the chunks around a position, and deactivates the rest.
+	 *
+	 * This changes bodies, so it must not be called during a world step.
+	 *
+	 * @param x The x-coordinate of the player
+	 */
+	public void update(float x) {
+		int now = chunkOf(x);
+		if (dirty) {
+			dirty = false;
+			center = now;
+			for (int ii = 0; ii < tracked.size; ii++) {
+				refresh(ii);
+			}
+			return;
+		}
+		if (now == center) {
+			return;
+		}
+		int old = center;
+		center = now;
+		// Only the chunks in one range but not the other can change
+		for (int chunk = old - ACTIVE_RADIUS; chunk <= old + ACTIVE_RADIUS; chunk++) {
+			if (Math.abs(chunk - now) > ACTIVE_RADIUS) {
+				refreshChunk(chunk);
+			}
+		}
+		for (int chunk = now - ACTIVE_RADIUS; chunk <= now + ACTIVE_RADIUS; chunk++) {
+			if (Math.abs(chunk - old) > ACTIVE_RADIUS) {
+				refreshChunk(chunk);
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of chunks holding at least one obstacle
+	 *
+	 * @return the number of chunks holding at least one obstacle
+	 */
+	public int getChunkCount() {
+		return chunks.size;
+	}
+
+	/** Brings every obstacle in a chunk up to date */
+	private void refreshChunk(int chunk) {
+		IntArray members = chunks.get(chunk);
+		if (members == null) {
+			return;
+		}
+		for (int ii = 0; ii < members.size; ii++) {
+			refresh(members.items[ii]);
+		}
+	}
+
+	/** Activates or deactivates a tracked obstacle, depending on its chunks */
+	private void refresh(int index) {
+		boolean active = firstChunk.get(index) <= center + ACTIVE_RADIUS &&
+						 lastChunk.get(index) >= center - ACTIVE_RADIUS;
+		Obstacle obj = tracked.get(index);
+		if (obj.isActive() != active) {
+			obj.setActive(active);
+		}
+	}
+
+	/** Returns the chunk holding an x-coordinate */
+	private static int chunkOf(float x) {
+		return (int)Math.floor(x / CHUNK_WIDTH);
+	}
+}
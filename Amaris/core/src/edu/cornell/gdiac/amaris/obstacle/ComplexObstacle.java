@@ -45,6 +45,8 @@ public abstract class ComplexObstacle extends Obstacle {
 	protected Array<Obstacle> bodies;
 	/** Potential joints for connecting the multiple bodies */
 	protected Array<Joint> joints;
+	/** A cache value for the bounds of one child */
+	private Rectangle childBounds = new Rectangle();
 	
 	/// BodyDef Methods
 	/**
@@ -80,6 +82,7 @@ public abstract class ComplexObstacle extends Obstacle {
 	public void setBodyType(BodyType value) {
 		if (body != null) {
 			body.setType(value);
+			markMoved();
 		} else {
 			super.setBodyType(value);
 		}
@@ -114,6 +117,7 @@ public abstract class ComplexObstacle extends Obstacle {
 	public void setPosition(Vector2 value) {
 		if (body != null) {
 			body.setTransform(value,body.getAngle());
+			markMoved();
 		} else {
 			super.setPosition(value);
 		}
@@ -134,6 +138,7 @@ public abstract class ComplexObstacle extends Obstacle {
 		if (body != null) {
 			positionCache.set(x,y);
 			body.setTransform(positionCache,body.getAngle());
+			markMoved();
 		} else {
 			super.setPosition(x,y);
 		}
@@ -163,6 +168,7 @@ public abstract class ComplexObstacle extends Obstacle {
 		if (body != null) {
 			positionCache.set(value,body.getPosition().y);
 			body.setTransform(positionCache,body.getAngle());
+			markMoved();
 		} else {
 			super.setX(value);
 		}
@@ -192,6 +198,7 @@ public abstract class ComplexObstacle extends Obstacle {
 		if (body != null) {
 			positionCache.set(body.getPosition().x,value);
 			body.setTransform(positionCache,body.getAngle());
+			markMoved();
 		} else {
 			super.setY(value);
 		}
@@ -222,6 +229,7 @@ public abstract class ComplexObstacle extends Obstacle {
 	public void setAngle(float value) {
 		if (body != null) {
 			body.setTransform(body.getPosition(),value);
+			markMoved();
 		} else {
 			super.setAngle(value);
 		}
@@ -905,6 +913,24 @@ public abstract class ComplexObstacle extends Obstacle {
 	public Body getBody() {
 		return (bodies.size > 0 ? bodies.get(0).getBody() : null);
 	}
+
+	/**
+	 * Stores the axis-aligned bounds of every child's fixtures in out.
+	 *
+	 * @param out The rectangle to store the bounds in
+	 *
+	 * @return out, for chaining
+	 */
+	public Rectangle getBounds(Rectangle out) {
+		if (bodies.size == 0) {
+			return super.getBounds(out);
+		}
+		bodies.get(0).getBounds(out);
+		for (int ii = 1; ii < bodies.size; ii++) {
+			out.merge(bodies.get(ii).getBounds(childBounds));
+		}
+		return out;
+	}
 	
 	/** 
 	 * Returns the collection of component alpha objects.
@@ -6,22 +6,34 @@ import com.badlogic.gdx.graphics.g2d.Animation;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector2;
 import edu.cornell.gdiac.amaris.GameCanvas;
+import edu.cornell.gdiac.amaris.contact.ContactType;
+import edu.cornell.gdiac.amaris.util.AnimationRegistry;
 
-public class Crocodile extends BoxObstacle {
+public class Crocodile extends BoxObstacle implements Facing {
     private Vector2 position;
     private Vector2 scale;
     private float horizontalRadius;
     private float verticalRadius;
     private Vector2 originalPosition;
     private boolean faceRight;
-    TextureRegion[] animationFrames = new TextureRegion[FRAME_COLS * FRAME_ROWS];
     float elapsedTime;
     Animation<TextureRegion> animation;
     private static final int FRAME_COLS = 3, FRAME_ROWS = 2;
+    private static final float FRAME_DURATION = 0.1f;
+
+    /**
+     * Builds the animation for a crocodile sprite sheet ahead of time.
+     *
+     * @param sheet The crocodile sprite sheet
+     */
+    public static void prepareAnimation(TextureRegion sheet) {
+        AnimationRegistry.prepare(sheet, FRAME_COLS, FRAME_ROWS, FRAME_DURATION);
+    }
 
     public Crocodile(float x, float y, float width, float height, Vector2 scale, Vector2 velocity,
                      float horizontalRadius, float verticalRadius) {
         super(width*0.7f, height);
+        setContactType(ContactType.CROCODILE);
         this.setPosition(x, y);
         this.width = width;
         this.height = height;
@@ -47,22 +59,14 @@ public class Crocodile extends BoxObstacle {
         float effect = faceRight ? -1f : 1f;
         //float sy = height * 1.5f/ (texture.getRegionHeight() / scale.y);
         elapsedTime+= Gdx.graphics.getDeltaTime();
-        TextureRegion[][] tmpFrames = TextureRegion.split(texture.getTexture(), texture.getRegionWidth()/FRAME_COLS, texture.getRegionHeight()/FRAME_ROWS);
-        int index = 0;
-
-        for (int i = 0; i < FRAME_ROWS; i++) {
-            for (int j = 0; j<FRAME_COLS; j++) {
-                animationFrames[index++] = tmpFrames[i][j];
-            }
-        }
-        animation = new Animation(0.1f, animationFrames);
+        animation = AnimationRegistry.get(texture, FRAME_COLS, FRAME_ROWS, FRAME_DURATION);
 
         TextureRegion currentFrame = animation.getKeyFrame(elapsedTime, true);
         if (effect == 1) {
-            canvas.draw(currentFrame, color, origin.x, origin.y, getX() * drawScale.x + 105, getY() * drawScale.y + 45, getAngle(), effect, 1f);
+            canvas.draw(currentFrame, color, origin.x, origin.y, getDrawX() * drawScale.x + 105, getDrawY() * drawScale.y + 45, getDrawAngle(), effect, 1f);
         }
         else {
-            canvas.draw(currentFrame, color, origin.x, origin.y, getX() * drawScale.x - 105, getY() * drawScale.y + 45, getAngle(), effect, 1f);
+            canvas.draw(currentFrame, color, origin.x, origin.y, getDrawX() * drawScale.x - 105, getDrawY() * drawScale.y + 45, getDrawAngle(), effect, 1f);
         }
     }
 
@@ -105,4 +109,19 @@ public class Crocodile extends BoxObstacle {
 
     public void setFaceRight(boolean dir) { faceRight = dir; }
     public boolean getFaceRight() { return faceRight; }
+
+    /** Which way the monster faced when the level was laid out */
+    private boolean spawnFaceRight;
+
+    @Override
+    public void saveSpawnState() {
+        super.saveSpawnState();
+        spawnFaceRight = faceRight;
+    }
+
+    @Override
+    public void restoreSpawnState() {
+        super.restoreSpawnState();
+        faceRight = spawnFaceRight;
+    }
 }
@@ -0,0 +1,9 @@
+package edu.cornell.gdiac.amaris.obstacle;
+
+/**
+ * An object drawn facing the way it moves, like a patrolling monster.
+ */
+public interface Facing {
+    /** Makes the object face right if [faceRight], and left otherwise */
+    public void setFaceRight(boolean faceRight);
+}
@@ -11,6 +11,7 @@ import com.badlogic.gdx.physics.box2d.BodyDef.BodyType;
 import com.badlogic.gdx.physics.box2d.FixtureDef;
 
 import edu.cornell.gdiac.amaris.*;  // For GameCanvas
+import edu.cornell.gdiac.amaris.contact.ContactType;
 
 /**
  * Base model class to support collisions.
@@ -37,6 +38,8 @@ public abstract class Obstacle{
 	protected boolean masseffect;
 	/** A tag for debugging purposes */
 	private String nametag;
+	/** The tag stamped on our fixtures for contact dispatch */
+	protected ContactType contactType = ContactType.NONE;
 	/** The alpha body for Box2D. */
 	protected Body body;
 
@@ -61,6 +64,8 @@ public abstract class Obstacle{
 	private boolean toRemove;
 	/** Whether the object has changed shape and needs a new fixture */
 	private boolean isDirty;
+	/** Whether the object was repositioned since the last call to clearMoved() */
+	private boolean moved;
 
 	/// Caching objects
 	/** A cache value for when the user wants to access the body position */
@@ -71,6 +76,32 @@ public abstract class Obstacle{
 	protected Vector2 centroidCache = new Vector2();
 	/** A cache value for when the user wants to access the drawing scale */
 	protected Vector2 scaleCache = new Vector2();
+	/** A cache value for reading fixture vertices when computing bounds */
+	protected Vector2 boundsCache = new Vector2();
+
+	/// Render interpolation
+	/** The position of this object at the start of the most recent physics step */
+	protected Vector2 previousPosition = new Vector2();
+	/** The angle of this object at the start of the most recent physics step */
+	protected float previousAngle;
+	/** Whether previousPosition holds a valid physics state */
+	private boolean hasPreviousState;
+	/** How far (0 to 1) we are between the previous and current physics state */
+	protected float drawAlpha = 1.0f;
+
+	/// Level restart
+	/** The position of this object when the level was laid out */
+	private Vector2 spawnPosition = new Vector2();
+	/** The angle of this object when the level was laid out */
+	private float spawnAngle;
+	/** The body velocity of this object when the level was laid out */
+	private Vector2 spawnLinearVelocity = new Vector2();
+	/** The body angular velocity of this object when the level was laid out */
+	private float spawnAngularVelocity;
+	/** Whether the body was active when the level was laid out */
+	private boolean spawnActive;
+	/** The movement velocity of this object when the level was laid out */
+	private Vector2 spawnVelocity = new Vector2();
 
 
 	/// BodyDef Methods
@@ -827,6 +858,34 @@ public abstract class Obstacle{
 		isDirty = value;
 	}
 
+	/**
+	 * Returns true if this object was repositioned since clearMoved() was called.
+	 *
+	 * Bodies that are moved by the alpha engine are not tracked.  This flag is
+	 * set when the position, angle or body type is changed directly, which is
+	 * how static objects like moving platforms move.  The visibility culler uses
+	 * it to find static objects that no longer stay put.
+	 *
+	 * @return true if this object was repositioned since clearMoved() was called.
+	 */
+	public boolean isMoved() {
+		return moved;
+	}
+
+	/**
+	 * Clears the flag set when this object is repositioned.
+	 */
+	public void clearMoved() {
+		moved = false;
+	}
+
+	/**
+	 * Records that this object was repositioned.
+	 */
+	protected void markMoved() {
+		moved = true;
+	}
+
 	/**
 	 * Returns the Box2D body for this object.
 	 *
@@ -838,6 +897,61 @@ public abstract class Obstacle{
 		return null;
 	}
 
+	/**
+	 * Stores the axis-aligned bounds of this object's fixtures in out.
+	 *
+	 * The bounds are in alpha units and cover the shapes of the body, not the
+	 * texture.  Sprites drawn larger than or offset from the body need padding
+	 * on top of this.  If there is no body yet, the bounds are the object size
+	 * around its position.
+	 *
+	 * @param out The rectangle to store the bounds in
+	 *
+	 * @return out, for chaining
+	 */
+	public Rectangle getBounds(Rectangle out) {
+		Body b = getBody();
+		if (b == null) {
+			return out.set(getX() - width / 2.0f, getY() - height / 2.0f, width, height);
+		}
+		out.set(b.getPosition().x, b.getPosition().y, 0, 0);
+		Transform transform = b.getTransform();
+		for (Fixture fix : b.getFixtureList()) {
+			Shape shape = fix.getShape();
+			switch (shape.getType()) {
+				case Circle:
+					CircleShape circle = (CircleShape)shape;
+					float radius = circle.getRadius();
+					transform.mul(boundsCache.set(circle.getPosition()));
+					out.merge(boundsCache.x - radius, boundsCache.y - radius);
+					out.merge(boundsCache.x + radius, boundsCache.y + radius);
+					break;
+				case Polygon:
+					PolygonShape polygon = (PolygonShape)shape;
+					for (int ii = 0; ii < polygon.getVertexCount(); ii++) {
+						polygon.getVertex(ii, boundsCache);
+						out.merge(transform.mul(boundsCache));
+					}
+					break;
+				case Edge:
+					EdgeShape edge = (EdgeShape)shape;
+					edge.getVertex1(boundsCache);
+					out.merge(transform.mul(boundsCache));
+					edge.getVertex2(boundsCache);
+					out.merge(transform.mul(boundsCache));
+					break;
+				case Chain:
+					ChainShape chain = (ChainShape)shape;
+					for (int ii = 0; ii < chain.getVertexCount(); ii++) {
+						chain.getVertex(ii, boundsCache);
+						out.merge(transform.mul(boundsCache));
+					}
+					break;
+			}
+		}
+		return out;
+	}
+
 	/// DRAWING METHODS
 	/**
 	 * Returns the drawing scale for this alpha object
@@ -883,6 +997,29 @@ public abstract class Obstacle{
 		nametag = value;
 	}
 
+	/**
+	 * Returns the contact type of this object.
+	 *
+	 * The contact type is stored in the user data of every fixture, so that the
+	 * ContactDispatcher can route collisions without searching for the object.
+	 *
+	 * @return the contact type of this object.
+	 */
+	public ContactType getContactType() {
+		return contactType;
+	}
+
+	/**
+	 * Sets the contact type of this object.
+	 *
+	 * This must be set before the physics are activated to have any effect.
+	 *
+	 * @param value  the contact type of this object.
+	 */
+	public void setContactType(ContactType value) {
+		contactType = value;
+	}
+
 	/**
 	 * Create a new alpha object at the origin.
 	 */
@@ -965,6 +1102,129 @@ public abstract class Obstacle{
 	 */
 	public void draw(GameCanvas canvas) { }
 
+	/**
+	 * Records the current physics state as the previous state.
+	 *
+	 * This should be called immediately before every physics step, so that
+	 * drawing can interpolate between the last two simulated states.
+	 */
+	public void savePreviousState() {
+		previousPosition.set(getX(), getY());
+		previousAngle = getAngle();
+		hasPreviousState = true;
+	}
+
+	/**
+	 * Discards the previous physics state.
+	 *
+	 * Call this after teleporting an object so that it is not drawn sliding
+	 * from its old location for a frame.
+	 */
+	public void clearPreviousState() {
+		hasPreviousState = false;
+	}
+
+	/**
+	 * Records the current state as the state to return to when the level restarts.
+	 *
+	 * This should be called once the level is laid out.  Subclasses with gameplay
+	 * state (taken shards, broken windows, ...) should save that state too.
+	 */
+	public void saveSpawnState() {
+		spawnPosition.set(getX(), getY());
+		spawnAngle = getAngle();
+		spawnLinearVelocity.set(getLinearVelocity());
+		spawnAngularVelocity = getAngularVelocity();
+		spawnActive = isActive();
+		if (velocity != null) {
+			spawnVelocity.set(velocity);
+		}
+	}
+
+	/**
+	 * Returns this object to the state saved by saveSpawnState().
+	 *
+	 * This moves the existing body rather than creating a new one.  An object
+	 * whose body was destroyed must be activated again before calling this.
+	 * Going back to the spawn state does not count as being moved by the game,
+	 * so static objects stay in the grid of the VisibilityCuller.
+	 */
+	public void restoreSpawnState() {
+		setPosition(spawnPosition);
+		setAngle(spawnAngle);
+		setLinearVelocity(spawnLinearVelocity);
+		setAngularVelocity(spawnAngularVelocity);
+		setActive(spawnActive);
+		if (getBodyType() != BodyType.StaticBody) {
+			setAwake(true);
+		}
+		if (velocity != null) {
+			velocity.set(spawnVelocity);
+		}
+		markRemoved(false);
+		clearPreviousState();
+		clearMoved();
+	}
+
+	/**
+	 * Sets the interpolation factor between the previous and current physics state
+	 *
+	 * @param alpha  the fraction of a physics step left in the accumulator (0 to 1)
+	 */
+	public void setDrawAlpha(float alpha) {
+		drawAlpha = alpha;
+	}
+
+	/**
+	 * Returns the x-coordinate to draw this object at
+	 *
+	 * This is interpolated between the previous and current physics states.
+	 *
+	 * @return the interpolated x-coordinate (in physics units)
+	 */
+	public float getDrawX() {
+		if (!hasPreviousState) {
+			return getX();
+		}
+		return previousPosition.x + (getX() - previousPosition.x) * drawAlpha;
+	}
+
+	/**
+	 * Returns the y-coordinate to draw this object at
+	 *
+	 * This is interpolated between the previous and current physics states.
+	 *
+	 * @return the interpolated y-coordinate (in physics units)
+	 */
+	public float getDrawY() {
+		if (!hasPreviousState) {
+			return getY();
+		}
+		return previousPosition.y + (getY() - previousPosition.y) * drawAlpha;
+	}
+
+	/**
+	 * Returns the angle to draw this object at
+	 *
+	 * This is interpolated between the previous and current physics states,
+	 * the short way around, so a body crossing from pi to -pi does not spin
+	 * back through zero.
+	 *
+	 * @return the interpolated angle (in radians)
+	 */
+	public float getDrawAngle() {
+		if (!hasPreviousState) {
+			return getAngle();
+		}
+		float delta = (getAngle() - previousAngle) % MathUtils.PI2;
+		if (delta > MathUtils.PI) {
+			delta -= MathUtils.PI2;
+		} else if (delta < -MathUtils.PI) {
+			delta += MathUtils.PI2;
+		}
+		return previousAngle + delta * drawAlpha;
+	}
+
 
 	/**
 	 * Sets the object texture for drawing purposes.
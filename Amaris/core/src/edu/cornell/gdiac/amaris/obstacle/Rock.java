@@ -7,6 +7,7 @@ import com.badlogic.gdx.physics.box2d.FixtureDef;
 import com.badlogic.gdx.physics.box2d.PolygonShape;
 import com.badlogic.gdx.physics.box2d.World;
 import edu.cornell.gdiac.amaris.GameCanvas;
+import edu.cornell.gdiac.amaris.contact.ContactType;
 
 /**
  * Rock class.
@@ -35,6 +36,7 @@ public class Rock extends CircularObstacle{
      * @param vel       The velocity of this falling rock */
     public Rock(float x, float y, float r, Vector2 vel, Vector2 sc, String t){
         super(x,y,r);
+        setContactType(ContactType.ROCK);
         this.scale = sc;
         this.velocity = vel;
         this.setPosition(x,y+1.2f);
@@ -108,8 +110,16 @@ public class Rock extends CircularObstacle{
             Color color = Color.WHITE;
             float sx = 1.5f / (texture.getRegionWidth() / drawScale.x);
             float sy = 1.5f / (texture.getRegionHeight() / drawScale.y);
-            canvas.draw(texture, color, origin.x, origin.y, getX() * drawScale.x, getY() * drawScale.y, getAngle(), sx, sy);
+            canvas.draw(texture, color, origin.x, origin.y, getDrawX() * drawScale.x, getDrawY() * drawScale.y, getDrawAngle(), sx, sy);
         }
     }
 
+    /** Restores the rock, ready to fall again */
+    @Override
+    public void restoreSpawnState() {
+        super.restoreSpawnState();
+        canReset = false;
+        canDraw = true;
+        canCollide = true;
+    }
 }
@@ -21,6 +21,7 @@ import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.*;
 import com.badlogic.gdx.physics.box2d.*;
 import com.badlogic.gdx.physics.box2d.BodyDef.BodyType;
+import com.badlogic.gdx.utils.Array;
 
 import edu.cornell.gdiac.amaris.GameCanvas;
 
@@ -68,6 +69,7 @@ public abstract class SimpleObstacle extends Obstacle {
 	public void setBodyType(BodyType value) {
 		if (body != null) {
 			body.setType(value);
+			markMoved();
 		} else {
 			super.setBodyType(value);
 		}
@@ -96,6 +98,7 @@ public abstract class SimpleObstacle extends Obstacle {
 	public void setPosition(Vector2 value) {
 		if (body != null) {
 			body.setTransform(value,body.getAngle());
+			markMoved();
 		} else {
 			super.setPosition(value);
 		}
@@ -111,6 +114,7 @@ public abstract class SimpleObstacle extends Obstacle {
 		if (body != null) {
 			positionCache.set(x,y);
 			body.setTransform(positionCache,body.getAngle());
+			markMoved();
 		} else {
 			super.setPosition(x,y);
 		}
@@ -134,6 +138,7 @@ public abstract class SimpleObstacle extends Obstacle {
 		if (body != null) {
 			positionCache.set(value,body.getPosition().y);
 			body.setTransform(positionCache,body.getAngle());
+			markMoved();
 		} else {
 			super.setX(value);
 		}
@@ -157,6 +162,7 @@ public abstract class SimpleObstacle extends Obstacle {
 		if (body != null) {
 			positionCache.set(body.getPosition().x,value);
 			body.setTransform(positionCache,body.getAngle());
+			markMoved();
 		} else {
 			super.setY(value);
 		}
@@ -181,6 +187,7 @@ public abstract class SimpleObstacle extends Obstacle {
 	public void setAngle(float value) {
 		if (body != null) {
 			body.setTransform(body.getPosition(),value);
+			markMoved();
 		} else {
 			super.setAngle(value);
 		}
@@ -776,7 +783,7 @@ public abstract class SimpleObstacle extends Obstacle {
 	 */
 	public void draw(GameCanvas canvas) {
 		if (texture != null) {
-			canvas.draw(texture,Color.WHITE,origin.x,origin.y,getX()*drawScale.x,getY()*drawScale.x,getAngle(),1,1);
+			canvas.draw(texture,Color.WHITE,origin.x,origin.y,getDrawX()*drawScale.x,getDrawY()*drawScale.x,getDrawAngle(),1,1);
 		}
 	}
 	
@@ -831,6 +838,7 @@ public abstract class SimpleObstacle extends Obstacle {
 		// Only initialize if a body was created.
 		if (body != null) {
 			createFixtures();
+			tagFixtures();
 			return true;
 		} 
 		
@@ -868,6 +876,23 @@ public abstract class SimpleObstacle extends Obstacle {
      * This is the primary method to override for custom alpha objects.
      */
 	protected abstract void releaseFixtures();
+
+	/**
+	 * Stamps our contact type on every fixture that has no user data yet.
+	 *
+	 * Fixtures with their own user data (such as sensors) are left alone.
+	 */
+	protected void tagFixtures() {
+		if (body == null) {
+			return;
+		}
+		Array<Fixture> fixtures = body.getFixtureList();
+		for (int i = 0; i < fixtures.size; i++) {
+			if (fixtures.get(i).getUserData() == null) {
+				fixtures.get(i).setUserData(contactType);
+			}
+		}
+	}
     
 	/**
 	 * Updates the object's alpha state (NOT GAME LOGIC).
@@ -883,6 +908,7 @@ public abstract class SimpleObstacle extends Obstacle {
 		// Recreate the fixture object if dimensions changed.
 		if (isDirty()) {
 			createFixtures();
+			tagFixtures();
 		}
 	}
 }
\ No newline at end of file
@@ -0,0 +1,231 @@
+/*
+ * VisibilityCuller.java
+ *
+ * Most of a level is off screen at any time, but GameMode used to draw every
+ * object anyway.  This class finds the objects near the camera so that only
+ * those are sent to the SpriteBatch.
+ *
+ * Objects that stay put are kept in a uniform grid, built once per level, so
+ * finding them costs the number of cells on screen rather than the number of
+ * objects.  Everything else (the player, rocks, and static bodies that the game
+ * moves by hand, like moving platforms) is tested against the view each frame.
+ */
+package edu.cornell.gdiac.amaris.obstacle;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.BodyDef.BodyType;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntMap;
+import edu.cornell.gdiac.amaris.util.PooledList;
+
+/**
+ * Finds the obstacles that may be visible through a view rectangle.
+ *
+ * The culler follows a PooledList of obstacles.  It rebuilds itself whenever an
+ * object is added to or removed from the list, and returns the visible objects
+ * in list order, so the draw order does not change.
+ */
+public class VisibilityCuller {
+	/** Width and height of a grid cell, in alpha units (an eighth of the screen) */
+	private static final float CELL_SIZE = 4.0f;
+	/**
+	 * Padding around the view, in pixels.  Bounds come from the fixtures, and
+	 * some sprites are drawn well outside their bodies (monsters, fountains).
+	 */
+	private static final float MARGIN = 256.0f;
+
+	/** The list the culler was built from */
+	private PooledList<Obstacle> source;
+	/** The modification count of that list at the last rebuild */
+	private int sourceVersion;
+
+	/** The objects in list order, as of the last rebuild */
+	private Array<Obstacle> ordered = new Array<Obstacle>();
+	/** Whether each object (by list order) is in the grid */
+	private boolean[] indexed = new boolean[0];
+	/** Bounds of each object in the grid: left, bottom, right, top */
+	private float[] extents = new float[0];
+	/** Grid cells of each object in the grid: left, bottom, right, top */
+	private int[] cells = new int[0];
+	/** The frame each object was last visited, to skip duplicates across cells */
+	private int[] stamps = new int[0];
+	/** The current frame stamp */
+	private int stamp;
+
+	/** The grid, keyed by packed cell coordinates, holding list order indices */
+	private IntMap<IntArray> grid = new IntMap<IntArray>();
+	/** List order indices of the objects that are tested every frame */
+	private IntArray loose = new IntArray();
+
+	/** List order indices of the visible objects */
+	private IntArray hits = new IntArray();
+	/** The visible objects from the last call to cull() */
+	private Array<Obstacle> visible = new Array<Obstacle>();
+	/** Cache for the bounds of one object */
+	private Rectangle bounds = new Rectangle();
+	/** Cache for the view, in alpha units */
+	private Rectangle view = new Rectangle();
+
+	/**
+	 * Returns the objects that may be visible, in list order.
+	 *
+	 * The returned array is reused by the next call.
+	 *
+	 * @param objects    The objects to draw
+	 * @param viewPixels The visible part of the world, in pixels
+	 * @param scale      The drawing scale, pixels per alpha unit
+	 *
+	 * @return the objects that may be visible, in list order
+	 */
+	public Array<Obstacle> cull(PooledList<Obstacle> objects, Rectangle viewPixels, Vector2 scale) {
+		if (objects != source || objects.getModCount() != sourceVersion) {
+			rebuild(objects);
+		}
+		demoteMoved();
+
+		view.set((viewPixels.x - MARGIN) / scale.x, (viewPixels.y - MARGIN) / scale.y,
+				 (viewPixels.width + 2 * MARGIN) / scale.x, (viewPixels.height + 2 * MARGIN) / scale.y);
+		float left = view.x;
+		float bottom = view.y;
+		float right = view.x + view.width;
+		float top = view.y + view.height;
+
+		stamp++;
+		hits.clear();
+		int x0 = cellOf(left);
+		int x1 = cellOf(right);
+		int y0 = cellOf(bottom);
+		int y1 = cellOf(top);
+		for (int cx = x0; cx <= x1; cx++) {
+			for (int cy = y0; cy <= y1; cy++) {
+				IntArray cell = grid.get(key(cx, cy));
+				if (cell == null) {
+					continue;
+				}
+				for (int ii = 0; ii < cell.size; ii++) {
+					int index = cell.items[ii];
+					if (stamps[index] == stamp) {
+						continue;
+					}
+					stamps[index] = stamp;
+					int base = index * 4;
+					if (extents[base] <= right && extents[base + 2] >= left &&
+						extents[base + 1] <= top && extents[base + 3] >= bottom) {
+						hits.add(index);
+					}
+				}
+			}
+		}
+
+		for (int ii = 0; ii < loose.size; ii++) {
+			int index = loose.items[ii];
+			if (view.overlaps(ordered.get(index).getBounds(bounds))) {
+				hits.add(index);
+			}
+		}
+
+		hits.sort();
+		visible.clear();
+		for (int ii = 0; ii < hits.size; ii++) {
+			visible.add(ordered.get(hits.items[ii]));
+		}
+		return visible;
+	}
+
+	/**
+	 * Rebuilds the grid from the current contents of the list.
+	 *
+	 * Static bodies go in the grid, and everything else is tested each frame.
+	 */
+	private void rebuild(PooledList<Obstacle> objects) {
+		source = objects;
+		sourceVersion = objects.getModCount();
+		ordered.clear();
+		grid.clear();
+		loose.clear();
+
+		int count = objects.size();
+		if (indexed.length < count) {
+			indexed = new boolean[count];
+			extents = new float[count * 4];
+			cells = new int[count * 4];
+			stamps = new int[count];
+			stamp = 0;
+		}
+
+		for (Obstacle obj : objects) {
+			int index = ordered.size;
+			ordered.add(obj);
+			obj.clearMoved();
+			if (obj.getBody() != null && obj.getBodyType() == BodyType.StaticBody) {
+				insert(index, obj);
+			} else {
+				indexed[index] = false;
+				loose.add(index);
+			}
+		}
+	}
+
+	/** Adds an object to every grid cell its bounds touch */
+	private void insert(int index, Obstacle obj) {
+		obj.getBounds(bounds);
+		int base = index * 4;
+		extents[base] = bounds.x;
+		extents[base + 1] = bounds.y;
+		extents[base + 2] = bounds.x + bounds.width;
+		extents[base + 3] = bounds.y + bounds.height;
+		cells[base] = cellOf(extents[base]);
+		cells[base + 1] = cellOf(extents[base + 1]);
+		cells[base + 2] = cellOf(extents[base + 2]);
+		cells[base + 3] = cellOf(extents[base + 3]);
+		for (int cx = cells[base]; cx <= cells[base + 2]; cx++) {
+			for (int cy = cells[base + 1]; cy <= cells[base + 3]; cy++) {
+				int key = key(cx, cy);
+				IntArray cell = grid.get(key);
+				if (cell == null) {
+					cell = new IntArray(8);
+					grid.put(key, cell);
+				}
+				cell.add(index);
+			}
+		}
+		indexed[index] = true;
+	}
+
+	/**
+	 * Moves objects out of the grid once the game repositions them.
+	 *
+	 * An object that moved once will probably move again (it is a moving
+	 * platform or a monster), so it stays out of the grid until the next rebuild.
+	 */
+	private void demoteMoved() {
+		for (int index = 0; index < ordered.size; index++) {
+			if (!indexed[index] || !ordered.get(index).isMoved()) {
+				continue;
+			}
+			int base = index * 4;
+			for (int cx = cells[base]; cx <= cells[base + 2]; cx++) {
+				for (int cy = cells[base + 1]; cy <= cells[base + 3]; cy++) {
+					IntArray cell = grid.get(key(cx, cy));
+					if (cell != null) {
+						cell.removeValue(index);
+					}
+				}
+			}
+			indexed[index] = false;
+			loose.add(index);
+		}
+	}
+
+	/** Returns the grid column or row holding a coordinate */
+	private static int cellOf(float value) {
+		return (int)Math.floor(value / CELL_SIZE);
+	}
+
+	/** Packs grid coordinates into a map key */
+	private static int key(int cx, int cy) {
+		return (cx << 16) ^ (cy & 0xFFFF);
+	}
+}
@@ -13,6 +13,8 @@ import edu.cornell.gdiac.amaris.*;
 import edu.cornell.gdiac.amaris.objects.MoonShard;
 import edu.cornell.gdiac.amaris.objects.RegularPlatform;
 import edu.cornell.gdiac.amaris.obstacle.BoxObstacle;
+import edu.cornell.gdiac.amaris.contact.ContactType;
+import edu.cornell.gdiac.amaris.util.AnimationRegistry;
 
 //import javax.xml.soap.Text;
 import java.util.ArrayList;
@@ -48,10 +50,12 @@ public class FountainModel extends BoxObstacle {
     /* Fountain height */
     protected float FOUNTAIN_HEIGHT = 100;
     //probably more
-    TextureRegion[] animationFrames = new TextureRegion[FRAME_COLS * FRAME_ROWS];
     float elapsedTime;
     Animation<TextureRegion> animation;
     private static final int FRAME_COLS = 2, FRAME_ROWS = 2;
+    private static final float FRAME_DURATION = 0.11f;
+    /** Tint used when the fountain has nothing to give */
+    private static final Color UNAVAILABLE_TINT = new Color(1,1,1,.5f);
     private TextureRegion icon;
     private TextureRegion empty;
 
@@ -111,6 +115,14 @@ public class FountainModel extends BoxObstacle {
         return windowIDs;
     }
 
+    /**
+     * Builds the animation for an ability fountain sprite sheet ahead of time.
+     *
+     * @param sheet The fountain sprite sheet
+     */
+    public static void prepareAnimation(TextureRegion sheet) {
+        AnimationRegistry.prepare(sheet, FRAME_COLS, FRAME_ROWS, FRAME_DURATION);
+    }
 
     //Constructor
     /** Creates a new fountain at the given location with the specified fountain type.
@@ -121,6 +133,7 @@ public class FountainModel extends BoxObstacle {
      */
     public FountainModel(float x, float y, float width, float height, FountainType fountain) {
         super(x,y,width*0.7f, height*0.8f);
+        setContactType(ContactType.FOUNTAIN);
         setBodyType(BodyDef.BodyType.StaticBody);
         setDensity(0.0f);
         setFriction(0.0f);
@@ -133,6 +146,7 @@ public class FountainModel extends BoxObstacle {
 
     public FountainModel(BoxObstacle bd, FountainType fountain) {
         super(bd.getX(),bd.getY(),1, 1);
+        setContactType(ContactType.FOUNTAIN);
         setBodyType(BodyDef.BodyType.StaticBody);
         setDensity(0.0f);
         setFriction(0.0f);
@@ -189,36 +203,36 @@ public class FountainModel extends BoxObstacle {
 
         if (fountainType == FountainType.RESTORE) {
             if (isAvailable) {
-                canvas.draw(texture, color, origin.x,origin.y,getX()*drawScale.x,getY()*drawScale.y+45, texture.getRegionWidth(), texture.getRegionHeight());
+                canvas.draw(texture, color, origin.x,origin.y,getDrawX()*drawScale.x,getDrawY()*drawScale.y+45, texture.getRegionWidth(), texture.getRegionHeight());
             } else {
-                canvas.draw(empty, color, origin.x,origin.y,getX()*drawScale.x,getY()*drawScale.y+45, empty.getRegionWidth(), empty.getRegionHeight());
+                canvas.draw(empty, color, origin.x,origin.y,getDrawX()*drawScale.x,getDrawY()*drawScale.y+45, empty.getRegionWidth(), empty.getRegionHeight());
 
             }
 
         } else {
             if(!isAvailable) {
-                color = new Color(1,1,1,.5f);
+                color = UNAVAILABLE_TINT;
             }
 
             elapsedTime+= Gdx.graphics.getDeltaTime();
-            TextureRegion[][] tmpFrames = TextureRegion.split(texture.getTexture(), texture.getRegionWidth()/FRAME_COLS, texture.getRegionHeight()/FRAME_COLS);
-            int index = 0;
-
-            for (int i = 0; i < FRAME_ROWS; i++) {
-                for (int j = 0; j<FRAME_COLS; j++) {
-                    animationFrames[index++] = tmpFrames[i][j];
-                }
-            }
-
-            animation = new Animation(0.11f, animationFrames);
+            animation = AnimationRegistry.get(texture, FRAME_COLS, FRAME_ROWS, FRAME_DURATION);
 
             TextureRegion currentFrame = animation.getKeyFrame(elapsedTime, true);
-            canvas.draw(currentFrame, color, origin.x,origin.y,getX()*drawScale.x+65,getY()*drawScale.y+93, texture.getRegionWidth()/FRAME_COLS, texture.getRegionHeight()/FRAME_COLS);
+            canvas.draw(currentFrame, color, origin.x,origin.y,getDrawX()*drawScale.x+65,getDrawY()*drawScale.y+93, texture.getRegionWidth()/FRAME_COLS, texture.getRegionHeight()/FRAME_COLS);
             if (isAvailable && icon != null) {
-                canvas.draw(icon, color, origin.x,origin.y,getX()*drawScale.x+100,getY()*drawScale.y+220, texture.getRegionWidth()/4.2f, texture.getRegionHeight()/4.2f);
+                canvas.draw(icon, color, origin.x,origin.y,getDrawX()*drawScale.x+100,getDrawY()*drawScale.y+220, texture.getRegionWidth()/4.2f, texture.getRegionHeight()/4.2f);
             }
         }
 
     }
-}
 
+    /** Restores the fountain, available and with no checkpoint record */
+    @Override
+    public void restoreSpawnState() {
+        super.restoreSpawnState();
+        isAvailable = true;
+        fountainIDs = null;
+        moonShardIDs = null;
+        windowIDs = null;
+    }
+}
@@ -9,10 +9,12 @@ import com.badlogic.gdx.physics.box2d.*;
 
 import edu.cornell.gdiac.amaris.*;
 import edu.cornell.gdiac.amaris.obstacle.*;
+import edu.cornell.gdiac.amaris.contact.CollisionLayer;
+import edu.cornell.gdiac.amaris.contact.ContactType;
+import edu.cornell.gdiac.amaris.util.AnimationRegistry;
+import edu.cornell.gdiac.amaris.util.Scheduler;
 
 //import javax.xml.soap.Text;
-import java.util.Timer;
-import java.util.TimerTask;
 
 /**
  * Player avatar (Amaris)
@@ -187,6 +189,11 @@ public class PlayerModel extends CapsuleObstacle {
      * Whether the player has been detected to be on a moving platform this frame
      */
     public boolean onMovingPlatform = false;
+    /**
+     * The horizontal velocity of the platform carrying the player, which is
+     * included in the body velocity
+     */
+    private float carrierVX;
     /**
      * The ability controller
      **/
@@ -215,11 +222,30 @@ public class PlayerModel extends CapsuleObstacle {
 
     public playerState ps;
 
-    TextureRegion[] animationFrames = new TextureRegion[FRAME_COLS * FRAME_ROWS];
     float elapsedTime;
     float elapsedTimeIdle;
     Animation<TextureRegion> animation;
     private static final int FRAME_COLS = 4, FRAME_ROWS = 3;
+    /** Seconds per animation frame when idle, walking and jumping */
+    private static final float IDLE_FRAME_DURATION = 0.3f;
+    private static final float WALK_FRAME_DURATION = 0.1f;
+    private static final float JUMP_FRAME_DURATION = 0.09f;
+    /** Tint used while the player is transparent */
+    private static final Color TRANSPARENT_TINT = new Color(1, 1, 1, 0.5f);
+
+    /**
+     * Builds the animations for a player sprite sheet ahead of time.
+     *
+     * The player swaps sheets when it gains abilities, so this should be called
+     * with every sheet the player can use.
+     *
+     * @param sheet The player sprite sheet
+     */
+    public static void prepareAnimations(TextureRegion sheet) {
+        AnimationRegistry.prepare(sheet, FRAME_COLS, FRAME_ROWS, IDLE_FRAME_DURATION);
+        AnimationRegistry.prepare(sheet, FRAME_COLS, FRAME_ROWS, WALK_FRAME_DURATION);
+        AnimationRegistry.prepare(sheet, FRAME_COLS, FRAME_ROWS, JUMP_FRAME_DURATION);
+    }
 
     /**
      * Returns left/right movement of this character.
@@ -403,6 +429,32 @@ public class PlayerModel extends CapsuleObstacle {
 
     public void setOnMovingPlatform(boolean value) { onMovingPlatform = value; }
 
+    /**
+     * Returns the horizontal velocity of the platform carrying the player
+     *
+     * @return the horizontal velocity of the platform carrying the player
+     */
+    public float getCarrierVX() {
+        return carrierVX;
+    }
+
+    /**
+     * Sets the horizontal velocity of the platform carrying the player.
+     *
+     * Moving platforms are kinematic and have no friction, so they do not drag
+     * the player along by themselves.  Instead, the difference from the last
+     * carrier velocity is added to the body, and applyForce() steers the player
+     * relative to the platform.  Use 0 once the player leaves the platform.
+     *
+     * @param value the horizontal velocity of the platform carrying the player
+     */
+    public void setCarrierVX(float value) {
+        if (value != carrierVX) {
+            setVX(getVX() + value - carrierVX);
+            carrierVX = value;
+        }
+    }
+
     /**
      * Returns how much force to apply to get the dude moving
      * <p>
@@ -525,6 +577,7 @@ public class PlayerModel extends CapsuleObstacle {
      */
     public PlayerModel(float x, float y, float width, float height) {
         super(x, y, 0.575f, 2f);
+        setContactType(ContactType.PLAYER);
         setDensity(DUDE_DENSITY);
         setFriction(DUDE_FRICTION);  /// HE WILL STICK TO WALLS IF YOU FORGET
         setFixedRotation(true);
@@ -588,7 +641,8 @@ public class PlayerModel extends CapsuleObstacle {
         sensorDef.shape = sensorShape;
 
         sensorFixture = body.createFixture(sensorDef);
-        sensorFixture.setUserData(getSensorName());
+        sensorFixture.setUserData(ContactType.PLAYER_SENSOR);
+        sensorFixture.setFilterData(CollisionLayer.getFilter(ContactType.PLAYER_SENSOR));
 
         return true;
     }
@@ -605,6 +659,9 @@ public class PlayerModel extends CapsuleObstacle {
             return;
         }
 
+        // Steer relative to the platform we stand on, if any
+        setVX(getVX() - carrierVX);
+
         if ((getVX() < 0 && faceRight) || (getVX() > 0 && !faceRight)) {
             setVX(0);
         }
@@ -681,6 +738,8 @@ public class PlayerModel extends CapsuleObstacle {
         if (abilityController.isAbilityActive(FountainModel.FountainType.DASH) && isDashing()) {
             abilityController.doSkip(this);
         }
+
+        setVX(getVX() + carrierVX);
     }
 
     /**
@@ -736,72 +795,96 @@ public class PlayerModel extends CapsuleObstacle {
         float effect = faceRight ? -1.0f : 1.0f;
         Color color = Color.WHITE;
         if (isTransparent() && abilityTimer > 0) {
-            color = new Color(1, 1, 1, 0.5f);
+            color = TRANSPARENT_TINT;
         }
 //        if(isHurt)
 //            color = Color.RED;
 
-        float frameDuration = 0.3f;
+        float frameDuration = IDLE_FRAME_DURATION;
         if (ps == playerState.WALK) {
-            frameDuration = 0.1f;
+            frameDuration = WALK_FRAME_DURATION;
         }
         else if (ps == playerState.JUMP) {
-            frameDuration = 0.09f;
+            frameDuration = JUMP_FRAME_DURATION;
         }
         elapsedTime += Gdx.graphics.getDeltaTime();
-        animation = getAnimation(FRAME_COLS, FRAME_ROWS, animationFrames, frameDuration);
+        animation = AnimationRegistry.get(texture, FRAME_COLS, FRAME_ROWS, frameDuration);
         TextureRegion currentFrame = animation.getKeyFrame(elapsedTime, true);
         if (effect == 1) {
-            canvas.draw(currentFrame, color, origin.x, origin.y, getX() * drawScale.x + 125, getY() * drawScale.y + 80,
+            canvas.draw(currentFrame, color, origin.x, origin.y, getDrawX() * drawScale.x + 125, getDrawY() * drawScale.y + 80,
            // canvas.draw(currentFrame, color, origin.x, origin.y, getX() * drawScale.x + 100, getY() * drawScale.y + 60,
                     effect * texture.getRegionWidth() / FRAME_COLS, texture.getRegionHeight() / FRAME_ROWS);
         } else {
-            canvas.draw(currentFrame, color, origin.x, origin.y, getX() * drawScale.x + 195, getY() * drawScale.y + 80,
+            canvas.draw(currentFrame, color, origin.x, origin.y, getDrawX() * drawScale.x + 195, getDrawY() * drawScale.y + 80,
                     effect * texture.getRegionWidth() / FRAME_COLS, texture.getRegionHeight() / FRAME_ROWS);
         }
     }
 
-    public Animation getAnimation(int col, int row, TextureRegion[] animationFrames, float frameDuration) {
-        //elapsedTime = 0;
-        Animation<TextureRegion> animationTemp;
-        int index = 0;
-        TextureRegion[][] tmpFrames = TextureRegion.split(texture.getTexture(), texture.getRegionWidth() / col, texture.getRegionHeight() / row);
-        for (int i = 0; i < row; i++) {
-            for (int j = 0; j < col; j++) {
-                animationFrames[index++] = tmpFrames[i][j];
+    private boolean last_face_right;
+    /** Seconds between checks for the end of free movement */
+    private static final float FREE_MOVEMENT_CHECK = 0.01f;
+
+    /** Limits motion again once the player turns around or lands */
+    private final Scheduler.Task freeMovementTask = new Scheduler.Task() {
+        @Override
+        public void run() {
+            boolean fr = isFacingRight();
+            if(fr != last_face_right || isGrounded()){
+                limitPlayerMotion = true;
+                setDashing(false);
+                abilityController.resetDash();
+                cancel();
+            } else {
+                last_face_right = fr;
             }
         }
-        animationTemp = new Animation(frameDuration, animationFrames);
-        return animationTemp;
-    }
-
-    public static Timer freeMovementTimer = new Timer();
-    private boolean last_face_right;
+    };
 
     public void giveFreeMovement(long milliseconds) {
         limitPlayerMotion = false;
-        freeMovementTimer.cancel();
-        freeMovementTimer = new Timer();
         last_face_right = isFacingRight();
-        freeMovementTimer.schedule(new TimerTask() {
-            @Override
-            public void run() {
-                boolean fr = isFacingRight();
-                if(fr != last_face_right || isGrounded()){
-                    limitPlayerMotion = true;
-                    setDashing(false);
-                    abilityController.resetDash();
-                } else {
-                    try {
-                        last_face_right = fr;
-                        Thread.sleep(10);
-                        run();
-                    } catch (Exception e) {
-                        e.printStackTrace();
-                    }
-                }
-            }
-        }, milliseconds);
+        abilityController.getScheduler().schedule(freeMovementTask, milliseconds / 1000f, FREE_MOVEMENT_CHECK);
+    }
+
+    /**
+     * Returns the player to the state it had when the level was laid out.
+     *
+     * This clears every ability, cooldown and movement flag, as if the player
+     * had just been created.
+     */
+    @Override
+    public void restoreSpawnState() {
+        super.restoreSpawnState();
+        movement = 0;
+        isGrounded = false;
+        isJumping = false;
+        isDashing = false;
+        dashingPrev = false;
+        isFlying = false;
+        isStartingFlight = false;
+        isTransparent = false;
+        pressedAbility = false;
+        faceRight = true;
+        limitPlayerMotion = true;
+        isHurt = false;
+        onMovingPlatform = false;
+        carrierVX = 0;
+        timerEnded = false;
+        last = false;
+
+        abilityTimer = 0;
+        abilityCooldown = 0;
+        prevAbilityTimer = 0;
+        abilityCoolDown = 0;
+        shootCooldown = 0;
+        jumpCooldown = 0;
+        flightCooldown = 0;
+        flightTimer = 0;
+        transparencyTimer = 0;
+        dashingCoolDown = 0;
+        dashingTimer = 0;
+        dashDuration = 300;
+        elapsedTime = 0;
     }
 
     public void applyDashForce() {
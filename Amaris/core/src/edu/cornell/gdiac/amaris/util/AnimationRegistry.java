@@ -0,0 +1,222 @@
+/*
+ * AnimationRegistry.java
+ *
+ * A shared cache of sprite sheet animations.  Splitting a sheet into frames
+ * allocates a new TextureRegion for every cell, so doing it in a draw method
+ * creates garbage every frame.  This class splits each sheet once, keyed by
+ * the texture, region and grid, and hands out the same Animation every time.
+ *
+ * Animations should be prepared in loadContent, but an animation that was
+ * missed is built on first use instead.
+ */
+package edu.cornell.gdiac.amaris.util;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Animation;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/**
+ * A static cache of looping sprite sheet animations.
+ *
+ * A sheet is split the same way as TextureRegion.split: each frame is the
+ * region width divided by the number of columns, and the region height divided
+ * by the number of rows, starting at the top-left of the region.  The region
+ * may be a whole texture or a sheet packed into an atlas.  Frames are numbered
+ * one row at a time.
+ *
+ * The animations returned are shared, so they cannot be modified.  Lookups are
+ * synchronized, as simulations running side by side share the cache.
+ */
+public class AnimationRegistry {
+
+	/** The animations built so far, keyed by texture, grid and frame duration */
+	private static ObjectMap<Key, Animation<TextureRegion>> animations = new ObjectMap<Key, Animation<TextureRegion>>();
+	/** The frames built so far, keyed by texture and grid */
+	private static ObjectMap<Key, TextureRegion[]> frames = new ObjectMap<Key, TextureRegion[]>();
+	/** Key reused for lookups, so that a cache hit allocates nothing */
+	private static Key lookup = new Key();
+
+	/**
+	 * Returns the looping animation for a sprite sheet region
+	 *
+	 * @param sheet         The region holding the sprite sheet
+	 * @param cols          The number of columns in the sheet
+	 * @param rows          The number of rows in the sheet
+	 * @param frameDuration The time, in seconds, to show each frame
+	 *
+	 * @return the looping animation for a sprite sheet region
+	 */
+	public static Animation<TextureRegion> get(TextureRegion sheet, int cols, int rows, float frameDuration) {
+		return get(sheet, sheet.getTexture(), sheet.getRegionWidth()/cols, sheet.getRegionHeight()/rows,
+				   cols, rows, frameDuration);
+	}
+
+	/**
+	 * Returns the looping animation for a sprite sheet texture
+	 *
+	 * @param sheet         The sprite sheet texture
+	 * @param cols          The number of columns in the sheet
+	 * @param rows          The number of rows in the sheet
+	 * @param frameDuration The time, in seconds, to show each frame
+	 *
+	 * @return the looping animation for a sprite sheet texture
+	 */
+	public static Animation<TextureRegion> get(Texture sheet, int cols, int rows, float frameDuration) {
+		return get(null, sheet, sheet.getWidth()/cols, sheet.getHeight()/rows, cols, rows, frameDuration);
+	}
+
+	/**
+	 * Builds the animation for a sprite sheet region ahead of time
+	 *
+	 * This does nothing if the region is null, as textures that failed to
+	 * load are null.
+	 *
+	 * @param sheet         The region holding the sprite sheet
+	 * @param cols          The number of columns in the sheet
+	 * @param rows          The number of rows in the sheet
+	 * @param frameDuration The time, in seconds, to show each frame
+	 */
+	public static void prepare(TextureRegion sheet, int cols, int rows, float frameDuration) {
+		if (sheet != null) {
+			get(sheet, cols, rows, frameDuration);
+		}
+	}
+
+	/**
+	 * Builds the animation for a sprite sheet texture ahead of time
+	 *
+	 * This does nothing if the texture is null, as textures that failed to
+	 * load are null.
+	 *
+	 * @param sheet         The sprite sheet texture
+	 * @param cols          The number of columns in the sheet
+	 * @param rows          The number of rows in the sheet
+	 * @param frameDuration The time, in seconds, to show each frame
+	 */
+	public static void prepare(Texture sheet, int cols, int rows, float frameDuration) {
+		if (sheet != null) {
+			get(sheet, cols, rows, frameDuration);
+		}
+	}
+
+	/**
+	 * Removes every cached animation.
+	 *
+	 * This must be called when the textures are unloaded, as the cache would
+	 * otherwise keep them alive.
+	 */
+	public static synchronized void clear() {
+		animations.clear();
+		frames.clear();
+	}
+
+	/**
+	 * Returns the cached animation, building the frames and animation on a miss
+	 *
+	 * The region is null when the sheet is the whole texture.
+	 */
+	private static synchronized Animation<TextureRegion> get(TextureRegion region, Texture texture, int width, int height,
+															 int cols, int rows, float frameDuration) {
+		int x = (region == null ? 0 : region.getRegionX());
+		int y = (region == null ? 0 : region.getRegionY());
+		lookup.set(texture, x, y, width, height, cols, rows, frameDuration);
+		Animation<TextureRegion> animation = animations.get(lookup);
+		if (animation != null) {
+			return animation;
+		}
+
+		lookup.set(texture, x, y, width, height, cols, rows, 0);
+		TextureRegion[] sheet = frames.get(lookup);
+		if (sheet == null) {
+			sheet = new TextureRegion[cols * rows];
+			if (region == null) {
+				region = new TextureRegion(texture);
+			}
+			TextureRegion[][] tmpFrames = region.split(width, height);
+			int index = 0;
+			for (int i = 0; i < rows; i++) {
+				for (int j = 0; j < cols; j++) {
+					sheet[index++] = tmpFrames[i][j];
+				}
+			}
+			frames.put(new Key().set(texture, x, y, width, height, cols, rows, 0), sheet);
+		}
+
+		animation = new SharedAnimation(frameDuration, sheet);
+		animations.put(new Key().set(texture, x, y, width, height, cols, rows, frameDuration), animation);
+		return animation;
+	}
+
+	/**
+	 * An animation that cannot be changed after it is built.
+	 *
+	 * Animation.getKeyFrame(time, true) loops without calling setPlayMode, so
+	 * the shared animations still loop.
+	 */
+	private static class SharedAnimation extends Animation<TextureRegion> {
+		public SharedAnimation(float frameDuration, TextureRegion[] keyFrames) {
+			super(frameDuration, keyFrames);
+		}
+
+		@Override
+		public void setPlayMode(PlayMode playMode) {
+			throw new UnsupportedOperationException("Shared animations cannot be changed");
+		}
+
+		@Override
+		public void setFrameDuration(float frameDuration) {
+			throw new UnsupportedOperationException("Shared animations cannot be changed");
+		}
+	}
+
+	/**
+	 * The cache key for a sheet: texture, region origin, frame size, grid and
+	 * frame duration.
+	 */
+	private static class Key {
+		Texture texture;
+		int x;
+		int y;
+		int width;
+		int height;
+		int cols;
+		int rows;
+		float frameDuration;
+
+		Key set(Texture texture, int x, int y, int width, int height, int cols, int rows, float frameDuration) {
+			this.texture = texture;
+			this.x = x;
+			this.y = y;
+			this.width = width;
+			this.height = height;
+			this.cols = cols;
+			this.rows = rows;
+			this.frameDuration = frameDuration;
+			return this;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof Key)) {
+				return false;
+			}
+			Key k = (Key)o;
+			return texture == k.texture && x == k.x && y == k.y && width == k.width && height == k.height &&
+				   cols == k.cols && rows == k.rows &&
+				   Float.floatToIntBits(frameDuration) == Float.floatToIntBits(k.frameDuration);
+		}
+
+		@Override
+		public int hashCode() {
+			int h = System.identityHashCode(texture);
+			h = 31 * h + x;
+			h = 31 * h + y;
+			h = 31 * h + width;
+			h = 31 * h + height;
+			h = 31 * h + cols;
+			h = 31 * h + rows;
+			return 31 * h + Float.floatToIntBits(frameDuration);
+		}
+	}
+}
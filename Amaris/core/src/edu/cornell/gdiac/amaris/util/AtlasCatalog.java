@@ -0,0 +1,159 @@
+/*
+ * AtlasCatalog.java
+ *
+ * Gameplay sprites are packed into a few texture atlases at build time (see the
+ * packAtlases task in the desktop project), so that a frame binds a handful of
+ * textures instead of one per kind of object.  The code still refers to images
+ * by their original path, as listed in jsons/assets.json.  This class maps such
+ * a path to the atlas that holds it, and to the name of its region there.
+ *
+ * An image that is not in any atlas, or whose atlas has not been built, is
+ * loaded as its own texture as before.
+ */
+package edu.cornell.gdiac.amaris.util;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/**
+ * A singleton lookup from image paths to atlas regions.
+ */
+public class AtlasCatalog {
+
+	private static AtlasCatalog instance = null;
+
+	public static AtlasCatalog getInstance() {
+		if (instance == null) {
+			instance = new AtlasCatalog();
+		}
+		return instance;
+	}
+
+	/** The list of atlases and the images in each */
+	public static final String CATALOG_FILE = "jsons/atlases.json";
+	/** The folder the atlases are built into */
+	public static final String ATLAS_DIR = "atlases/";
+	/** The extension of an atlas description */
+	public static final String ATLAS_SUFFIX = ".atlas";
+
+	/** The atlas file for each packed image path */
+	private ObjectMap<String, String> atlases = new ObjectMap<String, String>();
+	/** Whether the catalog was read */
+	private boolean populated;
+
+	private AtlasCatalog() { }
+
+	/**
+	 * Returns the name of the region for an image in its atlas.
+	 *
+	 * This is the image path without its extension, so that images with the
+	 * same name in different folders do not clash.
+	 *
+	 * @param path The image path
+	 *
+	 * @return the name of the region for an image in its atlas.
+	 */
+	public static String getRegionName(String path) {
+		int dot = path.lastIndexOf('.');
+		return dot < 0 ? path : path.substring(0, dot);
+	}
+
+	/**
+	 * Reads the catalog, if it has not been read already.
+	 *
+	 * Only atlases that have been built are used.  If the catalog is missing,
+	 * every image is loaded as its own texture.
+	 */
+	public void populate() {
+		if (populated) {
+			return;
+		}
+		populated = true;
+		FileHandle file = Gdx.files.internal(CATALOG_FILE);
+		if (!file.exists()) {
+			return;
+		}
+		JsonValue list = new JsonReader().parse(file).get("atlases");
+		if (list == null) {
+			return;
+		}
+		for (JsonValue entry = list.child; entry != null; entry = entry.next) {
+			String atlas = ATLAS_DIR + entry.getString("name") + ATLAS_SUFFIX;
+			if (!Gdx.files.internal(atlas).exists()) {
+				Gdx.app.log("AtlasCatalog", atlas + " has not been built; loading its images one by one");
+				continue;
+			}
+			JsonValue images = entry.get("images");
+			for (JsonValue image = images.child; image != null; image = image.next) {
+				atlases.put(image.asString(), atlas);
+			}
+		}
+	}
+
+	/**
+	 * Returns the atlas file holding an image, or null if it is not packed
+	 *
+	 * @param path The image path
+	 *
+	 * @return the atlas file holding an image, or null if it is not packed
+	 */
+	public String getAtlas(String path) {
+		populate();
+		return path == null ? null : atlases.get(path);
+	}
+
+	/**
+	 * Queues an image for loading: its atlas if it has one, and itself otherwise.
+	 *
+	 * The file queued is added to assets, once, so that it is unloaded with the
+	 * rest of the controller's assets.
+	 *
+	 * @param manager Reference to global asset manager.
+	 * @param path    The image path
+	 * @param assets  The assets loaded by the caller
+	 */
+	public void load(AssetManager manager, String path, Array<String> assets) {
+		String atlas = getAtlas(path);
+		String file = (atlas != null ? atlas : path);
+		if (assets.contains(file, false)) {
+			return;
+		}
+		if (atlas != null) {
+			manager.load(file, TextureAtlas.class);
+		} else {
+			manager.load(file, Texture.class);
+		}
+		assets.add(file);
+	}
+
+	/**
+	 * Returns a new region for a packed image, or null if it is not packed or loaded
+	 *
+	 * The region is a copy, so flipping or scrolling it does not affect others.
+	 *
+	 * @param manager Reference to global asset manager.
+	 * @param path    The image path
+	 *
+	 * @return a new region for a packed image, or null if it is not packed or loaded
+	 */
+	public TextureRegion findRegion(AssetManager manager, String path) {
+		String atlas = getAtlas(path);
+		if (atlas == null || !manager.isLoaded(atlas)) {
+			return null;
+		}
+		TextureRegion region = manager.get(atlas, TextureAtlas.class).findRegion(getRegionName(path));
+		if (region == null) {
+			Gdx.app.error("AtlasCatalog", path + " is missing from " + atlas + "; rebuild the atlases");
+			return null;
+		}
+		return new TextureRegion(region);
+	}
+}
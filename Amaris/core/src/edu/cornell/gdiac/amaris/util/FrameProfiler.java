@@ -0,0 +1,394 @@
+/*
+ * FrameProfiler.java
+ *
+ * Measures where each frame goes.  GameMode marks the start and end of every
+ * phase of the game loop (input, update, physics, drawing), and the profiler
+ * adds up the time spent in each one.  At the end of the frame it reads the draw
+ * calls and texture binds from the libGDX GLProfiler and stores the whole frame
+ * in a ring buffer.  The overlay and the histogram are both built from there.
+ *
+ * The profiler costs nothing but a boolean test while it is off.
+ */
+package edu.cornell.gdiac.amaris.util;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.profiling.GLProfiler;
+import com.badlogic.gdx.utils.TimeUtils;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A singleton that times the phases of each frame.
+ *
+ * Phases may nest (WORLD_STEP is inside POST_UPDATE) and may be entered more
+ * than once a frame (WORLD_STEP runs once per fixed step); the times are summed.
+ *
+ * The ring buffer has a single writer, the game thread.  Readers on any thread
+ * can call copyRecent() without locking.  A frame is published by advancing the
+ * frame counter after its values are written, and a reader discards any frame
+ * that the writer may have started to overwrite while it was copying.
+ */
+public class FrameProfiler {
+
+	private static FrameProfiler instance = null;
+
+	public static FrameProfiler getInstance() {
+		if (instance == null) {
+			instance = new FrameProfiler();
+		}
+		return instance;
+	}
+
+	/** The whole frame, from input to the end of drawing */
+	public static final int FRAME = 0;
+	/** GameMode.preUpdate: input and screen changes */
+	public static final int PRE_UPDATE = 1;
+	/** GameMode.update: gameplay logic */
+	public static final int UPDATE = 2;
+	/** GameMode.postUpdate: the fixed-step loop and object updates */
+	public static final int POST_UPDATE = 3;
+	/** World.step, summed over every fixed step in the frame */
+	public static final int WORLD_STEP = 4;
+	/** The loop that removes and updates objects after the physics steps */
+	public static final int OBJECT_UPDATE = 5;
+	/** GameMode.draw */
+	public static final int DRAW = 6;
+	/** The world pass: backgrounds and objects */
+	public static final int DRAW_WORLD = 7;
+	/** The debug pass: physics outlines */
+	public static final int DRAW_DEBUG = 8;
+	/** The HUD pass: constant batch overlays */
+	public static final int DRAW_HUD = 9;
+	/** The number of phases */
+	public static final int PHASES = 10;
+
+	/** The names of the phases, used as CSV columns and overlay labels */
+	private static final String[] NAMES = {
+		"frame", "preUpdate", "update", "postUpdate", "worldStep",
+		"objectUpdate", "draw", "drawWorld", "drawDebug", "drawHud"
+	};
+
+	/** Slot in a frame record for the draw calls */
+	public static final int DRAW_CALLS = PHASES;
+	/** Slot in a frame record for the texture binds */
+	public static final int TEXTURE_BINDS = PHASES + 1;
+	/** The number of values in a frame record */
+	public static final int FIELDS = PHASES + 2;
+
+	/** The number of frames kept in the ring buffer */
+	public static final int CAPACITY = 256;
+
+	/** Width of a histogram bucket in nanoseconds (1 ms) */
+	private static final long BUCKET_NANOS = 1000000L;
+	/** The number of 1 ms buckets; longer times go in one overflow bucket */
+	private static final int BUCKETS = 50;
+
+	/** Frames averaged for the overlay */
+	private static final int OVERLAY_FRAMES = 60;
+	/** Frames between overlay refreshes, so that it is readable */
+	private static final int OVERLAY_INTERVAL = 30;
+
+	/** Whether the profiler is on */
+	private boolean enabled;
+	/** Whether the current frame is being timed; only changes between frames */
+	private boolean recording;
+	/** The GL call counter, created the first time the profiler starts */
+	private GLProfiler glProfiler;
+
+	/** Time each phase was last entered in the current frame */
+	private final long[] started = new long[PHASES];
+	/** Time spent in each phase so far in the current frame */
+	private final long[] current = new long[PHASES];
+
+	/** The frame records, CAPACITY frames of FIELDS values */
+	private final long[] ring = new long[CAPACITY * FIELDS];
+	/** The number of frames published to the ring */
+	private final AtomicLong frames = new AtomicLong();
+
+	/** Per phase counts of frames in each bucket, plus the overflow bucket */
+	private final int[][] histogram = new int[PHASES][BUCKETS + 1];
+	/** The number of frames in the histogram */
+	private int histogramFrames;
+
+	/** Scratch space for building the overlay */
+	private final long[] recent = new long[OVERLAY_FRAMES * FIELDS];
+	/** The overlay text */
+	private String overlay = "";
+
+	private FrameProfiler() { }
+
+	/**
+	 * Returns the name of a phase
+	 *
+	 * @param phase The phase
+	 *
+	 * @return the name of a phase
+	 */
+	public static String getName(int phase) {
+		return NAMES[phase];
+	}
+
+	/**
+	 * Returns true if the profiler is on.
+	 *
+	 * @return true if the profiler is on.
+	 */
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Turns the profiler on and clears the histogram.
+	 *
+	 * Timing starts with the next frame.
+	 */
+	public void start() {
+		if (enabled) {
+			return;
+		}
+		if (glProfiler == null && Gdx.graphics != null) {
+			glProfiler = new GLProfiler(Gdx.graphics);
+		}
+		if (glProfiler != null) {
+			glProfiler.reset();
+			glProfiler.enable();
+		}
+		clearHistogram();
+		overlay = "";
+		enabled = true;
+	}
+
+	/**
+	 * Turns the profiler off.
+	 *
+	 * The frame in progress is still recorded.
+	 */
+	public void stop() {
+		if (!enabled) {
+			return;
+		}
+		if (glProfiler != null) {
+			glProfiler.disable();
+		}
+		enabled = false;
+	}
+
+	/** Empties the histogram, so that it only counts the frames from now on */
+	public void clearHistogram() {
+		for (int i = 0; i < PHASES; i++) {
+			for (int j = 0; j <= BUCKETS; j++) {
+				histogram[i][j] = 0;
+			}
+		}
+		histogramFrames = 0;
+	}
+
+	// TIMING ------------------------------------------------------------------------------
+
+	/** Marks the start of a frame.  This decides whether the frame is timed. */
+	public void beginFrame() {
+		recording = enabled;
+		if (!recording) {
+			return;
+		}
+		for (int i = 0; i < PHASES; i++) {
+			current[i] = 0;
+		}
+		started[FRAME] = TimeUtils.nanoTime();
+	}
+
+	/**
+	 * Marks the start of a phase
+	 *
+	 * @param phase The phase entered
+	 */
+	public void begin(int phase) {
+		if (recording) {
+			started[phase] = TimeUtils.nanoTime();
+		}
+	}
+
+	/**
+	 * Marks the end of a phase
+	 *
+	 * @param phase The phase left
+	 */
+	public void end(int phase) {
+		if (recording) {
+			current[phase] += TimeUtils.nanoTime() - started[phase];
+		}
+	}
+
+	/** Marks the end of a frame, and publishes it to the ring and the histogram */
+	public void endFrame() {
+		if (!recording) {
+			return;
+		}
+		end(FRAME);
+		recording = false;
+
+		long frame = frames.get();
+		int base = (int)(frame % CAPACITY) * FIELDS;
+		for (int i = 0; i < PHASES; i++) {
+			ring[base + i] = current[i];
+			long bucket = current[i] / BUCKET_NANOS;
+			histogram[i][bucket < BUCKETS ? (int)bucket : BUCKETS]++;
+		}
+		if (glProfiler != null) {
+			ring[base + DRAW_CALLS] = glProfiler.getDrawCalls();
+			ring[base + TEXTURE_BINDS] = glProfiler.getTextureBindings();
+			glProfiler.reset();
+		} else {
+			ring[base + DRAW_CALLS] = 0;
+			ring[base + TEXTURE_BINDS] = 0;
+		}
+		histogramFrames++;
+		frames.lazySet(frame + 1);
+
+		if (frame % OVERLAY_INTERVAL == 0) {
+			overlay = buildOverlay();
+		}
+	}
+
+	// READING -----------------------------------------------------------------------------
+
+	/**
+	 * Returns the number of frames recorded since the game started
+	 *
+	 * @return the number of frames recorded since the game started
+	 */
+	public long getFrameCount() {
+		return frames.get();
+	}
+
+	/**
+	 * Copies the newest frame records, oldest first, without blocking the writer.
+	 *
+	 * Each record is FIELDS values: the nanoseconds in each phase, then the draw
+	 * calls and texture binds.  Fewer records than asked for are copied if not
+	 * enough frames have been recorded, or if the writer overwrote some of them
+	 * during the copy.
+	 *
+	 * @param out   The array to copy into, at least count * FIELDS long
+	 * @param count The most frames to copy, at most CAPACITY
+	 *
+	 * @return the number of frames copied
+	 */
+	public int copyRecent(long[] out, int count) {
+		long last = frames.get();
+		long first = Math.max(0, last - Math.min(count, CAPACITY));
+		for (long frame = first; frame < last; frame++) {
+			int base = (int)(frame % CAPACITY) * FIELDS;
+			System.arraycopy(ring, base, out, (int)(frame - first) * FIELDS, FIELDS);
+		}
+
+		// The slot of frame 'now' belongs to frame now - CAPACITY, and may be half written
+		long now = frames.get();
+		long safe = Math.max(first, now - CAPACITY + 1);
+		if (safe >= last) {
+			return 0;
+		}
+		if (safe > first) {
+			int skip = (int)(safe - first) * FIELDS;
+			System.arraycopy(out, skip, out, 0, (int)(last - safe) * FIELDS);
+		}
+		return (int)(last - safe);
+	}
+
+	/**
+	 * Returns the overlay text, refreshed every few frames.
+	 *
+	 * @return the overlay text
+	 */
+	public String getOverlay() {
+		return overlay;
+	}
+
+	/** Returns the overlay text, averaged over the most recent frames */
+	private String buildOverlay() {
+		int count = copyRecent(recent, OVERLAY_FRAMES);
+		if (count == 0) {
+			return "";
+		}
+		long[] sums = new long[FIELDS];
+		long worst = 0;
+		for (int i = 0; i < count; i++) {
+			for (int j = 0; j < FIELDS; j++) {
+				sums[j] += recent[i * FIELDS + j];
+			}
+			worst = Math.max(worst, recent[i * FIELDS + FRAME]);
+		}
+
+		StringBuilder text = new StringBuilder(256);
+		text.append("frame ");
+		appendMillis(text, sums[FRAME] / count);
+		text.append(" ms (worst ");
+		appendMillis(text, worst);
+		text.append(")\n");
+		for (int i = PRE_UPDATE; i < PHASES; i++) {
+			text.append(NAMES[i]).append(' ');
+			appendMillis(text, sums[i] / count);
+			text.append(" ms\n");
+		}
+		text.append("draw calls ").append(sums[DRAW_CALLS] / count);
+		text.append(", texture binds ").append(sums[TEXTURE_BINDS] / count);
+		return text.toString();
+	}
+
+	/** Appends nanoseconds as milliseconds with two decimals */
+	private static void appendMillis(StringBuilder text, long nanos) {
+		long hundredths = nanos / 10000L;
+		text.append(hundredths / 100).append('.');
+		long fraction = hundredths % 100;
+		if (fraction < 10) {
+			text.append('0');
+		}
+		text.append(fraction);
+	}
+
+	// EXPORT ------------------------------------------------------------------------------
+
+	/**
+	 * Writes the histogram as CSV.
+	 *
+	 * There is one row per 1 ms bucket, and one column per phase counting the
+	 * frames whose time in that phase fell in the bucket.  The last row counts
+	 * everything longer.
+	 *
+	 * @param file The file to write
+	 */
+	public void writeHistogram(FileHandle file) {
+		StringBuilder text = new StringBuilder(64 * (BUCKETS + 2));
+		text.append("ms");
+		for (int i = 0; i < PHASES; i++) {
+			text.append(',').append(NAMES[i]);
+		}
+		text.append('\n');
+		for (int j = 0; j <= BUCKETS; j++) {
+			if (j < BUCKETS) {
+				text.append(j);
+			} else {
+				text.append(BUCKETS).append('+');
+			}
+			for (int i = 0; i < PHASES; i++) {
+				text.append(',').append(histogram[i][j]);
+			}
+			text.append('\n');
+		}
+		try {
+			file.writeString(text.toString(), false);
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Returns the number of frames in the histogram
+	 *
+	 * @return the number of frames in the histogram
+	 */
+	public int getHistogramFrames() {
+		return histogramFrames;
+	}
+}
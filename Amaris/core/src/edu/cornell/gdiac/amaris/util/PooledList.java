@@ -69,6 +69,7 @@ public class PooledList<E> extends AbstractSequentialList<E> implements Iterable
 				tail = prev;
 			}
 			size--;
+			modCount++;
 			memory.free(this);
 		}
 		
@@ -129,6 +130,18 @@ public class PooledList<E> extends AbstractSequentialList<E> implements Iterable
 		size = 0;
 	}
 	
+	/**
+	 * Returns the number of structural changes made to this list.
+	 *
+	 * The value changes whenever an element is added, removed or replaced, so
+	 * a cache built from the list can tell when it is out of date.
+	 *
+	 * @return the number of structural changes made to this list
+	 */
+	public int getModCount() {
+		return modCount;
+	}
+
 	/**
 	 * Returns the number of elements in this list.
 	 *
@@ -210,6 +223,7 @@ public class PooledList<E> extends AbstractSequentialList<E> implements Iterable
 			head.prev = null;
 		}
 		size--;
+		modCount++;
 		memory.free(last);
 		return value;
 	}
@@ -231,6 +245,7 @@ public class PooledList<E> extends AbstractSequentialList<E> implements Iterable
 			tail.next = null;
 		}
 		size--;
+		modCount++;
 		memory.free(last);
 		return value;
 	}
@@ -256,6 +271,7 @@ public class PooledList<E> extends AbstractSequentialList<E> implements Iterable
 		}
 		tail = entry;
 		size++;
+		modCount++;
 		return true;
 	}
 
@@ -309,6 +325,7 @@ public class PooledList<E> extends AbstractSequentialList<E> implements Iterable
 			entry.next = curr;
 		}
 		size++;
+		modCount++;
 	}
 	
 	/**
@@ -371,6 +388,7 @@ public class PooledList<E> extends AbstractSequentialList<E> implements Iterable
 			curr.next.prev = curr.prev;
 		}
 		size--;
+		modCount++;
 		memory.free(last);
 		return value;
 	}
@@ -403,6 +421,7 @@ public class PooledList<E> extends AbstractSequentialList<E> implements Iterable
 			value = curr.value;
 			curr.value = element;
 		}
+		modCount++;
 		return value;
 	}
 	
@@ -514,6 +533,7 @@ public class PooledList<E> extends AbstractSequentialList<E> implements Iterable
 				tail = entry;
 			}
 			size++;
+			modCount++;
 		}
 		
 		/**
@@ -629,6 +649,7 @@ public class PooledList<E> extends AbstractSequentialList<E> implements Iterable
 			memory.free(last);
 			last = null;
 			size--;
+			modCount++;
 		}
 
 		/**
@@ -642,6 +663,7 @@ public class PooledList<E> extends AbstractSequentialList<E> implements Iterable
 			}
 
 			last.value = e;
+			modCount++;
 		}
 	}
 
@@ -697,6 +719,7 @@ public class PooledList<E> extends AbstractSequentialList<E> implements Iterable
 				tail = entry;
 			}
 			size++;
+			modCount++;
 		}
 		
 		/**
@@ -812,6 +835,7 @@ public class PooledList<E> extends AbstractSequentialList<E> implements Iterable
 			memory.free(last);
 			last = null;
 			size--;
+			modCount++;
 		}
 
 		/**
@@ -824,6 +848,7 @@ public class PooledList<E> extends AbstractSequentialList<E> implements Iterable
 				throw new NoSuchElementException();
 			}
 			
+			modCount++;
 			entry.prev = last.prev;
 			entry.next = last.next;
 			if (last.prev != null) {
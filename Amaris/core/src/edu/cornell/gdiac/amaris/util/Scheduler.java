@@ -0,0 +1,240 @@
+/*
+ * Scheduler.java
+ *
+ * Runs delayed and repeating tasks on the game thread.  Unlike java.util.Timer,
+ * the scheduler does not have a clock of its own.  It is advanced by the fixed
+ * physics step in GameMode, so tasks only see simulation time.  They stop when
+ * the game is paused, and they can safely touch the Box2D world.
+ */
+package edu.cornell.gdiac.amaris.util;
+
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * A scheduler advanced by simulation time, shared by the game as a singleton.
+ *
+ * Tasks are plain objects that are rescheduled rather than reallocated, so a
+ * controller can keep one instance of each task for the life of the game.
+ */
+public class Scheduler {
+
+	private static Scheduler instance = null;
+
+	public static Scheduler getInstance() {
+		if (instance == null) {
+			instance = new Scheduler();
+		}
+		return instance;
+	}
+
+	/** Repeat count for a task that repeats until it is cancelled */
+	public static final int FOREVER = -1;
+
+	/**
+	 * A unit of work run by the scheduler.
+	 */
+	public static abstract class Task {
+		/** Seconds of simulation time until the task next runs */
+		private float timeLeft;
+		/** Seconds between runs of a repeating task */
+		private float interval;
+		/** Runs left after the next one, or FOREVER */
+		private int repeatCount;
+		/** Whether the task is waiting to run */
+		private boolean scheduled;
+		/** The scheduler running this task, or null */
+		private Scheduler owner;
+
+		/** Does the work of this task.  This is called on the game thread. */
+		public abstract void run();
+
+		/** Stops this task from running again.  This is safe to call from run(). */
+		public void cancel() {
+			if (owner != null) {
+				owner.cancel(this);
+			}
+		}
+
+		/** Returns true if the task is waiting to run */
+		public boolean isScheduled() {
+			return scheduled;
+		}
+
+		/** Returns the seconds of simulation time until the task next runs */
+		public float getTimeLeft() {
+			return scheduled ? Math.max(timeLeft, 0) : 0;
+		}
+	}
+
+	/** The scheduled tasks, in the order they were scheduled */
+	private Array<Task> tasks = new Array<Task>(16);
+	/** Whether simulation time is currently ignored */
+	private boolean paused;
+	/** Whether we are in the middle of running tasks */
+	private boolean updating;
+
+	/**
+	 * Creates an empty scheduler.
+	 *
+	 * The game uses the shared instance; simulations that run side by side each
+	 * create their own, so that their timers do not run each other's tasks.
+	 */
+	public Scheduler() { }
+
+	/**
+	 * Schedules a task to run once after a delay
+	 *
+	 * Scheduling a task that is already scheduled restarts it.
+	 *
+	 * @param task  The task to run
+	 * @param delay Seconds of simulation time before it runs
+	 *
+	 * @return the task
+	 */
+	public Task schedule(Task task, float delay) {
+		return schedule(task, delay, 0, 0);
+	}
+
+	/**
+	 * Schedules a task to run after a delay, and then every interval until cancelled
+	 *
+	 * @param task     The task to run
+	 * @param delay    Seconds of simulation time before the first run
+	 * @param interval Seconds of simulation time between runs
+	 *
+	 * @return the task
+	 */
+	public Task schedule(Task task, float delay, float interval) {
+		return schedule(task, delay, interval, FOREVER);
+	}
+
+	/**
+	 * Schedules a task to run after a delay, and then repeatCount more times
+	 *
+	 * A repeating task whose interval is shorter than a physics step runs more
+	 * than once in that step, so it keeps the same rate on average.
+	 *
+	 * @param task        The task to run
+	 * @param delay       Seconds of simulation time before the first run
+	 * @param interval    Seconds of simulation time between runs
+	 * @param repeatCount The number of runs after the first, or FOREVER
+	 *
+	 * @return the task
+	 */
+	public Task schedule(Task task, float delay, float interval, int repeatCount) {
+		if (repeatCount != 0 && interval <= 0) {
+			throw new IllegalArgumentException("A repeating task needs a positive interval");
+		}
+		if (task.owner != null && task.owner != this) {
+			task.owner.cancel(task);
+		}
+		task.timeLeft = delay;
+		task.interval = interval;
+		task.repeatCount = repeatCount;
+		if (task.owner != this) {
+			task.owner = this;
+			tasks.add(task);
+		}
+		task.scheduled = true;
+		return task;
+	}
+
+	/**
+	 * Cancels a task, if it is scheduled
+	 *
+	 * @param task The task to cancel
+	 */
+	public void cancel(Task task) {
+		if (task.owner != this) {
+			return;
+		}
+		task.scheduled = false;
+		if (!updating) {
+			tasks.removeValue(task, true);
+			task.owner = null;
+		}
+	}
+
+	/**
+	 * Cancels every task
+	 */
+	public void clear() {
+		for (int i = 0; i < tasks.size; i++) {
+			tasks.get(i).scheduled = false;
+		}
+		if (!updating) {
+			for (int i = 0; i < tasks.size; i++) {
+				tasks.get(i).owner = null;
+			}
+			tasks.clear();
+		}
+	}
+
+	/** Stops the tasks from seeing time pass, until resume() is called */
+	public void pause() {
+		paused = true;
+	}
+
+	/** Lets the tasks see time pass again after a call to pause() */
+	public void resume() {
+		paused = false;
+	}
+
+	/** Returns true if the scheduler is paused */
+	public boolean isPaused() {
+		return paused;
+	}
+
+	/**
+	 * Advances the scheduler, running every task that is due
+	 *
+	 * This should be called once per fixed physics step.  Tasks scheduled while
+	 * this runs first see time pass on the next call.
+	 *
+	 * @param dt Seconds of simulation time since the last call
+	 */
+	public void update(float dt) {
+		if (paused) {
+			return;
+		}
+		updating = true;
+		int count = tasks.size;
+		for (int i = 0; i < count; i++) {
+			Task task = tasks.get(i);
+			if (!task.scheduled) {
+				continue;
+			}
+			task.timeLeft -= dt;
+			while (task.scheduled && task.timeLeft <= 0) {
+				boolean repeat = task.repeatCount != 0;
+				if (repeat) {
+					task.timeLeft += task.interval;
+					if (task.repeatCount > 0) {
+						task.repeatCount--;
+					}
+				} else {
+					task.scheduled = false;
+				}
+				try {
+					task.run();
+				} catch (Exception e) {
+					e.printStackTrace();
+				}
+				if (!repeat) {
+					// A one-shot task that rescheduled itself waits for the next call
+					break;
+				}
+			}
+		}
+		updating = false;
+
+		// Drop the tasks that finished or were cancelled
+		for (int i = tasks.size - 1; i >= 0; i--) {
+			Task task = tasks.get(i);
+			if (!task.scheduled) {
+				task.owner = null;
+				tasks.removeIndex(i);
+			}
+		}
+	}
+}
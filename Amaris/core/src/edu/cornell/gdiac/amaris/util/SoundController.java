@@ -1,24 +1,27 @@
 package edu.cornell.gdiac.amaris.util;
 
-import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.audio.Music;
 import com.badlogic.gdx.audio.Sound;
-import com.badlogic.gdx.files.FileHandle;
 
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.Iterator;
+import java.util.Map;
 
 /**
  * A class for controlling sound effects in LibGDX.
+ *
+ * Sounds and music are loaded by the AssetManager, which decodes them off the
+ * render thread, and this class only hands out the ones that have finished.
+ * Queue them with preLoadSound and preLoadMusic, and call update every frame
+ * to pick them up.  Looking up a sound that is not loaded yet gives null, and
+ * playing null does nothing, so gameplay never waits on the disk.
  */
 public class SoundController {
 
-	private static String soundLocation = "sounds/";
-	private static String fileFormat = ".mp3";
-
 	private static HashMap<String, Sound> namesToSounds = new HashMap<String, Sound>();
+	/** Sounds queued on the asset manager but not picked up yet, name to path */
+	private static HashMap<String, String> pendingSounds = new HashMap<String, String>();
 
 	public static Sound jumpSound() {
 		return soundFromName("jump");
@@ -51,39 +54,100 @@ public class SoundController {
 		return soundFromName("ethereality");
 	}
 
+	/**
+	 * Returns a loaded sound, or null if it has not finished loading.
+	 *
+	 * This only reads a map, so simulations on other threads can look up
+	 * sounds safely.
+	 *
+	 * @param name The sound name in assets.json
+	 *
+	 * @return a loaded sound, or null if it has not finished loading
+	 */
 	public static Sound soundFromName(String name){
-		if(!namesToSounds.containsKey(name)){
-			Sound s = Gdx.audio.newSound(Gdx.files.internal(soundLocation + name + fileFormat));
-			namesToSounds.put(name, s);
-			return s;
-		}
 		return namesToSounds.get(name);
 	}
 
 	public static void playSound(Sound s, float volume){
-		if(!isMuted){
+		if(s != null && !isMuted){
 			s.play(volume);
 		}
 	}
 
-	public static void dispose(String soundName){
-		Sound s = namesToSounds.get(soundName);
-		s.dispose();
-		namesToSounds.remove(soundName);
+	/**
+	 * Queues a sound on the asset manager, unless it is already loaded.
+	 *
+	 * @param manager The asset manager
+	 * @param name    The sound name in assets.json
+	 * @param path    The sound file
+	 */
+	public static void preLoadSound(AssetManager manager, String name, String path) {
+		if (namesToSounds.containsKey(name) || pendingSounds.containsKey(name)) {
+			return;
+		}
+		manager.load(path, Sound.class);
+		pendingSounds.put(name, path);
+	}
+
+	/**
+	 * Queues a piece of music on the asset manager, unless it is already loaded.
+	 *
+	 * @param manager The asset manager
+	 * @param name    The music name in assets.json
+	 * @param path    The music file
+	 */
+	public static void preLoadMusic(AssetManager manager, String name, String path) {
+		if (namesToMusic.containsKey(name) || pendingMusic.containsKey(name)) {
+			return;
+		}
+		manager.load(path, Music.class);
+		pendingMusic.put(name, path);
 	}
 
-	public static void disposeAllSounds(){
-		ArrayList<String> names = new ArrayList<String>(namesToSounds.keySet());
-		for (String key : names){
-			dispose(key);
+	/**
+	 * Picks up the queued sounds and music the asset manager has finished.
+	 *
+	 * This does not load anything itself, so it is cheap to call every frame.
+	 *
+	 * @param manager The asset manager
+	 */
+	public static void update(AssetManager manager) {
+		Iterator<Map.Entry<String, String>> sounds = pendingSounds.entrySet().iterator();
+		while (sounds.hasNext()) {
+			Map.Entry<String, String> entry = sounds.next();
+			if (manager.isLoaded(entry.getValue(), Sound.class)) {
+				namesToSounds.put(entry.getKey(), manager.get(entry.getValue(), Sound.class));
+				sounds.remove();
+			}
+		}
+		Iterator<Map.Entry<String, String>> music = pendingMusic.entrySet().iterator();
+		while (music.hasNext()) {
+			Map.Entry<String, String> entry = music.next();
+			if (manager.isLoaded(entry.getValue(), Music.class)) {
+				namesToMusic.put(entry.getKey(), manager.get(entry.getValue(), Music.class));
+				music.remove();
+			}
 		}
 	}
 
-	private static String musicLocation = "music/";
-	private static String musicFormat = ".mp3";
+	/**
+	 * Forgets every sound and piece of music.
+	 *
+	 * The asset manager owns them, so call this when it is cleared.
+	 */
+	public static void clear() {
+		stopMusic();
+		namesToSounds.clear();
+		pendingSounds.clear();
+		namesToMusic.clear();
+		pendingMusic.clear();
+	}
+
 	private static Music currentlyPlaying = null;
 
 	private static HashMap<String, Music> namesToMusic = new HashMap<String, Music>();
+	/** Music queued on the asset manager but not picked up yet, name to path */
+	private static HashMap<String, String> pendingMusic = new HashMap<String, String>();
 
 	public static Music level1Music() {
 		return musicFromName("level1");
@@ -99,18 +163,21 @@ public class SoundController {
 
 	public static Music titleMusic() { return musicFromName("title"); }
 
+	/**
+	 * Returns loaded music, or null if it has not finished loading.
+	 *
+	 * @param name The music name in assets.json
+	 *
+	 * @return loaded music, or null if it has not finished loading
+	 */
 	public static Music musicFromName(String name){
-		if(!namesToMusic.containsKey(name)){
-			Music s = Gdx.audio.newMusic(Gdx.files.internal(musicLocation + name + fileFormat));
-			namesToMusic.put(name, s);
-			return s;
-		}
 		return namesToMusic.get(name);
 	}
 
-	public static Timer waitForMusicTimer = new Timer();
-
 	public static void playMusic(Music m, final float volume, boolean looping){
+		if(m == null){
+			return;
+		}
 		if(m == currentlyPlaying){
 			if(currentlyPlaying.isPlaying()){
 				return;
@@ -120,35 +187,18 @@ public class SoundController {
 			currentlyPlaying.stop();
 			currentlyPlaying = null;
 		}
-		if(isMuted){
-			final Music m_ = m;
-			final float vol_ = volume;
-			final boolean loop_ = looping;
-			if(waitForMusicTimer != null){
-				waitForMusicTimer.cancel();
-				waitForMusicTimer = null;
-				waitForMusicTimer = new Timer();
+		m.setVolume(volume);
+		m.setLooping(looping);
+		m.setOnCompletionListener(new Music.OnCompletionListener() {
+			@Override
+			public void onCompletion(Music music) {
+				currentlyPlaying = null;
 			}
-			TimerTask task = new TimerTask() {
-				@Override
-				public void run() {
-					if(!isMuted){
-						playMusic(m_, vol_, loop_);
-					}
-				}
-			};
-			waitForMusicTimer.schedule(task, 0, 100);
-		} else {
-			m.setVolume(volume);
-			m.setLooping(looping);
-			m.setOnCompletionListener(new Music.OnCompletionListener() {
-				@Override
-				public void onCompletion(Music music) {
-					currentlyPlaying = null;
-				}
-			});
+		});
+		currentlyPlaying = m;
+		// While muted, the music waits for unmute() to start it
+		if(!isMuted){
 			m.play();
-			currentlyPlaying = m;
 		}
 	}
 
@@ -164,16 +214,26 @@ public class SoundController {
 		}
 	}
 
-	public static void disposeMusic(String musicName){
-		Music s = namesToMusic.get(musicName);
-		s.dispose();
-		namesToMusic.remove(musicName);
+	/**
+	 * Stops the music that is playing, if any.
+	 *
+	 * The music stays loaded, so playing it again is free.
+	 */
+	public static void stopMusic(){
+		if(currentlyPlaying != null){
+			currentlyPlaying.stop();
+			currentlyPlaying = null;
+		}
 	}
 
-	public static void disposeAllMusic(){
-		ArrayList<String> names = new ArrayList<String>(namesToMusic.keySet());
-		for (String key : names){
-			disposeMusic(key);
+	/**
+	 * Stops a piece of music played outside playMusic, if it is loaded.
+	 *
+	 * @param m The music to stop, or null
+	 */
+	public static void stopMusic(Music m){
+		if(m != null){
+			m.stop();
 		}
 	}
 
@@ -0,0 +1,154 @@
+/*
+ * TextureCache.java
+ *
+ * The menu screens are created again every time the game moves between them,
+ * and each used to load its own copy of every image straight from disk.  This
+ * class hands out one shared texture per image, counting the screens using it.
+ * A texture that no screen uses is kept for a while, so going back to a screen
+ * does not load its images again, and is disposed once the idle textures go
+ * over a fixed memory budget, oldest first.
+ *
+ * Gameplay textures are loaded by the AssetManager and are not cached here.
+ */
+package edu.cornell.gdiac.amaris.util;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/**
+ * A singleton, reference-counted cache of textures loaded by path.
+ *
+ * Every call to acquire must be matched by a call to release, and a texture
+ * from the cache must never be disposed directly.  This must only be used on
+ * the GL thread.
+ */
+public class TextureCache {
+
+	private static TextureCache instance = null;
+
+	public static TextureCache getInstance() {
+		if (instance == null) {
+			instance = new TextureCache();
+		}
+		return instance;
+	}
+
+	/** Default bytes of idle textures to keep: about twenty full-screen images */
+	public static final long DEFAULT_IDLE_BUDGET = 48L * 1024 * 1024;
+
+	/** A cached texture and its users */
+	private static class Entry {
+		/** The image path */
+		private String path;
+		/** The texture */
+		private Texture texture;
+		/** The number of acquires not yet released */
+		private int references;
+		/** Approximate GPU memory, in bytes */
+		private long bytes;
+	}
+
+	/** The entries, keyed by path */
+	private ObjectMap<String, Entry> byPath = new ObjectMap<String, Entry>();
+	/** The entries, keyed by texture */
+	private ObjectMap<Texture, Entry> byTexture = new ObjectMap<Texture, Entry>();
+	/** Entries with no references, the least recently released first */
+	private Array<Entry> idle = new Array<Entry>();
+	/** Bytes held by idle entries */
+	private long idleBytes;
+	/** Most bytes of idle entries to keep */
+	private long idleBudget = DEFAULT_IDLE_BUDGET;
+
+	private TextureCache() { }
+
+	/**
+	 * Returns the texture for an image, loading it if it is not cached.
+	 *
+	 * @param path The image path
+	 *
+	 * @return the texture for the image
+	 */
+	public Texture acquire(String path) {
+		Entry entry = byPath.get(path);
+		if (entry == null) {
+			entry = new Entry();
+			entry.path = path;
+			entry.texture = new Texture(path);
+			entry.bytes = 4L * entry.texture.getWidth() * entry.texture.getHeight();
+			byPath.put(path, entry);
+			byTexture.put(entry.texture, entry);
+		} else if (entry.references == 0) {
+			idle.removeValue(entry, true);
+			idleBytes -= entry.bytes;
+		}
+		entry.references++;
+		return entry.texture;
+	}
+
+	/**
+	 * Gives back a texture from acquire.
+	 *
+	 * The texture stays cached once no one uses it, until the idle textures go
+	 * over the budget.  Releasing null does nothing.
+	 *
+	 * @param texture The texture to give back
+	 */
+	public void release(Texture texture) {
+		if (texture == null) {
+			return;
+		}
+		Entry entry = byTexture.get(texture);
+		if (entry == null || entry.references == 0) {
+			throw new GdxRuntimeException("Texture was not acquired from the cache");
+		}
+		entry.references--;
+		if (entry.references == 0) {
+			idle.add(entry);
+			idleBytes += entry.bytes;
+			trim(idleBudget);
+		}
+	}
+
+	/**
+	 * Sets the most bytes of idle textures to keep, disposing any over it
+	 *
+	 * @param bytes The most bytes of idle textures to keep
+	 */
+	public void setIdleBudget(long bytes) {
+		idleBudget = bytes;
+		trim(idleBudget);
+	}
+
+	/**
+	 * Disposes idle textures, the least recently released first, until they
+	 * take no more than the given bytes.
+	 *
+	 * @param bytes The most bytes of idle textures to keep
+	 */
+	public void trim(long bytes) {
+		while (idleBytes > bytes && idle.size > 0) {
+			Entry entry = idle.removeIndex(0);
+			idleBytes -= entry.bytes;
+			byPath.remove(entry.path);
+			byTexture.remove(entry.texture);
+			entry.texture.dispose();
+		}
+	}
+
+	/**
+	 * Disposes every texture, whether in use or not.
+	 *
+	 * This is for when the game shuts down.
+	 */
+	public void dispose() {
+		for (Entry entry : byPath.values()) {
+			entry.texture.dispose();
+		}
+		byPath.clear();
+		byTexture.clear();
+		idle.clear();
+		idleBytes = 0;
+	}
+}
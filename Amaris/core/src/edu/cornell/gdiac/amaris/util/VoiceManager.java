@@ -0,0 +1,257 @@
+/*
+ * VoiceManager.java
+ *
+ * Decides which gameplay sound effects actually play.  Contacts can ask for the
+ * same sound every physics step, and several enemies can ask for it at once, so
+ * playing every request would stack dozens of copies in the mixer.  Instead each
+ * sound is a voice with a cooldown and a priority, and only
+ * a fixed number of voices sound at a time.  When the mixer is full, a request
+ * takes over the voice of lowest priority, or is dropped if every playing voice
+ * outranks it.
+ *
+ * A sound that is asked for again while it is still playing restarts in the
+ * same voice rather than taking a second one.  Since libGDX cannot tell us when
+ * a sound ends, each voice has a length after which it is free.
+ *
+ * Cooldowns and lengths are given in seconds but counted in simulation ticks,
+ * so they are converted again whenever the step rate changes.
+ */
+package edu.cornell.gdiac.amaris.util;
+
+import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/**
+ * The sound effect voices of a game mode, advanced once per physics step.
+ *
+ * Each game mode owns its own voice manager, so simulations that run side by
+ * side do not share cooldowns.
+ */
+public class VoiceManager {
+	/** How much a sound matters when the mixer is full */
+	public enum Priority {
+		/** Feedback for routine movement */
+		LOW,
+		/** Feedback for pickups and abilities */
+		NORMAL,
+		/** Damage and level events, which should always be heard */
+		HIGH
+	}
+
+	/** Default number of voices that may sound at once */
+	public static final int DEFAULT_MAX_VOICES = 6;
+	/** Default number of ticks per second */
+	public static final float DEFAULT_STEP_RATE = 60.0f;
+
+	/** A sound effect and its playback state */
+	private static class Voice {
+		/** How much the sound matters */
+		private Priority priority;
+		/** Seconds after playing before the sound may play again */
+		private float cooldownTime;
+		/** Seconds the sound is assumed to play for */
+		private float lengthTime;
+		/** Ticks after playing before the sound may play again */
+		private int cooldown;
+		/** Ticks the sound is assumed to play for */
+		private int length;
+		/** The first tick the sound may play again */
+		private long readyTick;
+		/** The tick the sound is assumed to end */
+		private long endTick;
+		/** The sound that is playing, or null */
+		private Sound sound;
+		/** The id of the playing instance */
+		private long id;
+	}
+
+	/** The voices, by sound name */
+	private ObjectMap<String, Voice> voices = new ObjectMap<String, Voice>();
+	/** The voices that are sounding, the oldest first */
+	private Array<Voice> playing = new Array<Voice>();
+	/** The most voices that may sound at once */
+	private int maxVoices = DEFAULT_MAX_VOICES;
+	/** The number of ticks per second */
+	private float stepRate = DEFAULT_STEP_RATE;
+	/** The number of ticks so far */
+	private long tick;
+
+	/**
+	 * Defines the voice of a sound, replacing any earlier definition.
+	 *
+	 * @param name     The sound name in assets.json
+	 * @param priority How much the sound matters when the mixer is full
+	 * @param cooldown Seconds after playing before the sound may play again
+	 * @param length   Seconds the sound is assumed to play for
+	 */
+	public void define(String name, Priority priority, float cooldown, float length) {
+		Voice voice = voices.get(name);
+		if (voice == null) {
+			voice = new Voice();
+			voices.put(name, voice);
+		}
+		voice.priority = priority;
+		voice.cooldownTime = cooldown;
+		voice.lengthTime = length;
+		voice.cooldown = toTicks(cooldown);
+		voice.length = toTicks(length);
+	}
+
+	/**
+	 * Sets the number of ticks per second, converting every cooldown and length
+	 *
+	 * @param hz The number of times update is called per second
+	 */
+	public void setStepRate(float hz) {
+		stepRate = hz;
+		for (Voice voice : voices.values()) {
+			voice.cooldown = toTicks(voice.cooldownTime);
+			voice.length = toTicks(voice.lengthTime);
+		}
+	}
+
+	/**
+	 * Returns the nearest number of ticks to a time
+	 *
+	 * @param seconds The time in seconds
+	 *
+	 * @return the nearest number of ticks to the time
+	 */
+	private int toTicks(float seconds) {
+		return Math.round(seconds * stepRate);
+	}
+
+	/**
+	 * Sets the most voices that may sound at once
+	 *
+	 * @param count The most voices that may sound at once
+	 */
+	public void setMaxVoices(int count) {
+		maxVoices = count;
+	}
+
+	/**
+	 * Plays a sound if its cooldown is over and the mixer has room for it.
+	 *
+	 * Nothing plays if the sound has not finished loading, or while the game is
+	 * muted.  The cooldown only starts once the sound has actually played.
+	 *
+	 * @param name   The sound name, which must have been defined
+	 * @param volume The volume, from 0 to 1
+	 *
+	 * @return true if the sound played
+	 */
+	public boolean play(String name, float volume) {
+		Voice voice = voices.get(name);
+		if (voice == null) {
+			throw new GdxRuntimeException("No voice defined for sound " + name);
+		}
+		Sound sound = SoundController.soundFromName(name);
+		if (sound == null || SoundController.isMuted || tick < voice.readyTick) {
+			return false;
+		}
+
+		if (voice.sound != null) {
+			// Restart in the voice it already has
+			voice.sound.stop(voice.id);
+			playing.removeValue(voice, true);
+		} else if (playing.size >= maxVoices) {
+			Voice victim = lowestPriority();
+			if (victim.priority.compareTo(voice.priority) > 0) {
+				return false;
+			}
+			silence(victim);
+		}
+
+		voice.id = sound.play(volume);
+		if (voice.id == -1) {
+			voice.sound = null;
+			return false;
+		}
+		voice.sound = sound;
+		voice.readyTick = tick + voice.cooldown;
+		voice.endTick = tick + voice.length;
+		playing.add(voice);
+		return true;
+	}
+
+	/**
+	 * Changes the volume of a sound while it plays
+	 *
+	 * @param name   The sound name
+	 * @param volume The volume, from 0 to 1
+	 */
+	public void setVolume(String name, float volume) {
+		Voice voice = voices.get(name);
+		if (voice != null && voice.sound != null) {
+			voice.sound.setVolume(voice.id, volume);
+		}
+	}
+
+	/**
+	 * Stops a sound if it is playing
+	 *
+	 * @param name The sound name
+	 */
+	public void stop(String name) {
+		Voice voice = voices.get(name);
+		if (voice != null && voice.sound != null) {
+			silence(voice);
+		}
+	}
+
+	/**
+	 * Stops every sound and forgets every cooldown.
+	 */
+	public void reset() {
+		while (playing.size > 0) {
+			silence(playing.peek());
+		}
+		for (Voice voice : voices.values()) {
+			voice.readyTick = 0;
+		}
+		tick = 0;
+	}
+
+	/**
+	 * Advances the voices one physics step, freeing those that have ended
+	 */
+	public void update() {
+		tick++;
+		for (int ii = playing.size - 1; ii >= 0; ii--) {
+			Voice voice = playing.get(ii);
+			if (tick >= voice.endTick) {
+				voice.sound = null;
+				playing.removeIndex(ii);
+			}
+		}
+	}
+
+	/**
+	 * Returns the playing voice of lowest priority, the oldest if there is a tie
+	 *
+	 * @return the playing voice of lowest priority
+	 */
+	private Voice lowestPriority() {
+		Voice lowest = playing.first();
+		for (int ii = 1; ii < playing.size; ii++) {
+			if (playing.get(ii).priority.compareTo(lowest.priority) < 0) {
+				lowest = playing.get(ii);
+			}
+		}
+		return lowest;
+	}
+
+	/**
+	 * Stops a playing voice and frees it
+	 *
+	 * @param voice The voice to stop
+	 */
+	private void silence(Voice voice) {
+		voice.sound.stop(voice.id);
+		voice.sound = null;
+		playing.removeValue(voice, true);
+	}
+}
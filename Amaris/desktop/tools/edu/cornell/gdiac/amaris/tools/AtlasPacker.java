@@ -0,0 +1,97 @@
+/*
+ * AtlasPacker.java
+ *
+ * Packs the images listed in jsons/atlases.json into texture atlases.  This
+ * runs at build time through the packAtlases task, from the assets folder, and
+ * is not part of the game.
+ *
+ * Regions are named by AtlasCatalog.getRegionName, so the game can find an
+ * image by the same path it used before the image was packed.  Sprite sheets
+ * are split into frames after loading, so images are packed exactly as they
+ * are: no whitespace stripping, no rotation.
+ */
+package edu.cornell.gdiac.amaris.tools;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.tools.texturepacker.TexturePacker;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+import edu.cornell.gdiac.amaris.util.AtlasCatalog;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Command line tool that builds the texture atlases.
+ */
+public class AtlasPacker {
+	/** The largest atlas page, in pixels.  A bigger atlas spills onto more pages. */
+	private static final int MAX_PAGE_SIZE = 2048;
+	/** Pixels between images, so that linear filtering does not bleed */
+	private static final int PADDING = 2;
+
+	/**
+	 * Packs every atlas in the catalog.
+	 *
+	 * @param args The catalog file and the output folder, both optional
+	 */
+	public static void main(String[] args) throws IOException {
+		File catalog = new File(args.length > 0 ? args[0] : AtlasCatalog.CATALOG_FILE);
+		File output = new File(args.length > 1 ? args[1] : AtlasCatalog.ATLAS_DIR);
+
+		JsonValue atlases = new JsonReader().parse(new FileHandle(catalog)).get("atlases");
+		for (JsonValue entry = atlases.child; entry != null; entry = entry.next) {
+			String name = entry.getString("name");
+			TexturePacker packer = new TexturePacker(createSettings());
+			for (JsonValue image = entry.get("images").child; image != null; image = image.next) {
+				String path = image.asString();
+				BufferedImage pixels = ImageIO.read(new File(path));
+				if (pixels == null) {
+					throw new IOException("Could not read " + path);
+				}
+				packer.addImage(pixels, AtlasCatalog.getRegionName(path));
+			}
+			deleteAtlas(output, name);
+			packer.pack(output, name);
+			System.out.println("Packed " + name);
+		}
+	}
+
+	/** Returns the packing settings shared by every atlas */
+	private static TexturePacker.Settings createSettings() {
+		TexturePacker.Settings settings = new TexturePacker.Settings();
+		settings.maxWidth = MAX_PAGE_SIZE;
+		settings.maxHeight = MAX_PAGE_SIZE;
+		settings.paddingX = PADDING;
+		settings.paddingY = PADDING;
+		settings.duplicatePadding = true;
+		settings.rotation = false;
+		settings.stripWhitespaceX = false;
+		settings.stripWhitespaceY = false;
+		settings.useIndexes = false;
+		settings.filterMin = Texture.TextureFilter.Linear;
+		settings.filterMag = Texture.TextureFilter.Linear;
+		settings.silent = true;
+		return settings;
+	}
+
+	/**
+	 * Deletes an atlas and its pages, as the packer adds to an existing atlas
+	 * rather than replacing it.
+	 */
+	private static void deleteAtlas(File output, String name) {
+		File[] files = output.listFiles();
+		if (files == null) {
+			return;
+		}
+		for (File file : files) {
+			String fileName = file.getName();
+			if (fileName.equals(name + AtlasCatalog.ATLAS_SUFFIX) || fileName.matches(name + "\\d*\\.png")) {
+				file.delete();
+			}
+		}
+	}
+}
@@ -0,0 +1,59 @@
+/*
+ * LevelCompiler.java
+ *
+ * Compiles every level file in jsons/ into the binary format of LevelFormat,
+ * next to the JSON file.  This runs at build time through the compileLevels
+ * task, from the assets folder, and is not part of the game.
+ *
+ * The game falls back to the JSON file for any level that has no compiled file,
+ * or whose compiled file is older than the JSON, so forgetting to run this only
+ * costs load time.
+ */
+package edu.cornell.gdiac.amaris.tools;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+import edu.cornell.gdiac.amaris.LevelFormat;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Command line tool that compiles the level files.
+ */
+public class LevelCompiler {
+	/** Level files are the JSON files in the folder whose names start with this */
+	private static final String LEVEL_PREFIX = "level";
+
+	/**
+	 * Compiles every level file in a folder.
+	 *
+	 * @param args The folder holding the level files, optional
+	 */
+	public static void main(String[] args) throws IOException {
+		File folder = new File(args.length > 0 ? args[0] : "jsons");
+		File[] files = folder.listFiles();
+		if (files == null) {
+			throw new IOException("Could not list " + folder);
+		}
+		JsonReader reader = new JsonReader();
+		for (File file : files) {
+			String name = file.getName();
+			if (!name.startsWith(LEVEL_PREFIX) || !name.endsWith(".json")) {
+				continue;
+			}
+			JsonValue level = reader.parse(new FileHandle(file)).get(0);
+			File compiled = new File(LevelFormat.getCompiledPath(file.getPath()));
+			OutputStream out = new BufferedOutputStream(new FileHandle(compiled).write(false));
+			try {
+				LevelFormat.write(level, out);
+			} finally {
+				out.close();
+			}
+			System.out.println("Compiled " + name + " (" + file.length() + " -> " + compiled.length() + " bytes)");
+		}
+	}
+}
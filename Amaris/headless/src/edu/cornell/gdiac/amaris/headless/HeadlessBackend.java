@@ -0,0 +1,143 @@
+/*
+ * HeadlessBackend.java
+ *
+ * Everything needed to run the game code without a window, shared by the
+ * simulation runner and the benchmarks.  The game needs real textures (bodies
+ * are sized from them) and a window size (the drawing scale comes from it), so
+ * this installs the stand-ins for GL and graphics and loads levels the same way
+ * GDXRoot does.
+ */
+package edu.cornell.gdiac.amaris.headless;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.assets.loaders.resolvers.InternalFileHandleResolver;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.backends.headless.mock.input.MockInput;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator;
+import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGeneratorLoader;
+import com.badlogic.gdx.graphics.g2d.freetype.FreetypeFontLoader;
+import edu.cornell.gdiac.amaris.*;
+import edu.cornell.gdiac.amaris.util.Scheduler;
+
+/**
+ * Static helpers for running the game on the headless backend.
+ */
+public class HeadlessBackend {
+	/** Width of the simulated window, matching DesktopLauncher */
+	public static final int WINDOW_WIDTH = 1024;
+	/** Height of the simulated window, matching DesktopLauncher */
+	public static final int WINDOW_HEIGHT = 576;
+
+	/** Whether start() has been called */
+	private static boolean started;
+
+	/**
+	 * Starts the headless backend for code that is not an application listener.
+	 *
+	 * The backend never calls render(), so the caller drives the game directly
+	 * and should call executeRunnables() after each tick.  Calling this again
+	 * does nothing.
+	 */
+	public static void start() {
+		if (started) {
+			return;
+		}
+		started = true;
+		HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+		config.renderInterval = -1;
+		new HeadlessApplication(new ApplicationAdapter() { }, config);
+		installStubs(new MockInput());
+	}
+
+	/**
+	 * Installs the stand-in GL, graphics and input.
+	 *
+	 * This must be called after the HeadlessApplication is created, as that
+	 * sets the mock versions.
+	 *
+	 * @param input The input the game should read
+	 */
+	public static void installStubs(Input input) {
+		GL20 gl = StubGL.create();
+		Gdx.gl = gl;
+		Gdx.gl20 = gl;
+		Gdx.graphics = new StubGraphics(WINDOW_WIDTH, WINDOW_HEIGHT, gl);
+		Gdx.input = input;
+
+		// Never touch the player's saved game
+		SaveGameStore.getInstance().setWritable(false);
+	}
+
+	/**
+	 * Runs the work that the game posted with Gdx.app.postRunnable
+	 */
+	public static void executeRunnables() {
+		((HeadlessApplication)Gdx.app).executeRunnables();
+	}
+
+	/**
+	 * Returns an asset manager set up like the one in GDXRoot
+	 *
+	 * @return an asset manager set up like the one in GDXRoot
+	 */
+	public static AssetManager createAssetManager() {
+		AssetManager manager = new AssetManager();
+		FileHandleResolver resolver = new InternalFileHandleResolver();
+		manager.setLoader(FreeTypeFontGenerator.class, new FreeTypeFontGeneratorLoader(resolver));
+		manager.setLoader(BitmapFont.class, ".ttf", new FreetypeFontLoader(resolver));
+		return manager;
+	}
+
+	/**
+	 * Loads a level and lays it out, as GDXRoot does when a level is chosen
+	 *
+	 * Unlike in the game, the controller gets its own input, abilities and
+	 * scheduler, so no state carries over from earlier levels and levels can be
+	 * simulated side by side.  Each level also needs its own level loader.
+	 *
+	 * @param manager     The asset manager
+	 * @param canvas      The canvas, which sets the drawing scale
+	 * @param levelLoader The level loader
+	 * @param level       The level to load
+	 *
+	 * @return the controller for the level, ready to play
+	 */
+	public static GameplayController loadLevel(AssetManager manager, GameCanvas canvas,
+											   LevelLoader levelLoader, Level level) {
+		levelLoader.level = level;
+		Scheduler scheduler = new Scheduler();
+		AbilityController abilities = new AbilityController(scheduler);
+		GameplayController playing = new GameplayController(levelLoader, level, true,
+				new InputController(abilities), abilities, scheduler);
+		playing.preLoadContent(manager);
+		manager.finishLoading();
+		playing.loadContent(manager);
+		playing.setCanvas(canvas);
+		playing.reset();
+		return playing;
+	}
+
+	/**
+	 * Returns a level record for a level file that may not be in the saved game
+	 *
+	 * @param path The level file path
+	 *
+	 * @return a level record for the level file
+	 */
+	public static Level levelForPath(String path) {
+		Level level = new Level();
+		level.name = path;
+		level.path = path;
+		level.num = -1;
+		level.available = true;
+		level.complete = false;
+		return level;
+	}
+}
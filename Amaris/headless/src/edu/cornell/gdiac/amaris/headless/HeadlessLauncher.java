@@ -0,0 +1,139 @@
+/*
+ * HeadlessLauncher.java
+ *
+ * Runs levels without a window, for performance and regression runs on
+ * machines with no GPU.  Run it from the assets directory, as the desktop
+ * launcher is:
+ *
+ *     gradlew headless:run -PrunArgs="--script ../../headless/scripts/run-right.txt 0 2 jsons/level5.json"
+ *
+ * A replay recorded in game (F5) plays the level it was recorded on with the
+ * recorded input and frame times, for a repeatable workload:
+ *
+ *     gradlew headless:run -PrunArgs="--replay replays/level5.replay"
+ *
+ * Script and replay paths are relative to the assets directory.  Levels are given as
+ * indices into the saved game or as level file paths.  With no levels, every
+ * level in the saved game is played.  The process exits with status 1 if any
+ * level threw an exception.
+ */
+package edu.cornell.gdiac.amaris.headless;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.backends.headless.HeadlessFiles;
+import com.badlogic.gdx.utils.Array;
+import edu.cornell.gdiac.amaris.InputLog;
+import edu.cornell.gdiac.amaris.Level;
+import edu.cornell.gdiac.amaris.SaveGameStore;
+
+/**
+ * The main class of the headless simulation.
+ */
+public class HeadlessLauncher {
+	/** Default limit on ticks per level: five minutes of simulation time */
+	private static final int DEFAULT_MAX_TICKS = 60 * 60 * 5;
+
+	/**
+	 * Parses the command line, plays the levels and prints a report.
+	 *
+	 * @param arg Command line arguments
+	 */
+	public static void main (String[] arg) throws InterruptedException {
+		String scriptPath = null;
+		String replayPath = null;
+		int maxTicks = DEFAULT_MAX_TICKS;
+		Array<String> levelArgs = new Array<String>();
+		for (int i = 0; i < arg.length; i++) {
+			if (arg[i].equals("--script") && i + 1 < arg.length) {
+				scriptPath = arg[++i];
+			} else if (arg[i].equals("--replay") && i + 1 < arg.length) {
+				replayPath = arg[++i];
+			} else if (arg[i].equals("--max-ticks") && i + 1 < arg.length) {
+				maxTicks = Integer.parseInt(arg[++i]);
+			} else if (arg[i].length() > 0) {
+				levelArgs.add(arg[i]);
+			}
+		}
+
+		// The file API is needed to read the script and saved game before the application starts
+		Gdx.files = new HeadlessFiles();
+		InputScript script = scriptPath == null ? new InputScript() : new InputScript(Gdx.files.local(scriptPath));
+		InputLog replay = replayPath == null ? null : InputLog.read(Gdx.files.local(replayPath));
+		if (replay != null && levelArgs.size == 0) {
+			// A replay plays the level it was recorded on unless told otherwise
+			levelArgs.add(replay.getLevelPath());
+		}
+		Array<Level> levels = findLevels(levelArgs);
+
+		HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+		config.renderInterval = 0;
+		SimulationRunner runner = new SimulationRunner(levels, script, replay, maxTicks);
+		new HeadlessApplication(runner, config);
+		runner.awaitFinished();
+
+		boolean errors = printReport(runner.getResults());
+		System.exit(errors ? 1 : 0);
+	}
+
+	/**
+	 * Returns the levels named on the command line
+	 *
+	 * @param args Saved game indices or level file paths
+	 *
+	 * @return the levels named on the command line
+	 */
+	static Array<Level> findLevels(Array<String> args) {
+		Array<Level> saved = SaveGameStore.getInstance().getLevels();
+		if (args.size == 0) {
+			return new Array<Level>(saved);
+		}
+
+		Array<Level> levels = new Array<Level>();
+		for (String name : args) {
+			try {
+				levels.add(saved.get(Integer.parseInt(name)));
+			} catch (NumberFormatException e) {
+				levels.add(HeadlessBackend.levelForPath(name));
+			}
+		}
+		return levels;
+	}
+
+	/**
+	 * Prints one line per level and a total line
+	 *
+	 * @param results The results of the run
+	 *
+	 * @return true if any level threw an exception
+	 */
+	private static boolean printReport(Array<SimulationRunner.Result> results) {
+		boolean errors = false;
+		int totalTicks = 0;
+		float totalWall = 0;
+		System.out.println(String.format("%-24s %8s %8s %10s %-9s %9s",
+										 "level", "ticks", "sim s", "ticks/s", "result", "serenity"));
+		for (SimulationRunner.Result result : results) {
+			String outcome;
+			if (result.error != null) {
+				outcome = "ERROR";
+				errors = true;
+			} else if (result.complete) {
+				outcome = "complete";
+			} else if (result.failed) {
+				outcome = "failed";
+			} else {
+				outcome = "timeout";
+			}
+			System.out.println(String.format("%-24s %8d %8.1f %10.0f %-9s %9.1f",
+											 result.level.name, result.ticks, result.simSeconds,
+											 result.getTicksPerSecond(), outcome, result.serenity));
+			totalTicks += result.ticks;
+			totalWall += result.wallSeconds;
+		}
+		System.out.println(String.format("%-24s %8d %8s %10.0f",
+										 "total", totalTicks, "", totalWall > 0 ? totalTicks / totalWall : 0));
+		return errors;
+	}
+}
@@ -0,0 +1,93 @@
+/*
+ * InputScript.java
+ *
+ * A script of held keys for the headless simulation.  Each line of a script
+ * holds some keys down for a range of ticks:
+ *
+ *     # start  end   keys
+ *     0        240   Right
+ *     30       35    Up
+ *     120      121   Space
+ *
+ * The start tick is inclusive and the end tick is exclusive.  Keys are named
+ * as Input.Keys.toString names them (Up, Left, Space, A, ...).  Blank lines
+ * and lines starting with # are ignored.
+ */
+package edu.cornell.gdiac.amaris.headless;
+
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntSet;
+
+/**
+ * The keys held down at each tick of a simulated level.
+ */
+public class InputScript {
+
+	/** A set of keys held down for a range of ticks */
+	private static class Hold {
+		int start;
+		int end;
+		int[] keys;
+	}
+
+	/** The holds in the script, in file order */
+	private Array<Hold> holds = new Array<Hold>();
+
+	/** Creates an empty script, which never presses anything */
+	public InputScript() { }
+
+	/**
+	 * Creates a script from a file
+	 *
+	 * @param file The script file
+	 */
+	public InputScript(FileHandle file) {
+		String[] lines = file.readString().split("\n");
+		for (int i = 0; i < lines.length; i++) {
+			String line = lines[i].trim();
+			if (line.length() == 0 || line.startsWith("#")) {
+				continue;
+			}
+			String[] words = line.split("\\s+");
+			if (words.length < 3) {
+				throw new IllegalArgumentException(file.name() + ":" + (i + 1) + ": expected 'start end key...'");
+			}
+			Hold hold = new Hold();
+			try {
+				hold.start = Integer.parseInt(words[0]);
+				hold.end = Integer.parseInt(words[1]);
+			} catch (NumberFormatException e) {
+				throw new IllegalArgumentException(file.name() + ":" + (i + 1) + ": bad tick range", e);
+			}
+			hold.keys = new int[words.length - 2];
+			for (int j = 2; j < words.length; j++) {
+				int key = Input.Keys.valueOf(words[j]);
+				if (key == -1) {
+					throw new IllegalArgumentException(file.name() + ":" + (i + 1) + ": unknown key " + words[j]);
+				}
+				hold.keys[j - 2] = key;
+			}
+			holds.add(hold);
+		}
+	}
+
+	/**
+	 * Fills keys with the keys held down at a tick
+	 *
+	 * @param tick The tick, counted from the start of the level
+	 * @param keys The set to fill.  It is cleared first.
+	 */
+	public void getKeys(int tick, IntSet keys) {
+		keys.clear();
+		for (int i = 0; i < holds.size; i++) {
+			Hold hold = holds.get(i);
+			if (hold.start <= tick && tick < hold.end) {
+				for (int j = 0; j < hold.keys.length; j++) {
+					keys.add(hold.keys[j]);
+				}
+			}
+		}
+	}
+}
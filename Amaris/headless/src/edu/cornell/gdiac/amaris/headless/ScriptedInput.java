@@ -0,0 +1,48 @@
+/*
+ * ScriptedInput.java
+ *
+ * InputController polls Gdx.input for held keys.  Installing this as Gdx.input
+ * lets the headless simulation drive the player from an InputScript without
+ * changing the game code.
+ */
+package edu.cornell.gdiac.amaris.headless;
+
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.backends.headless.mock.input.MockInput;
+import com.badlogic.gdx.utils.IntSet;
+
+/**
+ * Headless input that reports the keys an InputScript holds at the current tick.
+ */
+public class ScriptedInput extends MockInput {
+	/** The script to play */
+	private InputScript script;
+	/** The keys held down at the current tick */
+	private IntSet pressed = new IntSet();
+
+	/**
+	 * Creates input that plays the given script
+	 *
+	 * @param script The script to play
+	 */
+	public ScriptedInput(InputScript script) {
+		this.script = script;
+	}
+
+	/**
+	 * Moves the script to a tick
+	 *
+	 * @param tick The tick, counted from the start of the level
+	 */
+	public void setTick(int tick) {
+		script.getKeys(tick, pressed);
+	}
+
+	@Override
+	public boolean isKeyPressed(int key) {
+		if (key == Input.Keys.ANY_KEY) {
+			return pressed.size > 0;
+		}
+		return pressed.contains(key);
+	}
+}
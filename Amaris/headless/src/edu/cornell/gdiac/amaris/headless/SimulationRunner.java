@@ -0,0 +1,246 @@
+/*
+ * SimulationRunner.java
+ *
+ * Plays levels on the headless backend as fast as the CPU allows.  Each call
+ * to render() is one physics tick: the runner feeds the scripted input for that
+ * tick and runs the same preUpdate/update/postUpdate loop as GameMode.render,
+ * but never draws.  A level ends when it is completed, failed, or runs out of
+ * ticks, and the runner then moves on to the next one.
+ *
+ * When given an InputLog, the runner replays it in place of the script: the
+ * recorded buttons and frame times are fed tick by tick, and the level ends
+ * when the log runs out.
+ */
+package edu.cornell.gdiac.amaris.headless;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.TimeUtils;
+import edu.cornell.gdiac.amaris.*;
+import edu.cornell.gdiac.amaris.util.SoundController;
+
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * An application that plays a list of levels without a window, GPU or sound.
+ */
+public class SimulationRunner extends ApplicationAdapter {
+	/**
+	 * The outcome of one simulated level
+	 */
+	public static class Result {
+		/** The level played */
+		public Level level;
+		/** The number of ticks simulated */
+		public int ticks;
+		/** Seconds of simulation time */
+		public float simSeconds;
+		/** Seconds of real time spent simulating, not counting loading */
+		public float wallSeconds;
+		/** Whether the player reached the goal */
+		public boolean complete;
+		/** Whether the level was failed */
+		public boolean failed;
+		/** The serenity left at the end */
+		public float serenity;
+		/** The error that stopped the level, or null */
+		public Throwable error;
+
+		/** Returns the ticks simulated per second of real time */
+		public float getTicksPerSecond() {
+			return wallSeconds > 0 ? ticks / wallSeconds : 0;
+		}
+	}
+
+	/** The levels to play, in order */
+	private Array<Level> levels;
+	/** The input to play on every level */
+	private InputScript script;
+	/** The recorded input to replay on every level, or null to play the script */
+	private InputLog replay;
+	/** The most ticks to play on a level */
+	private int maxTicks;
+
+	/** The results so far */
+	private Array<Result> results = new Array<Result>();
+	/** Released once the application is disposed */
+	private CountDownLatch finished = new CountDownLatch(1);
+
+	private AssetManager manager;
+	private GameCanvas canvas;
+	private LevelLoader levelLoader;
+	private ScriptedInput input;
+
+	/** Whether create() finished, so that levels can be played */
+	private boolean ready;
+	/** The index of the level being played */
+	private int current = -1;
+	/** The controller for the level being played, or null */
+	private GameplayController playing;
+	/** The result for the level being played */
+	private Result result;
+	/** The real time the level being played started, in nanoseconds */
+	private long startTime;
+	/** Seconds in one tick */
+	private float tickTime;
+	/** Seconds simulated on the level being played */
+	private float simTime;
+
+	/**
+	 * Creates a runner for the given levels
+	 *
+	 * @param levels   The levels to play, in order
+	 * @param script   The input to play on every level
+	 * @param maxTicks The most ticks to play on a level
+	 */
+	public SimulationRunner(Array<Level> levels, InputScript script, int maxTicks) {
+		this(levels, script, null, maxTicks);
+	}
+
+	/**
+	 * Creates a runner for the given levels
+	 *
+	 * @param levels   The levels to play, in order
+	 * @param script   The input to play on every level
+	 * @param replay   The recorded input to replay instead of the script, or null
+	 * @param maxTicks The most ticks to play on a level
+	 */
+	public SimulationRunner(Array<Level> levels, InputScript script, InputLog replay, int maxTicks) {
+		this.levels = levels;
+		this.script = script;
+		this.replay = replay;
+		this.maxTicks = maxTicks;
+	}
+
+	/** Returns the results of the levels played so far */
+	public Array<Result> getResults() {
+		return results;
+	}
+
+	/** Blocks until every level has been played and the application is disposed */
+	public void awaitFinished() throws InterruptedException {
+		finished.await();
+	}
+
+	@Override
+	public void create() {
+		try {
+			setUp();
+			ready = true;
+		} catch (Throwable e) {
+			e.printStackTrace();
+			Gdx.app.exit();
+		}
+	}
+
+	/** Installs the stand-in backend and creates the shared game objects */
+	private void setUp() {
+		input = new ScriptedInput(script);
+		HeadlessBackend.installStubs(input);
+
+		manager = HeadlessBackend.createAssetManager();
+		canvas = new GameCanvas();
+		levelLoader = new LevelLoader();
+		LevelLoader.populateAssets("jsons/assets.json");
+	}
+
+	@Override
+	public void render() {
+		if (!ready) {
+			return;
+		}
+		if (playing == null && !startNextLevel()) {
+			ready = false;
+			Gdx.app.exit();
+			return;
+		}
+
+		try {
+			input.setTick(result.ticks);
+			float dt = playing.inputController.getFrameDelta(tickTime);
+			if (playing.preUpdate(dt)) {
+				playing.update(dt);
+				playing.postUpdate(dt);
+			}
+			simTime += dt;
+			result.ticks++;
+		} catch (Throwable e) {
+			result.error = e;
+		}
+
+		boolean replayOver = replay != null && !playing.inputController.isReplaying();
+		if (result.error != null || playing.isComplete() || playing.isFailure() || replayOver || result.ticks >= maxTicks) {
+			finishLevel();
+		}
+	}
+
+	/**
+	 * Loads and lays out the next level
+	 *
+	 * @return false if there are no more levels
+	 */
+	private boolean startNextLevel() {
+		while (++current < levels.size) {
+			Level level = levels.get(current);
+			result = new Result();
+			result.level = level;
+			startTime = TimeUtils.nanoTime();
+			try {
+				playing = HeadlessBackend.loadLevel(manager, canvas, levelLoader, level);
+				tickTime = 1.0f / playing.getStepRate();
+				simTime = 0;
+				if (replay != null) {
+					playing.inputController.startReplay(replay);
+				}
+				startTime = TimeUtils.nanoTime();
+				return true;
+			} catch (Throwable e) {
+				result.error = e;
+				finishLevel();
+			}
+		}
+		return false;
+	}
+
+	/** Records the result of the level being played and disposes of it */
+	private void finishLevel() {
+		if (playing != null) {
+			result.wallSeconds = (TimeUtils.nanoTime() - startTime) / 1e9f;
+			result.simSeconds = simTime;
+			result.complete = playing.isComplete();
+			result.failed = playing.isFailure();
+			result.serenity = playing.currentSerenity();
+			try {
+				playing.dispose();
+			} catch (Throwable e) {
+				if (result.error == null) {
+					result.error = e;
+				}
+			}
+			playing = null;
+		}
+		if (result.error != null) {
+			result.error.printStackTrace();
+		}
+		results.add(result);
+		result = null;
+	}
+
+	@Override
+	public void dispose() {
+		if (playing != null) {
+			finishLevel();
+		}
+		if (canvas != null) {
+			canvas.dispose();
+		}
+		if (manager != null) {
+			manager.clear();
+			manager.dispose();
+		}
+		SoundController.clear();
+		finished.countDown();
+	}
+}
@@ -0,0 +1,76 @@
+/*
+ * StubGL.java
+ *
+ * The headless backend has no OpenGL context, so Gdx.gl is null and the first
+ * Texture or SpriteBatch would crash.  The game cannot run without textures, as
+ * the level loader sizes every body from its image.  This class makes a GL20
+ * that accepts every call and does nothing, so textures and batches can be
+ * created without a GPU.
+ */
+package edu.cornell.gdiac.amaris.headless;
+
+import com.badlogic.gdx.graphics.GL20;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.IntBuffer;
+
+/**
+ * A GL20 that does nothing.
+ *
+ * Calls that create objects (glCreateProgram, glGenTexture, ...) return fresh
+ * non-zero handles, and shader compiles and links always succeed, so libGDX
+ * believes every object was made.  Every other call returns zero, false or an
+ * empty string.
+ */
+public class StubGL implements InvocationHandler {
+
+	/** The next handle to return from glCreate* and glGen* */
+	private int nextHandle = 1;
+
+	/**
+	 * Returns a new GL20 that does nothing
+	 *
+	 * @return a new GL20 that does nothing
+	 */
+	public static GL20 create() {
+		return (GL20)Proxy.newProxyInstance(GL20.class.getClassLoader(),
+											new Class<?>[] { GL20.class }, new StubGL());
+	}
+
+	private StubGL() { }
+
+	public Object invoke(Object proxy, Method method, Object[] args) {
+		String name = method.getName();
+		if (method.getDeclaringClass() == Object.class) {
+			if (name.equals("equals")) {
+				return proxy == args[0];
+			} else if (name.equals("hashCode")) {
+				return System.identityHashCode(proxy);
+			}
+			return "StubGL";
+		}
+
+		// ShaderProgram reads compile and link status, then the attribute and uniform counts
+		if (name.equals("glGetShaderiv") || name.equals("glGetProgramiv")) {
+			int pname = (Integer)args[1];
+			boolean status = pname == GL20.GL_COMPILE_STATUS || pname == GL20.GL_LINK_STATUS;
+			((IntBuffer)args[2]).put(0, status ? 1 : 0);
+			return null;
+		}
+
+		Class<?> type = method.getReturnType();
+		if (type == int.class) {
+			if (name.startsWith("glCreate") || name.startsWith("glGen")) {
+				return nextHandle++;
+			}
+			return 0;
+		} else if (type == boolean.class) {
+			return false;
+		} else if (type == String.class) {
+			return "";
+		}
+		return null;
+	}
+}
@@ -0,0 +1,61 @@
+/*
+ * StubGraphics.java
+ *
+ * The mock graphics of the headless backend report a 0x0 window and no GL.
+ * The game computes its drawing scale, and so the size of every body, from the
+ * window size, so this reports the same window as the desktop launcher.
+ */
+package edu.cornell.gdiac.amaris.headless;
+
+import com.badlogic.gdx.backends.headless.mock.graphics.MockGraphics;
+import com.badlogic.gdx.graphics.GL20;
+
+/**
+ * Headless graphics with a fixed window size and a GL that does nothing.
+ */
+public class StubGraphics extends MockGraphics {
+	/** The window width, in pixels */
+	private int width;
+	/** The window height, in pixels */
+	private int height;
+	/** The GL that does nothing */
+	private GL20 gl;
+
+	/**
+	 * Creates headless graphics for a window of the given size
+	 *
+	 * @param width  The window width, in pixels
+	 * @param height The window height, in pixels
+	 * @param gl     The GL to report
+	 */
+	public StubGraphics(int width, int height, GL20 gl) {
+		this.width = width;
+		this.height = height;
+		this.gl = gl;
+	}
+
+	@Override
+	public GL20 getGL20() {
+		return gl;
+	}
+
+	@Override
+	public int getWidth() {
+		return width;
+	}
+
+	@Override
+	public int getHeight() {
+		return height;
+	}
+
+	@Override
+	public int getBackBufferWidth() {
+		return width;
+	}
+
+	@Override
+	public int getBackBufferHeight() {
+		return height;
+	}
+}
@@ -0,0 +1,351 @@
+/*
+ * ValidationFarm.java
+ *
+ * Smoke-tests every level by playing many independent worlds at once.  Each
+ * world is a GameplayController with its own Box2D world, level loader, input,
+ * abilities and scheduler, so worlds share nothing but the loaded assets and
+ * can be stepped on different threads.  Levels are loaded one after another on
+ * the main thread, as asset loading is not thread safe, and then every world is
+ * handed to a fork/join pool that steps one world per worker until the world
+ * is complete, failed, stuck or out of input.
+ *
+ * A world plays the replay recorded on its level (F5 in game) if there is one,
+ * and seeded random input otherwise.  Run it from the assets directory:
+ *
+ *     gradlew headless:validate -PrunArgs="--workers 4 --copies 2"
+ *
+ * The process exits with status 1 if any world threw an exception or got stuck.
+ */
+package edu.cornell.gdiac.amaris.headless;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.TimeUtils;
+import edu.cornell.gdiac.amaris.*;
+import edu.cornell.gdiac.amaris.util.SoundController;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * The main class of the parallel level validation.
+ */
+public class ValidationFarm {
+	/** Default limit on ticks per world: five minutes of simulation time */
+	private static final int DEFAULT_MAX_TICKS = 60 * 60 * 5;
+	/** Default ticks without real movement before a world counts as stuck */
+	private static final int DEFAULT_STUCK_TICKS = 60 * 20;
+	/** How far, in physics units, the player must move to not be stuck */
+	private static final float STUCK_DISTANCE = 0.5f;
+	/** Shortest time, in ticks, random input holds the same buttons */
+	private static final int MIN_HOLD = 10;
+	/** Longest time, in ticks, random input holds the same buttons */
+	private static final int MAX_HOLD = 60;
+
+	/**
+	 * The outcome of one simulated world
+	 */
+	public static class Result {
+		/** The level played */
+		public Level level;
+		/** Which copy of the level this was, counting from 0 */
+		public int copy;
+		/** Where the input came from */
+		public String input;
+		/** The number of ticks simulated */
+		public int ticks;
+		/** Seconds of real time spent simulating, on one worker */
+		public float wallSeconds;
+		/** Whether the player reached the goal */
+		public boolean complete;
+		/** Whether the level was failed */
+		public boolean failed;
+		/** Whether the player stopped moving for too long */
+		public boolean stuck;
+		/** The error that stopped the world, or null */
+		public Throwable error;
+
+		/** Returns the ticks simulated per second of real time */
+		public float getTicksPerSecond() {
+			return wallSeconds > 0 ? ticks / wallSeconds : 0;
+		}
+	}
+
+	/**
+	 * One world, stepped to the end on whichever worker picks it up
+	 */
+	private static class Simulation implements Callable<Result> {
+		/** The world being played */
+		private GameplayController playing;
+		/** Seconds in one tick */
+		private float tickTime;
+		/** The most ticks to play */
+		private int maxTicks;
+		/** Ticks without real movement before the world is stuck */
+		private int stuckTicks;
+		/** The result, filled in as the world plays */
+		private Result result;
+
+		/** The player position stuck detection measures from */
+		private Vector2 anchor = new Vector2();
+		/** Ticks since the player was last a real distance from the anchor */
+		private int idleTicks;
+
+		public Simulation(GameplayController playing, Result result, int maxTicks, int stuckTicks) {
+			this.playing = playing;
+			this.result = result;
+			this.maxTicks = maxTicks;
+			this.stuckTicks = stuckTicks;
+			tickTime = 1.0f / playing.getStepRate();
+		}
+
+		public Result call() {
+			InputController input = playing.inputController;
+			anchor.set(playing.getPlayer().getPosition());
+			long start = TimeUtils.nanoTime();
+			try {
+				while (input.isReplaying() && result.ticks < maxTicks) {
+					float dt = input.getFrameDelta(tickTime);
+					if (playing.preUpdate(dt)) {
+						playing.update(dt);
+						playing.postUpdate(dt);
+					}
+					result.ticks++;
+					if (playing.isComplete() || playing.isFailure() || checkStuck()) {
+						break;
+					}
+				}
+			} catch (Throwable e) {
+				result.error = e;
+			}
+			result.wallSeconds = (TimeUtils.nanoTime() - start) / 1e9f;
+			result.complete = playing.isComplete();
+			result.failed = playing.isFailure();
+			return result;
+		}
+
+		/** Returns true if the player has not really moved for too long */
+		private boolean checkStuck() {
+			Vector2 position = playing.getPlayer().getPosition();
+			if (Float.isNaN(position.x) || Float.isNaN(position.y)) {
+				throw new IllegalStateException("Player position is NaN at tick " + result.ticks);
+			}
+			if (position.dst2(anchor) > STUCK_DISTANCE * STUCK_DISTANCE) {
+				anchor.set(position);
+				idleTicks = 0;
+				return false;
+			}
+			idleTicks++;
+			result.stuck = idleTicks >= stuckTicks;
+			return result.stuck;
+		}
+	}
+
+	/**
+	 * Parses the command line, plays every world and prints a report.
+	 *
+	 * @param arg Command line arguments
+	 */
+	public static void main (String[] arg) throws InterruptedException {
+		int workers = Runtime.getRuntime().availableProcessors();
+		int copies = 1;
+		long seed = 0;
+		String replayDir = "replays";
+		int maxTicks = DEFAULT_MAX_TICKS;
+		int stuckTicks = DEFAULT_STUCK_TICKS;
+		Array<String> levelArgs = new Array<String>();
+		for (int i = 0; i < arg.length; i++) {
+			if (arg[i].equals("--workers") && i + 1 < arg.length) {
+				workers = Integer.parseInt(arg[++i]);
+			} else if (arg[i].equals("--copies") && i + 1 < arg.length) {
+				copies = Integer.parseInt(arg[++i]);
+			} else if (arg[i].equals("--seed") && i + 1 < arg.length) {
+				seed = Long.parseLong(arg[++i]);
+			} else if (arg[i].equals("--replays") && i + 1 < arg.length) {
+				replayDir = arg[++i];
+			} else if (arg[i].equals("--max-ticks") && i + 1 < arg.length) {
+				maxTicks = Integer.parseInt(arg[++i]);
+			} else if (arg[i].equals("--stuck-ticks") && i + 1 < arg.length) {
+				stuckTicks = Integer.parseInt(arg[++i]);
+			} else if (arg[i].length() > 0) {
+				levelArgs.add(arg[i]);
+			}
+		}
+
+		HeadlessBackend.start();
+		LevelLoader.populateAssets("jsons/assets.json");
+		AssetManager manager = HeadlessBackend.createAssetManager();
+		GameCanvas canvas = new GameCanvas();
+
+		// Lay out every world on this thread
+		Array<Level> levels = HeadlessLauncher.findLevels(levelArgs);
+		Array<Result> results = new Array<Result>();
+		Array<GameplayController> worlds = new Array<GameplayController>();
+		List<Simulation> simulations = new ArrayList<Simulation>();
+		for (Level level : levels) {
+			InputLog replay = findReplay(replayDir, level);
+			for (int copy = 0; copy < copies; copy++) {
+				Result result = new Result();
+				result.level = level;
+				result.copy = copy;
+				long worldSeed = seed + results.size;
+				result.input = replay != null ? "replay" : "random " + worldSeed;
+				results.add(result);
+				try {
+					GameplayController playing = HeadlessBackend.loadLevel(manager, canvas, new LevelLoader(), level);
+					worlds.add(playing);
+					InputLog log = replay;
+					if (log == null) {
+						log = createRandomLog(level, worldSeed, maxTicks, 1.0f / playing.getStepRate());
+					}
+					playing.inputController.startReplay(log);
+					simulations.add(new Simulation(playing, result, maxTicks, stuckTicks));
+				} catch (Throwable e) {
+					e.printStackTrace();
+					result.error = e;
+				}
+			}
+		}
+
+		// Step them all, one world per worker at a time
+		ForkJoinPool pool = new ForkJoinPool(workers);
+		long start = TimeUtils.nanoTime();
+		List<Future<Result>> futures = pool.invokeAll(simulations);
+		float wallSeconds = (TimeUtils.nanoTime() - start) / 1e9f;
+		pool.shutdown();
+		for (Future<Result> future : futures) {
+			try {
+				future.get();
+			} catch (ExecutionException e) {
+				e.printStackTrace();
+			}
+		}
+
+		for (GameplayController playing : worlds) {
+			try {
+				playing.dispose();
+			} catch (Throwable e) {
+				e.printStackTrace();
+			}
+		}
+		canvas.dispose();
+		manager.clear();
+		manager.dispose();
+		SoundController.clear();
+
+		boolean problems = printReport(results, workers, wallSeconds);
+		System.exit(problems ? 1 : 0);
+	}
+
+	/**
+	 * Returns the replay recorded on a level, or null if there is none
+	 *
+	 * @param replayDir The folder holding replays
+	 * @param level     The level
+	 *
+	 * @return the replay recorded on a level, or null if there is none
+	 */
+	private static InputLog findReplay(String replayDir, Level level) {
+		String name = level.name == null ? "level" : level.name;
+		FileHandle file = Gdx.files.local(replayDir + "/" + name.replaceAll("[^A-Za-z0-9_-]", "_") + ".replay");
+		if (!file.exists()) {
+			return null;
+		}
+		InputLog log = InputLog.read(file);
+		return level.path.equals(log.getLevelPath()) ? log : null;
+	}
+
+	/**
+	 * Returns random input for a level, the same every time for the same seed.
+	 *
+	 * The input mostly runs right, jumping and using abilities now and then, and
+	 * holds each choice for a while so that jumps and dashes have time to happen.
+	 *
+	 * @param level    The level
+	 * @param seed     The random seed
+	 * @param ticks    The number of ticks of input
+	 * @param tickTime Seconds in one tick
+	 *
+	 * @return random input for a level
+	 */
+	private static InputLog createRandomLog(Level level, long seed, int ticks, float tickTime) {
+		Random random = new Random(seed);
+		InputLog log = new InputLog(level.path);
+		int held = 0;
+		int hold = 0;
+		for (int ii = 0; ii < ticks; ii++) {
+			int bits = held;
+			if (hold == 0) {
+				held = random.nextFloat() < 0.8f ? InputLog.RIGHT : InputLog.LEFT;
+				if (random.nextFloat() < 0.5f) {
+					held |= InputLog.UP;
+				}
+				if (random.nextFloat() < 0.1f) {
+					held |= InputLog.ABILITY;
+				}
+				hold = MIN_HOLD + random.nextInt(MAX_HOLD - MIN_HOLD + 1);
+				bits = held;
+				// Double taps only count on the tick they happen
+				if (random.nextFloat() < 0.05f) {
+					bits |= InputLog.DOUBLE_JUMP;
+				} else if (random.nextFloat() < 0.05f) {
+					bits |= InputLog.DOUBLE_DASH;
+				}
+			}
+			log.add(bits, tickTime);
+			hold--;
+		}
+		return log;
+	}
+
+	/**
+	 * Prints one line per world and a total line
+	 *
+	 * @param results     The results of the run
+	 * @param workers     The number of workers
+	 * @param wallSeconds Seconds of real time for the whole run
+	 *
+	 * @return true if any world threw an exception or got stuck
+	 */
+	private static boolean printReport(Array<Result> results, int workers, float wallSeconds) {
+		boolean problems = false;
+		int totalTicks = 0;
+		float busySeconds = 0;
+		System.out.println(String.format("%-24s %4s %-14s %8s %10s %-9s",
+										 "level", "copy", "input", "ticks", "ticks/s", "result"));
+		for (Result result : results) {
+			String outcome;
+			if (result.error != null) {
+				outcome = "ERROR";
+				problems = true;
+			} else if (result.complete) {
+				outcome = "complete";
+			} else if (result.failed) {
+				outcome = "failed";
+			} else if (result.stuck) {
+				outcome = "STUCK";
+				problems = true;
+			} else {
+				outcome = "timeout";
+			}
+			System.out.println(String.format("%-24s %4d %-14s %8d %10.0f %-9s",
+											 result.level.name, result.copy, result.input, result.ticks,
+											 result.getTicksPerSecond(), outcome));
+			totalTicks += result.ticks;
+			busySeconds += result.wallSeconds;
+		}
+		System.out.println(String.format("%d worlds on %d workers: %d ticks in %.1f s, %.0f ticks/s, %.0f ticks/s per core",
+										 results.size, workers, totalTicks, wallSeconds,
+										 wallSeconds > 0 ? totalTicks / wallSeconds : 0,
+										 busySeconds > 0 ? totalTicks / busySeconds : 0));
+		return problems;
+	}
+}